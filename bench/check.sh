@@ -0,0 +1,59 @@
+#!/bin/sh
+# Regressione: compila ed esegue ogni programma bench/*.fool che ha accanto il suo output atteso
+# (<nome>.out) e confronta l'output della SVM; per ogni programma stampa le istruzioni eseguite.
+# Uso: bench/check.sh <classpath> [opzioni di compiler.Test]
+#   es. bench/check.sh out:antlr-4.13.2-complete.jar -peephole +display
+# Un programma con il commento "/* non con: <opzioni> */" e' saltato se una delle opzioni date
+# e' tra quelle elencate (es. una ricorsione profonda che senza chiamate in coda esaurisce lo stack).
+# Ogni programma e' compilato in una directory temporanea: nessun file .asm o profilo resta in bench/.
+# Un programma che deve fallire ha come ultima riga attesa l'eccezione della SVM
+# (es. "Exception in thread "main" java.lang.ArithmeticException: / by zero"), senza lo stack.
+# Con +profile ogni programma e' compilato ed eseguito due volte: la prima esecuzione scrive il
+# profilo, la seconda (con le altre opzioni date) lo usa ed e' quella confrontata e misurata.
+
+if [ $# -lt 1 ]; then
+	echo "usage: $0 <classpath> [options]" >&2
+	exit 2
+fi
+cp=$1; shift
+profile=no; opts=
+for opt in "$@"; do
+	if [ "$opt" = +profile ]; then profile=yes; else opts="$opts $opt"; fi
+done
+dir=$(cd "$(dirname "$0")" && pwd)
+ok=0; failed=0; skipped=0
+
+for f in "$dir"/*.fool; do
+	name=$(basename "$f" .fool)
+	[ -f "$dir/$name.out" ] || continue
+	skip=no
+	for opt in "$@"; do
+		grep -q "non con:.* $opt\( \|\*\)" "$f" && skip=yes
+	done
+	if [ $skip = yes ]; then
+		printf "%-14s skipped\n" "$name"
+		skipped=$((skipped+1))
+		continue
+	fi
+	tmp=$(mktemp -d)
+	cp "$f" "$tmp/$name.fool"
+	[ $profile = yes ] && (cd "$tmp" && java -Xss64m -cp "$cp" compiler.Test "$name.fool" "$@" > /dev/null 2>&1)
+	(cd "$tmp" && java -Xss64m -cp "$cp" compiler.Test "$name.fool" +stats $opts > log 2>&1)
+	# output della SVM: le righe dopo "Running generated code", tolte le statistiche
+	awk 'run && !/^(Executed|Memo table|Written execution profile|Profile not written|\tat )/ {print} /^Running generated code/ {run=1}' "$tmp/log" > "$tmp/out"
+	steps=$(sed -n 's/^Executed \([0-9]*\) instructions\.$/\1/p' "$tmp/log")
+	tail -n 1 "$dir/$name.out" | grep -q "^Exception" && [ -z "$steps" ] && steps=exception
+	if [ -n "$steps" ] && cmp -s "$tmp/out" "$dir/$name.out"; then
+		[ "$steps" = exception ] && printf "%-14s ok    exception\n" "$name" || printf "%-14s ok %12s instructions\n" "$name" "$steps"
+		ok=$((ok+1))
+	else
+		printf "%-14s FAILED\n" "$name"
+		diff "$dir/$name.out" "$tmp/out" | head -5
+		grep -m 3 -E "Exception|You had [1-9][0-9]* .*errors" "$tmp/log"
+		failed=$((failed+1))
+	fi
+	rm -rf "$tmp"
+done
+
+echo "$ok ok, $failed failed, $skipped skipped"
+[ $failed -eq 0 ]
@@ -20,16 +20,16 @@ public class AST {
 	// Nodo per la dichiarazione di una Classe
 	public static class ClassNode extends DecNode {
 		final String id;
-		//final String superId; // ID della superclasse (o null se non c'è extends)
+		final String superId; // ID della superclasse (o null se non c'è extends)
 		final List<FieldNode> fields;
 		final List<MethodNode> methods;
 
 		public STentry entry;
 
 		// Costruttore
-		ClassNode(String i, List<FieldNode> f, List<MethodNode> m) {
+		ClassNode(String i, String si, List<FieldNode> f, List<MethodNode> m) {
 			id = i;
-			//superId = si;
+			superId = si;
 			fields = Collections.unmodifiableList(f);
 			methods = Collections.unmodifiableList(m);
 		}
@@ -49,6 +49,7 @@ public class AST {
 		final Node exp;
 		String label; // Etichetta per la generazione codice (aggiunta futura)
 		int offset;   // Offset nella Virtual Table
+		STentry entry; // Entry del metodo nella Virtual Table
 
 		MethodNode(String i, TypeNode rt, List<ParNode> pl, List<DecNode> dl, Node e) {
 			id=i;
@@ -67,6 +68,7 @@ public class AST {
 	// Nodo per un Campo (Field) - Simile a ParNode
 	public static class FieldNode extends DecNode {
 		final String id;
+		STentry entry;
 
 		FieldNode(String i, TypeNode t) {
 			id = i;
@@ -84,6 +86,9 @@ public class AST {
 		final String id; // Nome della classe da istanziare
 		final List<Node> arglist;
 		STentry entry; // Riferimento alla classe nella Symbol Table
+		int nl; // Nesting Level
+		List<STentry> cells; // oggetto allocato nel frame corrente (Dispatch Table Pointer e campi), altrimenti null
+		boolean embedded; // oggetto costruito dentro all'oggetto padre (argomento di un altro NewNode)
 
 		NewNode(String i, List<Node> a) {
 			id = i;
@@ -104,6 +109,8 @@ public class AST {
 		STentry entry;      // Entry dell'oggetto
 		STentry methodEntry;// Entry del metodo (nella VTable)
 		int nl; // Nesting Level
+		String label; // Etichetta del metodo se la chiamata e' stata devirtualizzata, altrimenti null
+		boolean nonNull; // L'oggetto non puo' essere null: la chiamata diretta non lo controlla
 
 		ClassCallNode(String oi, String mi, List<Node> a) {
 			objId = oi;
@@ -179,6 +186,7 @@ public class AST {
 		final List<ParNode> parlist;
 		final List<DecNode> declist; 
 		final Node exp;
+		STentry entry;
 		FunNode(String i, TypeNode rt, List<ParNode> pl, List<DecNode> dl, Node e) {
 	    	id=i; 
 	    	retType=rt; 
@@ -204,6 +212,7 @@ public class AST {
 	public static class VarNode extends DecNode {
 		final String id;
 		final Node exp;
+		STentry entry;
 		VarNode(String i, TypeNode t, Node v) {id = i; type = t; exp = v;}
 
 		@Override
@@ -227,6 +236,34 @@ public class AST {
 		@Override
 		public <S,E extends Exception> S accept(BaseASTVisitor<S,E> visitor) throws E {return visitor.visitNode(this);}
 	}
+
+	// Ciclo: assegna "inits" alle variabili del ciclo, poi finche' "cond" vale true assegna in
+	// ordine "updates" alle variabili "targetIds"; il valore e' quello di "exp".
+	// Le variabili del ciclo sono celle del frame che lo contiene, dichiarate dalla generazione
+	// dell'AST ("decs", con un valore iniziale fittizio); "vars" e "targets" sono le loro entry
+	public static class WhileNode extends Node {
+		final List<String> ids;
+		final List<VarNode> decs;
+		final List<Node> inits;
+		final Node cond;
+		final List<String> targetIds;
+		final List<Node> updates;
+		final Node exp;
+		List<STentry> vars;
+		List<STentry> targets;
+		WhileNode(List<String> i, List<VarNode> d, List<Node> in, Node c, List<String> t, List<Node> u, Node e) {
+			ids = Collections.unmodifiableList(i);
+			decs = Collections.unmodifiableList(d);
+			inits = Collections.unmodifiableList(in);
+			cond = c;
+			targetIds = Collections.unmodifiableList(t);
+			updates = Collections.unmodifiableList(u);
+			exp = e;
+		}
+
+		@Override
+		public <S,E extends Exception> S accept(BaseASTVisitor<S,E> visitor) throws E {return visitor.visitNode(this);}
+	}
 	
 	public static class EqualNode extends Node {
 		final Node left;
@@ -385,4 +422,72 @@ public class AST {
 		public <S,E extends Exception> S accept(BaseASTVisitor<S,E> visitor) throws E {return visitor.visitNode(this);}
 	}
 
-}
\ No newline at end of file
+	// --- NODI INTRODOTTI DALLE OTTIMIZZAZIONI SULL'AST ARRICCHITO ---
+
+	// Assegna i valori "values" alle celle "slots" del frame corrente (riservate in coda alle
+	// dichiarazioni della funzione che lo contiene) e poi valuta "exp"
+	public static class LetNode extends Node {
+		final List<STentry> slots;
+		final List<Node> values;
+		final Node exp;
+		LetNode(List<STentry> s, List<Node> v, Node e) {
+			slots = Collections.unmodifiableList(s);
+			values = Collections.unmodifiableList(v);
+			exp = e;
+		}
+
+		@Override
+		public <S,E extends Exception> S accept(BaseASTVisitor<S,E> visitor) throws E {return visitor.visitNode(this);}
+	}
+
+	// Sceglie secondo il valore intero di "exp": cases.get(k) se vale low+k (null = nessun caso),
+	// "def" negli altri casi
+	public static class SwitchNode extends Node {
+		final Node exp;
+		final int low;
+		final List<Node> cases;
+		final Node def;
+		SwitchNode(Node e, int l, List<Node> c, Node d) {
+			exp = e;
+			low = l;
+			cases = Collections.unmodifiableList(c);
+			def = d;
+		}
+
+		@Override
+		public <S,E extends Exception> S accept(BaseASTVisitor<S,E> visitor) throws E {return visitor.visitNode(this);}
+	}
+
+	// "exp" moltiplicato (left) o diviso per 2^bits, con lo stesso risultato di TimesNode e
+	// DivNode: istruzioni "shl" e "shr" (la divisione arrotonda verso zero)
+	public static class ShiftNode extends Node {
+		final Node exp;
+		final int bits;
+		final boolean left;
+		ShiftNode(Node e, int b, boolean l) {exp = e; bits = b; left = l;}
+
+		@Override
+		public <S,E extends Exception> S accept(BaseASTVisitor<S,E> visitor) throws E {return visitor.visitNode(this);}
+	}
+
+	// Corpo di una chiamata di metodo diretta ed espansa: se l'oggetto "obj" e' null fallisce come
+	// la chiamata virtuale, leggendo il suo Dispatch Table Pointer; poi vale "exp"
+	public static class NullCheckNode extends Node {
+		final Node obj;
+		final Node exp;
+		NullCheckNode(Node o, Node e) {obj = o; exp = e;}
+
+		@Override
+		public <S,E extends Exception> S accept(BaseASTVisitor<S,E> visitor) throws E {return visitor.visitNode(this);}
+	}
+
+	// Lettura del campo "fieldEntry" dell'oggetto "obj" (fuori dai metodi della sua classe)
+	public static class FieldAccessNode extends Node {
+		final Node obj;
+		final STentry fieldEntry;
+		FieldAccessNode(Node o, STentry f) {obj = o; fieldEntry = f;}
+
+		@Override
+		public <S,E extends Exception> S accept(BaseASTVisitor<S,E> visitor) throws E {return visitor.visitNode(this);}
+	}
+}
@@ -17,6 +17,8 @@ public class ASTGenerationSTVisitor extends FOOLBaseVisitor<Node> {
 
 	String indent;
     public boolean print;
+    private List<DecNode> loopDecs = new ArrayList<>(); // variabili dei cicli del frame corrente, da dichiarare
+    private int loopCount = 0;
 	
     ASTGenerationSTVisitor() {}    
     ASTGenerationSTVisitor(boolean debug) { print=debug; }
@@ -57,10 +59,10 @@ public class ASTGenerationSTVisitor extends FOOLBaseVisitor<Node> {
 		}
 
 		// Visita le dichiarazioni standard (var/fun)
-		for (DecContext dec : c.dec()){
-			declist.add((DecNode) visit(dec));
-		}
-		return new ProgLetInNode(declist, visit(c.exp()));
+		declist.addAll(localDecs(c.dec()));
+		Node exp = visit(c.exp());
+		declist.addAll(takeLoopDecs());
+		return new ProgLetInNode(declist, exp);
 	}
 
 	@Override
@@ -70,7 +72,6 @@ public class ASTGenerationSTVisitor extends FOOLBaseVisitor<Node> {
 		// Recupera il nome della classe
 		String classId = c.ID(0).getText();
 
-		/*
 		// Recupera la superclasse (se c'è "extends")
 		String superId = null;
 		int fieldStartIndex = 1; // Di base i campi iniziano dall'ID all'indice 1
@@ -78,9 +79,7 @@ public class ASTGenerationSTVisitor extends FOOLBaseVisitor<Node> {
 		if (c.EXTENDS() != null) {
 			superId = c.ID(1).getText();
 			fieldStartIndex = 2; // Se c'è extends, i campi iniziano dall'ID all'indice 2
-		}*/
-
-		int fieldStartIndex = 1;
+		}
 
 		// Recupera i Campi (Fields) - Trattati come ParNode o FieldNode
 		List<FieldNode> fields = new ArrayList<>();
@@ -103,7 +102,7 @@ public class ASTGenerationSTVisitor extends FOOLBaseVisitor<Node> {
 			methods.add((MethodNode) visit(mc));
 		}
 
-		Node n = new ClassNode(classId, fields, methods);
+		Node n = new ClassNode(classId, superId, fields, methods);
 		n.setLine(c.CLASS().getSymbol().getLine());
 		return n;
 	}
@@ -119,10 +118,14 @@ public class ASTGenerationSTVisitor extends FOOLBaseVisitor<Node> {
 			parList.add(p);
 		}
 
-		List<DecNode> decList = new ArrayList<>();
-		for (DecContext dec : c.dec()) decList.add((DecNode) visit(dec));
+		List<DecNode> prevLoopDecs = loopDecs;
+		loopDecs = new ArrayList<>();
+		List<DecNode> decList = localDecs(c.dec());
+		Node exp = visit(c.exp());
+		decList.addAll(takeLoopDecs());
+		loopDecs = prevLoopDecs;
 
-		Node n = new MethodNode(c.ID(0).getText(), (TypeNode) visit(c.type(0)), parList, decList, visit(c.exp()));
+		Node n = new MethodNode(c.ID(0).getText(), (TypeNode) visit(c.type(0)), parList, decList, exp);
 		n.setLine(c.FUN().getSymbol().getLine());
 		return n;
 	}
@@ -173,7 +176,9 @@ public class ASTGenerationSTVisitor extends FOOLBaseVisitor<Node> {
 	@Override
 	public Node visitNoDecProg(NoDecProgContext c) {
 		if (print) printVarAndProdName(c);
-		return new ProgNode(visit(c.exp()));
+		Node exp = visit(c.exp());
+		if (!loopDecs.isEmpty()) return new ProgLetInNode(takeLoopDecs(), exp);
+		return new ProgNode(exp);
 	}
 
 	@Override
@@ -276,11 +281,15 @@ public class ASTGenerationSTVisitor extends FOOLBaseVisitor<Node> {
 			p.setLine(c.ID(i).getSymbol().getLine());
 			parList.add(p);
 		}
-		List<DecNode> decList = new ArrayList<>();
-		for (DecContext dec : c.dec()) decList.add((DecNode) visit(dec));
+		List<DecNode> prevLoopDecs = loopDecs;
+		loopDecs = new ArrayList<>();
+		List<DecNode> decList = localDecs(c.dec());
+		Node exp = visit(c.exp());
+		decList.addAll(takeLoopDecs());
+		loopDecs = prevLoopDecs;
 		Node n = null;
 		if (c.ID().size()>0) { //non-incomplete ST
-			n = new FunNode(c.ID(0).getText(),(TypeNode)visit(c.type(0)),parList,decList,visit(c.exp()));
+			n = new FunNode(c.ID(0).getText(),(TypeNode)visit(c.type(0)),parList,decList,exp);
 			n.setLine(c.FUN().getSymbol().getLine());
 		}
         return n;
@@ -328,6 +337,63 @@ public class ASTGenerationSTVisitor extends FOOLBaseVisitor<Node> {
         return n;		
 	}
 
+	// Le variabili di un ciclo sono dichiarate nel frame che lo contiene, con un nome che non e'
+	// un ID del linguaggio e un valore iniziale fittizio: in coda alle dichiarazioni se il ciclo
+	// e' nel corpo, subito prima della dichiarazione che lo contiene altrimenti
+	@Override
+	public Node visitWhile(WhileContext c) {
+		if (print) printVarAndProdName(c);
+		List<String> ids = new ArrayList<>();
+		List<VarNode> decs = new ArrayList<>();
+		List<Node> inits = new ArrayList<>();
+		for (LoopvarContext v : c.loopvar()) {
+			if (v.ID() == null) continue; // incomplete ST
+			TypeNode type = (TypeNode) visit(v.type());
+			VarNode dec = new VarNode(RewriteEASTVisitor.LOOP_PREFIX + loopCount++, type, dummyValue(type));
+			dec.setLine(v.VAR().getSymbol().getLine());
+			ids.add(v.ID().getText());
+			decs.add(dec);
+			inits.add(visit(v.exp()));
+		}
+		Node cond = visit(c.exp(0));
+		List<String> targetIds = new ArrayList<>();
+		List<Node> updates = new ArrayList<>();
+		for (AssignContext a : c.assign()) {
+			if (a.ID() == null) continue; // incomplete ST
+			targetIds.add(a.ID().getText());
+			updates.add(visit(a.exp()));
+		}
+		Node n = new WhileNode(ids, decs, inits, cond, targetIds, updates, visit(c.exp(1)));
+		n.setLine(c.WHILE().getSymbol().getLine());
+		loopDecs.addAll(decs);
+		return n;
+	}
+
+	private static Node dummyValue(TypeNode type) {
+		if (type instanceof IntTypeNode) return new IntNode(0);
+		if (type instanceof BoolTypeNode) return new BoolNode(false);
+		return new EmptyNode();
+	}
+
+	// variabili dei cicli incontrati finora nel frame corrente
+	private List<DecNode> takeLoopDecs() {
+		List<DecNode> decs = new ArrayList<>(loopDecs);
+		loopDecs.clear();
+		return decs;
+	}
+
+	// dichiarazioni di una funzione, di un metodo o del programma, ognuna preceduta dalle
+	// variabili dei cicli del suo inizializzatore
+	private List<DecNode> localDecs(List<DecContext> decs) {
+		List<DecNode> decList = new ArrayList<>();
+		for (DecContext dec : decs) {
+			DecNode d = (DecNode) visit(dec);
+			decList.addAll(takeLoopDecs());
+			decList.add(d);
+		}
+		return decList;
+	}
+
 	@Override
 	public Node visitPrint(PrintContext c) {
 		if (print) printVarAndProdName(c);
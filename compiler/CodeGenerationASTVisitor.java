@@ -4,11 +4,185 @@ import compiler.AST.*;
 import compiler.lib.*;
 import compiler.exc.*;
 import static compiler.lib.FOOLlib.*;
+import static compiler.TypeRels.*;
+import java.util.*;
+import svm.ExecuteVM;
 
 public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidException> {
 
+  private int nestingLevel = 0; // current nesting level (as in SymbolTableASTVisitor)
+  private boolean inClass = false; // inside methods nesting level 1 is the object, not a frame
+  private boolean leaf = false; // generating a leaf function: $fp is not set, its frame is addressed from $sp
+  private int depth = 0; // temporary values pushed on the stack since the start of the current function body
+  private Set<Node> tailCalls = new HashSet<>(); // calls in tail position of the current function body
+  private int frameParCount, frameLocalCount; // parameters and local slots of the current frame (for tail calls)
+  private Set<STentry> frameObjects = new HashSet<>(); // variables holding objects allocated in their own frame
+  private String outOfLine; // rami poco eseguiti, emessi dopo il codice della funzione corrente (o dopo halt)
+
+  // ottimizzazioni guidate dal profilo (null: nessun profilo) e raccolta di un nuovo profilo
+  private Profile profile;
+  private boolean profiling;
+  final Map<String, Node> funSites = new HashMap<>(); // etichetta -> FunNode o MethodNode
+  final Map<IfNode, String[]> ifSites = new HashMap<>(); // if -> etichette dei rami then ed else
+  final Map<String, ClassCallNode> callSites = new HashMap<>(); // etichetta del js/jp -> chiamata di metodo
+  final Map<String, String> methodClasses = new HashMap<>(); // etichetta del metodo -> classe
+
+  private MemoizationAnalysis memo; // funzioni memoizzate (null: nessuna)
+
   CodeGenerationASTVisitor() {}
   CodeGenerationASTVisitor(boolean debug) {super(false,debug);} //enables print for debugging
+  CodeGenerationASTVisitor(Profile p, boolean profiling, MemoizationAnalysis m) {
+    profile = p;
+    this.profiling = profiling;
+    memo = m;
+  }
+
+  private long calls(Node fun) {
+    return profile == null ? 0 : Math.max(profile.calls(fun), 0);
+  }
+
+	// Codice che carica l'indirizzo del frame (o dell'oggetto, per i campi) al nesting level "nl"
+	// a partire dal nesting level "useNl": segue la catena statica (un "lw" per livello) oppure,
+	// con i registri display, legge direttamente il display del livello in tempo costante
+	private String getFrame(int useNl, int nl) {
+		if (absolute && nl == 0)
+			return "push " + ExecuteVM.MEMSIZE; // il frame globale ha indirizzo fisso
+		// nelle funzioni foglia $fp non e' impostato: il frame (Access Link) e' "depth" celle sopra $sp
+		String fp = leaf ? nlJoin("lsp", "push " + depth, "add") : "lfp";
+		if (display && nl < useNl) {
+			if (inClass && nl == 1) // campi: l'oggetto e' l'Access Link del frame del metodo
+				return nlJoin(useNl == 2 ? fp : "ldisp 2", "lw");
+			return "ldisp " + nl;
+		}
+		if (inClass && nl == 0) // nei metodi la catena statica finisce all'oggetto: le classi sono
+			return "push " + ExecuteVM.MEMSIZE; // dichiarate solo nel frame globale, a indirizzo fisso
+		String getAR = null;
+		for (int i = 0; i < useNl - nl; i++) getAR = nlJoin(getAR, "lw");
+		return nlJoin(fp, getAR);
+	}
+
+	// Visita n quando sullo stack ci sono "k" valori temporanei in piu' rispetto all'inizio del nodo corrente
+	private String visitAbove(int k, Node n) {
+		depth += k;
+		try {
+			return visit(n);
+		} finally { depth -= k; }
+	}
+
+	// Funzione (o metodo) foglia: nessuna dichiarazione locale e nessuna chiamata nel corpo.
+	// Non serve salvare $ra (nessun "js" lo sovrascrive) ne' impostare $fp
+	private static boolean isLeaf(List<DecNode> declist, Node exp) {
+		if (!leafFunctions || !declist.isEmpty()) return false;
+		boolean[] calls = {false};
+		new ScanASTVisitor() {
+			@Override
+			public Void visitNode(CallNode n) { calls[0] = true; return null; }
+			@Override
+			public Void visitNode(ClassCallNode n) { calls[0] = true; return null; }
+		}.visit(exp);
+		return !calls[0];
+	}
+
+	// Genera il codice del corpo di una funzione o di un metodo, impostando lo stato relativo
+	// al frame corrente (funzione foglia, profondita' dello stack, chiamate in coda)
+	private String visitBody(int parCount, int decCount, Node exp, boolean isLeaf) {
+		boolean prevLeaf = leaf;
+		int prevDepth = depth, prevParCount = frameParCount, prevLocalCount = frameLocalCount;
+		Set<Node> prevTailCalls = tailCalls;
+		leaf = isLeaf;
+		depth = 0;
+		frameParCount = parCount;
+		frameLocalCount = decCount + (display ? 1 : 0);
+		tailCalls = new HashSet<>();
+		if (tailCallOpt) markTailCalls(exp, tailCalls);
+		try {
+			return visit(exp);
+		} finally {
+			leaf = prevLeaf;
+			depth = prevDepth;
+			frameParCount = prevParCount;
+			frameLocalCount = prevLocalCount;
+			tailCalls = prevTailCalls;
+		}
+	}
+
+	// Chiamate in posizione di coda: l'espressione del corpo, anche attraverso i rami degli if
+	// e le espressioni dei let e dei cicli
+	static void markTailCalls(Node exp, Set<Node> calls) {
+		if (exp instanceof IfNode) {
+			markTailCalls(((IfNode) exp).th, calls);
+			markTailCalls(((IfNode) exp).el, calls);
+		} else if (exp instanceof LetNode) {
+			markTailCalls(((LetNode) exp).exp, calls);
+		} else if (exp instanceof WhileNode) {
+			markTailCalls(((WhileNode) exp).exp, calls);
+		} else if (exp instanceof SwitchNode) {
+			for (Node c : ((SwitchNode) exp).cases) if (c != null) markTailCalls(c, calls);
+			markTailCalls(((SwitchNode) exp).def, calls);
+		} else if (exp instanceof NullCheckNode) {
+			markTailCalls(((NullCheckNode) exp).exp, calls);
+		} else if (exp instanceof CallNode || exp instanceof ClassCallNode)
+			calls.add(exp);
+	}
+
+	// Una chiamata in coda riusa il frame corrente se i suoi argomenti (piu' l'Access Link) ci stanno
+	private boolean isTailCall(Node n, int argCount) {
+		return tailCalls.contains(n) && argCount <= frameParCount + 1 + frameLocalCount;
+	}
+
+	// Chiamata in coda: invece di creare un nuovo frame riusa quello corrente, senza passare
+	// dall'epilogo. Sullo stack ci sono gli argomenti, l'Access Link e l'indirizzo del chiamato:
+	// Access Link e argomenti sovrascrivono quelli del frame corrente appena sotto al Control Link
+	// (che resta quello del nostro chiamante), $ra torna quello salvato nel frame, le celle
+	// restanti del frame vengono rimosse e si salta al chiamato senza modificare $ra
+	private String tailCall(String argCode, String getFun, int argCount, String site) {
+		String store = null, popFrame = null;
+		int base = frameParCount - argCount; // nuovo Access Link in fp+base, i-esimo argomento in fp+base+i
+		for (int i = 0; i <= argCount; i++) store = nlJoin(store, "lfp", "push " + (base + i), "add", "sw");
+		for (int i = 0; i < base + 1 + frameLocalCount; i++) popFrame = nlJoin(popFrame, "pop");
+		return nlJoin(
+			argCode, // generate code for argument expressions in reversed order
+			getFun, // Access Link and address of called function
+			"stm", // set $tm to popped value (address of called function)
+			"lfp", "push -1", "add", "lw", "sra", // set $ra to the return address saved in the current frame
+			display ? nlJoin("lfp", "push -2", "add", "lw", "sdisp " + nestingLevel) : null, // restore saved display
+			store, // overwrite Access Link and parameters of the current frame
+			popFrame, // remove the rest of the current frame from stack
+			"ltm", // load $tm value (address of called function)
+			site != null ? site + ":" : null, // chiamata di metodo in un profilo
+			"jp" // jump to popped address (keeping $ra)
+		);
+	}
+
+	// Codice di una funzione foglia: il corpo lavora sul frame costruito dal chiamante
+	// (Control Link, parametri, Access Link) indirizzandolo rispetto a $sp
+	private String leafCode(String label, int parCount, String body) {
+		String popParl = null;
+		for (int i = 0; i < parCount; i++) popParl = nlJoin(popParl, "pop");
+		return nlJoin(
+			label+":",
+			body, // generate code for function body expression
+			"stm", // set $tm to popped value (function result)
+			"pop", // remove Access Link from stack
+			popParl, // remove parameters from stack
+			"sfp", // set $fp to popped value (Control Link): $fp is unchanged unless reached by a tail call
+			"ltm", // load $tm value (function result)
+			"lra", // load $ra value (never overwritten)
+			"js"  // jump to to popped address
+		);
+	}
+
+	// Codice che carica il valore della dichiarazione "entry" vista dal nesting level "useNl":
+	// le dichiarazioni globali sono lette direttamente all'indirizzo assoluto MEMSIZE+offset
+	private String loadEntry(int useNl, STentry entry) {
+		if (absolute && entry.nl == 0)
+			return "lwa " + (ExecuteVM.MEMSIZE + entry.offset);
+		return nlJoin(
+			getFrame(useNl, entry.nl),
+			"push " + entry.offset, "add",
+			entry.embedded ? null : "lw" // il valore di un campo contenuto nell'oggetto e' il suo indirizzo
+		);
+	}
 
 	@Override
 	public String visitNode(ProgLetInNode n) {
@@ -31,9 +205,13 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 
 		return nlJoin(
 				"push 0",
+				display ? nlJoin("lfp", "sdisp 0") : null, // global frame is display[0]
 				declCode, // generate code for declarations (allocation)
+				PrebuiltImage.MAIN + ":", // the prebuilt image starts here, with the declarations already evaluated
+				display ? nlJoin("lfp", "sdisp 0") : null, // display registers are not part of the image
 				visit(n.exp),
 				"halt",
+				outOfLine,
 				getCode()
 		);
 	}
@@ -43,7 +221,8 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 		if (print) printNode(n);
 		return nlJoin(
 			visit(n.exp),
-			"halt"
+			"halt",
+			outOfLine
 		);
 	}
 
@@ -51,36 +230,78 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 	public String visitNode(FunNode n) {
 		if (print) printNode(n,n.id);
 		String declCode = null, popDecl = null, popParl = null;
+		String prevOutOfLine = outOfLine;
+		outOfLine = null;
+		nestingLevel++;
 		for (Node dec : n.declist) {
 			declCode = nlJoin(declCode,visit(dec));
 			popDecl = nlJoin(popDecl,"pop");
 		}
 		for (int i=0;i<n.parlist.size();i++) popParl = nlJoin(popParl,"pop");
 		String funl = freshFunLabel();
-		putCode(
+		funSites.put(funl, n);
+		boolean isLeaf = isLeaf(n.declist, n.exp);
+		String body = visitBody(n.parlist.size(), n.declist.size(), n.exp, isLeaf);
+		// funzione memoizzata (mai foglia: e' ricorsiva): se la tabella contiene gli argomenti
+		// il risultato e' restituito subito, prima delle dichiarazioni locali, altrimenti e'
+		// registrato alla fine del corpo
+		Integer table = memo == null || isLeaf ? null : memo.tables.get(n);
+		String hit = table != null ? freshLabel() : null;
+		String memoArgs = table != null ? table+" "+n.parlist.size() : null;
+		if (isLeaf) putCode(nlJoin(leafCode(funl, n.parlist.size(), body), outOfLine), calls(n));
+		else putCode(
 			nlJoin(
 				funl+":",
 				"cfp", // set $fp to $sp value
 				"lra", // load $ra value
+				displayEnter(), // save display of this nesting level and point it to the new frame
+				hit != null ? "mget "+memoArgs+" "+hit : null, // memoized result: jump to hit with it
 				declCode, // generate code for local declarations (they use the new $fp!!!)
-				visit(n.exp), // generate code for function body expression
+				body, // generate code for function body expression
+				hit != null ? "mput "+memoArgs : null, // record function result
 				"stm", // set $tm to popped value (function result)
 				popDecl, // remove local declarations from stack
+				displayExit(), // restore saved display
 				"sra", // set $ra to popped value
 				"pop", // remove Access Link from stack
 				popParl, // remove parameters from stack
 				"sfp", // set $fp to popped value (Control Link)
 				"ltm", // load $tm value (function result)
 				"lra", // load $ra value
-				"js"  // jump to to popped address
-			)
+				"js",  // jump to to popped address
+				hit != null ? nlJoin(
+					hit+":",
+					"stm", // set $tm to popped value (memoized result)
+					displayExit(), // restore saved display
+					"sra", // set $ra to popped value
+					"pop", // remove Access Link from stack
+					popParl, // remove parameters from stack
+					"sfp", // set $fp to popped value (Control Link)
+					"ltm", // load $tm value (memoized result)
+					"lra", // load $ra value
+					"js"  // jump to to popped address
+				) : null,
+				outOfLine
+			),
+			calls(n)
 		);
+		nestingLevel--;
+		outOfLine = prevOutOfLine;
 		return "push "+funl;		
 	}
 
+	private String displayEnter() {
+		return display ? nlJoin("ldisp "+nestingLevel, "lfp", "sdisp "+nestingLevel) : null;
+	}
+
+	private String displayExit() {
+		return display ? "sdisp "+nestingLevel : null;
+	}
+
 	@Override
 	public String visitNode(VarNode n) {
 		if (print) printNode(n,n.id);
+		if (n.exp instanceof NewNode && ((NewNode) n.exp).cells != null) frameObjects.add(n.entry);
 		return visit(n.exp);
 	}
 
@@ -98,14 +319,28 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 		if (print) printNode(n);
 	 	String l1 = freshLabel();
 	 	String l2 = freshLabel();		
+		String l3 = profiling ? freshLabel() : null; // inizio del ramo "else", per contarne le esecuzioni
+		if (profiling) ifSites.put(n, new String[] {l1, l3});
+		String cond = condJump(n.cond,l1,true); // jump to "then" branch if condition holds
+		String el = visit(n.el), th = visit(n.th);
+		if (profile != null && profile.elseIsHot(n) && !el.endsWith("jp")) {
+			// ramo "else" piu' eseguito (e non chiamata in coda): arriva a l2 senza salti,
+			// il "then" e' spostato fuori linea
+			outOfLine = nlJoin(outOfLine, l1+":", th, "b "+l2);
+			return nlJoin(
+				cond,
+				l3 != null ? l3+":" : null,
+				el,
+				l2+":"
+			);
+		}
 		return nlJoin(
-			visit(n.cond),
-			"push 1",
-			"beq "+l1,
-			visit(n.el),
+			cond,
+			l3 != null ? l3+":" : null,
+			el,
 			"b "+l2,
 			l1+":",
-			visit(n.th),
+			th,
 			l2+":"
 		);
 	}
@@ -117,7 +352,7 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 	 	String l2 = freshLabel();
 		return nlJoin(
 			visit(n.left),
-			visit(n.right),
+			visitAbove(1,n.right),
 			"beq "+l1,
 			"push 0",
 			"b "+l2,
@@ -134,7 +369,7 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 		String l2 = freshLabel();
 		return nlJoin(
 				visit(n.left),
-				visit(n.right),
+				visitAbove(1,n.right),
 				"bleq "+l1,
 				"push 0",
 				"b "+l2,
@@ -151,7 +386,7 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 		String l2 = freshLabel();
 		return nlJoin(
 				visit(n.right),
-				visit(n.left),
+				visitAbove(1,n.left),
 				"bleq "+l1,       // Se Right <= Left (che equivale a Left >= Right)
 				"push 0",
 				"b "+l2,
@@ -164,66 +399,116 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 	@Override
 	public String visitNode(NotNode n) throws VoidException {
 		if (print) printNode(n);
-		String l1 = freshLabel();
-		String l2 = freshLabel();
-		return nlJoin(
-			visit(n.exp),
-			"push 0",
-			"beq " + l1,     // Se il valore era 0, salta a l1 (diventerà 1)
-			"push 0",        // Altrimenti (era 1), metti 0
-			"b " + l2,
-			l1 + ":",
-			"push 1",        // Se era 0, metti 1
-			l2 + ":"
-		);
+		return boolValue(n);
 	}
 
 	@Override
 	public String visitNode(OrNode n) throws VoidException {
 		if (print) printNode(n);
-		String l1 = freshLabel();
-		String l2 = freshLabel();
-		return nlJoin(
-			visit(n.left),
-			"push 1",
-			"beq " + l1,      // Se il primo operando è 1, salta a True (short-circuit)
-			visit(n.right),
-			"push 1",
-			"beq " + l1,      // Se il secondo operando è 1, salta a True
-			"push 0",         // Entrambi sono 0
-			"b " + l2,        // Salta alla fine
-			l1 + ":",
-			"push 1",         // Risultato True
-			l2 + ":"
-		);
+		return boolValue(n);
 	}
 
 	@Override
 	public String visitNode(AndNode n) throws VoidException {
 		if (print) printNode(n);
+		return boolValue(n);
+	}
+
+	// Materializza il valore 0/1 di una condizione costruita con &&, || e !
+	private String boolValue(Node n) {
 		String l1 = freshLabel();
 		String l2 = freshLabel();
 		return nlJoin(
-			visit(n.left),
+			condJump(n,l1,true),
 			"push 0",
-			"beq " + l1,      // Se il primo operando è 0, salta a False
-			visit(n.right),
-			"push 0",
-			"beq " + l1,      // Se il secondo operando è 0, salta a False
-			"push 1",         // Entrambi sono 1
-			"b " + l2,        // Salta alla fine
+			"b " + l2,
 			l1 + ":",
-			"push 0",         // Risultato False
+			"push 1",
 			l2 + ":"
 		);
 	}
 
+	// Genera il codice di una condizione come controllo di flusso: salta a "label"
+	// se il valore di n e' uguale a "jumpIf", altrimenti prosegue con l'istruzione successiva.
+	// Le catene di &&, || e ! diventano salti diretti (short-circuit) senza costruire
+	// booleani intermedi: ogni foglia costa un solo salto condizionato.
+	// Gli operandi interi di && e || (Bool <= Int) valgono come nel codice che costruiva
+	// i booleani: per && e' falso solo lo 0, per || e' vero solo l'1 (operandJump).
+	private String condJump(Node n, String label, boolean jumpIf) {
+		if (n instanceof NotNode)
+			return condJump(((NotNode) n).exp, label, !jumpIf);
+		if (n instanceof AndNode) {
+			AndNode and = (AndNode) n;
+			if (!jumpIf) return nlJoin( // basta che uno dei due sia falso
+				operandJump(and.left, label, false, 0),
+				operandJump(and.right, label, false, 0)
+			);
+			String skip = freshLabel(); // se il primo e' falso l'intera condizione e' falsa
+			return nlJoin(
+				operandJump(and.left, skip, false, 0),
+				operandJump(and.right, label, true, 0),
+				skip + ":"
+			);
+		}
+		if (n instanceof OrNode) {
+			OrNode or = (OrNode) n;
+			if (jumpIf) return nlJoin( // basta che uno dei due sia vero
+				operandJump(or.left, label, true, 1),
+				operandJump(or.right, label, true, 1)
+			);
+			String skip = freshLabel(); // se il primo e' vero l'intera condizione e' vera
+			return nlJoin(
+				operandJump(or.left, skip, true, 1),
+				operandJump(or.right, label, false, 1),
+				skip + ":"
+			);
+		}
+		if (n instanceof BoolNode)
+			return ((BoolNode) n).val == jumpIf ? "b " + label : null;
+		if (n instanceof EqualNode)
+			return compareJump(visit(((EqualNode) n).left), visitAbove(1, ((EqualNode) n).right), "beq", label, jumpIf);
+		if (n instanceof LessEqualNode)
+			return compareJump(visit(((LessEqualNode) n).left), visitAbove(1, ((LessEqualNode) n).right), "bleq", label, jumpIf);
+		if (n instanceof GreaterEqualNode) // stesso ordine di valutazione di visitNode(GreaterEqualNode)
+			return compareJump(visit(((GreaterEqualNode) n).right), visitAbove(1, ((GreaterEqualNode) n).left), "bleq", label, jumpIf);
+		return nlJoin(
+			visit(n),
+			"push " + (jumpIf ? 1 : 0),
+			"beq " + label
+		);
+	}
+
+	// Operando di && (test 0: falso se vale 0) o di || (test 1: vero se vale 1). Un booleano vale
+	// 0 o 1 e segue condJump; un intero e' confrontato con "test".
+	private String operandJump(Node n, String label, boolean jumpIf, int test) {
+		if (isBool(n)) return condJump(n, label, jumpIf);
+		return compareJump(visit(n), "push " + test, "beq", label, jumpIf == (test == 1));
+	}
+
+	// Confronto tra due operandi gia' valutati: la SVM non ha salti sulla condizione negata,
+	// quindi il caso "salta se falso" scavalca un salto incondizionato
+	private String compareJump(String left, String right, String branch, String label, boolean jumpIf) {
+		if (jumpIf) return nlJoin(
+			left,
+			right,
+			branch + " " + label
+		);
+		String skip = freshLabel();
+		return nlJoin(
+			left,
+			right,
+			branch + " " + skip,
+			"b " + label,
+			skip + ":"
+		);
+	}
+
 	@Override
 	public String visitNode(TimesNode n) {
 		if (print) printNode(n);
 		return nlJoin(
 			visit(n.left),
-			visit(n.right),
+			visitAbove(1,n.right),
 			"mult"
 		);	
 	}
@@ -233,7 +518,7 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 		if (print) printNode(n);
 		return nlJoin(
 				visit(n.left),
-				visit(n.right),
+				visitAbove(1,n.right),
 				"div"
 		);
 	}
@@ -243,7 +528,7 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 		if (print) printNode(n);
 		return nlJoin(
 			visit(n.left),
-			visit(n.right),
+			visitAbove(1,n.right),
 			"add"				
 		);
 	}
@@ -253,7 +538,7 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 		if (print) printNode(n);
 		return nlJoin(
 				visit(n.left),
-				visit(n.right),
+				visitAbove(1,n.right),
 				"sub"
 		);
 	}
@@ -261,19 +546,29 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 	@Override
 	public String visitNode(CallNode n) {
 		if (print) printNode(n,n.id);
-		String argCode = null, getAR = null;
-		for (int i=n.arglist.size()-1;i>=0;i--) argCode=nlJoin(argCode,visit(n.arglist.get(i)));
-		for (int i = 0;i<n.nl-n.entry.nl;i++) getAR=nlJoin(getAR,"lw");
-		return nlJoin(
-			"lfp", // load Control Link (pointer to frame of function "id" caller)
-			argCode, // generate code for argument expressions in reversed order
-			"lfp", getAR, // retrieve address of frame containing "id" declaration
+		// a function declared in the current frame would get it as Access Link: no tail call
+		boolean tail = n.entry.nl < nestingLevel && isTailCall(n,n.arglist.size());
+		int cl = tail ? 0 : 1; // a tail call keeps the Control Link of the current frame
+		String argCode = null, getFun;
+		for (int i=n.arglist.size()-1;i>=0;i--) argCode=nlJoin(argCode,visitAbove(n.arglist.size()-1-i+cl,n.arglist.get(i)));
+		if (absolute && n.entry.nl == 0) getFun = nlJoin(
+			"push "+ExecuteVM.MEMSIZE, // Access Link: the global frame has a fixed address
+			loadEntry(n.nl,n.entry) // load address of "id" function
+		);
+		else getFun = nlJoin(
+			getFrame(n.nl,n.entry.nl), // retrieve address of frame containing "id" declaration
                           // by following the static chain (of Access Links)
             "stm", // set $tm to popped value (with the aim of duplicating top of stack)
             "ltm", // load Access Link (pointer to frame of function "id" declaration)
             "ltm", // duplicate top of stack
             "push "+n.entry.offset, "add", // compute address of "id" declaration
-			"lw", // load address of "id" function
+			"lw" // load address of "id" function
+		);
+		if (tail) return tailCall(argCode,getFun,n.arglist.size(),null);
+		return nlJoin(
+			"lfp", // load Control Link (pointer to frame of function "id" caller)
+			argCode, // generate code for argument expressions in reversed order
+			getFun, // Access Link and address of "id" function
             "js"  // jump to popped address (saving address of subsequent instruction in $ra)
 		);
 	}
@@ -281,14 +576,7 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 	@Override
 	public String visitNode(IdNode n) {
 		if (print) printNode(n,n.id);
-		String getAR = null;
-		for (int i = 0;i<n.nl-n.entry.nl;i++) getAR=nlJoin(getAR,"lw");
-		return nlJoin(
-			"lfp", getAR, // retrieve address of frame containing "id" declaration
-			              // by following the static chain (of Access Links)
-			"push "+n.entry.offset, "add", // compute address of "id" declaration
-			"lw" // load value of "id" variable
-		);
+		return loadEntry(n.nl,n.entry); // load value of "id" variable from the frame containing its declaration
 	}
 
 	@Override
@@ -309,12 +597,17 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 		String fillDispatchTable = "";
 
 		// Genera il codice per riempire la Dispatch Table nello Heap
+		nestingLevel++; // scope della classe
+		inClass = true;
 		for (MethodNode method : n.methods) {
 			visit(method); // Genera il codice del corpo del metodo
+			methodClasses.put(method.label, n.id);
 			fillDispatchTable = nlJoin(fillDispatchTable,
 					"push " + method.label, "lhp", "sw", "lhp", "push 1", "add", "shp"
 			);
 		}
+		inClass = false;
+		nestingLevel--;
 
 		return nlJoin(
 				"lhp",              // 1. Carica indirizzo inizio DT (questo valore RIMANE sullo stack come "variabile classe")
@@ -330,8 +623,12 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 		if (print) printNode(n, n.id);
 		String declCode = null, popDecl = null, popParl = null;
 
-		// Genera etichetta univoca e salvala nel nodo
-		n.label = freshFunLabel();
+		// Genera etichetta univoca e salvala nel nodo (se non assegnata dalla devirtualizzazione)
+		if (n.label == null) n.label = freshFunLabel();
+		funSites.put(n.label, n);
+		String prevOutOfLine = outOfLine;
+		outOfLine = null;
+		nestingLevel++;
 
 		for (Node dec : n.declist) {
 			declCode = nlJoin(declCode, visit(dec));
@@ -340,53 +637,101 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 		for (int i=0; i<n.parlist.size(); i++) popParl = nlJoin(popParl, "pop");
 
 		// Inserisce il codice della funzione separatamente
-		putCode(
+		boolean isLeaf = isLeaf(n.declist, n.exp);
+		String body = visitBody(n.parlist.size(), n.declist.size(), n.exp, isLeaf);
+		if (isLeaf) putCode(nlJoin(leafCode(n.label, n.parlist.size(), body), outOfLine), calls(n));
+		else putCode(
 				nlJoin(
 						n.label + ":",
 						"cfp",
 						"lra",
+						displayEnter(),
 						declCode,
-						visit(n.exp),
+						body,
 						"stm",
 						popDecl,
+						displayExit(),
 						"sra",
 						"pop",
 						popParl,
 						"sfp",
 						"ltm",
 						"lra",
-						"js"
-				)
+						"js",
+						outOfLine
+				),
+				calls(n)
 		);
+		nestingLevel--;
+		outOfLine = prevOutOfLine;
 		return null;
 	}
 
 	@Override
 	public String visitNode(NewNode n) {
 		if (print) printNode(n, n.id);
-		String argCode = null;
+		int[] words = {0};
 
-		// 1. Valuta argomenti in ordine INVERSO (per prepararli al salvataggio sequenziale nello Heap)
-		for (int i = n.arglist.size() - 1; i >= 0; i--) {
-			argCode = nlJoin(argCode, visit(n.arglist.get(i)));
-		}
+		// 1. Valuta gli argomenti in ordine (l'ultimo resta in cima allo stack)
+		String argCode = pushFields(n, words);
 
-		// 2. Codice per spostare elementi dallo Stack allo Heap
+		if (n.cells != null) return frameObject(n, argCode);
+
+		// 2. Codice per spostare gli argomenti dallo Stack allo Heap: l'ultimo campo finisce
+		// all'indirizzo piu' basso, cosi' il campo i-esimo si trova all'offset -i dall'oggetto
 		String storeSequence = null;
-		// n.arglist.size() + 1 iterazioni (Argomenti + Dispatch Table Pointer)
-		for (int i = 0; i <= n.arglist.size(); i++) {
+		for (int i = 0; i < words[0]; i++) {
 			storeSequence = nlJoin(storeSequence,
 					"lhp", "sw", "lhp", "push 1", "add", "shp"
 			);
 		}
 
 		return nlJoin(
-				argCode,                                       // Stack: [ArgN... Arg1]
-				"push " + n.entry.offset, "lfp", "add", "lw",  // Stack: [ArgN... Arg1, DT_Ptr] (DT in cima)
-				"lhp",                                         // Carica indirizzo oggetto (sarà il return value)
-				"stm",                                         // Salvalo in $tm temporaneamente
-				storeSequence,                                 // Scrive tutto nello heap (svuota stack)
-				"ltm"                                          // Recupera indirizzo oggetto da $tm
+				argCode,                                       // Stack: [Arg1... ArgN]
+				storeSequence,                                 // Scrive i campi nello heap (svuota stack)
+				loadEntry(n.nl, n.entry),                      // Stack: [DT_Ptr] dal frame globale
+				"lhp",                                         // Carica indirizzo oggetto (sara' il return value)
+				"sw",                                          // Scrive il Dispatch Table Pointer all'indirizzo dell'oggetto
+				"lhp",                                         // Indirizzo oggetto (return value)
+				"lhp", "push 1", "add", "shp"                  // Incrementa $hp
+		);
+	}
+
+	// Valori dei campi in ordine, contando in "words" le celle occupate: un oggetto contenuto nel
+	// padre (NewNode.embedded, FieldFlatteningEASTVisitor) occupa il suo Dispatch Table Pointer
+	// seguito dai suoi campi, cosi' nello heap i campi finiscono sotto al suo Dispatch Table Pointer
+	private String pushFields(NewNode n, int[] words) {
+		String code = null;
+		for (Node arg : n.arglist) {
+			if (arg instanceof NewNode && ((NewNode) arg).embedded) {
+				NewNode child = (NewNode) arg;
+				depth += words[0];
+				try {
+					code = nlJoin(code, loadEntry(child.nl, child.entry)); // Dispatch Table Pointer del figlio
+				} finally { depth -= words[0]; }
+				words[0]++;
+				code = nlJoin(code, pushFields(child, words));
+			} else code = nlJoin(code, visitAbove(words[0]++, arg));
+		}
+		return code;
+	}
+
+	// Oggetto allocato nel frame corrente (EscapeAnalysisEASTVisitor): stesso layout dello heap,
+	// il Dispatch Table Pointer nella prima cella e il campo i-esimo i celle sotto
+	private String frameObject(NewNode n, String argCode) {
+		String storeSequence = null;
+		for (int i = n.arglist.size(); i >= 1; i--) { // l'ultimo argomento e' in cima allo stack
+			storeSequence = nlJoin(storeSequence,
+					getFrame(nestingLevel, n.cells.get(i).nl), "push " + n.cells.get(i).offset, "add", "sw");
+		}
+		STentry obj = n.cells.get(0);
+		return nlJoin(
+				argCode,
+				storeSequence,                                 // Scrive i campi nelle celle del frame
+				loadEntry(n.nl, n.entry),                      // Dispatch Table Pointer dal frame globale
+				getFrame(nestingLevel, obj.nl), "push " + obj.offset, "add",
+				"sw",                                          // Scrive il Dispatch Table Pointer nella prima cella
+				getFrame(nestingLevel, obj.nl), "push " + obj.offset, "add" // Indirizzo oggetto (return value)
 		);
 	}
 
@@ -394,27 +739,44 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 	public String visitNode(ClassCallNode n) {
 		if (print) printNode(n, n.objId + "." + n.methodId);
 
-		String argCode = null, getAR = null;
+		// un oggetto allocato nel frame corrente sparirebbe con il frame: nessuna chiamata in coda
+		boolean tail = !(n.entry.nl == nestingLevel && frameObjects.contains(n.entry)) && isTailCall(n, n.arglist.size());
+		int cl = tail ? 0 : 1; // una chiamata in coda non ricarica il Control Link
+		String argCode = null;
 		// Valuta argomenti in ordine inverso
 		for (int i = n.arglist.size() - 1; i >= 0; i--) {
-			argCode = nlJoin(argCode, visit(n.arglist.get(i)));
+			argCode = nlJoin(argCode, visitAbove(n.arglist.size() - 1 - i + cl, n.arglist.get(i)));
 		}
 
-		// Recupera l'indirizzo dove è salvato l'oggetto (seguendo la catena statica)
-		for (int i = 0; i < n.nl - n.entry.nl; i++) getAR = nlJoin(getAR, "lw");
-
-		return nlJoin(
-				"lfp", // 1. Push Control Link (chiamante)
-				argCode, // 2. Push Argomenti
-
-				// 3. Recupera Object Pointer
-				"lfp", getAR, "push " + n.entry.offset, "add", "lw",
+		// Chiamata devirtualizzata: Access Link (oggetto) e indirizzo del metodo noto a tempo di compilazione;
+		// se l'oggetto puo' essere null ne legge comunque il Dispatch Table Pointer, per fallire come la chiamata virtuale
+		String getMethod = n.label != null ? nlJoin(
+				loadEntry(n.nl, n.entry),
+				n.nonNull ? null : nlJoin("stm", "ltm", "ltm", "lw", "pop"),
+				"push " + n.label
+		) : nlJoin(
+				// Recupera Object Pointer (dal frame che lo contiene)
+				loadEntry(n.nl, n.entry),
 
 				"stm", // Salva ObjPtr in TM (diventa l'Access Link del metodo chiamato)
+				"ltm", // Ricarica ObjPtr: resta sullo stack come Access Link
 				"ltm", // Duplica ObjPtr per dereferenziarlo
 				"lw",  // Dereferenzia ObjPtr -> Ottieni indirizzo Dispatch Table
 				"push " + n.methodEntry.offset, "add", // Somma offset del metodo
-				"lw",  // Carica indirizzo del codice del metodo dalla DT
+				"lw"   // Carica indirizzo del codice del metodo dalla DT
+		);
+		String site = null; // etichetta del salto al metodo, per le classi osservate nel profilo
+		if (profiling) {
+			site = freshLabel();
+			callSites.put(site, n);
+		}
+		if (tail) return tailCall(argCode, getMethod, n.arglist.size(), site);
+
+		return nlJoin(
+				"lfp", // 1. Push Control Link (chiamante)
+				argCode, // 2. Push Argomenti
+				getMethod, // 3. Access Link (oggetto) e indirizzo del metodo
+				site != null ? site + ":" : null,
 				"js"   // Salta al metodo
 		);
 	}
@@ -424,4 +786,104 @@ public class CodeGenerationASTVisitor extends BaseASTVisitor<String, VoidExcepti
 		if (print) printNode(n);
 		return "push -1"; // Valore per null
 	}
-}
\ No newline at end of file
+
+	@Override
+	public String visitNode(LetNode n) {
+		if (print) printNode(n);
+		String bindCode = null;
+		for (int i = 0; i < n.slots.size(); i++)
+			bindCode = nlJoin(bindCode, assign(n.slots.get(i), n.values.get(i)));
+		return nlJoin(
+			bindCode,
+			visit(n.exp)
+		);
+	}
+
+	// Valuta "value" e lo scrive nella cella "slot" del frame corrente
+	private String assign(STentry slot, Node value) {
+		return nlJoin(
+			visit(value),
+			getFrame(nestingLevel, slot.nl), // le celle sono nel frame corrente
+			"push " + slot.offset, "add",
+			"sw" // store value in its frame slot
+		);
+	}
+
+	// Ciclo ruotato: la condizione e' in fondo, dopo gli assegnamenti, e salta all'indietro
+	// all'inizio del corpo finche' vale true; si entra saltando direttamente alla condizione
+	@Override
+	public String visitNode(WhileNode n) {
+		if (print) printNode(n);
+		String initCode = null, updateCode = null;
+		for (int i = 0; i < n.inits.size(); i++)
+			initCode = nlJoin(initCode, assign(n.vars.get(i), n.inits.get(i)));
+		for (int i = 0; i < n.updates.size(); i++)
+			updateCode = nlJoin(updateCode, assign(n.targets.get(i), n.updates.get(i)));
+		String body = freshLabel();
+		String test = freshLabel();
+		return nlJoin(
+			initCode,
+			"b " + test,
+			body + ":",
+			updateCode,
+			test + ":",
+			condJump(n.cond, body, true), // jump back to the body while the condition holds
+			visit(n.exp)
+		);
+	}
+
+	@Override
+	public String visitNode(SwitchNode n) {
+		if (print) printNode(n);
+		String def = freshLabel(), end = freshLabel();
+		String table = "tsw " + n.low + " " + def, cases = null;
+		for (Node c : n.cases) {
+			if (c == null) { // valore senza caso: default
+				table += " " + def;
+				continue;
+			}
+			String l = freshLabel();
+			table += " " + l;
+			cases = nlJoin(cases, l + ":", visit(c), "b " + end);
+		}
+		return nlJoin(
+			visit(n.exp),
+			table, // jump through the table (the value is popped)
+			cases,
+			def + ":",
+			visit(n.def),
+			end + ":"
+		);
+	}
+
+	@Override
+	public String visitNode(ShiftNode n) {
+		if (print) printNode(n);
+		return nlJoin(
+			visit(n.exp),
+			"push " + n.bits,
+			n.left ? "shl" : "shr"
+		);
+	}
+
+	@Override
+	public String visitNode(NullCheckNode n) {
+		if (print) printNode(n);
+		return nlJoin(
+			visit(n.obj),
+			"lw",  // Dereferenzia l'oggetto: fallisce se e' null
+			"pop",
+			visit(n.exp)
+		);
+	}
+
+	@Override
+	public String visitNode(FieldAccessNode n) {
+		if (print) printNode(n);
+		return nlJoin(
+			visit(n.obj), // Object Pointer
+			"push " + n.fieldEntry.offset, "add", // il campo i-esimo e' all'offset -i dall'oggetto
+			n.fieldEntry.embedded ? null : "lw"
+		);
+	}
+}
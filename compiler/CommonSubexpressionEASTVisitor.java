@@ -0,0 +1,235 @@
+package compiler;
+
+import java.util.*;
+import compiler.AST.*;
+import compiler.lib.*;
+
+// Eliminazione delle sottoespressioni comuni (dopo inlining e constant folding).
+// Si lavora su regioni pure (EffectAnalysis): le espressioni massimali senza effetti.
+// In una regione, una sottoespressione valutata sempre (fuori dai rami degli if e dai
+// secondi operandi di && e ||) e presente almeno due volte viene calcolata una volta sola
+// all'inizio della regione in una nuova cella del frame corrente (LetNode): tutte le sue
+// occorrenze nella regione, anche quelle nei rami, diventano letture della cella.
+// Si parte dalle sottoespressioni piu' grandi; rami e secondi operandi sono poi trattati
+// come regioni a se'. Letterali, variabili e celle non vengono mai spostati.
+// Le celle dei LetNode (chiamate espanse dall'inlining) sono confrontate per posizione,
+// cosi' due espansioni della stessa chiamata risultano uguali.
+public class CommonSubexpressionEASTVisitor extends RewriteEASTVisitor {
+
+	private final EffectAnalysis effects;
+	private boolean inRegion = false;
+	int eliminated = 0; // occorrenze sostituite da letture di celle
+
+	CommonSubexpressionEASTVisitor(EffectAnalysis e) { effects = e; }
+
+	private static boolean isExp(Visitable v) {
+		return !(v instanceof DecNode || v instanceof TypeNode || v instanceof ProgLetInNode || v instanceof ProgNode);
+	}
+
+	@Override
+	public Node visit(Visitable v) {
+		if (inRegion || !isExp(v) || !effects.isPure((Node) v)) return super.visit(v);
+		inRegion = true;
+		try {
+			return region(super.visit(v));
+		} finally { inRegion = false; }
+	}
+
+	// CSE su una regione pura gia' ricostruita
+	private Node region(Node r) {
+		List<STentry> slots = new ArrayList<>();
+		List<Node> values = new ArrayList<>();
+		while (true) {
+			Map<String, Integer> count = new HashMap<>();
+			Map<String, Node> sample = new HashMap<>();
+			Keys keys = new Keys();
+			Set<STentry> bound = boundSlots(r);
+			for (Node sub : unconditional(r, new ArrayList<>())) {
+				if (!Collections.disjoint(freeEntries(sub), bound)) continue; // usa celle assegnate nella regione
+				String k = keys.key(sub);
+				count.merge(k, 1, Integer::sum);
+				sample.putIfAbsent(k, sub);
+			}
+			String best = null;
+			for (String k : count.keySet())
+				if (count.get(k) >= 2 && worth(sample.get(k)) && (best == null || k.length() > best.length())) best = k;
+			if (best == null) break;
+			STentry slot = newSlot(typeOf(sample.get(best)));
+			values.add(region(sample.get(best)));
+			slots.add(slot);
+			r = replace(r, best, slot, keys);
+		}
+		r = conditionalRegions(r);
+		if (slots.isEmpty()) return r;
+		return line(r, new LetNode(slots, values, r));
+	}
+
+	// sottoespressioni valutate ogni volta che lo e' n (n esclusa)
+	private static List<Node> unconditional(Node n, List<Node> acc) {
+		List<Node> children = new ArrayList<>();
+		if (n instanceof IfNode) children.add(((IfNode) n).cond);
+		else if (n instanceof AndNode) children.add(((AndNode) n).left);
+		else if (n instanceof OrNode) children.add(((OrNode) n).left);
+		else children.addAll(children(n));
+		for (Node c : children) {
+			acc.add(c);
+			unconditional(c, acc);
+		}
+		return acc;
+	}
+
+	private static List<Node> children(Node n) {
+		if (n instanceof IfNode) return Arrays.asList(((IfNode) n).cond, ((IfNode) n).th, ((IfNode) n).el);
+		if (n instanceof NotNode) return Arrays.asList(((NotNode) n).exp);
+		if (n instanceof PrintNode) return Arrays.asList(((PrintNode) n).exp);
+		if (n instanceof AndNode) return Arrays.asList(((AndNode) n).left, ((AndNode) n).right);
+		if (n instanceof OrNode) return Arrays.asList(((OrNode) n).left, ((OrNode) n).right);
+		if (n instanceof EqualNode) return Arrays.asList(((EqualNode) n).left, ((EqualNode) n).right);
+		if (n instanceof LessEqualNode) return Arrays.asList(((LessEqualNode) n).left, ((LessEqualNode) n).right);
+		if (n instanceof GreaterEqualNode) return Arrays.asList(((GreaterEqualNode) n).left, ((GreaterEqualNode) n).right);
+		if (n instanceof PlusNode) return Arrays.asList(((PlusNode) n).left, ((PlusNode) n).right);
+		if (n instanceof MinusNode) return Arrays.asList(((MinusNode) n).left, ((MinusNode) n).right);
+		if (n instanceof TimesNode) return Arrays.asList(((TimesNode) n).left, ((TimesNode) n).right);
+		if (n instanceof DivNode) return Arrays.asList(((DivNode) n).left, ((DivNode) n).right);
+		if (n instanceof CallNode) return ((CallNode) n).arglist;
+		if (n instanceof ClassCallNode) return ((ClassCallNode) n).arglist;
+		if (n instanceof NewNode) return ((NewNode) n).arglist;
+		if (n instanceof FieldAccessNode) return Arrays.asList(((FieldAccessNode) n).obj);
+		if (n instanceof NullCheckNode) return Arrays.asList(((NullCheckNode) n).obj, ((NullCheckNode) n).exp);
+		if (n instanceof LetNode) {
+			List<Node> l = new ArrayList<>(((LetNode) n).values);
+			l.add(((LetNode) n).exp);
+			return l;
+		}
+		return Collections.emptyList();
+	}
+
+	// celle assegnate dai LetNode contenuti in n
+	private static Set<STentry> boundSlots(Node n) {
+		Set<STentry> bound = new HashSet<>();
+		new ScanASTVisitor() {
+			@Override
+			public Void visitNode(LetNode l) {
+				bound.addAll(l.slots);
+				return super.visitNode(l);
+			}
+		}.visit(n);
+		return bound;
+	}
+
+	// entry lette da n e non assegnate al suo interno: n non puo' essere calcolata prima di esse
+	private static Set<STentry> freeEntries(Node n) {
+		Set<STentry> free = new HashSet<>();
+		new ScanASTVisitor() {
+			@Override
+			public Void visitNode(IdNode id) {
+				free.add(id.entry);
+				return null;
+			}
+			@Override
+			public Void visitNode(ClassCallNode c) {
+				free.add(c.entry);
+				return super.visitNode(c);
+			}
+		}.visit(n);
+		free.removeAll(boundSlots(n));
+		return free;
+	}
+
+	// conviene una cella: letterali, variabili e celle si leggono gia' con una sola load
+	private static boolean worth(Node n) {
+		return !(n instanceof IntNode || n instanceof BoolNode || n instanceof IdNode || n instanceof EmptyNode);
+	}
+
+	// chiave strutturale: due sottoespressioni con la stessa chiave calcolano lo stesso valore
+	private static class Keys {
+		private final Map<STentry, Integer> ids = new IdentityHashMap<>();
+
+		private String id(STentry e) {
+			return "#" + ids.computeIfAbsent(e, x -> ids.size());
+		}
+
+		String key(Node n) {
+			return key(n, new IdentityHashMap<>());
+		}
+
+		// "bound": celle dei LetNode interni a n, numerate per posizione
+		private String key(Node n, Map<STentry, String> bound) {
+			StringBuilder k = new StringBuilder(n.getClass().getSimpleName());
+			if (n instanceof IntNode) k.append(((IntNode) n).val);
+			if (n instanceof BoolNode) k.append(((BoolNode) n).val);
+			if (n instanceof IdNode) k.append(bound.getOrDefault(((IdNode) n).entry, id(((IdNode) n).entry)));
+			if (n instanceof CallNode) k.append(id(((CallNode) n).entry));
+			if (n instanceof ClassCallNode) k.append(id(((ClassCallNode) n).entry)).append(id(((ClassCallNode) n).methodEntry));
+			if (n instanceof FieldAccessNode) k.append(id(((FieldAccessNode) n).fieldEntry));
+			if (n instanceof NewNode) k.append(id(((NewNode) n).entry));
+			if (n instanceof LetNode) for (STentry slot : ((LetNode) n).slots) bound.put(slot, "$" + bound.size());
+			k.append("(");
+			for (Node c : children(n)) k.append(key(c, bound)).append(",");
+			return k.append(")").toString();
+		}
+	}
+
+	private Node replace(Node r, String target, STentry slot, Keys keys) {
+		return new RewriteEASTVisitor() {
+			@Override
+			public Node visit(Visitable v) {
+				if (isExp(v) && keys.key((Node) v).equals(target)) {
+					eliminated++;
+					IdNode id = line((Node) v, new IdNode(SLOT_PREFIX));
+					id.entry = slot;
+					id.nl = nestingLevel();
+					return id;
+				}
+				return super.visit(v);
+			}
+		}.visit(r);
+	}
+
+	private int nestingLevel() {
+		return nestingLevel;
+	}
+
+	// rami degli if e secondi operandi di && e ||: regioni a se'
+	private Node conditionalRegions(Node r) {
+		if (r instanceof IfNode) {
+			IfNode n = (IfNode) r;
+			return line(n, new IfNode(conditionalRegions(n.cond), region(n.th), region(n.el)));
+		}
+		if (r instanceof AndNode) {
+			AndNode n = (AndNode) r;
+			return line(n, new AndNode(conditionalRegions(n.left), region(n.right)));
+		}
+		if (r instanceof OrNode) {
+			OrNode n = (OrNode) r;
+			return line(n, new OrNode(conditionalRegions(n.left), region(n.right)));
+		}
+		if (children(r).isEmpty()) return r;
+		// ricostruisce solo i figli che contengono rami
+		return new RewriteEASTVisitor() {
+			@Override
+			public Node visit(Visitable v) {
+				if (v != r && (v instanceof IfNode || v instanceof AndNode || v instanceof OrNode))
+					return conditionalRegions((Node) v);
+				return super.visit(v);
+			}
+		}.visit(r);
+	}
+
+	// tipo di un'espressione ben tipata (per la dichiarazione della cella)
+	private static TypeNode typeOf(Node n) {
+		if (n instanceof IntNode || n instanceof PlusNode || n instanceof MinusNode || n instanceof TimesNode || n instanceof DivNode)
+			return new IntTypeNode();
+		if (n instanceof IdNode) return ((IdNode) n).entry.type;
+		if (n instanceof CallNode) return ((ArrowTypeNode) ((CallNode) n).entry.type).ret;
+		if (n instanceof ClassCallNode) return ((ArrowTypeNode) ((ClassCallNode) n).methodEntry.type).ret;
+		if (n instanceof FieldAccessNode) return ((FieldAccessNode) n).fieldEntry.type;
+		if (n instanceof IfNode) return typeOf(((IfNode) n).th);
+		if (n instanceof LetNode) return typeOf(((LetNode) n).exp);
+		if (n instanceof NullCheckNode) return typeOf(((NullCheckNode) n).exp);
+		if (n instanceof PrintNode) return typeOf(((PrintNode) n).exp);
+		if (n instanceof NewNode) return new RefTypeNode(((NewNode) n).id);
+		if (n instanceof EmptyNode) return new EmptyTypeNode();
+		return new BoolTypeNode();
+	}
+}
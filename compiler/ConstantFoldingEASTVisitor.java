@@ -0,0 +1,191 @@
+package compiler;
+
+import java.util.*;
+import compiler.AST.*;
+import compiler.lib.*;
+import static compiler.TypeRels.*;
+
+// Constant folding e propagazione delle costanti (dopo il type checking e l'inlining):
+// - operazioni aritmetiche, confronti e operatori booleani su letterali diventano letterali
+//   (la divisione per zero resta a tempo di esecuzione, come il suo errore)
+// - gli if con condizione costante diventano il ramo scelto (preceduto dal controllo dell'oggetto
+//   se la condizione e' un metodo espanso su un oggetto forse null, NullCheckNode)
+// - le letture di variabili (e di celle dei LetNode) inizializzate con un letterale diventano
+//   il letterale: le variabili non sono mai riassegnate. Le celle costanti dei LetNode non
+//   vengono piu' assegnate, le dichiarazioni restano (il layout del frame non cambia).
+//   Fanno eccezione le variabili dei cicli, riassegnate dal ciclo (anche quando l'inlining le ha
+//   trasformate in celle di un LetNode con il valore iniziale fittizio).
+// && e || con un operando costante a sinistra si riducono anche se l'altro non e' costante
+// (l'operando destro e' valutato solo se serve, come nel codice generato). "true && r" e
+// "false || r" diventano r solo se r e' un booleano: un operando intero (Bool <= Int) vale
+// true per && se diverso da 0 e per || se uguale a 1, quindi resta l'operatore (o, se e'
+// un letterale, il booleano che ne risulta).
+public class ConstantFoldingEASTVisitor extends RewriteEASTVisitor {
+
+	private final Map<STentry, Node> constants = new HashMap<>(); // entry originali -> letterale
+	int folded = 0; // nodi sostituiti
+
+	ConstantFoldingEASTVisitor() {}
+
+	private static boolean isConst(Node n) {
+		return n instanceof IntNode || n instanceof BoolNode;
+	}
+
+	private static int intVal(Node n) {
+		return ((IntNode) n).val;
+	}
+
+	private static boolean boolVal(Node n) {
+		return ((BoolNode) n).val;
+	}
+
+	private Node fold(Node from, Node to) {
+		folded++;
+		return line(from, to);
+	}
+
+	private Node copy(Node c) {
+		return c instanceof IntNode ? new IntNode(intVal(c)) : new BoolNode(boolVal(c));
+	}
+
+	@Override
+	public Node visitNode(VarNode n) {
+		VarNode v = (VarNode) super.visitNode(n);
+		if (isConst(v.exp) && !isSlot(v) && !isLoop(v)) constants.put(n.entry, v.exp);
+		return v;
+	}
+
+	@Override
+	public Node visitNode(IdNode n) {
+		Node c = constants.get(n.entry);
+		if (c != null) return fold(n, copy(c));
+		return super.visitNode(n);
+	}
+
+	@Override
+	public Node visitNode(LetNode n) {
+		List<STentry> slots = new ArrayList<>();
+		List<Node> values = new ArrayList<>();
+		for (int i = 0; i < n.slots.size(); i++) {
+			Node val = visit(n.values.get(i));
+			if (isConst(val)) constants.put(n.slots.get(i), val);
+			else {
+				slots.add(mapEntry(n.slots.get(i)));
+				values.add(val);
+			}
+		}
+		Node exp = visit(n.exp);
+		if (slots.isEmpty()) return exp;
+		return line(n, new LetNode(slots, values, exp));
+	}
+
+	@Override
+	public Node visitNode(WhileNode n) {
+		for (STentry var : n.vars) constants.remove(var); // lette solo dentro al ciclo
+		return super.visitNode(n);
+	}
+
+	@Override
+	public Node visitNode(IfNode n) {
+		Node cond = visit(n.cond);
+		if (cond instanceof BoolNode) {
+			folded++;
+			return boolVal(cond) ? visit(n.th) : visit(n.el);
+		}
+		if (cond instanceof NullCheckNode && ((NullCheckNode) cond).exp instanceof BoolNode) {
+			NullCheckNode c = (NullCheckNode) cond;
+			folded++;
+			return line(n, new NullCheckNode(c.obj, boolVal(c.exp) ? visit(n.th) : visit(n.el)));
+		}
+		return line(n, new IfNode(cond, visit(n.th), visit(n.el)));
+	}
+
+	@Override
+	public Node visitNode(PlusNode n) {
+		Node l = visit(n.left), r = visit(n.right);
+		if (l instanceof IntNode && r instanceof IntNode) return fold(n, new IntNode(intVal(l) + intVal(r)));
+		return line(n, new PlusNode(l, r));
+	}
+
+	@Override
+	public Node visitNode(MinusNode n) {
+		Node l = visit(n.left), r = visit(n.right);
+		if (l instanceof IntNode && r instanceof IntNode) return fold(n, new IntNode(intVal(l) - intVal(r)));
+		return line(n, new MinusNode(l, r));
+	}
+
+	@Override
+	public Node visitNode(TimesNode n) {
+		Node l = visit(n.left), r = visit(n.right);
+		if (l instanceof IntNode && r instanceof IntNode) return fold(n, new IntNode(intVal(l) * intVal(r)));
+		return line(n, new TimesNode(l, r));
+	}
+
+	@Override
+	public Node visitNode(DivNode n) {
+		Node l = visit(n.left), r = visit(n.right);
+		if (l instanceof IntNode && r instanceof IntNode && intVal(r) != 0) return fold(n, new IntNode(intVal(l) / intVal(r)));
+		return line(n, new DivNode(l, r));
+	}
+
+	@Override
+	public Node visitNode(EqualNode n) {
+		Node l = visit(n.left), r = visit(n.right);
+		if (l instanceof IntNode && r instanceof IntNode) return fold(n, new BoolNode(intVal(l) == intVal(r)));
+		if (l instanceof BoolNode && r instanceof BoolNode) return fold(n, new BoolNode(boolVal(l) == boolVal(r)));
+		return line(n, new EqualNode(l, r));
+	}
+
+	@Override
+	public Node visitNode(LessEqualNode n) {
+		Node l = visit(n.left), r = visit(n.right);
+		if (l instanceof IntNode && r instanceof IntNode) return fold(n, new BoolNode(intVal(l) <= intVal(r)));
+		if (l instanceof BoolNode && r instanceof BoolNode) return fold(n, new BoolNode((boolVal(l) ? 1 : 0) <= (boolVal(r) ? 1 : 0)));
+		return line(n, new LessEqualNode(l, r));
+	}
+
+	@Override
+	public Node visitNode(GreaterEqualNode n) {
+		Node l = visit(n.left), r = visit(n.right);
+		if (l instanceof IntNode && r instanceof IntNode) return fold(n, new BoolNode(intVal(l) >= intVal(r)));
+		if (l instanceof BoolNode && r instanceof BoolNode) return fold(n, new BoolNode((boolVal(l) ? 1 : 0) >= (boolVal(r) ? 1 : 0)));
+		return line(n, new GreaterEqualNode(l, r));
+	}
+
+	@Override
+	public Node visitNode(NotNode n) {
+		Node e = visit(n.exp);
+		if (e instanceof BoolNode) return fold(n, new BoolNode(!boolVal(e)));
+		return line(n, new NotNode(e));
+	}
+
+	@Override
+	public Node visitNode(AndNode n) {
+		Node l = visit(n.left);
+		if (l instanceof BoolNode && !boolVal(l)) return fold(n, new BoolNode(false)); // false && r = false (r non valutato)
+		Node r = visit(n.right);
+		if (l instanceof BoolNode) { // true && r = r
+			if (isBool(r)) {
+				folded++;
+				return r;
+			}
+			if (r instanceof IntNode) return fold(n, new BoolNode(intVal(r) != 0));
+		}
+		return line(n, new AndNode(l, r));
+	}
+
+	@Override
+	public Node visitNode(OrNode n) {
+		Node l = visit(n.left);
+		if (l instanceof BoolNode && boolVal(l)) return fold(n, new BoolNode(true)); // true || r = true (r non valutato)
+		Node r = visit(n.right);
+		if (l instanceof BoolNode) { // false || r = r
+			if (isBool(r)) {
+				folded++;
+				return r;
+			}
+			if (r instanceof IntNode) return fold(n, new BoolNode(intVal(r) == 1));
+		}
+		return line(n, new OrNode(l, r));
+	}
+}
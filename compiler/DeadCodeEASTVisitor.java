@@ -0,0 +1,133 @@
+package compiler;
+
+import java.util.*;
+import compiler.AST.*;
+import compiler.lib.*;
+
+// Eliminazione del codice morto sull'intero programma (ultima trasformazione prima della
+// generazione del codice). Analisi di raggiungibilita' a partire dall'espressione del
+// programma: una funzione e' raggiungibile se e' chiamata, un metodo se e' chiamato su un
+// oggetto, una classe se e' istanziata, una variabile se e' letta, sempre da codice
+// raggiungibile. Le variabili con inizializzatore con effetti (EffectAnalysis) sono sempre
+// mantenute, come le celle assegnate dai LetNode raggiungibili e le variabili dei cicli raggiungibili.
+// Le dichiarazioni e i metodi non raggiungibili vengono eliminati (non generano codice ne'
+// entrate della Dispatch Table); RewriteEASTVisitor sposta le dichiarazioni successive e i
+// metodi seguenti nella Dispatch Table aggiornandone le entry.
+public class DeadCodeEASTVisitor extends RewriteEASTVisitor {
+
+	private final Map<STentry, DecNode> decs = new HashMap<>(); // entry -> dichiarazione
+	private final Set<STentry> reached = new HashSet<>();
+	private final Deque<DecNode> work = new ArrayDeque<>();
+	private final EffectAnalysis effects;
+	final List<String> removed = new ArrayList<>(); // report delle dichiarazioni eliminate
+
+	DeadCodeEASTVisitor(EffectAnalysis e) { effects = e; }
+
+	@Override
+	public Node visit(Visitable v) {
+		if (v instanceof ProgLetInNode) reachability((ProgLetInNode) v);
+		return super.visit(v);
+	}
+
+	private void reachability(ProgLetInNode prog) {
+		new ScanASTVisitor() {
+			@Override
+			public Void visitNode(FunNode n) {
+				decs.put(n.entry, n);
+				return super.visitNode(n);
+			}
+			@Override
+			public Void visitNode(VarNode n) {
+				decs.put(n.entry, n);
+				return super.visitNode(n);
+			}
+			@Override
+			public Void visitNode(ClassNode n) {
+				decs.put(n.entry, n);
+				return super.visitNode(n);
+			}
+			@Override
+			public Void visitNode(MethodNode n) {
+				decs.put(n.entry, n);
+				return super.visitNode(n);
+			}
+		}.visit(prog);
+		Uses uses = new Uses();
+		root(uses, prog.declist, prog.exp);
+		while (!work.isEmpty()) {
+			DecNode dec = work.remove();
+			if (dec instanceof FunNode) root(uses, ((FunNode) dec).declist, ((FunNode) dec).exp);
+			if (dec instanceof MethodNode) root(uses, ((MethodNode) dec).declist, ((MethodNode) dec).exp);
+			if (dec instanceof VarNode) uses.visit(((VarNode) dec).exp);
+		}
+	}
+
+	// corpo raggiungibile: la sua espressione e le variabili locali con effetti
+	private void root(Uses uses, List<DecNode> declist, Node exp) {
+		for (DecNode dec : declist)
+			if (dec instanceof VarNode && !effects.isPure(((VarNode) dec).exp)) reach(((VarNode) dec).entry);
+		uses.visit(exp);
+	}
+
+	private void reach(STentry entry) {
+		if (reached.add(entry) && decs.containsKey(entry)) work.add(decs.get(entry));
+	}
+
+	// dichiarazioni usate da un'espressione (le funzioni dichiarate al suo interno solo se raggiunte)
+	private class Uses extends ScanASTVisitor {
+		@Override
+		public Void visitNode(FunNode n) { return null; }
+
+		@Override
+		public Void visitNode(IdNode n) {
+			reach(n.entry);
+			return null;
+		}
+
+		@Override
+		public Void visitNode(CallNode n) {
+			reach(n.entry);
+			return super.visitNode(n);
+		}
+
+		@Override
+		public Void visitNode(ClassCallNode n) {
+			reach(n.entry);
+			reach(n.methodEntry);
+			return super.visitNode(n);
+		}
+
+		@Override
+		public Void visitNode(NewNode n) {
+			reach(n.entry);
+			if (n.cells != null) for (STentry cell : n.cells) reach(cell);
+			return super.visitNode(n);
+		}
+
+		@Override
+		public Void visitNode(LetNode n) {
+			for (STentry slot : n.slots) reach(slot);
+			return super.visitNode(n);
+		}
+
+		@Override
+		public Void visitNode(WhileNode n) {
+			for (STentry var : n.vars) reach(var);
+			return super.visitNode(n);
+		}
+	}
+
+	@Override
+	protected boolean keep(DecNode dec) {
+		STentry entry = dec instanceof FunNode ? ((FunNode) dec).entry
+			: dec instanceof VarNode ? ((VarNode) dec).entry
+			: dec instanceof ClassNode ? ((ClassNode) dec).entry
+			: dec instanceof MethodNode ? ((MethodNode) dec).entry : null;
+		if (entry == null || reached.contains(entry)) return true;
+		if (dec instanceof FunNode) removed.add("function " + ((FunNode) dec).id);
+		if (dec instanceof VarNode && !isSlot((VarNode) dec) && !isCell((VarNode) dec) && !isLoop((VarNode) dec)) removed.add("variable " + ((VarNode) dec).id);
+		if (dec instanceof ClassNode) removed.add("class " + ((ClassNode) dec).id);
+		if (dec instanceof MethodNode) removed.add("method " + ((MethodNode) dec).id);
+		return false;
+	}
+}
@@ -0,0 +1,87 @@
+package compiler;
+
+import java.util.*;
+import compiler.AST.*;
+import compiler.lib.*;
+import static compiler.lib.FOOLlib.*;
+
+// Devirtualizzazione delle chiamate di metodo con class hierarchy analysis (prima
+// dell'inlining). Una chiamata obj.m(...) esegue sempre lo stesso metodo se nessuna
+// sottoclasse (diretta o indiretta) della classe del tipo statico di obj ridefinisce m:
+// in tal caso diventa una chiamata diretta all'etichetta del metodo (ClassCallNode.label),
+// senza passare dalla Dispatch Table, e puo' essere espansa dall'inlining.
+// Le etichette dei metodi sono assegnate qui, prima della generazione del codice,
+// perche' una chiamata diretta puo' precedere il codice del metodo chiamato.
+// Su un oggetto null la chiamata diretta fallisce come quella virtuale: la generazione del
+// codice legge comunque il Dispatch Table Pointer dell'oggetto prima del salto (NullCheckNode
+// se la chiamata e' espansa dall'inlining), tranne quando l'oggetto e' una variabile
+// inizializzata con new (ClassCallNode.nonNull), che non puo' valere null.
+public class DevirtualizationEASTVisitor extends RewriteEASTVisitor {
+
+	private final Map<String, ClassNode> classes = new HashMap<>();
+	private final Map<String, List<String>> subclasses = new HashMap<>();
+	private final Set<STentry> allocated = new HashSet<>(); // variabili inizializzate con new
+	int devirtualized = 0;
+
+	DevirtualizationEASTVisitor() {}
+
+	// superclasse dichiarata con "extends" (null se non c'e')
+	private static String superClassOf(ClassNode n) {
+		return n.superId;
+	}
+
+	@Override
+	public Node visit(Visitable v) {
+		if (v instanceof ProgLetInNode) {
+			new ScanASTVisitor() {
+				@Override
+				public Void visitNode(VarNode var) {
+					if (var.exp instanceof NewNode) allocated.add(var.entry);
+					return super.visitNode(var);
+				}
+			}.visit(v);
+			for (DecNode dec : ((ProgLetInNode) v).declist)
+				if (dec instanceof ClassNode) {
+					ClassNode c = (ClassNode) dec;
+					classes.put(c.id, c);
+					if (superClassOf(c) != null)
+						subclasses.computeIfAbsent(superClassOf(c), s -> new ArrayList<>()).add(c.id);
+					for (MethodNode method : c.methods)
+						if (method.label == null) method.label = freshFunLabel();
+				}
+		}
+		return super.visit(v);
+	}
+
+	// metodo "methodId" eseguito sugli oggetti della classe "classId" (dichiarato o ereditato)
+	private MethodNode lookup(String classId, String methodId) {
+		for (ClassNode c = classes.get(classId); c != null; c = classes.get(superClassOf(c)))
+			for (MethodNode method : c.methods)
+				if (method.id.equals(methodId)) return method;
+		return null;
+	}
+
+	private boolean overridden(String classId, String methodId) {
+		for (String sub : subclasses.getOrDefault(classId, Collections.emptyList())) {
+			for (MethodNode method : classes.get(sub).methods)
+				if (method.id.equals(methodId)) return true;
+			if (overridden(sub, methodId)) return true;
+		}
+		return false;
+	}
+
+	@Override
+	public Node visitNode(ClassCallNode n) {
+		ClassCallNode c = (ClassCallNode) super.visitNode(n);
+		if (c.label == null && n.entry.type instanceof RefTypeNode) {
+			String classId = ((RefTypeNode) n.entry.type).id;
+			MethodNode target = lookup(classId, n.methodId);
+			if (target != null && !overridden(classId, n.methodId)) {
+				c.label = target.label;
+				c.nonNull = allocated.contains(n.entry);
+				devirtualized++;
+			}
+		}
+		return c;
+	}
+}
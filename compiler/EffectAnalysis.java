@@ -0,0 +1,103 @@
+package compiler;
+
+import java.util.*;
+import compiler.AST.*;
+import compiler.lib.*;
+
+// Analisi degli effetti sull'AST arricchito. In FOOL solo print (output) e new (allocazione
+// sullo heap: gli indirizzi degli oggetti sono valori osservabili) hanno effetti; una funzione
+// o un metodo ha effetti se li ha il suo corpo (o l'inizializzatore di una sua variabile
+// locale), direttamente o tramite le funzioni e i metodi che chiama (punto fisso sul grafo
+// delle chiamate). Le chiamate di metodo sono monomorfe: il metodo eseguito e' quello della
+// classe del tipo statico dell'oggetto.
+// Un'espressione pura puo' essere valutata una volta sola al posto di piu' volte, o prima
+// del punto in cui lo sarebbe stata: al piu' cambia quale errore (divisione per zero,
+// null) o quale ciclo infinito si incontra per primo.
+// Un ciclo (WhileNode) assegna solo le proprie variabili, invisibili fuori dal ciclo: non rende
+// impura la funzione che lo contiene, ma un'espressione che lo contiene non e' pura, perche'
+// le letture delle variabili del ciclo non danno sempre lo stesso valore.
+public class EffectAnalysis {
+
+	private final Set<STentry> impure = new HashSet<>(); // entry di funzioni e metodi con effetti
+
+	EffectAnalysis(Node ast) {
+		Map<STentry, Set<STentry>> callers = new HashMap<>(); // chiamato -> funzioni e metodi che lo chiamano
+		Deque<STentry> work = new ArrayDeque<>();
+		new ScanASTVisitor() {
+			@Override
+			public Void visitNode(FunNode n) {
+				body(n.entry, n.declist, n.exp);
+				return super.visitNode(n);
+			}
+			@Override
+			public Void visitNode(MethodNode n) {
+				body(n.entry, n.declist, n.exp);
+				return super.visitNode(n);
+			}
+			private void body(STentry fun, List<DecNode> declist, Node exp) {
+				Effects e = new Effects();
+				for (DecNode dec : declist) e.visit(dec);
+				e.visit(exp);
+				for (STentry callee : e.calls) callers.computeIfAbsent(callee, c -> new HashSet<>()).add(fun);
+				if (e.effects && impure.add(fun)) work.add(fun);
+			}
+		}.visit(ast);
+		while (!work.isEmpty())
+			for (STentry caller : callers.getOrDefault(work.remove(), Collections.emptySet()))
+				if (impure.add(caller)) work.add(caller);
+	}
+
+	// effetti diretti e chiamate di un'espressione (o di un corpo), escluse le funzioni dichiarate al suo interno
+	private static class Effects extends ScanASTVisitor {
+		boolean effects = false;
+		boolean assigns = false; // contiene un ciclo
+		final Set<STentry> calls = new HashSet<>();
+
+		@Override
+		public Void visitNode(FunNode n) { return null; }
+
+		@Override
+		public Void visitNode(PrintNode n) {
+			effects = true;
+			return super.visitNode(n);
+		}
+
+		@Override
+		public Void visitNode(NewNode n) {
+			effects = true;
+			return super.visitNode(n);
+		}
+
+		@Override
+		public Void visitNode(WhileNode n) {
+			assigns = true;
+			return super.visitNode(n);
+		}
+
+		@Override
+		public Void visitNode(CallNode n) {
+			calls.add(n.entry);
+			return super.visitNode(n);
+		}
+
+		@Override
+		public Void visitNode(ClassCallNode n) {
+			calls.add(n.methodEntry);
+			return super.visitNode(n);
+		}
+	}
+
+	// la funzione (o il metodo) con entry "fun" non ha effetti
+	boolean isPure(STentry fun) {
+		return !impure.contains(fun);
+	}
+
+	// l'espressione non ha effetti
+	boolean isPure(Node exp) {
+		Effects e = new Effects();
+		e.visit(exp);
+		if (e.effects || e.assigns) return false;
+		for (STentry callee : e.calls) if (impure.contains(callee)) return false;
+		return true;
+	}
+}
@@ -0,0 +1,106 @@
+package compiler;
+
+import java.util.*;
+import compiler.AST.*;
+import compiler.lib.*;
+
+// Escape analysis e scalar replacement degli oggetti (dopo l'inlining).
+// Un oggetto creato da "var x:C = new C(...)" non sfugge al frame che contiene x se x non e'
+// mai usato come valore (argomento, risultato, campo di un altro oggetto, confronto), ma solo
+// per chiamarne i metodi o leggerne i campi (FieldAccessNode e NullCheckNode, dopo l'inlining): in FOOL un
+// metodo non puo' far sfuggire l'oggetto su cui e' chiamato.
+// - se non restano chiamate di metodo su x, l'oggetto e' sostituito dai suoi campi: ogni campo
+//   diventa una cella del frame inizializzata con il relativo argomento e le letture dei campi
+//   diventano letture delle celle (x resta dichiarato, con valore null)
+// - altrimenti l'oggetto e' allocato nel frame invece che nello heap (NewNode.cells): celle
+//   consecutive per il Dispatch Table Pointer e i campi, con lo stesso layout dello heap
+// In entrambi i casi l'oggetto non occupa piu' spazio nello heap.
+public class EscapeAnalysisEASTVisitor extends RewriteEASTVisitor {
+
+	private final Set<STentry> candidates = new HashSet<>(); // variabili inizializzate con new
+	private final Set<STentry> escaped = new HashSet<>(); // ... usate come valori
+	private final Set<STentry> called = new HashSet<>(); // ... su cui restano chiamate di metodo
+	private final Map<STentry, List<STentry>> fields = new HashMap<>(); // oggetto sostituito -> celle dei campi
+	final List<String> replaced = new ArrayList<>(); // report degli oggetti sostituiti dai campi
+	final List<String> stackAllocated = new ArrayList<>(); // report degli oggetti allocati nel frame
+
+	EscapeAnalysisEASTVisitor() {}
+
+	@Override
+	public Node visit(Visitable v) {
+		if (v instanceof ProgLetInNode) analysis((ProgLetInNode) v);
+		return super.visit(v);
+	}
+
+	private void analysis(ProgLetInNode prog) {
+		new ScanASTVisitor() {
+			@Override
+			public Void visitNode(VarNode n) {
+				if (n.exp instanceof NewNode && !isSlot(n)) candidates.add(n.entry);
+				return super.visitNode(n);
+			}
+			@Override
+			public Void visitNode(IdNode n) {
+				escaped.add(n.entry);
+				return null;
+			}
+			@Override
+			public Void visitNode(FieldAccessNode n) {
+				if (n.obj instanceof IdNode) return null; // lettura di un campo di x: x non sfugge
+				return super.visitNode(n);
+			}
+			@Override
+			public Void visitNode(NullCheckNode n) {
+				if (!(n.obj instanceof IdNode)) visit(n.obj); // controllo di x: x non sfugge
+				visit(n.exp);
+				return null;
+			}
+			@Override
+			public Void visitNode(ClassCallNode n) {
+				called.add(n.entry);
+				return super.visitNode(n);
+			}
+		}.visit(prog);
+	}
+
+	@Override
+	public Node visitNode(VarNode n) {
+		if (!candidates.contains(n.entry) || escaped.contains(n.entry)) return super.visitNode(n);
+		NewNode obj = (NewNode) n.exp;
+		List<TypeNode> types = ((ClassTypeNode) obj.entry.type).allFields;
+		List<Node> args = visitList(obj.arglist);
+		if (!called.contains(n.entry)) {
+			List<STentry> cells = new ArrayList<>();
+			for (int i = 0; i < args.size(); i++) cells.add(newSlot(types.get(i), args.get(i)));
+			fields.put(n.entry, cells);
+			replaced.add(n.id + " = new " + obj.id);
+			return line(n, new VarNode(n.id, n.getType(), line(obj, new EmptyNode())));
+		}
+		// il campo i-esimo deve essere all'offset -i dal Dispatch Table Pointer: celle consecutive
+		NewNode c = line(obj, new NewNode(obj.id, args));
+		c.entry = mapEntry(obj.entry);
+		c.nl = mapNl(obj.nl);
+		c.cells = new ArrayList<>();
+		c.cells.add(newSlot(new IntTypeNode()));
+		for (TypeNode type : types) c.cells.add(newSlot(type));
+		stackAllocated.add(n.id + " = new " + obj.id);
+		return line(n, new VarNode(n.id, n.getType(), c));
+	}
+
+	@Override
+	public Node visitNode(FieldAccessNode n) {
+		if (!(n.obj instanceof IdNode) || !fields.containsKey(((IdNode) n.obj).entry)) return super.visitNode(n);
+		IdNode obj = (IdNode) n.obj;
+		IdNode id = line(n, new IdNode(obj.id));
+		id.entry = fields.get(obj.entry).get(-n.fieldEntry.offset - 1); // campo i-esimo all'offset -i (cella gia' nel nuovo frame)
+		id.nl = mapNl(obj.nl);
+		return id;
+	}
+
+	// un oggetto sostituito dai suoi campi non e' null: il controllo non serve
+	@Override
+	public Node visitNode(NullCheckNode n) {
+		if (n.obj instanceof IdNode && fields.containsKey(((IdNode) n.obj).entry)) return visit(n.exp);
+		return super.visitNode(n);
+	}
+}
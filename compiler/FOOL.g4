@@ -42,12 +42,18 @@ exp     : exp (TIMES | DIV) exp #timesDiv
 	    | NULL #null
 	    | NEW ID LPAR (exp (COMMA exp)* )? RPAR #new
 	    | IF exp THEN CLPAR exp CRPAR ELSE CLPAR exp CRPAR  #if   
+	    | WHILE LPAR loopvar (COMMA loopvar)* SEMIC exp RPAR
+	          CLPAR assign* CRPAR IN CLPAR exp CRPAR #while
 	    | PRINT LPAR exp RPAR #print
 	    | ID #id
 	    | ID LPAR (exp (COMMA exp)* )? RPAR #call
 	    | ID DOT ID LPAR (exp (COMMA exp)* )? RPAR #dotCall
         ; 
              
+loopvar : VAR ID COLON type ASS exp ;
+
+assign  : ID ASS exp SEMIC ;
+
 type    : INT #intType
         | BOOL #boolType
         | ID #idType
@@ -81,6 +87,7 @@ FALSE	: 'false' ;
 IF	    : 'if' ;
 THEN	: 'then';
 ELSE	: 'else' ;
+WHILE	: 'while' ;
 PRINT	: 'print' ;
 LET     : 'let' ;	
 IN      : 'in' ;	
@@ -0,0 +1,94 @@
+package compiler;
+
+import java.util.*;
+import compiler.AST.*;
+import compiler.lib.*;
+
+// Appiattimento dei campi oggetto (ultima trasformazione prima della generazione del codice).
+// I campi sono assegnati solo dal NewNode: se in ogni "new P(...)" del programma il campo f
+// (di tipo C) riceve un "new C(...)", l'oggetto C e' raggiungibile solo attraverso il padre e
+// puo' essere costruito dentro di esso. Nel layout di P il campo f occupa allora il Dispatch
+// Table Pointer di C seguito dai campi di C (con lo stesso layout di un oggetto C nello heap),
+// i campi successivi di P si spostano, e il valore di f e' l'indirizzo del Dispatch Table
+// Pointer contenuto (calcolato, non letto): i metodi di C funzionano invariati.
+// Si risparmia l'allocazione separata del figlio, la cella con il suo indirizzo e una
+// dereferenziazione a ogni lettura del campo. Solo figli piccoli (al piu' MAX_WORDS celle)
+// e solo padri mai allocati nel frame (NewNode.cells).
+public class FieldFlatteningEASTVisitor extends RewriteEASTVisitor {
+
+	static final int MAX_WORDS = 8;
+
+	private final Map<String, ClassNode> classes = new HashMap<>();
+	private final Map<String, List<NewNode>> news = new HashMap<>(); // classe -> sue istanziazioni
+	private final Map<String, Integer> words = new HashMap<>(); // classe -> celle occupate da un oggetto
+	private final Map<STentry, STentry> fieldMap = new HashMap<>(); // entry dei campi -> nuovo offset
+	final List<String> flattened = new ArrayList<>(); // report dei campi appiattiti
+
+	FieldFlatteningEASTVisitor() {}
+
+	@Override
+	public Node visit(Visitable v) {
+		if (v instanceof ProgLetInNode) layout((ProgLetInNode) v);
+		return super.visit(v);
+	}
+
+	private void layout(ProgLetInNode prog) {
+		for (DecNode dec : prog.declist)
+			if (dec instanceof ClassNode) classes.put(((ClassNode) dec).id, (ClassNode) dec);
+		new ScanASTVisitor() {
+			@Override
+			public Void visitNode(NewNode n) {
+				news.computeIfAbsent(n.id, c -> new ArrayList<>()).add(n);
+				return super.visitNode(n);
+			}
+		}.visit(prog);
+		for (ClassNode c : classes.values()) words(c.id, new HashSet<>());
+	}
+
+	// celle di un oggetto della classe: Dispatch Table Pointer e campi (appiattiti se possibile)
+	private int words(String classId, Set<String> visiting) {
+		if (words.containsKey(classId)) return words.get(classId);
+		visiting.add(classId);
+		ClassNode c = classes.get(classId);
+		int size = 1;
+		for (int i = 0; i < c.fields.size(); i++) {
+			FieldNode field = c.fields.get(i);
+			String child = embeddable(classId, i, visiting) ? ((RefTypeNode) field.getType()).id : null;
+			int w = child != null ? words(child, visiting) : 1;
+			if (child != null && w > MAX_WORDS) { child = null; w = 1; }
+			if (child != null) {
+				for (NewNode n : news.get(classId)) ((NewNode) n.arglist.get(i)).embedded = true;
+				flattened.add(classId + "." + field.id);
+			}
+			fieldMap.put(field.entry, new STentry(field.entry.nl, field.entry.type, -size, child != null));
+			size += w;
+		}
+		visiting.remove(classId);
+		words.put(classId, size);
+		return size;
+	}
+
+	// il campo i-esimo della classe riceve sempre un nuovo oggetto della classe del suo tipo
+	private boolean embeddable(String classId, int i, Set<String> visiting) {
+		TypeNode type = classes.get(classId).fields.get(i).getType();
+		if (!(type instanceof RefTypeNode) || !news.containsKey(classId)) return false;
+		String child = ((RefTypeNode) type).id;
+		if (visiting.contains(child)) return false;
+		for (NewNode n : news.get(classId))
+			if (n.cells != null || !(n.arglist.get(i) instanceof NewNode) || !((NewNode) n.arglist.get(i)).id.equals(child)
+					|| ((NewNode) n.arglist.get(i)).cells != null)
+				return false;
+		return true;
+	}
+
+	@Override
+	protected STentry mapEntry(STentry entry) {
+		STentry field = fieldMap.get(entry);
+		return field != null ? field : super.mapEntry(entry);
+	}
+
+	@Override
+	public Node visitNode(FieldAccessNode n) {
+		return line(n, new FieldAccessNode(visit(n.obj), fieldMap.getOrDefault(n.fieldEntry, n.fieldEntry)));
+	}
+}
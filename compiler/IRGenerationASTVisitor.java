@@ -0,0 +1,445 @@
+package compiler;
+
+import java.util.*;
+import compiler.AST.*;
+import compiler.exc.*;
+import compiler.ir.*;
+import compiler.lib.*;
+import static compiler.lib.FOOLlib.*;
+
+// Generazione della rappresentazione intermedia in forma SSA (compiler.ir) dall'AST arricchito,
+// alternativa a CodeGenerationASTVisitor. Ogni funzione, metodo e il programma principale
+// diventano un grafo di blocchi base; if, && e || diventano salti e le loro espressioni phi.
+// Frame e heap sono acceduti con operazioni esplicite (FRAME, LOAD, STORE, NEW, ALLOC) con lo
+// stesso layout del generatore di codice: le dichiarazioni sono scritte nelle loro celle
+// (servono alle funzioni annidate e alle chiamate di metodo), ma nel frame che le dichiara
+// sono lette direttamente come valori SSA. Le chiamate a funzioni dichiarate usano direttamente
+// la loro etichetta.
+public class IRGenerationASTVisitor extends BaseASTVisitor<Instr, VoidException> {
+
+	Program program;
+	private Function fun; // funzione in costruzione
+	private Block block; // blocco corrente
+	private int nestingLevel = 0; // current nesting level (as in SymbolTableASTVisitor)
+	private Map<STentry, Instr> values = new HashMap<>(); // dichiarazioni e parametri del frame corrente
+	private boolean inClass = false; // nei metodi il nesting level 1 e' l'oggetto, non un frame
+	private final Map<STentry, String> labels = new HashMap<>(); // etichette delle funzioni dichiarate
+
+	IRGenerationASTVisitor() {}
+
+	static IRType irType(TypeNode t) {
+		if (t instanceof IntTypeNode) return IRType.INT;
+		if (t instanceof BoolTypeNode) return IRType.BOOL;
+		if (t instanceof ArrowTypeNode) return IRType.CODE;
+		return IRType.PTR; // oggetti, null e classi (indirizzo della Dispatch Table)
+	}
+
+	private Instr add(Op op, IRType type, Instr... args) {
+		return block.add(op, type, args);
+	}
+
+	private Instr add(Op op, IRType type, int imm, Instr... args) {
+		return block.add(op, type, imm, args);
+	}
+
+	// indirizzo del frame (o dell'oggetto, per i campi) al nesting level nl
+	private Instr frame(int nl) {
+		if (absolute && nl == 0) return add(Op.GLOBAL, IRType.PTR);
+		if (inClass && nl == 0) return add(Op.GLOBAL, IRType.PTR); // dai metodi la catena statica finisce all'oggetto
+		return add(Op.FRAME, IRType.PTR, nestingLevel - nl);
+	}
+
+	// valore della dichiarazione "entry"
+	private Instr read(STentry entry) {
+		if (entry.nl == nestingLevel && values.containsKey(entry)) return values.get(entry);
+		if (entry.nl == nestingLevel && entry.offset > 0) { // parametro: letto una volta all'ingresso
+			Block start = fun.entry();
+			Instr base = start.insertAt(0, Op.FRAME, IRType.PTR, 0);
+			Instr par = start.insertAt(1, Op.LOAD, irType(entry.type), entry.offset, base);
+			values.put(entry, par);
+			return par;
+		}
+		Instr base = frame(entry.nl);
+		if (entry.embedded) return add(Op.ADDRESS, IRType.PTR, entry.offset, base); // oggetto contenuto nel padre
+		return add(Op.LOAD, irType(entry.type), entry.offset, base);
+	}
+
+	private void write(STentry entry, Instr value) {
+		block.add(Op.STORE, null, entry.offset, value, frame(entry.nl));
+		if (entry.nl == nestingLevel) values.put(entry, value);
+	}
+
+	// funzione o metodo: nuovo Function con frame di parCount parametri e declist.size() dichiarazioni
+	private void function(String label, int parCount, List<DecNode> declist, Node exp) {
+		Function prevFun = fun;
+		Block prevBlock = block;
+		Map<STentry, Instr> prevValues = values;
+		nestingLevel++;
+		fun = new Function(label, parCount, declist.size() + (display ? 1 : 0), false);
+		program.functions.add(fun);
+		block = fun.newBlock();
+		values = new HashMap<>();
+		for (DecNode dec : declist) visit(dec);
+		add(Op.RET, null, visit(exp));
+		nestingLevel--;
+		fun = prevFun;
+		block = prevBlock;
+		values = prevValues;
+	}
+
+	@Override
+	public Instr visitNode(ProgLetInNode n) {
+		fun = new Function(PrebuiltImage.MAIN, 0, n.declist.size(), true);
+		program = new Program(fun);
+		block = fun.newBlock();
+		for (DecNode dec : n.declist) if (dec instanceof ClassNode) visit(dec);
+		for (DecNode dec : n.declist) if (!(dec instanceof ClassNode)) visit(dec);
+		Block start = fun.newBlock(); // the prebuilt image starts here, with the declarations already evaluated
+		start.label = PrebuiltImage.MAIN;
+		fun.start = start;
+		block.br(start);
+		block = start;
+		visit(n.exp);
+		add(Op.HALT, null);
+		return null;
+	}
+
+	@Override
+	public Instr visitNode(ProgNode n) {
+		fun = new Function(PrebuiltImage.MAIN, 0, 0, true);
+		program = new Program(fun);
+		block = fun.newBlock();
+		visit(n.exp);
+		add(Op.HALT, null);
+		return null;
+	}
+
+	@Override
+	public Instr visitNode(ClassNode n) {
+		for (MethodNode method : n.methods) if (method.label == null) method.label = freshFunLabel();
+		nestingLevel++; // i metodi vedono l'oggetto al nesting level 1
+		inClass = true;
+		for (MethodNode method : n.methods) function(method.label, method.parlist.size(), method.declist, method.exp);
+		inClass = false;
+		nestingLevel--;
+		Instr dt = add(Op.ALLOC, IRType.PTR, n.methods.size()); // Dispatch Table: i metodi in ordine di offset
+		for (int i = 0; i < n.methods.size(); i++) {
+			Instr code = add(Op.ADDR, IRType.CODE);
+			code.sym = n.methods.get(i).label;
+			block.add(Op.STORE, null, i, code, dt);
+		}
+		write(n.entry, dt);
+		return null;
+	}
+
+	@Override
+	public Instr visitNode(FunNode n) {
+		String label = freshFunLabel();
+		labels.put(n.entry, label);
+		function(label, n.parlist.size(), n.declist, n.exp);
+		Instr code = add(Op.ADDR, IRType.CODE);
+		code.sym = label;
+		write(n.entry, code);
+		return null;
+	}
+
+	@Override
+	public Instr visitNode(VarNode n) {
+		if (RewriteEASTVisitor.isSlot(n)) return null; // scritta dal LetNode: la cella e' gia' azzerata
+		if (RewriteEASTVisitor.isLoop(n)) return null; // valore SSA del ciclo (WhileNode)
+		write(n.entry, visit(n.exp));
+		return null;
+	}
+
+	@Override
+	public Instr visitNode(LetNode n) {
+		for (int i = 0; i < n.slots.size(); i++) write(n.slots.get(i), visit(n.values.get(i)));
+		return visit(n.exp);
+	}
+
+	@Override
+	public Instr visitNode(PrintNode n) {
+		Instr v = visit(n.exp);
+		return add(Op.PRINT, v.type, v);
+	}
+
+	@Override
+	public Instr visitNode(IfNode n) {
+		Block th = fun.newBlock(), el = fun.newBlock();
+		branch(n.cond, th, el);
+		block = th;
+		Instr thValue = visit(n.th);
+		Block thEnd = block;
+		block = el;
+		Instr elValue = visit(n.el);
+		Block elEnd = block;
+		return join(thEnd, thValue, elEnd, elValue);
+	}
+
+	// il ciclo diventa un blocco di test con una phi per ogni variabile assegnata (valore
+	// iniziale e valore alla fine del corpo), un corpo che vi risalta e un blocco di uscita.
+	// Le variabili del ciclo sono lette solo nel frame che le dichiara: restano valori SSA,
+	// senza scritture nelle loro celle
+	@Override
+	public Instr visitNode(WhileNode n) {
+		for (int i = 0; i < n.inits.size(); i++) values.put(n.vars.get(i), visit(n.inits.get(i)));
+		Block test = fun.newBlock(), body = fun.newBlock(), exit = fun.newBlock();
+		block.br(test);
+		block = test;
+		Map<STentry, Instr> phis = new LinkedHashMap<>();
+		for (STentry var : n.targets)
+			if (!phis.containsKey(var)) {
+				Instr phi = test.phi(irType(var.type), Arrays.asList(values.get(var)));
+				phis.put(var, phi);
+				values.put(var, phi);
+			}
+		branch(n.cond, body, exit);
+		block = body;
+		for (int i = 0; i < n.updates.size(); i++) values.put(n.targets.get(i), visit(n.updates.get(i)));
+		for (STentry var : phis.keySet()) phis.get(var).args.add(values.get(var));
+		block.br(test);
+		block = exit;
+		values.putAll(phis);
+		return visit(n.exp);
+	}
+
+	// la tabella diventa una catena di confronti (l'IR non ha salti indiretti)
+	@Override
+	public Instr visitNode(SwitchNode n) {
+		Instr v = visit(n.exp);
+		List<Block> ends = new ArrayList<>();
+		List<Instr> values = new ArrayList<>();
+		for (int k = 0; k < n.cases.size(); k++) {
+			if (n.cases.get(k) == null) continue;
+			Block th = fun.newBlock(), next = fun.newBlock();
+			Instr eq = block.add(Op.EQ, IRType.BOOL, v, block.add(Op.CONST, IRType.INT, n.low + k));
+			block.cbr(eq, th, next);
+			block = th;
+			values.add(visit(n.cases.get(k)));
+			ends.add(block);
+			block = next;
+		}
+		values.add(visit(n.def));
+		ends.add(block);
+		Block join = fun.newBlock();
+		IRType type = values.get(0).type;
+		for (int k = 0; k < ends.size(); k++) {
+			ends.get(k).br(join);
+			type = IRType.lub(type, values.get(k).type);
+		}
+		block = join;
+		return join.phi(type, values);
+	}
+
+	// blocco in cui confluiscono i due rami, con la phi dei loro valori
+	private Instr join(Block b1, Instr v1, Block b2, Instr v2) {
+		Block join = fun.newBlock();
+		b1.br(join);
+		b2.br(join);
+		block = join;
+		return join.phi(IRType.lub(v1.type, v2.type), Arrays.asList(v1, v2));
+	}
+
+	// salta a ifTrue o ifFalse secondo il valore di n: &&, || e ! diventano salti (short-circuit)
+	private void branch(Node n, Block ifTrue, Block ifFalse) {
+		if (n instanceof NotNode) {
+			branch(((NotNode) n).exp, ifFalse, ifTrue);
+		} else if (n instanceof AndNode) {
+			Block right = fun.newBlock();
+			operand(((AndNode) n).left, right, ifFalse, 0);
+			block = right;
+			operand(((AndNode) n).right, ifTrue, ifFalse, 0);
+		} else if (n instanceof OrNode) {
+			Block right = fun.newBlock();
+			operand(((OrNode) n).left, ifTrue, right, 1);
+			block = right;
+			operand(((OrNode) n).right, ifTrue, ifFalse, 1);
+		} else if (n instanceof BoolNode) {
+			block.br(((BoolNode) n).val ? ifTrue : ifFalse);
+		} else {
+			Instr cond = visit(n);
+			block.cbr(cond, ifTrue, ifFalse);
+		}
+	}
+
+	// operando di && (test 0: falso se vale 0) o di || (test 1: vero se vale 1), come in
+	// CodeGenerationASTVisitor: un valore INT (Bool <= Int) e' confrontato con "test"
+	private void operand(Node n, Block ifTrue, Block ifFalse, int test) {
+		if (n instanceof NotNode || n instanceof AndNode || n instanceof OrNode || n instanceof BoolNode) {
+			branch(n, ifTrue, ifFalse);
+			return;
+		}
+		Instr v = visit(n);
+		if (v.type == IRType.BOOL) {
+			block.cbr(v, ifTrue, ifFalse);
+			return;
+		}
+		Instr eq = add(Op.EQ, IRType.BOOL, v, add(Op.CONST, IRType.INT, test));
+		if (test == 1) block.cbr(eq, ifTrue, ifFalse);
+		else block.cbr(eq, ifFalse, ifTrue);
+	}
+
+	// valore 0/1 di una condizione costruita con && e ||
+	private Instr boolValue(Node n) {
+		Block t = fun.newBlock(), f = fun.newBlock();
+		branch(n, t, f);
+		return join(t, t.add(Op.CONST, IRType.BOOL, 1), f, f.add(Op.CONST, IRType.BOOL, 0));
+	}
+
+	@Override
+	public Instr visitNode(AndNode n) {
+		return boolValue(n);
+	}
+
+	@Override
+	public Instr visitNode(OrNode n) {
+		return boolValue(n);
+	}
+
+	@Override
+	public Instr visitNode(NotNode n) {
+		return add(Op.NOT, IRType.BOOL, visit(n.exp));
+	}
+
+	@Override
+	public Instr visitNode(EqualNode n) {
+		Instr l = visit(n.left);
+		return add(Op.EQ, IRType.BOOL, l, visit(n.right));
+	}
+
+	@Override
+	public Instr visitNode(LessEqualNode n) {
+		Instr l = visit(n.left);
+		return add(Op.LE, IRType.BOOL, l, visit(n.right));
+	}
+
+	@Override
+	public Instr visitNode(GreaterEqualNode n) { // stesso ordine di valutazione di CodeGenerationASTVisitor
+		Instr r = visit(n.right);
+		return add(Op.LE, IRType.BOOL, r, visit(n.left));
+	}
+
+	private Instr arith(Op op, Node left, Node right) {
+		Instr l = visit(left);
+		return add(op, IRType.INT, l, visit(right));
+	}
+
+	@Override
+	public Instr visitNode(PlusNode n) {
+		return arith(Op.ADD, n.left, n.right);
+	}
+
+	@Override
+	public Instr visitNode(MinusNode n) {
+		return arith(Op.SUB, n.left, n.right);
+	}
+
+	@Override
+	public Instr visitNode(TimesNode n) {
+		return arith(Op.MUL, n.left, n.right);
+	}
+
+	@Override
+	public Instr visitNode(DivNode n) {
+		return arith(Op.DIV, n.left, n.right);
+	}
+
+	@Override
+	public Instr visitNode(ShiftNode n) {
+		Instr v = visit(n.exp);
+		return add(n.left ? Op.SHL : Op.SHR, IRType.INT, v, add(Op.CONST, IRType.INT, n.bits));
+	}
+
+	@Override
+	public Instr visitNode(NullCheckNode n) {
+		block.add(Op.CHECK, null, visit(n.obj));
+		return visit(n.exp);
+	}
+
+	@Override
+	public Instr visitNode(IntNode n) {
+		return add(Op.CONST, IRType.INT, n.val);
+	}
+
+	@Override
+	public Instr visitNode(BoolNode n) {
+		return add(Op.CONST, IRType.BOOL, n.val ? 1 : 0);
+	}
+
+	@Override
+	public Instr visitNode(EmptyNode n) {
+		return add(Op.CONST, IRType.PTR, -1);
+	}
+
+	@Override
+	public Instr visitNode(IdNode n) {
+		return read(n.entry);
+	}
+
+	// Control Link e argomenti in ordine inverso, come nel generatore di codice
+	private List<Instr> callArgs(List<Node> arglist) {
+		List<Instr> args = new ArrayList<>();
+		args.add(add(Op.FRAME, IRType.PTR, 0));
+		for (int i = arglist.size() - 1; i >= 0; i--) args.add(visit(arglist.get(i)));
+		return args;
+	}
+
+	@Override
+	public Instr visitNode(CallNode n) {
+		List<Instr> args = callArgs(n.arglist);
+		Instr al = frame(n.entry.nl);
+		args.add(al);
+		if (labels.containsKey(n.entry)) {
+			Instr code = add(Op.ADDR, IRType.CODE);
+			code.sym = labels.get(n.entry);
+			args.add(code);
+		} else args.add(add(Op.LOAD, IRType.CODE, n.entry.offset, al));
+		return add(Op.CALL, irType(((ArrowTypeNode) n.entry.type).ret), args.toArray(new Instr[0]));
+	}
+
+	@Override
+	public Instr visitNode(ClassCallNode n) {
+		List<Instr> args = callArgs(n.arglist);
+		Instr obj = read(n.entry);
+		args.add(obj);
+		if (n.label != null) { // chiamata devirtualizzata: fallisce comunque se l'oggetto e' null
+			if (!n.nonNull) block.add(Op.CHECK, null, obj);
+			Instr code = add(Op.ADDR, IRType.CODE);
+			code.sym = n.label;
+			args.add(code);
+		} else args.add(add(Op.LOAD, IRType.CODE, n.methodEntry.offset, add(Op.LOAD, IRType.PTR, 0, obj)));
+		return add(Op.CALL, irType(((ArrowTypeNode) n.methodEntry.type).ret), args.toArray(new Instr[0]));
+	}
+
+	@Override
+	public Instr visitNode(FieldAccessNode n) {
+		Instr obj = visit(n.obj);
+		if (n.fieldEntry.embedded) return add(Op.ADDRESS, IRType.PTR, n.fieldEntry.offset, obj);
+		return add(Op.LOAD, irType(n.fieldEntry.type), n.fieldEntry.offset, obj);
+	}
+
+	// valori dei campi in ordine: un oggetto contenuto nel padre (NewNode.embedded) occupa il
+	// suo Dispatch Table Pointer seguito dai suoi campi
+	private void fields(NewNode n, List<Instr> words) {
+		for (Node arg : n.arglist)
+			if (arg instanceof NewNode && ((NewNode) arg).embedded) {
+				words.add(read(((NewNode) arg).entry));
+				fields((NewNode) arg, words);
+			} else words.add(visit(arg));
+	}
+
+	@Override
+	public Instr visitNode(NewNode n) {
+		List<Instr> words = new ArrayList<>();
+		fields(n, words);
+		if (n.cells == null) {
+			words.add(read(n.entry));
+			return add(Op.NEW, IRType.PTR, words.toArray(new Instr[0]));
+		}
+		// oggetto nel frame corrente (EscapeAnalysisEASTVisitor): stesso layout dello heap
+		for (int i = words.size(); i >= 1; i--) write(n.cells.get(i), words.get(i - 1));
+		STentry obj = n.cells.get(0);
+		write(obj, read(n.entry));
+		return add(Op.ADDRESS, IRType.PTR, obj.offset, frame(obj.nl));
+	}
+}
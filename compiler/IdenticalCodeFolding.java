@@ -0,0 +1,106 @@
+package compiler;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+import static compiler.lib.FOOLlib.*;
+
+// Identical code folding sul codice SVM (dopo il peephole): il codice di ogni funzione o metodo
+// va dalla sua etichetta (freshFunLabel) alla successiva. Il corpo e' normalizzato rinominando
+// le etichette interne nell'ordine in cui compaiono e i riferimenti a se stesso (ricorsione);
+// i corpi con la stessa forma normalizzata (chiave di una tabella hash) sono identici e ne
+// resta solo il primo: le altre etichette sono redirette ad esso ovunque compaiano, quindi
+// anche nel codice che riempie le Dispatch Table. Due corpi che differiscono solo per la
+// funzione chiamata diventano identici quando le funzioni chiamate vengono unite: si ripete
+// fino a punto fisso.
+public class IdenticalCodeFolding {
+
+	private static final String SELF = "$self";
+
+	private final Map<String,String> merged = new HashMap<>(); // etichetta eliminata -> etichetta del corpo tenuto
+	final List<String> folded = new ArrayList<>(); // report dei corpi eliminati
+	int words; // celle di codice risparmiate
+
+	IdenticalCodeFolding() {}
+
+	String fold(String code) {
+		List<String> main = new ArrayList<>();
+		Map<String,List<String>> bodies = new LinkedHashMap<>(); // etichetta della funzione -> righe che la seguono
+		List<String> cur = main;
+		for (String line : code.split("\n")) {
+			line = line.trim();
+			if (line.isEmpty()) continue;
+			if (line.endsWith(":") && isFunLabel(line.substring(0, line.length()-1))) {
+				cur = new ArrayList<>();
+				bodies.put(line.substring(0, line.length()-1), cur);
+			} else cur.add(line);
+		}
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			Map<String,String> first = new HashMap<>(); // corpo normalizzato -> etichetta del primo
+			for (Map.Entry<String,List<String>> f : bodies.entrySet()) {
+				if (merged.containsKey(f.getKey())) continue;
+				String kept = first.putIfAbsent(normalize(f.getKey(), f.getValue()), f.getKey());
+				if (kept == null) continue;
+				merged.put(f.getKey(), kept);
+				int size = size(f.getValue());
+				folded.add(f.getKey()+" = "+kept+" ("+size+" words)");
+				words += size;
+				changed = true;
+			}
+		}
+		List<String> out = new ArrayList<>();
+		for (String line : main) out.add(redirect(line));
+		for (Map.Entry<String,List<String>> f : bodies.entrySet()) {
+			if (merged.containsKey(f.getKey())) continue;
+			out.add(f.getKey()+":");
+			for (String line : f.getValue()) out.add(redirect(line));
+		}
+		return String.join("\n", out);
+	}
+
+	private String resolve(String label) {
+		while (merged.containsKey(label)) label = merged.get(label);
+		return label;
+	}
+
+	// riscrive con "f" gli operandi etichetta di un'istruzione (push, b, beq, bleq, tsw, mget)
+	private static String mapLabels(String line, UnaryOperator<String> f) {
+		String[] t = line.split(" ");
+		if (t[0].equals("tsw")) {
+			for (int k = 2; k < t.length; k++) t[k] = f.apply(t[k]);
+		} else if (t[0].equals("mget")) {
+			t[3] = f.apply(t[3]);
+		} else if (t.length == 2 && (t[0].equals("push") || t[0].equals("b") || t[0].equals("beq") || t[0].equals("bleq")) && !t[1].matches("-?[0-9]+"))
+			t[1] = f.apply(t[1]);
+		return String.join(" ", t);
+	}
+
+	private String redirect(String line) {
+		return mapLabels(line, this::resolve);
+	}
+
+	private String normalize(String label, List<String> body) {
+		Map<String,String> local = new HashMap<>();
+		for (String line : body)
+			if (line.endsWith(":")) local.put(line.substring(0, line.length()-1), "#"+local.size());
+		StringBuilder s = new StringBuilder();
+		for (String line : body) {
+			if (line.endsWith(":")) s.append(local.get(line.substring(0, line.length()-1))+":");
+			else s.append(mapLabels(line, arg -> {
+				String target = local.containsKey(arg) ? local.get(arg) : resolve(arg);
+				return target.equals(label) ? SELF : target;
+			}));
+			s.append("\n");
+		}
+		return s.toString();
+	}
+
+	// celle di codice occupate dalle istruzioni (le etichette non ne occupano)
+	private static int size(List<String> body) {
+		int n = 0;
+		for (String line : body)
+			if (!line.endsWith(":")) n += line.split(" ").length + (line.startsWith("tsw ") ? 1 : 0);
+		return n;
+	}
+}
@@ -0,0 +1,209 @@
+package compiler;
+
+import java.util.*;
+import compiler.AST.*;
+import compiler.lib.*;
+import static compiler.lib.FOOLlib.*;
+
+// Inlining delle chiamate di funzioni e metodi con corpo piccolo (al piu' MAX_SIZE nodi,
+// con sole dichiarazioni di variabili): la chiamata diventa un LetNode che assegna argomenti
+// e dichiarazioni locali a nuove celle del frame del chiamante e poi valuta il corpo. Nel corpo copiato:
+// - le entry di parametri e dichiarazioni locali del chiamato diventano quelle delle nuove celle
+// - il nesting level d'uso diventa quello del chiamante: le altre entry usate dal corpo sono
+//   di nesting level minori, raggiungibili anche dal chiamante seguendo la catena statica
+// - per i metodi, i campi sono letti dall'oggetto su cui il metodo e' chiamato (FieldAccessNode)
+// - per i metodi, dopo gli argomenti un NullCheckNode fa fallire l'espansione su un oggetto null
+//   come la chiamata (salvo ClassCallNode.nonNull)
+// Sono espanse solo le chiamate di metodo devirtualizzate (DevirtualizationEASTVisitor), per le
+// quali il metodo eseguito e' sempre quello della classe del tipo statico dell'oggetto.
+// Una funzione ricorsiva viene espansa al piu' RECURSION_LIMIT volte dentro se' stessa.
+// Con un profilo di esecuzione il limite sul corpo sale a HOT_MAX_SIZE per i chiamati caldi non ricorsivi,
+// mentre quelli mai chiamati durante l'esecuzione profilata non sono espansi (solo codice in piu').
+public class InliningEASTVisitor extends RewriteEASTVisitor {
+
+	static final int MAX_SIZE = 20;
+	static final int HOT_MAX_SIZE = 60;
+	static final int RECURSION_LIMIT = 1;
+
+	private final Map<STentry, FunNode> functions = new HashMap<>();
+	private final Map<STentry, MethodNode> methods = new HashMap<>();
+	private final List<Node> active = new ArrayList<>(); // funzioni e metodi in ricostruzione o in espansione
+	private Substitution sub; // chiamata in espansione
+	private boolean scanned = false;
+	private final Profile profile; // null: nessun profilo
+	final List<String> inlined = new ArrayList<>(); // report delle chiamate espanse
+
+	// corpo del chiamato visto dal frame del chiamante
+	private static class Substitution {
+		final int calleeLevel; // nesting level del corpo del chiamato
+		final int callerLevel;
+		final Map<Integer, STentry> slots = new HashMap<>(); // offset nel frame del chiamato -> cella del chiamante
+		final STentry objEntry; // oggetto su cui e' chiamato il metodo (null per le funzioni)
+		final int objNl;
+		Substitution(int callee, int caller, STentry obj, int nl) {
+			calleeLevel = callee; callerLevel = caller; objEntry = obj; objNl = nl;
+		}
+	}
+
+	InliningEASTVisitor() { this(null); }
+	InliningEASTVisitor(Profile p) { profile = p; }
+
+	@Override
+	public Node visit(Visitable v) {
+		if (!scanned) { // prima visita: raccoglie i possibili chiamati
+			scanned = true;
+			new ScanASTVisitor() {
+				@Override
+				public Void visitNode(FunNode n) {
+					functions.put(n.entry, n);
+					return super.visitNode(n);
+				}
+				@Override
+				public Void visitNode(MethodNode n) {
+					methods.put(n.entry, n);
+					return super.visitNode(n);
+				}
+			}.visit(v);
+		}
+		return super.visit(v);
+	}
+
+	@Override
+	protected STentry mapEntry(STentry entry) {
+		if (sub == null || entry.nl != sub.calleeLevel) return super.mapEntry(entry);
+		// celle aggiunte al frame del chiamato da altre trasformazioni: nuove celle anche queste
+		return sub.slots.computeIfAbsent(entry.offset, o -> newSlot(entry.type));
+	}
+
+	@Override
+	protected int mapNl(int nl) {
+		return sub == null ? nl : sub.callerLevel;
+	}
+
+	@Override
+	public Node visitNode(FunNode n) {
+		active.add(n);
+		try {
+			return super.visitNode(n);
+		} finally { active.remove(active.size() - 1); }
+	}
+
+	@Override
+	public Node visitNode(MethodNode n) {
+		active.add(n);
+		try {
+			return super.visitNode(n);
+		} finally { active.remove(active.size() - 1); }
+	}
+
+	@Override
+	public Node visitNode(IdNode n) {
+		if (sub != null && sub.objEntry != null && n.entry.nl == sub.calleeLevel - 1)
+			return line(n, new FieldAccessNode(objId(n), n.entry)); // campo dell'oggetto
+		return super.visitNode(n);
+	}
+
+	private IdNode objId(Node at) {
+		IdNode obj = line(at, new IdNode("this"));
+		obj.entry = sub.objEntry;
+		obj.nl = sub.objNl;
+		return obj;
+	}
+
+	@Override
+	public Node visitNode(CallNode n) {
+		FunNode f = functions.get(n.entry);
+		if (f == null || !inlinable(f, f.declist, f.exp, -1)) return super.visitNode(n);
+		return expand(n, f.id, f, f.parlist, f.declist, f.exp, visitList(n.arglist),
+			new Substitution(f.entry.nl + 1, nestingLevel, null, 0), false);
+	}
+
+	@Override
+	public Node visitNode(ClassCallNode n) {
+		MethodNode m = n.label != null ? methods.get(n.methodEntry) : null;
+		if (m == null || !inlinable(m, m.declist, m.exp, m.entry.nl)) return super.visitNode(n);
+		return expand(n, n.objId + "." + m.id, m, m.parlist, m.declist, m.exp, visitList(n.arglist),
+			new Substitution(m.entry.nl + 1, nestingLevel, mapEntry(n.entry), mapNl(n.nl)), !n.nonNull);
+	}
+
+	// corpo piccolo, solo variabili locali, non gia' in espansione (o in ricostruzione) piu' di RECURSION_LIMIT volte;
+	// per i metodi (classLevel >= 0) ogni uso dell'oggetto corrente deve essere la lettura di un campo
+	private boolean inlinable(Node callee, List<DecNode> declist, Node exp, int classLevel) {
+		if (Collections.frequency(active, callee) > RECURSION_LIMIT) return false;
+		for (DecNode dec : declist) if (!(dec instanceof VarNode)) return false;
+		int[] size = {0};
+		boolean[] ok = {true}, recursive = {false};
+		STentry entry = callee instanceof FunNode ? ((FunNode) callee).entry : ((MethodNode) callee).entry;
+		ScanASTVisitor scan = new ScanASTVisitor() {
+			@Override
+			public Void visit(Visitable v) {
+				size[0]++;
+				return super.visit(v);
+			}
+			@Override
+			public Void visitNode(CallNode n) {
+				if (n.entry.nl == classLevel) ok[0] = false; // metodo chiamato senza oggetto
+				if (n.entry == entry) recursive[0] = true;
+				return super.visitNode(n);
+			}
+			@Override
+			public Void visitNode(ClassCallNode n) {
+				if (n.entry.nl == classLevel) ok[0] = false; // metodo di un oggetto contenuto in un campo
+				if (n.methodEntry == entry) recursive[0] = true;
+				return super.visitNode(n);
+			}
+		};
+		for (DecNode dec : declist) scan.visit(dec);
+		scan.visit(exp);
+		return ok[0] && size[0] <= maxSize(callee, recursive[0]);
+	}
+
+	// le funzioni ricorsive calde restano al limite normale: l'espansione ripetuta del corpo
+	// toglierebbe le chiamate con argomenti costanti alla specializzazione
+	private int maxSize(Node callee, boolean recursive) {
+		if (profile == null) return MAX_SIZE;
+		if (profile.isCold(callee)) return 0;
+		return profile.isHot(callee) && !recursive ? HOT_MAX_SIZE : MAX_SIZE;
+	}
+
+	// argomenti gia' ricostruiti nel contesto del chiamante, valutati in ordine inverso come nella chiamata;
+	// con "nullCheck" l'oggetto e' controllato tra gli argomenti e le dichiarazioni locali
+	private Node expand(Node call, String name, Node callee, List<ParNode> parlist, List<DecNode> declist, Node exp,
+			List<Node> args, Substitution s, boolean nullCheck) {
+		List<STentry> slots = new ArrayList<>();
+		List<Node> values = new ArrayList<>();
+		for (int i = parlist.size() - 1; i >= 0; i--) {
+			STentry slot = newSlot(parlist.get(i).getType());
+			s.slots.put(i + 1, slot);
+			slots.add(slot);
+			values.add(args.get(i));
+		}
+		List<STentry> argSlots = slots;
+		List<Node> argValues = values;
+		if (nullCheck) {
+			slots = new ArrayList<>();
+			values = new ArrayList<>();
+		}
+		Substitution prevSub = sub;
+		sub = s;
+		active.add(callee);
+		try {
+			int offset = firstLocalOffset();
+			for (DecNode dec : declist) {
+				values.add(visit(((VarNode) dec).exp));
+				STentry slot = newSlot(dec.getType());
+				s.slots.put(offset--, slot);
+				slots.add(slot);
+			}
+			Node body = visit(exp);
+			inlined.add(name + " at line " + call.getLine());
+			if (!nullCheck) return line(call, new LetNode(slots, values, body));
+			if (!slots.isEmpty()) body = line(call, new LetNode(slots, values, body));
+			body = line(call, new NullCheckNode(objId(call), body));
+			return argSlots.isEmpty() ? body : line(call, new LetNode(argSlots, argValues, body));
+		} finally {
+			sub = prevSub;
+			active.remove(active.size() - 1);
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package compiler;
+
+import java.util.*;
+import compiler.AST.*;
+import compiler.lib.*;
+
+// Valutazione per necessita' delle variabili locali di funzioni e metodi. Una variabile e'
+// rimandata se il suo inizializzatore non ha effetti (EffectAnalysis), e' letta solo dal corpo
+// (non da altre dichiarazioni ne' da funzioni annidate) e il corpo non la legge su tutti i
+// cammini (analisi di strettezza: e' letta ogni volta che lo e' un'espressione se la legge fuori
+// dai rami degli if e dai secondi operandi di && e ||). Le variabili lette sempre restano
+// dichiarazioni valutate all'ingresso.
+// La dichiarazione rimandata sparisce e l'inizializzatore e' valutato, in una nuova cella del
+// frame (LetNode), all'inizio della sottoespressione piu' esterna del corpo che la legge su tutti
+// i suoi cammini o piu' volte su uno stesso cammino (fuori dai rami): nei rami che la usano, una
+// volta sola, e in nessun punto sui cammini che non la usano. Se la sottoespressione e' la
+// lettura stessa l'inizializzatore prende il suo posto.
+// Un ciclo (WhileNode) legge una variabile su tutti i suoi cammini se la legge da qualche parte:
+// l'inizializzatore e' valutato prima del ciclo, mai a ogni iterazione. Le variabili dei cicli,
+// riassegnate, non sono mai rimandate.
+// Con i valori immutabili di FOOL non servono thunk valutati a tempo di esecuzione: il punto
+// della prima lettura di ogni cammino e' noto a tempo di compilazione. Come nelle altre
+// trasformazioni che spostano espressioni pure, al piu' cambia quale errore si incontra (una
+// divisione per zero in un inizializzatore mai letto non avviene piu').
+// Le dichiarazioni globali non sono toccate: l'immagine precalcolata le valuta gia' a tempo di
+// compilazione.
+public class LazyBindingEASTVisitor extends RewriteEASTVisitor {
+
+	private final EffectAnalysis effects;
+	private List<VarNode> pending = new ArrayList<>(); // variabili rimandate del frame corrente, non ancora assegnate
+	private final Map<STentry, STentry> bound = new HashMap<>(); // variabile rimandata -> cella che ne contiene il valore
+	private final Set<DecNode> delayed = new HashSet<>();
+	final List<String> lazy = new ArrayList<>(); // report delle variabili rimandate
+
+	LazyBindingEASTVisitor(EffectAnalysis e) { effects = e; }
+
+	private static boolean isExp(Visitable v) {
+		return !(v instanceof DecNode || v instanceof TypeNode || v instanceof ProgLetInNode || v instanceof ProgNode);
+	}
+
+	@Override
+	protected boolean keep(DecNode dec) {
+		return !delayed.contains(dec);
+	}
+
+	@Override
+	public Node visitNode(FunNode n) {
+		List<VarNode> prev = pending;
+		pending = candidates(n.id, n.declist, n.exp);
+		try {
+			return super.visitNode(n);
+		} finally { pending = prev; }
+	}
+
+	@Override
+	public Node visitNode(MethodNode n) {
+		List<VarNode> prev = pending;
+		pending = candidates(n.id, n.declist, n.exp);
+		try {
+			return super.visitNode(n);
+		} finally { pending = prev; }
+	}
+
+	// variabili del frame da rimandare, in ordine di dichiarazione
+	private List<VarNode> candidates(String fun, List<DecNode> declist, Node exp) {
+		List<VarNode> c = new ArrayList<>();
+		for (DecNode dec : declist) {
+			if (!(dec instanceof VarNode)) continue;
+			VarNode v = (VarNode) dec;
+			if (isSlot(v) || isCell(v) || isLoop(v) || v.getType() instanceof ArrowTypeNode || !effects.isPure(v.exp)) continue;
+			boolean elsewhere = false;
+			for (DecNode other : declist) elsewhere |= uses(other, v.entry, false);
+			if (elsewhere || uses(exp, v.entry, false) != uses(exp, v.entry, true) || strict(exp, v.entry)) continue;
+			c.add(v);
+			delayed.add(v);
+			lazy.add(v.id + " in " + fun + (uses(exp, v.entry, true) ? "" : " (never read)"));
+		}
+		return c;
+	}
+
+	// n contiene un riferimento a "entry" (solo letture come IdNode se "read", altrimenti anche chiamate)
+	private static boolean uses(Node n, STentry entry, boolean read) {
+		boolean[] found = {false};
+		new ScanASTVisitor() {
+			@Override
+			public Void visitNode(IdNode id) {
+				found[0] |= id.entry == entry;
+				return null;
+			}
+			@Override
+			public Void visitNode(CallNode call) {
+				found[0] |= !read && call.entry == entry;
+				return super.visitNode(call);
+			}
+			@Override
+			public Void visitNode(ClassCallNode call) {
+				found[0] |= !read && call.entry == entry;
+				return super.visitNode(call);
+			}
+		}.visit(n);
+		return found[0];
+	}
+
+	// "entry" e' letta ogni volta che n e' valutata
+	private static boolean strict(Node n, STentry entry) {
+		boolean[] found = {false};
+		new ScanASTVisitor() {
+			@Override
+			public Void visitNode(IdNode id) {
+				found[0] |= id.entry == entry;
+				return null;
+			}
+			@Override
+			public Void visitNode(IfNode i) { return visit(i.cond); }
+			@Override
+			public Void visitNode(AndNode a) { return visit(a.left); }
+			@Override
+			public Void visitNode(OrNode o) { return visit(o.left); }
+		}.visit(n);
+		return found[0];
+	}
+
+	// massimo numero di letture di "entry" su un cammino di valutazione di n
+	private static int reads(Node n, STentry entry) {
+		int[] count = {0};
+		new ScanASTVisitor() {
+			@Override
+			public Void visitNode(IdNode id) {
+				if (id.entry == entry) count[0]++;
+				return null;
+			}
+			@Override
+			public Void visitNode(IfNode i) {
+				visit(i.cond);
+				count[0] += Math.max(reads(i.th, entry), reads(i.el, entry));
+				return null;
+			}
+		}.visit(n);
+		return count[0];
+	}
+
+	// il valore di "entry" va calcolato prima di valutare n
+	private static boolean bindAt(Node n, STentry entry) {
+		boolean branches = n instanceof IfNode || n instanceof AndNode || n instanceof OrNode;
+		return strict(n, entry) || !branches && reads(n, entry) >= 2;
+	}
+
+	@Override
+	public Node visit(Visitable v) {
+		if (pending.isEmpty() || !isExp(v)) return super.visit(v);
+		Node n = (Node) v;
+		List<VarNode> here = new ArrayList<>();
+		for (VarNode x : pending) if (bindAt(n, x.entry)) here.add(x);
+		if (here.isEmpty()) return super.visit(v);
+		List<VarNode> prev = pending;
+		pending = new ArrayList<>(pending);
+		pending.removeAll(here);
+		try {
+			if (n instanceof IdNode) return visit(here.get(0).exp); // la lettura e' l'unico uso sul cammino
+			List<STentry> slots = new ArrayList<>();
+			List<Node> values = new ArrayList<>();
+			for (VarNode x : here) {
+				values.add(visit(x.exp));
+				STentry slot = newSlot(x.getType());
+				slots.add(slot);
+				bound.put(x.entry, slot);
+			}
+			return line(n, new LetNode(slots, values, super.visit(n)));
+		} finally {
+			for (VarNode x : here) bound.remove(x.entry);
+			pending = prev;
+		}
+	}
+
+	@Override
+	public Node visitNode(IdNode n) {
+		if (!bound.containsKey(n.entry)) return super.visitNode(n);
+		IdNode id = line(n, new IdNode(n.id));
+		id.entry = bound.get(n.entry);
+		id.nl = mapNl(n.nl);
+		return id;
+	}
+}
@@ -0,0 +1,70 @@
+package compiler;
+
+import java.util.*;
+import compiler.AST.*;
+import compiler.lib.*;
+
+// Scelta delle funzioni da memoizzare sull'AST arricchito, dopo le trasformazioni. Una funzione
+// e' memoizzabile se il suo risultato dipende solo dagli argomenti:
+// - e' dichiarata al livello globale: le variabili globali non cambiano mai valore, mentre una
+//   funzione annidata leggerebbe il frame di chi la contiene, diverso da una chiamata all'altra;
+// - non ha effetti (EffectAnalysis), quindi neanche print o new;
+// - parametri e risultato sono int o bool: la tupla degli argomenti identifica la chiamata e il
+//   risultato non e' un oggetto o una funzione;
+// - chiama solo funzioni e metodi dichiarati, non valori funzionali (EffectAnalysis li considera
+//   senza effetti, ma potrebbero non esserlo).
+// La generazione del codice le traduce con una tabella per funzione nella SVM (mget all'ingresso,
+// mput all'uscita). Sono memoizzate automaticamente le funzioni ricorsive con almeno due chiamate
+// a se stesse nel corpo (fib, ricorsioni sulle sottosoluzioni), le sole in cui gli stessi
+// argomenti si ripetono in una singola esecuzione; con "all" anche quelle con una sola chiamata.
+public class MemoizationAnalysis {
+
+	static final int MIN_SELF_CALLS = 2;
+
+	final Map<FunNode, Integer> tables = new HashMap<>(); // funzione -> numero della sua tabella nella SVM
+	final List<String> memoized = new ArrayList<>(); // nomi delle funzioni, nell'ordine delle tabelle
+
+	MemoizationAnalysis(Node ast, boolean all) {
+		EffectAnalysis effects = new EffectAnalysis(ast);
+		Set<STentry> declared = new HashSet<>(); // entry di funzioni e metodi
+		List<FunNode> global = new ArrayList<>();
+		new ScanASTVisitor() {
+			@Override
+			public Void visitNode(FunNode n) {
+				declared.add(n.entry);
+				if (n.entry.nl == 0) global.add(n);
+				return super.visitNode(n);
+			}
+			@Override
+			public Void visitNode(MethodNode n) {
+				declared.add(n.entry);
+				return super.visitNode(n);
+			}
+		}.visit(ast);
+		for (FunNode f : global) {
+			if (!effects.isPure(f.entry) || f.parlist.isEmpty() || !isValue(f.retType)) continue;
+			boolean values = true;
+			for (ParNode par : f.parlist) values &= isValue(par.getType());
+			if (!values) continue;
+			int[] selfCalls = {0};
+			boolean[] indirect = {false};
+			ScanASTVisitor calls = new ScanASTVisitor() {
+				@Override
+				public Void visitNode(CallNode n) {
+					if (n.entry == f.entry) selfCalls[0]++;
+					else if (!declared.contains(n.entry)) indirect[0] = true;
+					return super.visitNode(n);
+				}
+			};
+			for (DecNode dec : f.declist) calls.visit(dec);
+			calls.visit(f.exp);
+			if (indirect[0] || selfCalls[0] < (all ? 1 : MIN_SELF_CALLS)) continue;
+			tables.put(f, memoized.size());
+			memoized.add(f.id);
+		}
+	}
+
+	private static boolean isValue(TypeNode t) {
+		return t instanceof IntTypeNode || t instanceof BoolTypeNode;
+	}
+}
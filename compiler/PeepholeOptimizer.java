@@ -0,0 +1,182 @@
+package compiler;
+
+import java.util.*;
+
+// Ottimizzatore peephole sul codice SVM prodotto da CodeGenerationASTVisitor,
+// eseguito prima dell'assemblaggio. Le regole sono applicate fino a punto fisso
+// e possono essere disattivate singolarmente; per ogni regola si contano le applicazioni.
+//
+// Invariante del codice generato sfruttata da STORE_LOAD_TM: il valore di $tm non e' mai
+// letto oltre un'etichetta, un salto o una chiamata (ogni "ltm" e' preceduto da uno "stm"
+// nella stessa sequenza lineare di istruzioni).
+public class PeepholeOptimizer {
+
+	public enum Rule {
+		PUSH_ZERO_ADD,  // push 0; add|sub          -> (niente)
+		STORE_LOAD_TM,  // stm; ltm                 -> (niente), se $tm non e' piu' letto
+		PUSH_POP,       // push x|ldisp n|lwa n|lfp|lsp|lhp|ltm|lra; pop -> (niente)
+		BRANCH_TO_NEXT, // b l; l:                  -> l:
+		JUMP_THREADING, // b|beq|bleq l1 ... l1: b l2 -> b|beq|bleq l2 (anche le etichette di tsw)
+		UNREACHABLE     // istruzioni dopo b/jp/tsw/halt non raggiungibili da alcuna etichetta usata
+	}
+
+	private final EnumSet<Rule> rules;
+	private final Map<Rule,Integer> stats = new EnumMap<>(Rule.class);
+
+	PeepholeOptimizer() { this(EnumSet.allOf(Rule.class)); }
+	PeepholeOptimizer(EnumSet<Rule> r) {
+		rules = r;
+		for (Rule rule : Rule.values()) stats.put(rule, 0);
+	}
+
+	public Map<Rule,Integer> getStats() { return Collections.unmodifiableMap(stats); }
+
+	public void printStats() {
+		for (Rule rule : Rule.values())
+			System.out.println("  "+rule+(rules.contains(rule)?"":" (disabled)")+": "+stats.get(rule));
+	}
+
+	public String optimize(String code) {
+		List<String> lines = new ArrayList<>();
+		for (String line : code.split("\n"))
+			if (!line.trim().isEmpty()) lines.add(line.trim());
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			if (rules.contains(Rule.JUMP_THREADING)) changed |= threadJumps(lines);
+			if (rules.contains(Rule.UNREACHABLE)) changed |= removeUnreachable(lines);
+			for (int i = 0; i < lines.size(); i++)
+				changed |= applyAt(lines, i);
+		}
+		return String.join("\n", lines);
+	}
+
+	// prova le regole locali sulla finestra che inizia in posizione i
+	private boolean applyAt(List<String> lines, int i) {
+		String cur = lines.get(i);
+		String next = i+1 < lines.size() ? lines.get(i+1) : null;
+		if (next == null) return false;
+		if (rules.contains(Rule.PUSH_ZERO_ADD) && cur.equals("push 0") && (next.equals("add") || next.equals("sub")))
+			return remove(lines, i, 2, Rule.PUSH_ZERO_ADD);
+		if (rules.contains(Rule.PUSH_POP) && isPurePush(cur) && next.equals("pop"))
+			return remove(lines, i, 2, Rule.PUSH_POP);
+		if (rules.contains(Rule.STORE_LOAD_TM) && cur.equals("stm") && next.equals("ltm") && tmDeadFrom(lines, i+2))
+			return remove(lines, i, 2, Rule.STORE_LOAD_TM);
+		if (rules.contains(Rule.BRANCH_TO_NEXT) && cur.startsWith("b ")) {
+			String target = cur.substring(2);
+			for (int j = i+1; j < lines.size() && isLabel(lines.get(j)); j++)
+				if (lines.get(j).equals(target+":")) return remove(lines, i, 1, Rule.BRANCH_TO_NEXT);
+		}
+		return false;
+	}
+
+	private boolean remove(List<String> lines, int i, int count, Rule rule) {
+		for (int k = 0; k < count; k++) lines.remove(i);
+		stats.put(rule, stats.get(rule)+1);
+		return true;
+	}
+
+	private static boolean isPurePush(String s) {
+		return s.startsWith("push ") || s.startsWith("ldisp ") || s.startsWith("lwa ") || s.equals("lfp") || s.equals("lsp") || s.equals("lhp") || s.equals("ltm") || s.equals("lra");
+	}
+
+	private static boolean isLabel(String s) {
+		return s.endsWith(":");
+	}
+
+	private static boolean isBranch(String s) {
+		return s.startsWith("b ") || s.startsWith("beq ") || s.startsWith("bleq ");
+	}
+
+	// tsw low default l0 ... ln-1
+	private static boolean isSwitch(String s) {
+		return s.startsWith("tsw ");
+	}
+
+	// mget t n l: salta a l se trova il risultato memoizzato
+	private static boolean isMemoGet(String s) {
+		return s.startsWith("mget ");
+	}
+
+	// $tm e' morto dalla posizione i in poi: viene riscritto (o il programma termina) prima di essere letto
+	private static boolean tmDeadFrom(List<String> lines, int i) {
+		for (int j = i; j < lines.size(); j++) {
+			String s = lines.get(j);
+			if (s.equals("ltm")) return false;
+			if (s.equals("stm") || s.equals("halt")) return true;
+			if (isLabel(s) || isBranch(s) || isSwitch(s) || isMemoGet(s) || s.equals("js") || s.equals("jp")) return true; // per l'invariante $tm non e' letto oltre
+		}
+		return true;
+	}
+
+	// etichette usate come destinazione di salti o come indirizzi (push label)
+	private static Set<String> usedLabels(List<String> lines) {
+		Set<String> used = new HashSet<>();
+		for (String s : lines) {
+			if (isBranch(s)) used.add(s.substring(s.indexOf(' ')+1));
+			else if (isSwitch(s)) used.addAll(Arrays.asList(s.split(" ")).subList(2, s.split(" ").length));
+			else if (isMemoGet(s)) used.add(s.substring(s.lastIndexOf(' ')+1));
+			else if (s.startsWith("push ") && !s.substring(5).matches("-?[0-9]+")) used.add(s.substring(5));
+		}
+		return used;
+	}
+
+	private boolean threadJumps(List<String> lines) {
+		// per ogni etichetta, la destinazione finale se la prima istruzione che la segue e' un "b"
+		Map<String,String> forward = new HashMap<>();
+		for (int i = 0; i < lines.size(); i++)
+			if (isLabel(lines.get(i))) {
+				int j = i+1;
+				while (j < lines.size() && isLabel(lines.get(j))) j++;
+				if (j < lines.size() && lines.get(j).startsWith("b ")) {
+					String label = lines.get(i).substring(0, lines.get(i).length()-1);
+					String target = lines.get(j).substring(2);
+					if (!target.equals(label)) forward.put(label, target);
+				}
+			}
+		boolean changed = false;
+		for (int i = 0; i < lines.size(); i++) {
+			String s = lines.get(i);
+			if (isSwitch(s)) {
+				String[] t = s.split(" ");
+				for (int k = 2; k < t.length; k++)
+					for (int hops = 0; forward.containsKey(t[k]) && hops < forward.size(); hops++) t[k] = forward.get(t[k]);
+				if (!String.join(" ", t).equals(s)) {
+					lines.set(i, String.join(" ", t));
+					stats.put(Rule.JUMP_THREADING, stats.get(Rule.JUMP_THREADING)+1);
+					changed = true;
+				}
+				continue;
+			}
+			if (!isBranch(s)) continue;
+			String op = s.substring(0, s.indexOf(' '));
+			String target = s.substring(s.indexOf(' ')+1), last = target;
+			for (int hops = 0; forward.containsKey(last) && hops < forward.size(); hops++) last = forward.get(last);
+			if (!last.equals(target)) {
+				lines.set(i, op+" "+last);
+				stats.put(Rule.JUMP_THREADING, stats.get(Rule.JUMP_THREADING)+1);
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	private boolean removeUnreachable(List<String> lines) {
+		Set<String> used = usedLabels(lines);
+		boolean changed = false;
+		for (int i = 0; i < lines.size(); i++) {
+			String s = lines.get(i);
+			if (!(s.startsWith("b ") || isSwitch(s) || s.equals("jp") || s.equals("halt"))) continue;
+			int j = i+1, removed = 0;
+			while (j < lines.size() && !(isLabel(lines.get(j)) && used.contains(lines.get(j).substring(0, lines.get(j).length()-1)))) {
+				lines.remove(j);
+				removed++;
+			}
+			if (removed > 0) {
+				stats.put(Rule.UNREACHABLE, stats.get(Rule.UNREACHABLE)+1);
+				changed = true;
+			}
+		}
+		return changed;
+	}
+}
@@ -0,0 +1,51 @@
+package compiler;
+
+import org.antlr.v4.runtime.*;
+import svm.*;
+
+// Valutazione a tempo di compilazione delle dichiarazioni globali (dopo il peephole).
+// Il codice che precede l'espressione principale (etichetta MAIN) riempie le Dispatch Table
+// e valuta le dichiarazioni del programma: e' deterministico e, se non stampa, puo' essere
+// eseguito una volta per tutte durante la compilazione. Il risultato (heap con le Dispatch
+// Table e gli oggetti creati, frame globale sullo stack) e' scritto nel codice come direttive
+// "data", insieme ai registri iniziali ("regs") e alla prima istruzione da eseguire ("start"):
+// le direttive non occupano celle di codice, quindi gli indirizzi di codice gia' presenti
+// nell'immagine (Dispatch Table, funzioni) restano validi.
+// Se le dichiarazioni stampano, terminano il programma, falliscono o superano MAX_STEPS
+// istruzioni il codice resta invariato.
+public class PrebuiltImage {
+
+	static final String MAIN = "main";
+	static final long MAX_STEPS = 1000000;
+
+	int words = -1; // celle di memoria dell'immagine (-1 se non costruita)
+	String reason; // perche' l'immagine non e' stata costruita
+
+	String build(String code) {
+		if (!code.contains("\n" + MAIN + ":")) {
+			reason = "no declarations";
+			return code;
+		}
+		SVMParser parser = new SVMParser(new CommonTokenStream(new SVMLexer(CharStreams.fromString("start " + MAIN + "\n" + code))));
+		parser.assembly();
+		ExecuteVM vm = new ExecuteVM(parser.code);
+		try {
+			if (!vm.runTo(parser.start, MAX_STEPS)) {
+				reason = "declarations print, halt or run more than " + MAX_STEPS + " instructions";
+				return code;
+			}
+		} catch (RuntimeException e) {
+			reason = "declarations fail (" + e + ")";
+			return code;
+		}
+		int[] memory = vm.getMemory();
+		StringBuilder image = new StringBuilder("regs " + vm.getHp() + " " + vm.getSp() + " " + vm.getFp() + "\nstart " + MAIN + "\n");
+		words = 0;
+		for (int a = 0; a < ExecuteVM.MEMSIZE; a++)
+			if ((a < vm.getHp() || a >= vm.getSp()) && memory[a] != 0) { // le celle a zero sono gia' azzerate
+				image.append("data " + a + " " + memory[a] + "\n");
+				words++;
+			}
+		return image + code;
+	}
+}
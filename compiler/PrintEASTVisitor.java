@@ -64,6 +64,22 @@ public class PrintEASTVisitor extends BaseEASTVisitor<Void,VoidException> {
 		return null;
 	}
 
+	@Override
+	public Void visitNode(WhileNode n) {
+		printNode(n,String.join(", ",n.ids));
+		for (int i = 0; i < n.inits.size(); i++) {
+			if (n.vars != null) visit(n.vars.get(i));
+			visit(n.inits.get(i));
+		}
+		visit(n.cond);
+		for (int i = 0; i < n.updates.size(); i++) {
+			if (n.targets != null) visit(n.targets.get(i));
+			visit(n.updates.get(i));
+		}
+		visit(n.exp);
+		return null;
+	}
+
 	@Override
 	public Void visitNode(EqualNode n) {
 		printNode(n);
@@ -221,6 +237,7 @@ public class PrintEASTVisitor extends BaseEASTVisitor<Void,VoidException> {
 	public Void visitNode(NewNode n) {
 		printNode(n, n.id);
 		visit(n.entry); // Mostra la STentry della classe istanziata
+		if (n.cells != null) for (STentry cell : n.cells) visit(cell); // celle del frame che contengono l'oggetto
 		for (Node arg : n.arglist) visit(arg);
 		return null;
 	}
@@ -260,6 +277,49 @@ public class PrintEASTVisitor extends BaseEASTVisitor<Void,VoidException> {
 		return null;
 	}
 
+	@Override
+	public Void visitNode(LetNode n) {
+		printNode(n);
+		for (int i = 0; i < n.slots.size(); i++) {
+			visit(n.slots.get(i));
+			visit(n.values.get(i));
+		}
+		visit(n.exp);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(FieldAccessNode n) {
+		printNode(n);
+		visit(n.obj);
+		visit(n.fieldEntry);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(SwitchNode n) {
+		printNode(n, "from "+n.low);
+		visit(n.exp);
+		for (Node c : n.cases) if (c != null) visit(c);
+		visit(n.def);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(ShiftNode n) {
+		printNode(n, (n.left ? "left " : "right ")+n.bits);
+		visit(n.exp);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(NullCheckNode n) {
+		printNode(n);
+		visit(n.obj);
+		visit(n.exp);
+		return null;
+	}
+
 	@Override
 	public Void visitSTentry(STentry entry) {
 		printSTentry("nestlev "+entry.nl);
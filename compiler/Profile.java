@@ -0,0 +1,169 @@
+package compiler;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+import compiler.AST.*;
+import compiler.lib.*;
+import svm.Profiler;
+
+// Profilo di esecuzione per le ottimizzazioni guidate dal profilo. I punti del programma
+// (funzioni, metodi, if e chiamate di metodo) sono numerati sull'AST appena controllato, prima
+// di ogni trasformazione: la numerazione dipende solo dal sorgente ed e' la stessa in ogni
+// compilazione, e le copie fatte dalle trasformazioni (RewriteEASTVisitor.line) tengono il numero
+// dell'originale. Una compilazione con "+profile" esegue il programma raccogliendo il profilo
+// della SVM (Profiler) e lo traduce, tramite le etichette registrate dalla generazione del
+// codice, in conteggi per punto del programma scritti in <sorgente>.profile:
+//   fun <punto> <nome> <chiamate>
+//   if <punto> <riga> <esecuzioni del ramo then> <esecuzioni del ramo else>
+//   call <punto> <riga> <classe> <chiamate>       una riga per classe dell'oggetto osservata
+// La compilazione successiva lo legge, se il sorgente non e' cambiato (checksum), e lo usa per
+// l'inlining (InliningEASTVisitor), la disposizione dei rami degli if e l'ordine del codice delle
+// funzioni (CodeGenerationASTVisitor). Le righe "call" sono solo informative: senza ereditarieta'
+// la devirtualizzazione risolve gia' ogni chiamata di metodo, non servono guardie sulla classe.
+public class Profile {
+
+	static final String SUFFIX = ".profile";
+	static final int HOT_SHARE = 20; // funzione calda: almeno 1/HOT_SHARE delle chiamate del programma
+
+	private final long checksum;
+	private final Map<Integer, Long> calls = new HashMap<>();
+	private final Map<Integer, long[]> branches = new HashMap<>();
+	private final List<String> lines = new ArrayList<>();
+	private long totalCalls;
+
+	private Profile(long c) { checksum = c; }
+
+	// numera i punti del programma nell'ordine di visita
+	static void number(Node ast) {
+		int[] next = {0};
+		new ScanASTVisitor() {
+			@Override
+			public Void visit(Visitable v) {
+				if (v instanceof FunNode || v instanceof MethodNode || v instanceof IfNode || v instanceof ClassCallNode)
+					((Node) v).setSite(next[0]++);
+				return super.visit(v);
+			}
+		}.visit(ast);
+	}
+
+	static long checksum(String fileName) throws IOException {
+		CRC32 crc = new CRC32();
+		crc.update(Files.readAllBytes(Paths.get(fileName)));
+		return crc.getValue();
+	}
+
+	// il profilo scritto per il sorgente, null se manca o se il sorgente e' cambiato
+	static Profile read(String fileName) throws IOException {
+		File file = new File(fileName + SUFFIX);
+		if (!file.exists()) return null;
+		Profile p = null;
+		try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+			for (String line = in.readLine(); line != null; line = in.readLine()) {
+				String[] t = line.trim().split(" ");
+				if (t[0].equals("source")) {
+					if (Long.parseLong(t[1]) != checksum(fileName)) return null;
+					p = new Profile(Long.parseLong(t[1]));
+				} else if (p == null) return null;
+				else if (t[0].equals("fun")) p.addCall(Integer.parseInt(t[1]), t[2], Long.parseLong(t[3]));
+				else if (t[0].equals("if")) p.addBranch(Integer.parseInt(t[1]), Integer.parseInt(t[2]), Long.parseLong(t[3]), Long.parseLong(t[4]));
+				else if (t[0].equals("call")) p.addTarget(Integer.parseInt(t[1]), Integer.parseInt(t[2]), t[3], Long.parseLong(t[4]));
+			}
+		}
+		return p;
+	}
+
+	// profilo dell'esecuzione appena terminata: "labels" sono le etichette del codice eseguito,
+	// "sites" i punti del programma a cui la generazione del codice le ha associate
+	static Profile collect(String fileName, Profiler profiler, Map<String, Integer> labels, CodeGenerationASTVisitor sites) throws IOException {
+		Profile p = new Profile(checksum(fileName));
+		Map<Integer, List<String>> at = new HashMap<>(); // indirizzo -> etichette
+		for (Map.Entry<String, Integer> l : labels.entrySet()) at.computeIfAbsent(l.getValue(), a -> new ArrayList<>()).add(l.getKey());
+		Map<Integer, Long> funCalls = new TreeMap<>();
+		Map<Integer, String> funNames = new HashMap<>();
+		for (Map.Entry<String, Node> f : sites.funSites.entrySet()) {
+			if (!labels.containsKey(f.getKey())) continue; // corpo unito ad un altro o eliminato
+			int site = f.getValue().getSite();
+			funCalls.merge(site, profiler.count(labels.get(f.getKey())), Long::sum);
+			funNames.put(site, name(f.getValue()));
+		}
+		for (Map.Entry<Integer, Long> f : funCalls.entrySet()) p.addCall(f.getKey(), funNames.get(f.getKey()), f.getValue());
+		Map<Integer, long[]> ifCounts = new TreeMap<>();
+		Map<Integer, Integer> ifLines = new HashMap<>();
+		for (Map.Entry<IfNode, String[]> i : sites.ifSites.entrySet()) {
+			long[] c = ifCounts.computeIfAbsent(i.getKey().getSite(), s -> new long[2]);
+			for (int k = 0; k < 2; k++)
+				if (labels.containsKey(i.getValue()[k])) c[k] += profiler.count(labels.get(i.getValue()[k]));
+			ifLines.put(i.getKey().getSite(), i.getKey().getLine());
+		}
+		for (Map.Entry<Integer, long[]> i : ifCounts.entrySet())
+			p.addBranch(i.getKey(), ifLines.get(i.getKey()), i.getValue()[0], i.getValue()[1]);
+		Map<Integer, Map<String, Long>> classes = new TreeMap<>();
+		Map<Integer, Integer> callLines = new HashMap<>();
+		for (Map.Entry<String, ClassCallNode> c : sites.callSites.entrySet()) {
+			if (!labels.containsKey(c.getKey())) continue;
+			Map<String, Long> seen = classes.computeIfAbsent(c.getValue().getSite(), s -> new TreeMap<>());
+			callLines.put(c.getValue().getSite(), c.getValue().getLine());
+			for (Map.Entry<Integer, Long> t : profiler.targets(labels.get(c.getKey())).entrySet())
+				for (String l : at.getOrDefault(t.getKey(), Collections.emptyList()))
+					if (sites.methodClasses.containsKey(l)) seen.merge(sites.methodClasses.get(l), t.getValue(), Long::sum);
+		}
+		for (Map.Entry<Integer, Map<String, Long>> c : classes.entrySet())
+			for (Map.Entry<String, Long> t : c.getValue().entrySet())
+				p.addTarget(c.getKey(), callLines.get(c.getKey()), t.getKey(), t.getValue());
+		return p;
+	}
+
+	// nome nel sorgente (le funzioni specializzate hanno il suffisso "$k")
+	private static String name(Node fun) {
+		String id = fun instanceof FunNode ? ((FunNode) fun).id : ((MethodNode) fun).id;
+		return id.contains("$") ? id.substring(0, id.indexOf('$')) : id;
+	}
+
+	private void addCall(int site, String name, long n) {
+		calls.merge(site, n, Long::sum);
+		totalCalls += n;
+		lines.add("fun " + site + " " + name + " " + n);
+	}
+
+	private void addBranch(int site, int line, long th, long el) {
+		branches.put(site, new long[] {th, el});
+		lines.add("if " + site + " " + line + " " + th + " " + el);
+	}
+
+	private void addTarget(int site, int line, String classId, long n) {
+		lines.add("call " + site + " " + line + " " + classId + " " + n);
+	}
+
+	void write(String fileName) throws IOException {
+		try (PrintWriter out = new PrintWriter(new FileWriter(fileName + SUFFIX))) {
+			out.println("source " + checksum);
+			for (String line : lines) out.println(line);
+		}
+	}
+
+	int size() {
+		return lines.size();
+	}
+
+	// chiamate della funzione o del metodo, -1 se non sono nel profilo
+	long calls(Node fun) {
+		return calls.getOrDefault(fun.getSite(), -1L);
+	}
+
+	boolean isHot(Node fun) {
+		return calls(fun) > 0 && calls(fun) * HOT_SHARE >= totalCalls;
+	}
+
+	// mai chiamata durante l'esecuzione profilata
+	boolean isCold(Node fun) {
+		return calls(fun) == 0;
+	}
+
+	// il ramo else e' stato eseguito piu' volte del ramo then
+	boolean elseIsHot(IfNode n) {
+		long[] b = branches.get(n.getSite());
+		return b != null && b[1] > b[0];
+	}
+}
@@ -0,0 +1,368 @@
+package compiler;
+
+import java.util.*;
+import compiler.AST.*;
+import compiler.lib.*;
+import compiler.exc.*;
+import static compiler.lib.FOOLlib.*;
+
+// Ricostruisce un AST arricchito nodo per nodo (dopo il type checking): base per le
+// trasformazioni, che ridefiniscono solo i nodi che le interessano.
+// Le entry della symbol table e i nesting level d'uso sono ricopiati passando da
+// mapEntry e mapNl; le trasformazioni possono chiedere nuove celle nel frame corrente
+// con newSlot, assegnate poi da un LetNode (o inizializzate come variabili, se richieste
+// dall'inizializzatore di una dichiarazione). Le celle sono dichiarazioni aggiunte al frame
+// della funzione, del metodo o del programma: in coda alle dichiarazioni se richieste dal
+// corpo, subito prima della dichiarazione che le usa se richieste da un suo inizializzatore
+// (le celle sono scritte sotto alla cima dello stack: devono essere gia' allocate).
+// In quest'ultimo caso le dichiarazioni successive si spostano e mapEntry ne aggiorna le entry;
+// lo stesso avviene quando una trasformazione elimina dichiarazioni o metodi (keep) o ne aggiunge (added).
+public class RewriteEASTVisitor extends BaseASTVisitor<Node,VoidException> {
+
+	protected int nestingLevel = 0; // current nesting level (as in SymbolTableASTVisitor)
+	private Frame frame; // frame of the function (or program) being rebuilt
+	private final Map<STentry,STentry> movedMethods = new HashMap<>(); // metodi con un nuovo offset nella Dispatch Table
+
+	// frame di una funzione, di un metodo o del programma in ricostruzione
+	private static class Frame {
+		final Frame prev;
+		final int nl;
+		int nextOffset; // offset della prossima cella allocata nel frame ricostruito
+		final List<DecNode> slots = new ArrayList<>(); // celle richieste e non ancora inserite
+		final Map<Integer,Integer> newOffset = new HashMap<>(); // dichiarazioni: offset originale -> nuovo
+		final Map<STentry,STentry> moved = new HashMap<>();
+		Frame(Frame p, int n, int o) { prev = p; nl = n; nextOffset = o; }
+	}
+
+	// le celle sono dichiarate con un nome che non e' un ID del linguaggio e un valore iniziale fittizio
+	static final String SLOT_PREFIX = "$slot";
+
+	static boolean isSlot(VarNode n) {
+		return n.id.startsWith(SLOT_PREFIX);
+	}
+
+	// celle con un valore iniziale vero (newSlot con inizializzatore): mai riassegnate, come le variabili
+	static final String CELL_PREFIX = "$cell";
+
+	static boolean isCell(VarNode n) {
+		return n.id.startsWith(CELL_PREFIX);
+	}
+
+	// variabili dei cicli (WhileNode), dichiarate dalla generazione dell'AST: riassegnate dal ciclo
+	static final String LOOP_PREFIX = "$loop";
+
+	static boolean isLoop(VarNode n) {
+		return n.id.startsWith(LOOP_PREFIX);
+	}
+
+	RewriteEASTVisitor() {}
+
+	protected STentry mapEntry(STentry entry) {
+		for (Frame f = frame; f != null; f = f.prev)
+			if (f.nl == entry.nl) {
+				Integer offset = f.newOffset.get(entry.offset);
+				if (offset == null || offset == entry.offset) return entry;
+				return f.moved.computeIfAbsent(entry, e -> new STentry(e.nl, e.type, offset));
+			}
+		return entry;
+	}
+
+	protected int mapNl(int nl) { return nl; }
+
+	// dichiarazione (o metodo) da mantenere nell'AST ricostruito
+	protected boolean keep(DecNode dec) { return true; }
+
+	// nuove dichiarazioni (gia' ricostruite) da aggiungere subito dopo "dec", nelle celle successive
+	// del suo frame: le dichiarazioni che seguono si spostano
+	protected List<DecNode> added(DecNode dec) { return Collections.emptyList(); }
+
+	// nuova cella nel frame corrente (nesting level "nestingLevel")
+	protected STentry newSlot(TypeNode type) {
+		return newSlot(SLOT_PREFIX, type, new IntNode(0));
+	}
+
+	// nuova cella inizializzata con "init", richiesta dall'inizializzatore di una dichiarazione:
+	// "init" e' valutato subito prima di quest'ultimo
+	protected STentry newSlot(TypeNode type, Node init) {
+		return newSlot(CELL_PREFIX, type, init);
+	}
+
+	private STentry newSlot(String prefix, TypeNode type, Node init) {
+		VarNode slot = new VarNode(prefix + (-frame.nextOffset), type, init);
+		slot.entry = new STentry(frame.nl, type, frame.nextOffset--);
+		frame.slots.add(slot);
+		return slot.entry;
+	}
+
+	protected <T extends Node> T line(Node from, T to) {
+		to.setLine(from.getLine());
+		to.setSite(from.getSite());
+		return to;
+	}
+
+	protected List<Node> visitList(List<Node> list) {
+		List<Node> l = new ArrayList<>();
+		for (Node n : list) l.add(visit(n));
+		return l;
+	}
+
+	// visita le dichiarazioni e il corpo di una funzione (o del programma) con un nuovo frame:
+	// restituisce le dichiarazioni ricostruite insieme alle celle aggiunte
+	private List<DecNode> visitFrame(List<DecNode> declist, int firstOffset, Node exp, Node[] newExp) {
+		frame = new Frame(frame, nestingLevel, firstOffset);
+		try {
+			List<DecNode> decs = new ArrayList<>();
+			int offset = firstOffset;
+			for (DecNode dec : declist) {
+				if (!keep(dec)) { // le dichiarazioni successive si spostano
+					offset--;
+					continue;
+				}
+				// una funzione puo' usare la propria entry (ricorsione) ma non chiede celle in questo frame
+				frame.newOffset.put(offset, frame.nextOffset);
+				DecNode d = (DecNode) visit(dec);
+				decs.addAll(frame.slots); // celle usate dall'inizializzatore: allocate prima
+				frame.slots.clear();
+				frame.newOffset.put(offset--, frame.nextOffset--);
+				if (d instanceof VarNode) ((VarNode) d).entry = mapEntry(((VarNode) dec).entry);
+				decs.add(d);
+				for (DecNode a : added(dec)) {
+					decs.add(a);
+					frame.nextOffset--;
+				}
+			}
+			newExp[0] = visit(exp);
+			decs.addAll(frame.slots);
+			return decs;
+		} finally { frame = frame.prev; }
+	}
+
+	@Override
+	public Node visitNode(ProgLetInNode n) {
+		Node[] exp = new Node[1];
+		List<DecNode> decs = visitFrame(n.declist, -2, n.exp, exp);
+		return line(n, new ProgLetInNode(decs, exp[0]));
+	}
+
+	@Override
+	public Node visitNode(ProgNode n) {
+		Node[] exp = new Node[1];
+		List<DecNode> decs = visitFrame(new ArrayList<>(), -2, n.exp, exp);
+		if (!decs.isEmpty()) return line(n, new ProgLetInNode(decs, exp[0]));
+		return line(n, new ProgNode(exp[0]));
+	}
+
+	@Override
+	public Node visitNode(FunNode n) {
+		nestingLevel++;
+		Node[] exp = new Node[1];
+		List<DecNode> decs = visitFrame(n.declist, firstLocalOffset(), n.exp, exp);
+		nestingLevel--;
+		FunNode f = line(n, new FunNode(n.id, n.retType, n.parlist, decs, exp[0]));
+		f.entry = mapEntry(n.entry);
+		return f;
+	}
+
+	@Override
+	public Node visitNode(ParNode n) {
+		return n;
+	}
+
+	@Override
+	public Node visitNode(VarNode n) {
+		return line(n, new VarNode(n.id, n.getType(), visit(n.exp)));
+	}
+
+	@Override
+	public Node visitNode(PrintNode n) {
+		return line(n, new PrintNode(visit(n.exp)));
+	}
+
+	@Override
+	public Node visitNode(IfNode n) {
+		return line(n, new IfNode(visit(n.cond), visit(n.th), visit(n.el)));
+	}
+
+	@Override
+	public Node visitNode(WhileNode n) {
+		List<Node> inits = visitList(n.inits);
+		Node cond = visit(n.cond);
+		WhileNode w = line(n, new WhileNode(n.ids, n.decs, inits, cond, n.targetIds, visitList(n.updates), visit(n.exp)));
+		w.vars = new ArrayList<>();
+		for (STentry var : n.vars) w.vars.add(mapEntry(var));
+		w.targets = new ArrayList<>();
+		for (STentry target : n.targets) w.targets.add(mapEntry(target));
+		return w;
+	}
+
+	@Override
+	public Node visitNode(EqualNode n) {
+		return line(n, new EqualNode(visit(n.left), visit(n.right)));
+	}
+
+	@Override
+	public Node visitNode(LessEqualNode n) {
+		return line(n, new LessEqualNode(visit(n.left), visit(n.right)));
+	}
+
+	@Override
+	public Node visitNode(GreaterEqualNode n) {
+		return line(n, new GreaterEqualNode(visit(n.left), visit(n.right)));
+	}
+
+	@Override
+	public Node visitNode(NotNode n) {
+		return line(n, new NotNode(visit(n.exp)));
+	}
+
+	@Override
+	public Node visitNode(OrNode n) {
+		return line(n, new OrNode(visit(n.left), visit(n.right)));
+	}
+
+	@Override
+	public Node visitNode(AndNode n) {
+		return line(n, new AndNode(visit(n.left), visit(n.right)));
+	}
+
+	@Override
+	public Node visitNode(TimesNode n) {
+		return line(n, new TimesNode(visit(n.left), visit(n.right)));
+	}
+
+	@Override
+	public Node visitNode(DivNode n) {
+		return line(n, new DivNode(visit(n.left), visit(n.right)));
+	}
+
+	@Override
+	public Node visitNode(PlusNode n) {
+		return line(n, new PlusNode(visit(n.left), visit(n.right)));
+	}
+
+	@Override
+	public Node visitNode(MinusNode n) {
+		return line(n, new MinusNode(visit(n.left), visit(n.right)));
+	}
+
+	@Override
+	public Node visitNode(CallNode n) {
+		CallNode c = line(n, new CallNode(n.id, visitList(n.arglist)));
+		c.entry = mapEntry(n.entry);
+		c.nl = mapNl(n.nl);
+		return c;
+	}
+
+	@Override
+	public Node visitNode(IdNode n) {
+		IdNode id = line(n, new IdNode(n.id));
+		id.entry = mapEntry(n.entry);
+		id.nl = mapNl(n.nl);
+		return id;
+	}
+
+	@Override
+	public Node visitNode(BoolNode n) {
+		return line(n, new BoolNode(n.val));
+	}
+
+	@Override
+	public Node visitNode(IntNode n) {
+		return line(n, new IntNode(n.val));
+	}
+
+	@Override
+	public Node visitNode(ClassNode n) {
+		List<MethodNode> kept = new ArrayList<>();
+		for (MethodNode method : n.methods)
+			if (keep(method)) {
+				if (method.offset != kept.size()) // nuovo offset nella Dispatch Table
+					movedMethods.put(method.entry, new STentry(method.entry.nl, method.entry.type, kept.size()));
+				kept.add(method);
+			}
+		nestingLevel++;
+		List<MethodNode> methods = new ArrayList<>();
+		for (MethodNode method : kept) methods.add((MethodNode) visit(method));
+		nestingLevel--;
+		ClassNode c = line(n, new ClassNode(n.id, n.superId, n.fields, methods));
+		c.entry = mapEntry(n.entry);
+		return c;
+	}
+
+	@Override
+	public Node visitNode(FieldNode n) {
+		return n;
+	}
+
+	@Override
+	public Node visitNode(MethodNode n) {
+		nestingLevel++;
+		Node[] exp = new Node[1];
+		List<DecNode> decs = visitFrame(n.declist, firstLocalOffset(), n.exp, exp);
+		nestingLevel--;
+		MethodNode m = line(n, new MethodNode(n.id, n.retType, n.parlist, decs, exp[0]));
+		m.entry = movedMethods.getOrDefault(n.entry, n.entry);
+		m.offset = m.entry.offset;
+		m.label = n.label;
+		return m;
+	}
+
+	@Override
+	public Node visitNode(ClassCallNode n) {
+		ClassCallNode c = line(n, new ClassCallNode(n.objId, n.methodId, visitList(n.arglist)));
+		c.entry = mapEntry(n.entry);
+		c.methodEntry = movedMethods.getOrDefault(n.methodEntry, n.methodEntry);
+		c.nl = mapNl(n.nl);
+		c.label = n.label;
+		c.nonNull = n.nonNull;
+		return c;
+	}
+
+	@Override
+	public Node visitNode(NewNode n) {
+		NewNode c = line(n, new NewNode(n.id, visitList(n.arglist)));
+		c.entry = mapEntry(n.entry);
+		c.nl = mapNl(n.nl);
+		c.embedded = n.embedded;
+		if (n.cells != null) {
+			c.cells = new ArrayList<>();
+			for (STentry cell : n.cells) c.cells.add(mapEntry(cell));
+		}
+		return c;
+	}
+
+	@Override
+	public Node visitNode(EmptyNode n) {
+		return line(n, new EmptyNode());
+	}
+
+	@Override
+	public Node visitNode(LetNode n) {
+		List<STentry> slots = new ArrayList<>();
+		for (STentry slot : n.slots) slots.add(mapEntry(slot));
+		return line(n, new LetNode(slots, visitList(n.values), visit(n.exp)));
+	}
+
+	@Override
+	public Node visitNode(FieldAccessNode n) {
+		return line(n, new FieldAccessNode(visit(n.obj), n.fieldEntry));
+	}
+
+	@Override
+	public Node visitNode(SwitchNode n) {
+		Node exp = visit(n.exp);
+		List<Node> cases = new ArrayList<>();
+		for (Node c : n.cases) cases.add(c == null ? null : visit(c));
+		return line(n, new SwitchNode(exp, n.low, cases, visit(n.def)));
+	}
+
+	@Override
+	public Node visitNode(ShiftNode n) {
+		return line(n, new ShiftNode(visit(n.exp), n.bits, n.left));
+	}
+
+	@Override
+	public Node visitNode(NullCheckNode n) {
+		return line(n, new NullCheckNode(visit(n.obj), visit(n.exp)));
+	}
+}
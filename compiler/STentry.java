@@ -6,7 +6,9 @@ public class STentry implements Visitable {
 	final int nl;
 	final TypeNode type;
 	final int offset;
-	public STentry(int n, TypeNode t, int o) { nl = n; type = t; offset=o; }
+	final boolean embedded; // campo con l'oggetto contenuto nel padre: il suo valore e' l'indirizzo nel padre
+	public STentry(int n, TypeNode t, int o) { this(n, t, o, false); }
+	public STentry(int n, TypeNode t, int o, boolean e) { nl = n; type = t; offset=o; embedded = e; }
 
 	@Override
 	public <S,E extends Exception> S accept(BaseASTVisitor<S,E> visitor) throws E {
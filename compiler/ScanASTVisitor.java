@@ -0,0 +1,226 @@
+package compiler;
+
+import compiler.AST.*;
+import compiler.lib.*;
+import compiler.exc.*;
+
+// Visita tutti i sottoalberi di un AST (arricchito o meno) senza produrre risultati:
+// base per le analisi che ridefiniscono solo i nodi che le interessano
+// (chiamando super.visitNode per proseguire nella visita dei figli).
+public class ScanASTVisitor extends BaseASTVisitor<Void,VoidException> {
+
+	ScanASTVisitor() {}
+
+	@Override
+	public Void visitNode(ProgLetInNode n) {
+		for (Node dec : n.declist) visit(dec);
+		visit(n.exp);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(ProgNode n) {
+		visit(n.exp);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(FunNode n) {
+		for (Node dec : n.declist) visit(dec);
+		visit(n.exp);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(ParNode n) {
+		return null;
+	}
+
+	@Override
+	public Void visitNode(VarNode n) {
+		visit(n.exp);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(PrintNode n) {
+		visit(n.exp);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(IfNode n) {
+		visit(n.cond);
+		visit(n.th);
+		visit(n.el);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(WhileNode n) {
+		for (Node init : n.inits) visit(init);
+		visit(n.cond);
+		for (Node update : n.updates) visit(update);
+		visit(n.exp);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(EqualNode n) {
+		visit(n.left);
+		visit(n.right);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(LessEqualNode n) {
+		visit(n.left);
+		visit(n.right);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(GreaterEqualNode n) {
+		visit(n.left);
+		visit(n.right);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(NotNode n) {
+		visit(n.exp);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(OrNode n) {
+		visit(n.left);
+		visit(n.right);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(AndNode n) {
+		visit(n.left);
+		visit(n.right);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(TimesNode n) {
+		visit(n.left);
+		visit(n.right);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(DivNode n) {
+		visit(n.left);
+		visit(n.right);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(PlusNode n) {
+		visit(n.left);
+		visit(n.right);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(MinusNode n) {
+		visit(n.left);
+		visit(n.right);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(CallNode n) {
+		for (Node arg : n.arglist) visit(arg);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(IdNode n) {
+		return null;
+	}
+
+	@Override
+	public Void visitNode(BoolNode n) {
+		return null;
+	}
+
+	@Override
+	public Void visitNode(IntNode n) {
+		return null;
+	}
+
+	@Override
+	public Void visitNode(ClassNode n) {
+		for (MethodNode method : n.methods) visit(method);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(FieldNode n) {
+		return null;
+	}
+
+	@Override
+	public Void visitNode(MethodNode n) {
+		for (Node dec : n.declist) visit(dec);
+		visit(n.exp);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(ClassCallNode n) {
+		for (Node arg : n.arglist) visit(arg);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(NewNode n) {
+		for (Node arg : n.arglist) visit(arg);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(EmptyNode n) {
+		return null;
+	}
+
+	@Override
+	public Void visitNode(LetNode n) {
+		for (Node val : n.values) visit(val);
+		visit(n.exp);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(FieldAccessNode n) {
+		visit(n.obj);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(SwitchNode n) {
+		visit(n.exp);
+		for (Node c : n.cases) if (c != null) visit(c);
+		visit(n.def);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(ShiftNode n) {
+		visit(n.exp);
+		return null;
+	}
+
+	@Override
+	public Void visitNode(NullCheckNode n) {
+		visit(n.obj);
+		visit(n.exp);
+		return null;
+	}
+}
@@ -0,0 +1,283 @@
+package compiler;
+
+import java.util.*;
+import compiler.AST.*;
+import compiler.lib.*;
+
+// Condivisione delle celle dei frame: celle dei LetNode (chieste da inlining, CSE, ...) e
+// variabili locali di funzioni e metodi. Ogni cella resta nel frame per tutta la sua durata, ma
+// il suo valore serve solo dall'assegnamento (del LetNode o della dichiarazione) all'ultima
+// lettura. Le letture e gli assegnamenti di ogni frame sono numerati nell'ordine in cui li esegue
+// il codice generato (argomenti delle chiamate dall'ultimo, secondo operando di >= per primo,
+// oggetto di una chiamata di metodo dopo gli argomenti); l'intervallo di vita di una cella va
+// dal primo all'ultimo di questi punti. Ogni cella e' visibile solo nel proprio LetNode e ogni
+// variabile e' assegnata una volta sola, prima del corpo: due celle con intervalli disgiunti non
+// sono mai vive insieme, anche quando l'una e' usata in un ramo di un if e l'altra nell'altro.
+// Nei cicli (WhileNode) condizione e assegnamenti sono rieseguiti: una cella viva all'ingresso
+// del ciclo e usata al suo interno resta viva fino alla fine del ciclo (le celle assegnate e
+// lette nella stessa iterazione non cambiano).
+// Le celle sono assegnate come in una linear scan: una cella morta e' riusata dalla successiva
+// e le celle rimaste senza uso spariscono dal frame (le dichiarazioni successive si spostano).
+// Una variabile che riusa una cella non e' piu' allocata dalla propria dichiarazione: il suo
+// valore e' scritto nella cella (LetNode) subito prima della valutazione che segue la
+// dichiarazione, cioe' nell'inizializzatore della variabile successiva o all'inizio del corpo.
+// La scrittura costa qualche istruzione in piu' della push che allocava la cella: le variabili
+// sono condivise solo nei frame che si impilano su se stessi, cioe' delle funzioni e dei metodi
+// che si richiamano (anche da funzioni annidate) fuori dalla posizione di coda, dove un frame
+// piu' piccolo permette una ricorsione piu' profonda. Restano nella propria cella le variabili
+// lette da funzioni annidate (il loro intervallo non e' noto) e quelle del programma, che
+// l'immagine precalcolata valuta a tempo di compilazione. Con il back end SSA le variabili non
+// sono condivise: i loro valori restano valori SSA, ciascuno con la propria cella come "home"
+// (SVMLowering), e una cella condivisa aggiungerebbe solo scritture.
+// Le celle degli oggetti allocati nel frame (NewNode.cells) sono raggiunte tramite l'indirizzo
+// dell'oggetto e non sono mai condivise.
+public class SlotReuseEASTVisitor extends RewriteEASTVisitor {
+
+	private final Map<STentry, STentry> shared = new HashMap<>(); // cella eliminata -> cella che la sostituisce
+	private final Map<STentry, STentry> remapped = new HashMap<>();
+	final List<String> frames = new ArrayList<>(); // report dei frame ridotti
+	int removed; // celle eliminate
+	private List<VarNode> stores = new ArrayList<>(); // variabili in una cella condivisa, non ancora scritte
+	private Node body; // corpo del frame in ricostruzione
+	private final boolean variables; // condivide anche le variabili locali
+
+	SlotReuseEASTVisitor(boolean v) { variables = v; }
+
+	@Override
+	public Node visit(Visitable v) {
+		if (v instanceof ProgLetInNode) analysis((ProgLetInNode) v);
+		if (v == body && !stores.isEmpty()) return store((Node) v);
+		return super.visit(v);
+	}
+
+	// variabile locale che puo' cambiare cella (non e' una cella di LetNode, di ciclo o di un oggetto nel frame)
+	private static boolean isVariable(VarNode n) {
+		return !isSlot(n) && !isLoop(n) && !(n.exp instanceof NewNode && ((NewNode) n.exp).cells != null);
+	}
+
+	// celle di un frame e loro intervalli di vita
+	private static class Frame {
+		final String name;
+		final Frame up; // frame che lo contiene
+		final STentry fun; // funzione o metodo del frame (null per il programma)
+		final Map<STentry, int[]> live = new LinkedHashMap<>();
+		final Set<STentry> variables = new HashSet<>(); // variabili locali, tra le celle di "live"
+		final Set<Node> tailCalls = new HashSet<>();
+		boolean recursive; // si richiama fuori dalla posizione di coda
+		Frame(String n, Frame u, STentry f) { name = n; up = u; fun = f; }
+	}
+
+	private void analysis(ProgLetInNode prog) {
+		Set<STentry> pinned = new HashSet<>();
+		List<Frame> all = new ArrayList<>();
+		new ScanASTVisitor() {
+			Frame frame;
+			int point = 0;
+
+			void enter(String name, STentry fun, List<DecNode> declist, Node exp) {
+				Frame prev = frame;
+				frame = new Frame(name, prev, fun);
+				all.add(frame);
+				if (FOOLlib.tailCallOpt) CodeGenerationASTVisitor.markTailCalls(exp, frame.tailCalls);
+				for (DecNode dec : declist)
+					if (dec instanceof VarNode && isSlot((VarNode) dec)) frame.live.put(((VarNode) dec).entry, null);
+					else if (variables && fun != null && dec instanceof VarNode && isVariable((VarNode) dec)) {
+						frame.live.put(((VarNode) dec).entry, null);
+						frame.variables.add(((VarNode) dec).entry);
+					}
+				for (DecNode dec : declist) visit(dec);
+				visit(exp);
+				frame = prev;
+			}
+
+			void touch(STentry slot) {
+				if (!frame.live.containsKey(slot)) { // letta da una funzione annidata: quando, non si sa
+					pinned.add(slot);
+					return;
+				}
+				int[] range = frame.live.get(slot);
+				if (range == null) frame.live.put(slot, new int[] {point, point});
+				else range[1] = point;
+				point++;
+			}
+
+			// chiamata di "callee": se e' la funzione di questo frame o di uno che lo contiene, quel frame si impila
+			void call(Node n, STentry callee) {
+				for (Frame f = frame; f != null; f = f.up)
+					if (f.fun == callee && (f != frame || !frame.tailCalls.contains(n))) f.recursive = true;
+			}
+
+			@Override
+			public Void visitNode(ProgLetInNode n) {
+				enter("program", null, n.declist, n.exp);
+				return null;
+			}
+			@Override
+			public Void visitNode(FunNode n) {
+				enter(n.id, n.entry, n.declist, n.exp);
+				return null;
+			}
+			@Override
+			public Void visitNode(MethodNode n) {
+				enter(n.id, n.entry, n.declist, n.exp);
+				return null;
+			}
+			@Override
+			public Void visitNode(VarNode n) {
+				if (isSlot(n)) return null; // il valore iniziale di una cella non e' un assegnamento
+				visit(n.exp);
+				touch(n.entry);
+				return null;
+			}
+			@Override
+			public Void visitNode(IdNode n) {
+				touch(n.entry);
+				return null;
+			}
+			@Override
+			public Void visitNode(LetNode n) {
+				for (int i = 0; i < n.slots.size(); i++) {
+					visit(n.values.get(i));
+					touch(n.slots.get(i));
+				}
+				visit(n.exp);
+				return null;
+			}
+			@Override
+			public Void visitNode(WhileNode n) {
+				for (int i = 0; i < n.inits.size(); i++) {
+					visit(n.inits.get(i));
+					touch(n.vars.get(i));
+				}
+				int start = point;
+				visit(n.cond);
+				for (int i = 0; i < n.updates.size(); i++) {
+					visit(n.updates.get(i));
+					touch(n.targets.get(i));
+				}
+				for (int[] range : frame.live.values())
+					if (range != null && range[0] < start && range[1] >= start) range[1] = point - 1;
+				visit(n.exp);
+				return null;
+			}
+			@Override
+			public Void visitNode(GreaterEqualNode n) {
+				visit(n.right);
+				visit(n.left);
+				return null;
+			}
+			@Override
+			public Void visitNode(CallNode n) {
+				for (int i = n.arglist.size() - 1; i >= 0; i--) visit(n.arglist.get(i));
+				touch(n.entry);
+				call(n, n.entry);
+				return null;
+			}
+			@Override
+			public Void visitNode(ClassCallNode n) {
+				for (int i = n.arglist.size() - 1; i >= 0; i--) visit(n.arglist.get(i));
+				touch(n.entry);
+				call(n, n.methodEntry);
+				return null;
+			}
+			@Override
+			public Void visitNode(NewNode n) {
+				if (n.cells != null) pinned.addAll(n.cells);
+				return super.visitNode(n);
+			}
+		}.visit(prog);
+		for (Frame f : all) allocate(f, pinned);
+	}
+
+	// linear scan sugli intervalli ordinati per inizio: ogni cella prende il posto di una morta
+	private void allocate(Frame f, Set<STentry> pinned) {
+		List<STentry> slots = new ArrayList<>();
+		for (Map.Entry<STentry, int[]> e : f.live.entrySet())
+			if (e.getValue() != null && !pinned.contains(e.getKey()) && (f.recursive || !f.variables.contains(e.getKey())))
+				slots.add(e.getKey());
+		slots.sort(Comparator.comparingInt(s -> f.live.get(s)[0]));
+		List<STentry> active = new ArrayList<>(), free = new ArrayList<>();
+		Map<STentry, STentry> cell = new HashMap<>();
+		for (STentry s : slots) {
+			int start = f.live.get(s)[0];
+			for (Iterator<STentry> it = active.iterator(); it.hasNext(); ) {
+				STentry a = it.next();
+				if (f.live.get(a)[1] < start) {
+					free.add(cell.get(a));
+					it.remove();
+				}
+			}
+			STentry c = free.isEmpty() ? s : free.remove(free.size() - 1);
+			cell.put(s, c);
+			if (c != s) shared.put(s, c);
+			active.add(s);
+		}
+		int before = f.live.size(), after = before - (slots.size() - new HashSet<>(cell.values()).size());
+		if (after < before) {
+			frames.add(f.name + ": " + before + " -> " + after + " slots");
+			removed += before - after;
+		}
+	}
+
+	@Override
+	protected boolean keep(DecNode dec) {
+		if (!(dec instanceof VarNode) || !shared.containsKey(((VarNode) dec).entry)) return true;
+		if (!isSlot((VarNode) dec)) stores.add((VarNode) dec); // scritta dalla prossima valutazione
+		return false;
+	}
+
+	// scrive le variabili rimaste in sospeso nelle loro celle, poi valuta "exp"
+	private Node store(Node exp) {
+		List<VarNode> vars = stores;
+		stores = new ArrayList<>();
+		List<STentry> slots = new ArrayList<>();
+		List<Node> values = new ArrayList<>();
+		for (VarNode v : vars) {
+			values.add(visit(v.exp));
+			slots.add(mapEntry(v.entry));
+		}
+		return line(exp, new LetNode(slots, values, super.visit(exp)));
+	}
+
+	@Override
+	public Node visitNode(VarNode n) {
+		if (stores.isEmpty() || isSlot(n) || isLoop(n)) return super.visitNode(n);
+		return line(n, new VarNode(n.id, n.getType(), store(n.exp)));
+	}
+
+	@Override
+	public Node visitNode(FunNode n) {
+		Node prevBody = body;
+		List<VarNode> prevStores = stores;
+		body = n.exp;
+		stores = new ArrayList<>();
+		try {
+			return super.visitNode(n);
+		} finally {
+			body = prevBody;
+			stores = prevStores;
+		}
+	}
+
+	@Override
+	public Node visitNode(MethodNode n) {
+		Node prevBody = body;
+		List<VarNode> prevStores = stores;
+		body = n.exp;
+		stores = new ArrayList<>();
+		try {
+			return super.visitNode(n);
+		} finally {
+			body = prevBody;
+			stores = prevStores;
+		}
+	}
+
+	@Override
+	protected STentry mapEntry(STentry entry) {
+		STentry c = shared.get(entry);
+		if (c == null) return super.mapEntry(entry);
+		STentry m = super.mapEntry(c);
+		return remapped.computeIfAbsent(entry, e -> new STentry(e.nl, e.type, m.offset));
+	}
+}
@@ -0,0 +1,231 @@
+package compiler;
+
+import java.util.*;
+import compiler.AST.*;
+import compiler.lib.*;
+
+// Specializzazione delle funzioni per argomenti costanti (dopo l'inlining, prima del constant
+// folding). Per le chiamate f(..., 3, ...) con alcuni argomenti letterali si crea una copia di
+// f senza i parametri costanti, in cui le loro letture diventano il letterale; la copia e'
+// dichiarata subito dopo f e le chiamate corrispondenti (comprese le chiamate ricorsive della
+// copia, dove quei parametri sono ormai letterali) la chiamano senza passare le costanti.
+// Il constant folding successivo semplifica poi il corpo delle copie. Per le funzioni ricorsive
+// si considerano costanti solo i parametri passati invariati a tutte le chiamate ricorsive.
+// Si specializzano solo funzioni senza funzioni annidate; le specializzazioni sono scelte a
+// partire da quelle con piu' chiamate, entro MAX_CLONES copie e MAX_GROWTH nodi di codice in piu'.
+public class SpecializationEASTVisitor extends RewriteEASTVisitor {
+
+	static final int MAX_CLONES = 8;
+	static final int MAX_GROWTH = 200;
+
+	// copia di una funzione per certi argomenti costanti (posizione del parametro -> letterale)
+	private static class Spec {
+		final FunNode fun;
+		final Map<Integer, Node> consts;
+		final String pattern; // es. "f(*,3)"
+		int calls = 0; // chiamate con queste costanti
+		int index; // posizione tra le copie di fun
+		STentry entry; // entry della copia nel frame ricostruito
+		Spec(FunNode f, Map<Integer, Node> c, String p) { fun = f; consts = c; pattern = p; }
+	}
+
+	private final Map<STentry, List<Spec>> specs = new HashMap<>(); // entry di una funzione -> sue copie
+	private Spec current; // copia in costruzione
+	private final Map<STentry, STentry> fresh = new HashMap<>(); // entry del frame della copia in costruzione
+	final List<String> specialized = new ArrayList<>(); // report delle copie create
+
+	SpecializationEASTVisitor() {}
+
+	@Override
+	public Node visit(Visitable v) {
+		if (v instanceof ProgLetInNode) plan((ProgLetInNode) v);
+		return super.visit(v);
+	}
+
+	private static boolean isConst(Node n) {
+		return n instanceof IntNode || n instanceof BoolNode;
+	}
+
+	private static String constKey(Node n) {
+		return n instanceof IntNode ? ((IntNode) n).val.toString() : ((BoolNode) n).val.toString();
+	}
+
+	// parametri che f passa invariati alle proprie chiamate ricorsive (tutti se f non e' ricorsiva)
+	private static Set<Integer> invariant(FunNode f) {
+		Set<Integer> inv = new HashSet<>();
+		for (int i = 0; i < f.parlist.size(); i++) inv.add(i);
+		ScanASTVisitor scan = new ScanASTVisitor() {
+			@Override
+			public Void visitNode(CallNode n) {
+				if (n.entry == f.entry)
+					for (int i = 0; i < n.arglist.size(); i++) {
+						Node arg = n.arglist.get(i);
+						if (!(arg instanceof IdNode) || ((IdNode) arg).entry.nl != f.entry.nl + 1 || ((IdNode) arg).entry.offset != i + 1)
+							inv.remove(i);
+					}
+				return super.visitNode(n);
+			}
+		};
+		for (DecNode dec : f.declist) scan.visit(dec);
+		scan.visit(f.exp);
+		return inv;
+	}
+
+	private static int size(Node n) {
+		int[] size = {0};
+		new ScanASTVisitor() {
+			@Override
+			public Void visit(Visitable v) {
+				size[0]++;
+				return super.visit(v);
+			}
+		}.visit(n);
+		return size[0];
+	}
+
+	// sceglie le copie: per ogni funzione specializzabile, le combinazioni di argomenti costanti delle sue chiamate
+	private void plan(ProgLetInNode prog) {
+		Map<STentry, FunNode> functions = new HashMap<>();
+		Map<FunNode, Set<Integer>> invariant = new HashMap<>();
+		Map<FunNode, Map<String, Spec>> patterns = new HashMap<>();
+		List<Spec> candidates = new ArrayList<>(); // in ordine di prima chiamata
+		new ScanASTVisitor() {
+			@Override
+			public Void visitNode(FunNode n) {
+				boolean simple = !n.parlist.isEmpty();
+				for (DecNode dec : n.declist) if (!(dec instanceof VarNode)) simple = false;
+				if (simple) {
+					functions.put(n.entry, n);
+					invariant.put(n, invariant(n));
+				}
+				return super.visitNode(n);
+			}
+		}.visit(prog);
+		new ScanASTVisitor() {
+			@Override
+			public Void visitNode(CallNode n) {
+				FunNode f = functions.get(n.entry);
+				if (f != null) {
+					Map<Integer, Node> consts = new TreeMap<>();
+					StringBuilder pattern = new StringBuilder(f.id + "(");
+					for (int i = 0; i < n.arglist.size(); i++) {
+						Node arg = n.arglist.get(i);
+						boolean c = isConst(arg) && invariant.get(f).contains(i);
+						if (c) consts.put(i, arg);
+						pattern.append(i > 0 ? "," : "").append(c ? constKey(arg) : "*");
+					}
+					pattern.append(")");
+					if (!consts.isEmpty())
+						patterns.computeIfAbsent(f, x -> new HashMap<>()).computeIfAbsent(pattern.toString(), p -> {
+							Spec s = new Spec(f, consts, p);
+							candidates.add(s);
+							return s;
+						}).calls++;
+				}
+				return super.visitNode(n);
+			}
+		}.visit(prog);
+		candidates.sort((a, b) -> b.calls - a.calls); // ordinamento stabile: a parita', la prima chiamata
+		int clones = 0, growth = 0;
+		for (Spec s : candidates) {
+			int sz = size(s.fun.exp);
+			for (DecNode dec : s.fun.declist) sz += size(dec);
+			if (clones == MAX_CLONES || growth + sz > MAX_GROWTH) continue;
+			List<Spec> l = specs.computeIfAbsent(s.fun.entry, e -> new ArrayList<>());
+			s.index = l.size();
+			l.add(s);
+			specialized.add(s.pattern + " as " + s.fun.id + "$" + s.index);
+			clones++;
+			growth += sz;
+		}
+	}
+
+	// copia di fun che corrisponde agli argomenti (gia' ricostruiti): quella con piu' costanti
+	private Spec match(STentry fun, List<Node> args) {
+		Spec best = null;
+		for (Spec s : specs.getOrDefault(fun, Collections.emptyList())) {
+			boolean ok = true;
+			for (Map.Entry<Integer, Node> c : s.consts.entrySet()) {
+				Node arg = args.get(c.getKey());
+				if (!isConst(arg) || arg.getClass() != c.getValue().getClass() || !constKey(arg).equals(constKey(c.getValue()))) ok = false;
+			}
+			if (ok && (best == null || s.consts.size() > best.consts.size())) best = s;
+		}
+		return best;
+	}
+
+	// la copia e' dichiarata subito dopo fun (e dopo le copie precedenti)
+	private STentry cloneEntry(Spec s) {
+		if (s.entry == null) {
+			List<TypeNode> pars = new ArrayList<>();
+			for (int i = 0; i < s.fun.parlist.size(); i++)
+				if (!s.consts.containsKey(i)) pars.add(s.fun.parlist.get(i).getType());
+			STentry fun = mapEntry(s.fun.entry);
+			s.entry = new STentry(fun.nl, new ArrowTypeNode(pars, s.fun.retType), fun.offset - 1 - s.index);
+		}
+		return s.entry;
+	}
+
+	@Override
+	public Node visitNode(CallNode n) {
+		List<Node> args = visitList(n.arglist);
+		Spec s = match(n.entry, args);
+		if (s == null) {
+			CallNode c = line(n, new CallNode(n.id, args));
+			c.entry = mapEntry(n.entry);
+			c.nl = mapNl(n.nl);
+			return c;
+		}
+		List<Node> rest = new ArrayList<>();
+		for (int i = 0; i < args.size(); i++) if (!s.consts.containsKey(i)) rest.add(args.get(i));
+		CallNode c = line(n, new CallNode(s.fun.id + "$" + s.index, rest));
+		c.entry = cloneEntry(s);
+		c.nl = mapNl(n.nl);
+		return c;
+	}
+
+	// nel corpo della copia: parametri costanti letterali, altri parametri e dichiarazioni con nuove entry
+	private boolean inClone(STentry entry) {
+		return current != null && entry.nl == current.fun.entry.nl + 1;
+	}
+
+	@Override
+	protected STentry mapEntry(STentry entry) {
+		if (!inClone(entry)) return super.mapEntry(entry);
+		return fresh.computeIfAbsent(entry, e -> {
+			int offset = super.mapEntry(e).offset;
+			if (offset > 0) // i parametri successivi a quelli costanti scalano
+				for (int i : current.consts.keySet()) if (i + 1 < e.offset) offset--;
+			return new STentry(e.nl, e.type, offset);
+		});
+	}
+
+	@Override
+	public Node visitNode(IdNode n) {
+		if (inClone(n.entry) && n.entry.offset > 0 && current.consts.containsKey(n.entry.offset - 1)) {
+			Node c = current.consts.get(n.entry.offset - 1);
+			return line(n, c instanceof IntNode ? new IntNode(((IntNode) c).val) : new BoolNode(((BoolNode) c).val));
+		}
+		return super.visitNode(n);
+	}
+
+	@Override
+	protected List<DecNode> added(DecNode dec) {
+		if (!(dec instanceof FunNode) || !specs.containsKey(((FunNode) dec).entry)) return Collections.emptyList();
+		List<DecNode> clones = new ArrayList<>();
+		for (Spec s : specs.get(((FunNode) dec).entry)) {
+			current = s;
+			fresh.clear();
+			try {
+				FunNode body = (FunNode) super.visitNode(s.fun);
+				List<ParNode> pars = new ArrayList<>();
+				for (int i = 0; i < s.fun.parlist.size(); i++)
+					if (!s.consts.containsKey(i)) pars.add(s.fun.parlist.get(i));
+				FunNode clone = line(s.fun, new FunNode(s.fun.id + "$" + s.index, s.fun.retType, pars, body.declist, body.exp));
+				clone.entry = cloneEntry(s);
+				clones.add(clone);
+			} finally { current = null; }
+		}
+		return clones;
+	}
+}
@@ -0,0 +1,86 @@
+package compiler;
+
+import compiler.AST.*;
+import compiler.lib.*;
+
+// Riduzione della forza delle operazioni aritmetiche con un operando costante (dopo il constant
+// folding, che lascia solo le operazioni con almeno un operando non costante):
+// - x+0, 0+x, x-0, x*1, 1*x e x/1 diventano x; x*0 e 0*x diventano 0 se x e' una costante, un
+//   identificatore o la lettura di un campo: EffectAnalysis considera puri anche una divisione
+//   (che puo' fallire per zero) e le chiamate (che possono non terminare)
+// - x*2^k e 2^k*x diventano uno ShiftNode a sinistra ("shl"), x/2^k uno ShiftNode a destra
+//   ("shr"): l'istruzione arrotonda verso zero anche i negativi, il risultato e' quello di "div"
+// - shift nella stessa direzione uno dentro l'altro si sommano ((x*2)*4 = x*8, (x/2)/4 = x/8
+//   anche con l'arrotondamento verso zero)
+// La costante sparisce anche se era l'operando sinistro: un letterale non ha effetti, quindi
+// l'ordine di valutazione degli operandi non conta.
+public class StrengthReductionEASTVisitor extends RewriteEASTVisitor {
+
+	static final int MAX_BITS = 31;
+
+	int reduced = 0; // operazioni sostituite
+
+	StrengthReductionEASTVisitor() {}
+
+	private static boolean is(Node n, int val) {
+		return n instanceof IntNode && ((IntNode) n).val == val;
+	}
+
+	// espressione che si puo' non valutare: non ha effetti, non fallisce e termina
+	private static boolean isTrivial(Node n) {
+		if (n instanceof IntNode || n instanceof BoolNode || n instanceof IdNode) return true;
+		return n instanceof FieldAccessNode && isTrivial(((FieldAccessNode) n).obj);
+	}
+
+	// k se n e' il letterale 2^k (k >= 1), 0 altrimenti
+	private static int log2(Node n) {
+		if (!(n instanceof IntNode)) return 0;
+		int v = ((IntNode) n).val;
+		return v > 1 && (v & (v - 1)) == 0 ? Integer.numberOfTrailingZeros(v) : 0;
+	}
+
+	private Node reduce(Node to) {
+		reduced++;
+		return to;
+	}
+
+	private Node shift(Node from, Node exp, int bits, boolean left) {
+		if (exp instanceof ShiftNode && ((ShiftNode) exp).left == left && ((ShiftNode) exp).bits + bits <= MAX_BITS)
+			return reduce(line(from, new ShiftNode(((ShiftNode) exp).exp, ((ShiftNode) exp).bits + bits, left)));
+		return reduce(line(from, new ShiftNode(exp, bits, left)));
+	}
+
+	@Override
+	public Node visitNode(PlusNode n) {
+		Node l = visit(n.left), r = visit(n.right);
+		if (is(r, 0)) return reduce(l);
+		if (is(l, 0)) return reduce(r);
+		return line(n, new PlusNode(l, r));
+	}
+
+	@Override
+	public Node visitNode(MinusNode n) {
+		Node l = visit(n.left), r = visit(n.right);
+		if (is(r, 0)) return reduce(l);
+		return line(n, new MinusNode(l, r));
+	}
+
+	@Override
+	public Node visitNode(TimesNode n) {
+		Node l = visit(n.left), r = visit(n.right);
+		if (is(r, 1)) return reduce(l);
+		if (is(l, 1)) return reduce(r);
+		if (is(r, 0) && isTrivial(l) || is(l, 0) && isTrivial(r)) return reduce(line(n, new IntNode(0)));
+		if (log2(r) > 0) return shift(n, l, log2(r), true);
+		if (log2(l) > 0) return shift(n, r, log2(l), true);
+		return line(n, new TimesNode(l, r));
+	}
+
+	@Override
+	public Node visitNode(DivNode n) {
+		Node l = visit(n.left), r = visit(n.right);
+		if (is(r, 1)) return reduce(l);
+		if (log2(r) > 0) return shift(n, l, log2(r), false);
+		return line(n, new DivNode(l, r));
+	}
+}
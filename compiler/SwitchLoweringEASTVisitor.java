@@ -0,0 +1,60 @@
+package compiler;
+
+import java.util.*;
+import compiler.AST.*;
+import compiler.lib.*;
+
+// Catene di if che confrontano la stessa variabile con costanti intere:
+//   if x == c1 then {e1} else { if x == c2 then {e2} else { ... else {d} } }
+// Con almeno MIN_CASES costanti distinte, dense (l'intervallo tra la minima e la massima non
+// supera MAX_SPREAD volte il numero di casi), la catena diventa uno SwitchNode: la generazione
+// del codice lo traduce nell'istruzione "tsw" (salto attraverso una tabella di etichette),
+// che sceglie il caso in tempo costante invece di valutare un confronto per caso.
+// La variabile e' letta una volta sola (le letture non hanno effetti); un caso ripetuto nella
+// catena non e' mai raggiunto ed e' eliminato, i valori mancanti nell'intervallo vanno a d.
+public class SwitchLoweringEASTVisitor extends RewriteEASTVisitor {
+
+	static final int MIN_CASES = 3;
+	static final int MAX_SPREAD = 2;
+
+	final List<String> switches = new ArrayList<>(); // report delle catene tradotte
+
+	SwitchLoweringEASTVisitor() {}
+
+	// "x == c" o "c == x": la variabile confrontata, null altrimenti
+	private static IdNode variable(Node cond) {
+		if (!(cond instanceof EqualNode)) return null;
+		EqualNode eq = (EqualNode) cond;
+		if (eq.left instanceof IdNode && eq.right instanceof IntNode) return (IdNode) eq.left;
+		if (eq.right instanceof IdNode && eq.left instanceof IntNode) return (IdNode) eq.right;
+		return null;
+	}
+
+	private static int constant(Node cond) {
+		EqualNode eq = (EqualNode) cond;
+		return ((IntNode) (eq.left instanceof IntNode ? eq.left : eq.right)).val;
+	}
+
+	private static boolean same(IdNode a, IdNode b) {
+		return b != null && a.entry == b.entry && a.nl == b.nl;
+	}
+
+	@Override
+	public Node visitNode(IfNode n) {
+		IdNode x = variable(n.cond);
+		if (x == null) return super.visitNode(n);
+		Map<Integer, Node> cases = new LinkedHashMap<>();
+		Node rest = n;
+		while (rest instanceof IfNode && same(x, variable(((IfNode) rest).cond))) {
+			cases.putIfAbsent(constant(((IfNode) rest).cond), ((IfNode) rest).th);
+			rest = ((IfNode) rest).el;
+		}
+		if (cases.size() < MIN_CASES) return super.visitNode(n);
+		int low = Collections.min(cases.keySet()), high = Collections.max(cases.keySet());
+		if ((long) high - low + 1 > (long) MAX_SPREAD * cases.size()) return super.visitNode(n);
+		List<Node> table = new ArrayList<>();
+		for (int v = low; v <= high; v++) table.add(cases.containsKey(v) ? visit(cases.get(v)) : null);
+		switches.add(x.id + " in [" + low + ", " + high + "] (line " + n.getLine() + "): " + cases.size() + " cases");
+		return line(n, new SwitchNode(visit(x), low, table, visit(rest)));
+	}
+}
@@ -50,6 +50,7 @@ public class SymbolTableASTVisitor extends BaseASTVisitor<Void,VoidException> {
 		List<TypeNode> parTypes = new ArrayList<>();  
 		for (ParNode par : n.parlist) parTypes.add(par.getType()); 
 		STentry entry = new STentry(nestingLevel, new ArrowTypeNode(parTypes,n.retType),decOffset--);
+		n.entry = entry;
 		//inserimento di ID nella symtable
 		if (hm.put(n.id, entry) != null) {
 			System.out.println("Fun id " + n.id + " at line "+ n.getLine() +" already declared");
@@ -60,7 +61,7 @@ public class SymbolTableASTVisitor extends BaseASTVisitor<Void,VoidException> {
 		Map<String, STentry> hmn = new HashMap<>();
 		symTable.add(hmn);
 		int prevNLDecOffset=decOffset; // stores counter for offset of declarations at previous nesting level 
-		decOffset=-2;
+		decOffset=FOOLlib.firstLocalOffset();
 		
 		int parOffset=1;
 		for (ParNode par : n.parlist)
@@ -82,6 +83,7 @@ public class SymbolTableASTVisitor extends BaseASTVisitor<Void,VoidException> {
 		visit(n.exp);
 		Map<String, STentry> hm = symTable.get(nestingLevel);
 		STentry entry = new STentry(nestingLevel,n.getType(),decOffset--);
+		n.entry = entry;
 		//inserimento di ID nella symtable
 		if (hm.put(n.id, entry) != null) {
 			System.out.println("Var id " + n.id + " at line "+ n.getLine() +" already declared");
@@ -105,6 +107,45 @@ public class SymbolTableASTVisitor extends BaseASTVisitor<Void,VoidException> {
 		visit(n.el);
 		return null;
 	}
+
+	// Le variabili del ciclo sono visibili in condizione, assegnamenti ed espressione finale
+	// (nascondono quelle omonime dello stesso livello); sono gia' dichiarate nel frame corrente
+	// dalla generazione dell'AST. Gli assegnamenti possono riguardare solo le variabili del ciclo
+	@Override
+	public Void visitNode(WhileNode n) {
+		if (print) printNode(n);
+		for (Node init : n.inits) visit(init);
+		Map<String, STentry> hm = symTable.get(nestingLevel);
+		Map<String, STentry> hidden = new HashMap<>();
+		n.vars = new ArrayList<>();
+		for (int i = 0; i < n.ids.size(); i++) {
+			String id = n.ids.get(i);
+			STentry entry = n.decs.get(i).entry;
+			n.vars.add(entry);
+			if (hidden.containsKey(id)) {
+				System.out.println("Loop var id " + id + " at line "+ n.getLine() +" already declared");
+				stErrors++;
+			} else hidden.put(id, hm.get(id));
+			hm.put(id, entry);
+		}
+		visit(n.cond);
+		n.targets = new ArrayList<>();
+		for (int i = 0; i < n.targetIds.size(); i++) {
+			visit(n.updates.get(i));
+			STentry entry = stLookup(n.targetIds.get(i));
+			if (entry == null || !n.vars.contains(entry)) {
+				System.out.println("Loop var id " + n.targetIds.get(i) + " at line "+ n.getLine() +" not declared in this loop");
+				stErrors++;
+				entry = null;
+			}
+			n.targets.add(entry);
+		}
+		visit(n.exp);
+		for (Map.Entry<String, STentry> h : hidden.entrySet())
+			if (h.getValue() == null) hm.remove(h.getKey());
+			else hm.put(h.getKey(), h.getValue());
+		return null;
+	}
 	
 	@Override
 	public Void visitNode(EqualNode n) {
@@ -282,7 +323,8 @@ public class SymbolTableASTVisitor extends BaseASTVisitor<Void,VoidException> {
 		}*/
 
 		for (FieldNode field : n.fields) {
-			if (virtualTable.put(field.id, new STentry(nestingLevel, field.getType(), fieldOffset--)) != null) {
+			field.entry = new STentry(nestingLevel, field.getType(), fieldOffset--);
+			if (virtualTable.put(field.id, field.entry) != null) {
 				System.out.println("Field id " + field.id + " at line "+ field.getLine() +" already declared");
 				stErrors++;
 			}
@@ -326,7 +368,8 @@ public class SymbolTableASTVisitor extends BaseASTVisitor<Void,VoidException> {
 				for(ParNode p : method.parlist) parTypes.add(p.getType());
 				ArrowTypeNode arrowType = new ArrowTypeNode(parTypes, method.retType);
 
-				if (virtualTable.put(method.id, new STentry(nestingLevel, arrowType, method.offset)) != null) {
+				method.entry = new STentry(nestingLevel, arrowType, method.offset);
+				if (virtualTable.put(method.id, method.entry) != null) {
 					System.out.println("Method id " + method.id + " at line "+ method.getLine() +" already declared (as field?)");
 					stErrors++;
 				}
@@ -360,7 +403,7 @@ public class SymbolTableASTVisitor extends BaseASTVisitor<Void,VoidException> {
 		symTable.add(hmn);
 
 		int prevNLDecOffset = decOffset;
-		decOffset = -2;
+		decOffset = FOOLlib.firstLocalOffset();
 
 		int parOffset = 1;
 		for (ParNode par : n.parlist)
@@ -390,6 +433,7 @@ public class SymbolTableASTVisitor extends BaseASTVisitor<Void,VoidException> {
 		}
 
 		n.entry = entry;
+		n.nl = nestingLevel;
 		for (Node arg : n.arglist) visit(arg);
 		return null;
 	}
@@ -1,10 +1,12 @@
 package compiler;
 
 import java.io.*;
+import java.util.*;
 import org.antlr.v4.runtime.*;
 import org.antlr.v4.runtime.tree.*;
 import compiler.lib.*;
 import compiler.exc.*;
+import compiler.ir.*;
 import compiler.FOOLLexer;
 import compiler.FOOLParser;
 import svm.*;
@@ -12,9 +14,19 @@ import svm.SVMLexer;
 import svm.SVMParser;
 
 public class Test {
+    // opzioni da riga di comando: "+nome" attiva e "-nome" disattiva una fase opzionale
+    private static Map<String,Boolean> options = new HashMap<>();
+
+    private static boolean option(String name, boolean def) {
+    	return options.getOrDefault(name, def);
+    }
+
     public static void main(String[] args) throws Exception {
    			
     	String fileName = "prova.fool";
+    	for (String arg : args)
+    		if (arg.startsWith("+") || arg.startsWith("-")) options.put(arg.substring(1), arg.startsWith("+"));
+    		else fileName = arg;
 
     	CharStream chars = CharStreams.fromFileName(fileName);
     	FOOLLexer lexer = new FOOLLexer(chars);
@@ -32,6 +44,11 @@ public class Test {
     	Node ast = visitor.visit(st);
     	System.out.println("");
 
+    	FOOLlib.display = option("display", false);
+    	FOOLlib.absolute = option("absolute", true);
+    	FOOLlib.leafFunctions = option("leaf", true);
+    	FOOLlib.tailCallOpt = option("tailcall", true);
+
     	System.out.println("Enriching AST via symbol table.");
     	SymbolTableASTVisitor symtableVisitor = new SymbolTableASTVisitor();
     	symtableVisitor.visit(ast);
@@ -59,8 +76,185 @@ public class Test {
 		
 		if ( frontEndErrors > 0) System.exit(1);   
 
-    	System.out.println("Generating code.");
-    	String code = new CodeGenerationASTVisitor().visit(ast);
+    	// "+profile": compilazione per raccogliere il profilo di esecuzione (senza inlining ne' identical
+    	// code folding, che nasconderebbero le chiamate); altrimenti si usa il profilo gia' raccolto
+    	Profile.number(ast);
+    	boolean profiling = option("profile", false);
+    	Profile profile = null;
+    	if (!profiling && option("pgo", true)) {
+    		profile = Profile.read(fileName);
+    		if (profile != null) System.out.println("Using execution profile "+fileName+Profile.SUFFIX+" ("+profile.size()+" entries).\n");
+    	}
+
+    	if (option("devirt", true)) {
+    		System.out.println("Devirtualizing method calls.");
+    		DevirtualizationEASTVisitor devirtualizer = new DevirtualizationEASTVisitor();
+    		ast = devirtualizer.visit(ast);
+    		System.out.println("You had "+devirtualizer.devirtualized+" devirtualized method calls.\n");
+    	}
+
+    	if (option("inline", !profiling)) {
+    		System.out.println("Inlining calls.");
+    		InliningEASTVisitor inliner = new InliningEASTVisitor(profile);
+    		ast = inliner.visit(ast);
+    		for (String call : inliner.inlined) System.out.println("  inlined "+call);
+    		System.out.println("You had "+inliner.inlined.size()+" inlined calls.\n");
+    	}
+
+    	if (option("specialize", true)) {
+    		System.out.println("Specializing functions for constant arguments.");
+    		SpecializationEASTVisitor specializer = new SpecializationEASTVisitor();
+    		ast = specializer.visit(ast);
+    		for (String spec : specializer.specialized) System.out.println("  specialized "+spec);
+    		System.out.println("You had "+specializer.specialized.size()+" specialized functions.\n");
+    	}
+
+    	if (option("escape", true)) {
+    		System.out.println("Replacing non-escaping objects.");
+    		EscapeAnalysisEASTVisitor escape = new EscapeAnalysisEASTVisitor();
+    		ast = escape.visit(ast);
+    		for (String obj : escape.replaced) System.out.println("  scalar replaced "+obj);
+    		for (String obj : escape.stackAllocated) System.out.println("  frame allocated "+obj);
+    		System.out.println("You had "+(escape.replaced.size()+escape.stackAllocated.size())+" non-escaping objects.\n");
+    	}
+
+    	if (option("fold", true)) {
+    		System.out.println("Folding constants.");
+    		ConstantFoldingEASTVisitor folder = new ConstantFoldingEASTVisitor();
+    		ast = folder.visit(ast);
+    		System.out.println("You had "+folder.folded+" folded expressions.\n");
+    	}
+
+    	if (option("cse", true)) {
+    		System.out.println("Eliminating common subexpressions.");
+    		CommonSubexpressionEASTVisitor cse = new CommonSubexpressionEASTVisitor(new EffectAnalysis(ast));
+    		ast = cse.visit(ast);
+    		System.out.println("You had "+cse.eliminated+" eliminated subexpressions.\n");
+    	}
+
+    	if (option("dce", true)) {
+    		System.out.println("Eliminating dead code.");
+    		DeadCodeEASTVisitor dce = new DeadCodeEASTVisitor(new EffectAnalysis(ast));
+    		ast = dce.visit(ast);
+    		for (String dec : dce.removed) System.out.println("  removed "+dec);
+    		System.out.println("You had "+dce.removed.size()+" removed declarations.\n");
+    	}
+
+    	if (option("strength", true)) {
+    		System.out.println("Reducing arithmetic strength.");
+    		StrengthReductionEASTVisitor strength = new StrengthReductionEASTVisitor();
+    		ast = strength.visit(ast);
+    		System.out.println("You had "+strength.reduced+" reduced operations.\n");
+    	}
+
+    	if (option("lazy", true)) {
+    		System.out.println("Delaying local variables to their first use.");
+    		LazyBindingEASTVisitor lazy = new LazyBindingEASTVisitor(new EffectAnalysis(ast));
+    		ast = lazy.visit(ast);
+    		for (String var : lazy.lazy) System.out.println("  delayed "+var);
+    		System.out.println("You had "+lazy.lazy.size()+" delayed variables.\n");
+    	}
+
+    	if (option("flatten", true)) {
+    		System.out.println("Flattening object fields.");
+    		FieldFlatteningEASTVisitor flattener = new FieldFlatteningEASTVisitor();
+    		ast = flattener.visit(ast);
+    		for (String field : flattener.flattened) System.out.println("  flattened "+field);
+    		System.out.println("You had "+flattener.flattened.size()+" flattened fields.\n");
+    	}
+
+    	if (option("slots", true)) {
+    		System.out.println("Sharing frame slots.");
+    		SlotReuseEASTVisitor slots = new SlotReuseEASTVisitor(!option("ssa", false));
+    		ast = slots.visit(ast);
+    		for (String frame : slots.frames) System.out.println("  "+frame);
+    		System.out.println("You had "+slots.removed+" removed slots.\n");
+    	}
+
+    	if (option("switch", true)) {
+    		System.out.println("Lowering if-chains to jump tables.");
+    		SwitchLoweringEASTVisitor switches = new SwitchLoweringEASTVisitor();
+    		ast = switches.visit(ast);
+    		for (String sw : switches.switches) System.out.println("  "+sw);
+    		System.out.println("You had "+switches.switches.size()+" jump tables.\n");
+    	}
+
+    	String code;
+    	List<String> memoized = Collections.emptyList(); // funzioni memoizzate, per numero di tabella
+    	CodeGenerationASTVisitor codegen = null; // null con il back end SSA
+    	if (option("ssa", false)) {
+    		System.out.println("Generating SSA intermediate representation.");
+    		IRGenerationASTVisitor irGenerator = new IRGenerationASTVisitor();
+    		irGenerator.visit(ast);
+    		Program ir = irGenerator.program;
+    		System.out.println("You had "+ir.size()+" SSA instructions in "+ir.all().size()+" functions.\n");
+
+    		System.out.println("Optimizing SSA representation.");
+    		PassManager passes = new PassManager();
+    		if (option("ssa.fold", true)) passes.add(new FoldingPass());
+    		if (option("ssa.cfg", true)) passes.add(new CFGPass());
+    		if (option("ssa.dce", true)) passes.add(new DeadCodePass());
+    		passes.run(ir);
+    		passes.printStats();
+    		if (option("ssa.print", false)) System.out.print(ir);
+    		System.out.println("You had "+ir.size()+" SSA instructions after optimization.\n");
+
+    		System.out.println("Lowering SSA representation to SVM code.");
+    		SVMLowering lowering = new SVMLowering();
+    		code = lowering.lower(ir);
+    		System.out.println("You had "+lowering.stackValues+" values on the stack, "+lowering.stackPhis+" phis on the stack, "
+    			+lowering.rematValues+" recomputed values, "+lowering.homeValues+" values in their variable cells and "
+    			+lowering.cellValues+" values in temporary cells.\n");
+    	} else {
+    		MemoizationAnalysis memo = null;
+    		if (option("memo", true)) {
+    			System.out.println("Memoizing pure recursive functions.");
+    			memo = new MemoizationAnalysis(ast, option("memo.all", false));
+    			for (String f : memo.memoized) System.out.println("  memoized "+f);
+    			System.out.println("You had "+memo.memoized.size()+" memoized functions.\n");
+    			memoized = memo.memoized;
+    		}
+    		System.out.println("Generating code.");
+    		codegen = new CodeGenerationASTVisitor(profile, profiling, memo);
+    		code = codegen.visit(ast);
+    		System.out.println("");
+    	}
+
+    	if (option("peephole", true)) {
+    		System.out.println("Optimizing generated code (peephole).");
+    		EnumSet<PeepholeOptimizer.Rule> rules = EnumSet.noneOf(PeepholeOptimizer.Rule.class);
+    		for (PeepholeOptimizer.Rule rule : PeepholeOptimizer.Rule.values())
+    			if (option("peephole."+rule.name(), true)) rules.add(rule);
+    		PeepholeOptimizer peephole = new PeepholeOptimizer(rules);
+    		code = peephole.optimize(code);
+    		peephole.printStats();
+    	}
+    	if (option("icf", !profiling)) {
+    		System.out.println("Folding identical function bodies.");
+    		IdenticalCodeFolding icf = new IdenticalCodeFolding();
+    		code = icf.fold(code);
+    		for (String f : icf.folded) System.out.println("  "+f);
+    		System.out.println("You had "+icf.folded.size()+" folded bodies and "+icf.words+" words saved.\n");
+    	}
+    	if (option("lto", true)) {
+    		System.out.println("Optimizing linked code.");
+    		SVMParser linked = new SVMParser(new CommonTokenStream(new SVMLexer(CharStreams.fromString(code))));
+    		linked.assembly();
+    		LinkOptimizer lto = new LinkOptimizer(linked);
+    		if (lto.optimize()) code = lto.toAssembly();
+    		else System.out.println("  not possible: "+lto.reason);
+    		lto.printStats();
+    		System.out.println("");
+    	}
+    	if (option("image", true)) {
+    		System.out.println("Evaluating top-level declarations at compile time.");
+    		PrebuiltImage image = new PrebuiltImage();
+    		code = image.build(code);
+    		if (image.words < 0) System.out.println("  not possible: "+image.reason);
+    		else System.out.println("You had "+image.words+" words in the prebuilt image.");
+    		System.out.println("");
+    	}
+
     	BufferedWriter out = new BufferedWriter(new FileWriter(fileName+".asm")); 
     	out.write(code);
     	out.close(); 
@@ -79,8 +273,28 @@ public class Test {
     	if (lexerASM.lexicalErrors+parserASM.getNumberOfSyntaxErrors()>0) System.exit(1);
 
     	System.out.println("Running generated code via Stack Virtual Machine.");
-    	ExecuteVM vm = new ExecuteVM(parserASM.code);
+    	ExecuteVM vm = new ExecuteVM(parserASM.code, parserASM.data, parserASM.regs, parserASM.start);
+    	Profiler profiler = profiling ? new Profiler() : null;
+    	vm.setProfiler(profiler);
     	vm.cpu();
+    	if (option("stats", false)) {
+    		System.out.println("Executed "+vm.getSteps()+" instructions.");
+    		for (Map.Entry<Integer,MemoTable> t : vm.getMemoTables().entrySet()) {
+    			MemoTable m = t.getValue();
+    			System.out.println("Memo table of "+(t.getKey() < memoized.size() ? memoized.get(t.getKey()) : "table "+t.getKey())+": "
+    				+m.getLookups()+" lookups, "+m.getHits()+" hits ("+(m.getLookups() == 0 ? 0 : 100*m.getHits()/m.getLookups())+"%), "
+    				+m.getStores()+" stores, "+m.getEvictions()+" evictions.");
+    		}
+    	}
+
+    	if (profiler != null) {
+    		if (codegen == null) System.out.println("Profile not written: the SSA back end does not record program points.");
+    		else {
+    			Profile collected = Profile.collect(fileName, profiler, parserASM.labelDef, codegen);
+    			collected.write(fileName);
+    			System.out.println("Written execution profile "+fileName+Profile.SUFFIX+" ("+collected.size()+" entries).");
+    		}
+    	}
 
     }
 }
@@ -86,6 +86,20 @@ public class TypeCheckEASTVisitor extends BaseEASTVisitor<TypeNode,TypeException
 		throw new TypeException("Incompatible types in then-else branches",n.getLine());
 	}
 
+	@Override
+	public TypeNode visitNode(WhileNode n) throws TypeException {
+		if (print) printNode(n);
+		for (int i = 0; i < n.inits.size(); i++)
+			if ( !isSubtype(visit(n.inits.get(i)),visit(n.vars.get(i))) )
+				throw new TypeException("Incompatible value for loop variable " + n.ids.get(i),n.getLine());
+		if ( !(isSubtype(visit(n.cond), new BoolTypeNode())) )
+			throw new TypeException("Non boolean condition in while",n.getLine());
+		for (int i = 0; i < n.updates.size(); i++)
+			if ( !isSubtype(visit(n.updates.get(i)),visit(n.targets.get(i))) )
+				throw new TypeException("Incompatible value for loop variable " + n.targetIds.get(i),n.getLine());
+		return visit(n.exp);
+	}
+
 	@Override
 	public TypeNode visitNode(EqualNode n) throws TypeException {
 		if (print) printNode(n);
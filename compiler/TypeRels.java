@@ -37,4 +37,26 @@ public class TypeRels {
 		return null;
 	}
 
+	// L'espressione (dell'AST arricchito) ha sicuramente tipo bool, quindi vale 0 o 1.
+	// Gli operandi di && e || possono essere interi (Bool <= Int): nel dubbio false.
+	public static boolean isBool(Node n) {
+		if (n instanceof BoolNode || n instanceof EqualNode || n instanceof LessEqualNode || n instanceof GreaterEqualNode
+				|| n instanceof NotNode || n instanceof AndNode || n instanceof OrNode)
+			return true;
+		if (n instanceof IdNode) return ((IdNode) n).entry.type instanceof BoolTypeNode;
+		if (n instanceof CallNode) return returnsBool(((CallNode) n).entry);
+		if (n instanceof ClassCallNode) return returnsBool(((ClassCallNode) n).methodEntry);
+		if (n instanceof FieldAccessNode) return ((FieldAccessNode) n).fieldEntry.type instanceof BoolTypeNode;
+		if (n instanceof IfNode) return isBool(((IfNode) n).th) && isBool(((IfNode) n).el);
+		if (n instanceof LetNode) return isBool(((LetNode) n).exp);
+		if (n instanceof NullCheckNode) return isBool(((NullCheckNode) n).exp);
+		if (n instanceof WhileNode) return isBool(((WhileNode) n).exp);
+		if (n instanceof PrintNode) return isBool(((PrintNode) n).exp);
+		return false;
+	}
+
+	private static boolean returnsBool(STentry entry) {
+		return entry.type instanceof ArrowTypeNode && ((ArrowTypeNode) entry.type).ret instanceof BoolTypeNode;
+	}
+
 }
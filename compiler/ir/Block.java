@@ -0,0 +1,114 @@
+package compiler.ir;
+
+import java.util.*;
+
+// Blocco base: le phi in testa, un solo terminatore (BR, CBR, RET, HALT) in coda.
+// L'i-esimo operando di ogni phi e' il valore che arriva dall'i-esimo predecessore.
+public class Block {
+	public final int id;
+	public final Function fun;
+	public final List<Instr> instrs = new ArrayList<>();
+	public final List<Block> preds = new ArrayList<>();
+	public String label; // etichetta SVM fissata dalla generazione (altrimenti assegnata dalla traduzione)
+
+	Block(Function fun, int id) { this.fun = fun; this.id = id; }
+
+	private Instr make(Op op, IRType type, List<Instr> args) {
+		Instr i = new Instr(fun.nextId++, op, type, args);
+		i.block = this;
+		return i;
+	}
+
+	// aggiunge un'istruzione in coda al blocco (ancora senza terminatore)
+	public Instr add(Op op, IRType type, Instr... args) {
+		if (terminator() != null) throw new IllegalStateException("b" + id + " is already terminated");
+		Instr i = make(op, type, Arrays.asList(args));
+		instrs.add(i);
+		return i;
+	}
+
+	public Instr add(Op op, IRType type, int imm, Instr... args) {
+		Instr i = add(op, type, args);
+		i.imm = imm;
+		return i;
+	}
+
+	// phi con un valore per ogni predecessore (nello stesso ordine di preds)
+	public Instr phi(IRType type, List<Instr> incoming) {
+		Instr i = make(Op.PHI, type, incoming);
+		instrs.add(phis().size(), i);
+		return i;
+	}
+
+	public void br(Block target) {
+		add(Op.BR, null).targets.add(target);
+		target.preds.add(this);
+	}
+
+	public void cbr(Instr cond, Block ifTrue, Block ifFalse) {
+		Instr i = add(Op.CBR, null, cond);
+		i.targets.add(ifTrue);
+		i.targets.add(ifFalse);
+		ifTrue.preds.add(this);
+		ifFalse.preds.add(this);
+	}
+
+	// nuova istruzione in posizione "index"
+	public Instr insertAt(int index, Op op, IRType type, int imm, Instr... args) {
+		Instr i = make(op, type, Arrays.asList(args));
+		i.imm = imm;
+		instrs.add(index, i);
+		return i;
+	}
+
+	// nuova istruzione subito prima di "pos" (usata dai passi di ottimizzazione)
+	public Instr insertBefore(Instr pos, Op op, IRType type, int imm, Instr... args) {
+		return insertAt(instrs.indexOf(pos), op, type, imm, args);
+	}
+
+	public void remove(Instr i) {
+		instrs.remove(i);
+	}
+
+	// il terminatore diventa un salto incondizionato a "target", gli altri archi sono rimossi
+	void jumpTo(Block target) {
+		Instr t = terminator();
+		List<Block> old = new ArrayList<>(t.targets);
+		old.remove(target);
+		for (Block s : old) s.removePred(this);
+		instrs.remove(t);
+		Instr br = make(Op.BR, null, Collections.emptyList());
+		br.targets.add(target);
+		instrs.add(br);
+	}
+
+	public Instr terminator() {
+		Instr last = instrs.isEmpty() ? null : instrs.get(instrs.size() - 1);
+		return last != null && last.op.isTerminator() ? last : null;
+	}
+
+	public List<Block> succs() {
+		Instr t = terminator();
+		return t == null ? Collections.emptyList() : t.targets;
+	}
+
+	public List<Instr> phis() {
+		List<Instr> phis = new ArrayList<>();
+		for (Instr i : instrs) if (i.op == Op.PHI) phis.add(i);
+		return phis;
+	}
+
+	// rimuove il predecessore "pred" (un arco) e i relativi operandi delle phi
+	void removePred(Block pred) {
+		int k = preds.indexOf(pred);
+		preds.remove(k);
+		for (Instr phi : phis()) phi.args.remove(k);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder("b" + id + (label != null ? " (" + label + ")" : "") + ":");
+		for (Instr i : instrs) s.append("\n  ").append(i);
+		return s.toString();
+	}
+}
@@ -0,0 +1,70 @@
+package compiler.ir;
+
+import java.util.*;
+
+// Semplificazione del grafo di controllo:
+// - rimozione dei blocchi non raggiungibili
+// - un blocco che contiene solo un salto a un blocco senza phi viene scavalcato
+// - un blocco con un solo predecessore che vi salta incondizionatamente viene fuso con esso
+// L'inizio dell'espressione del programma principale (Function.start) resta un blocco a se'.
+public class CFGPass implements Pass {
+
+	@Override
+	public String name() { return "cfg"; }
+
+	@Override
+	public int run(Function f) {
+		int changes = removeUnreachable(f);
+		for (Block b : new ArrayList<>(f.blocks))
+			if (f.blocks.contains(b) && (skip(f, b) || merge(f, b))) changes++;
+		return changes;
+	}
+
+	private static int removeUnreachable(Function f) {
+		Set<Block> reachable = new HashSet<>(f.rpo());
+		int removed = 0;
+		for (Block b : new ArrayList<>(f.blocks))
+			if (!reachable.contains(b)) {
+				for (Block s : new ArrayList<>(b.succs())) s.removePred(b);
+				f.blocks.remove(b);
+				removed++;
+			}
+		return removed;
+	}
+
+	private static boolean skip(Function f, Block b) {
+		if (b == f.entry() || b == f.start || b.instrs.size() != 1 || b.terminator().op != Op.BR) return false;
+		Block target = b.succs().get(0);
+		if (target == b || !target.phis().isEmpty()) return false;
+		for (Block p : new ArrayList<>(b.preds)) {
+			List<Block> targets = p.terminator().targets;
+			targets.set(targets.indexOf(b), target);
+			target.preds.add(p);
+		}
+		b.preds.clear();
+		target.removePred(b);
+		f.blocks.remove(b);
+		return true;
+	}
+
+	private static boolean merge(Function f, Block b) {
+		Instr t = b.terminator();
+		if (t.op != Op.BR) return false;
+		Block s = t.targets.get(0);
+		if (s == b || s == f.entry() || s == f.start || s.preds.size() != 1) return false;
+		for (Instr phi : s.phis()) {
+			f.replaceAllUses(phi, phi.args.get(0));
+			s.remove(phi);
+		}
+		b.remove(t);
+		for (Instr i : s.instrs) {
+			i.block = b;
+			b.instrs.add(i);
+		}
+		for (Block succ : s.succs())
+			for (int k = 0; k < succ.preds.size(); k++)
+				if (succ.preds.get(k) == s) succ.preds.set(k, b);
+		f.blocks.remove(s);
+		return true;
+	}
+}
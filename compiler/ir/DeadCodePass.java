@@ -0,0 +1,28 @@
+package compiler.ir;
+
+import java.util.*;
+
+// Eliminazione delle istruzioni pure (Op.isPure) il cui valore non e' usato, fino a punto fisso
+public class DeadCodePass implements Pass {
+
+	@Override
+	public String name() { return "dce"; }
+
+	@Override
+	public int run(Function f) {
+		int removed = 0;
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			Map<Instr, List<Instr>> uses = f.uses();
+			for (Block b : f.blocks)
+				for (Instr i : new ArrayList<>(b.instrs))
+					if (i.op.isPure() && uses.get(i).stream().allMatch(u -> u == i)) {
+						b.remove(i);
+						removed++;
+						changed = true;
+					}
+		}
+		return removed;
+	}
+}
@@ -0,0 +1,105 @@
+package compiler.ir;
+
+import java.util.*;
+
+// Semplificazioni locali:
+// - operazioni aritmetiche, confronti e negazioni su costanti (non le divisioni per zero)
+// - indirizzi: base+0, (base+a)+b, load/store da base+a con offset b -> offset a+b sulla base
+// - phi con un solo valore entrante
+// - salti condizionati su costanti o su una negazione, o con i due rami uguali
+public class FoldingPass implements Pass {
+
+	@Override
+	public String name() { return "fold"; }
+
+	@Override
+	public int run(Function f) {
+		int changes = 0;
+		for (Block b : f.blocks)
+			for (Instr i : new ArrayList<>(b.instrs)) {
+				Instr value = fold(i);
+				if (value != null) {
+					f.replaceAllUses(i, value);
+					b.remove(i);
+					changes++;
+				} else if (simplify(i)) changes++;
+			}
+		return changes;
+	}
+
+	private static Instr constant(Instr at, IRType type, int value) {
+		return at.block.insertBefore(at, Op.CONST, type, value);
+	}
+
+	// valore equivalente a i, se ne esiste uno piu' semplice
+	private static Instr fold(Instr i) {
+		List<Instr> a = i.args;
+		switch (i.op) {
+			case ADD: case SUB: case MUL: case DIV: case SHL: case SHR: case EQ: case LE:
+				if (a.get(0).isConst() && a.get(1).isConst()) {
+					int x = a.get(0).imm, y = a.get(1).imm;
+					switch (i.op) {
+						case ADD: return constant(i, i.type, x + y);
+						case SUB: return constant(i, i.type, x - y);
+						case MUL: return constant(i, i.type, x * y);
+						case DIV: return y == 0 ? null : constant(i, i.type, x / y);
+						case SHL: return constant(i, i.type, x << y);
+						case SHR: return constant(i, i.type, y == 0 ? x : (x + ((x >> 31) >>> (32 - y))) >> y);
+						case EQ: return constant(i, IRType.BOOL, x == y ? 1 : 0);
+						default: return constant(i, IRType.BOOL, x <= y ? 1 : 0);
+					}
+				}
+				if (i.op == Op.ADD && a.get(0).isConst() && a.get(0).imm == 0) return a.get(1);
+				if ((i.op == Op.ADD || i.op == Op.SUB) && a.get(1).isConst() && a.get(1).imm == 0) return a.get(0);
+				return null;
+			case NOT:
+				if (a.get(0).isConst()) return constant(i, IRType.BOOL, 1 - a.get(0).imm);
+				if (a.get(0).op == Op.NOT) return a.get(0).args.get(0);
+				return null;
+			case ADDRESS:
+				return i.imm == 0 ? a.get(0) : null;
+			case PHI:
+				Instr same = null;
+				for (Instr v : a)
+					if (v != i && v != same) {
+						if (same != null) return null;
+						same = v;
+					}
+				return same;
+			default:
+				return null;
+		}
+	}
+
+	// semplificazioni sul posto
+	private static boolean simplify(Instr i) {
+		if ((i.op == Op.ADDRESS || i.op == Op.LOAD) && i.args.get(0).op == Op.ADDRESS) {
+			Instr base = i.args.get(0);
+			i.args.set(0, base.args.get(0));
+			i.imm += base.imm;
+			return true;
+		}
+		if (i.op == Op.STORE && i.args.get(1).op == Op.ADDRESS) {
+			Instr base = i.args.get(1);
+			i.args.set(1, base.args.get(0));
+			i.imm += base.imm;
+			return true;
+		}
+		if (i.op != Op.CBR) return false;
+		Instr cond = i.args.get(0);
+		if (cond.isConst()) {
+			i.block.jumpTo(i.targets.get(cond.imm == 1 ? 0 : 1));
+			return true;
+		}
+		if (i.targets.get(0) == i.targets.get(1)) {
+			i.block.jumpTo(i.targets.get(0));
+			return true;
+		}
+		if (cond.op == Op.NOT) {
+			i.args.set(0, cond.args.get(0));
+			Collections.swap(i.targets, 0, 1);
+			return true;
+		}
+		return false;
+	}
+}
@@ -0,0 +1,133 @@
+package compiler.ir;
+
+import java.util.*;
+
+// Funzione, metodo o programma principale in forma SSA. Il frame ha lo stesso layout del
+// generatore di codice: parametri in fp+1.., Access Link in fp, $ra in fp-1 e "cells" celle
+// locali da fp-2 in giu' (dichiarazioni, display salvato); le celle locali sono lette e scritte
+// con LOAD e STORE espliciti sul frame, i valori intermedi sono valori SSA.
+public class Function {
+	public final String label;
+	public final int params;
+	public final int cells;
+	public final boolean main; // programma principale: termina con HALT, frame globale
+	public final List<Block> blocks = new ArrayList<>(); // il primo e' il blocco d'ingresso
+	public Block start; // programma principale: inizio dell'espressione dopo le dichiarazioni
+	int nextId = 0;
+	private int nextBlock = 0;
+
+	public Function(String label, int params, int cells, boolean main) {
+		this.label = label;
+		this.params = params;
+		this.cells = cells;
+		this.main = main;
+	}
+
+	public Block newBlock() {
+		Block b = new Block(this, nextBlock++);
+		blocks.add(b);
+		return b;
+	}
+
+	public Block entry() { return blocks.get(0); }
+
+	// blocchi raggiungibili in ordine post-order inverso: ogni blocco dopo i suoi dominatori;
+	// dopo un CBR viene prima il ramo "falso", che la traduzione puo' raggiungere senza salto
+	public List<Block> rpo() {
+		List<Block> post = new ArrayList<>();
+		Set<Block> seen = new HashSet<>();
+		Deque<Block> stack = new ArrayDeque<>();
+		Deque<Iterator<Block>> its = new ArrayDeque<>();
+		seen.add(entry());
+		stack.push(entry());
+		its.push(entry().succs().iterator());
+		while (!stack.isEmpty()) {
+			if (its.peek().hasNext()) {
+				Block s = its.peek().next();
+				if (seen.add(s)) {
+					stack.push(s);
+					its.push(s.succs().iterator());
+				}
+			} else {
+				post.add(stack.pop());
+				its.pop();
+			}
+		}
+		Collections.reverse(post);
+		return post;
+	}
+
+	// dominatore immediato di ogni blocco raggiungibile (Cooper, Harvey, Kennedy)
+	public Map<Block, Block> idom() {
+		List<Block> order = rpo();
+		Map<Block, Integer> index = new HashMap<>();
+		for (int i = 0; i < order.size(); i++) index.put(order.get(i), i);
+		Map<Block, Block> idom = new HashMap<>();
+		idom.put(entry(), entry());
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (Block b : order) {
+				if (b == entry()) continue;
+				Block dom = null;
+				for (Block p : b.preds) {
+					if (!idom.containsKey(p)) continue;
+					if (dom == null) dom = p;
+					else while (dom != p) {
+						while (index.get(dom) > index.get(p)) dom = idom.get(dom);
+						while (index.get(p) > index.get(dom)) p = idom.get(p);
+					}
+				}
+				if (dom != idom.get(b)) {
+					idom.put(b, dom);
+					changed = true;
+				}
+			}
+		}
+		return idom;
+	}
+
+	public static boolean dominates(Map<Block, Block> idom, Block a, Block b) {
+		for (Block d = b; ; d = idom.get(d)) {
+			if (d == a) return true;
+			if (d == null || idom.get(d) == d) return false;
+		}
+	}
+
+	// istruzioni che usano ciascun valore (un elemento per ogni occorrenza come operando)
+	public Map<Instr, List<Instr>> uses() {
+		Map<Instr, List<Instr>> uses = new HashMap<>();
+		for (Block b : blocks)
+			for (Instr i : b.instrs) {
+				uses.computeIfAbsent(i, x -> new ArrayList<>());
+				for (Instr a : i.args) uses.computeIfAbsent(a, x -> new ArrayList<>()).add(i);
+			}
+		return uses;
+	}
+
+	public void replaceAllUses(Instr old, Instr value) {
+		for (Block b : blocks)
+			for (Instr i : b.instrs)
+				for (int k = 0; k < i.args.size(); k++)
+					if (i.args.get(k) == old) i.args.set(k, value);
+	}
+
+	// rimuove l'arco from -> to (una occorrenza tra i successori di from)
+	void removeEdge(Block from, Block to) {
+		from.terminator().targets.remove(to);
+		to.removePred(from);
+	}
+
+	public int size() {
+		int n = 0;
+		for (Block b : blocks) n += b.instrs.size();
+		return n;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder(label + "(" + params + " params, " + cells + " cells):");
+		for (Block b : blocks) s.append("\n").append(b);
+		return s.toString();
+	}
+}
@@ -0,0 +1,22 @@
+package compiler.ir;
+
+// Tipi dei valori della rappresentazione intermedia
+public enum IRType {
+	INT,
+	BOOL, // 0 o 1
+	PTR,  // indirizzo di memoria: oggetto (null = -1), frame, Dispatch Table
+	CODE; // indirizzo di codice di una funzione o di un metodo
+
+	// come in TypeRels: un booleano puo' essere usato come intero
+	public boolean isSubtypeOf(IRType t) {
+		return this == t || this == BOOL && t == INT;
+	}
+
+	public boolean isNumeric() {
+		return this == INT || this == BOOL;
+	}
+
+	public static IRType lub(IRType a, IRType b) {
+		return a.isSubtypeOf(b) ? b : a;
+	}
+}
@@ -0,0 +1,46 @@
+package compiler.ir;
+
+import java.util.*;
+
+// Istruzione in forma SSA: e' anche il valore che produce (type == null se non ne produce).
+// Ogni valore e' definito una sola volta e gli operandi sono riferimenti diretti alle
+// istruzioni che li definiscono.
+public class Instr {
+	public final int id;
+	public final Op op;
+	public final IRType type;
+	public final List<Instr> args;
+	public final List<Block> targets = new ArrayList<>(); // successori (solo BR e CBR)
+	public int imm;
+	public String sym;
+	Block block;
+
+	Instr(int id, Op op, IRType type, List<Instr> args) {
+		this.id = id;
+		this.op = op;
+		this.type = type;
+		this.args = new ArrayList<>(args);
+	}
+
+	public Block block() { return block; }
+
+	public boolean isConst() { return op == Op.CONST; }
+
+	public String name() { return "%" + id; }
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder(type != null ? name() + ":" + type.name().toLowerCase() + " = " : "");
+		s.append(op.name().toLowerCase());
+		String sep = " ";
+		for (int i = 0; i < args.size(); i++) {
+			s.append(sep).append(args.get(i).name());
+			if (op == Op.PHI) s.append(" [b").append(block.preds.get(i).id).append("]");
+			sep = ", ";
+		}
+		if (op == Op.CONST || op == Op.FRAME || op == Op.ADDRESS || op == Op.LOAD || op == Op.STORE) s.append(sep).append(imm);
+		if (sym != null) s.append(sep).append(sym);
+		for (Block b : targets) { s.append(sep).append("b").append(b.id); sep = ", "; }
+		return s.toString();
+	}
+}
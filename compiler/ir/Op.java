@@ -0,0 +1,44 @@
+package compiler.ir;
+
+// Operazioni della rappresentazione intermedia. Gli operandi sono elencati nell'ordine in cui
+// la traduzione in codice SVM li mette sullo stack.
+public enum Op {
+	CONST,   // imm                                  costante intera o booleana (null se PTR)
+	ADDR,    // sym                                  indirizzo dell'etichetta di codice sym
+	GLOBAL,  //                                      indirizzo fisso del frame globale
+	FRAME,   // imm                                  frame imm livelli sopra il corrente (catena statica)
+	ALLOC,   // imm                                  riserva imm celle nello heap e ne restituisce la prima
+	ADD, SUB, MUL, DIV, // a, b
+	SHL, SHR, // a, b                                a * 2^b, a / 2^b (come DIV, arrotondata verso zero)
+	EQ, LE,  // a, b                                 confronto (BOOL)
+	NOT,     // a
+	ADDRESS, // base; imm                            base + imm
+	LOAD,    // base; imm                            memoria[base + imm]
+	STORE,   // value, base; imm                     memoria[base + imm] = value
+	CHECK,   // a                                    legge memoria[a] e la scarta: fallisce se a e' null
+	NEW,     // w1..wk, dt                           oggetto nello heap: wk all'indirizzo piu' basso, w1 sotto
+	         //                                      a dt; restituisce l'indirizzo di dt
+	CALL,    // control link, args (ultimo primo), access link, target
+	PRINT,   // a                                    stampa a e lo restituisce
+	PHI,     // un operando per predecessore del blocco
+	BR,      // -> targets[0]
+	CBR,     // cond -> targets[0] se vera, targets[1] altrimenti
+	RET,     // a                                    risultato della funzione
+	HALT;
+
+	public boolean isTerminator() {
+		return this == BR || this == CBR || this == RET || this == HALT;
+	}
+
+	// nessun effetto collaterale: eliminabile se il valore non e' usato
+	// (le letture sono pure: al piu' cambia quale errore viene segnalato, come nell'EffectAnalysis)
+	public boolean isPure() {
+		switch (this) {
+			case DIV: case ALLOC: case STORE: case CHECK: case NEW: case CALL: case PRINT:
+			case BR: case CBR: case RET: case HALT:
+				return false;
+			default:
+				return true;
+		}
+	}
+}
@@ -0,0 +1,7 @@
+package compiler.ir;
+
+// Passo di ottimizzazione su una funzione: restituisce il numero di modifiche fatte
+public interface Pass {
+	String name();
+	int run(Function f);
+}
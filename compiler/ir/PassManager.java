@@ -0,0 +1,41 @@
+package compiler.ir;
+
+import java.util.*;
+
+// Esegue i passi su ogni funzione fino a punto fisso (al piu' MAX_ROUNDS giri), verificando
+// la rappresentazione dopo ogni passo; per ogni passo si contano le modifiche.
+public class PassManager {
+
+	static final int MAX_ROUNDS = 10;
+
+	private final List<Pass> passes = new ArrayList<>();
+	private final Map<String, Integer> stats = new LinkedHashMap<>();
+
+	public PassManager add(Pass pass) {
+		passes.add(pass);
+		stats.put(pass.name(), 0);
+		return this;
+	}
+
+	public Map<String, Integer> getStats() { return Collections.unmodifiableMap(stats); }
+
+	public void printStats() {
+		for (Map.Entry<String, Integer> e : stats.entrySet())
+			System.out.println("  " + e.getKey() + ": " + e.getValue());
+	}
+
+	public void run(Program p) {
+		Verifier.verify(p);
+		for (Function f : p.all())
+			for (int round = 0; round < MAX_ROUNDS; round++) {
+				int changes = 0;
+				for (Pass pass : passes) {
+					int n = pass.run(f);
+					if (n > 0) Verifier.verify(f);
+					stats.merge(pass.name(), n, Integer::sum);
+					changes += n;
+				}
+				if (changes == 0) break;
+			}
+	}
+}
@@ -0,0 +1,31 @@
+package compiler.ir;
+
+import java.util.*;
+
+// Programma in forma SSA: il programma principale e le funzioni e i metodi (in ordine di generazione)
+public class Program {
+	public final Function main;
+	public final List<Function> functions = new ArrayList<>();
+
+	public Program(Function main) { this.main = main; }
+
+	public List<Function> all() {
+		List<Function> all = new ArrayList<>();
+		all.add(main);
+		all.addAll(functions);
+		return all;
+	}
+
+	public int size() {
+		int n = 0;
+		for (Function f : all()) n += f.size();
+		return n;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		for (Function f : all()) s.append(f).append("\n");
+		return s.toString();
+	}
+}
@@ -0,0 +1,388 @@
+package compiler.ir;
+
+import java.util.*;
+import svm.ExecuteVM;
+import static compiler.lib.FOOLlib.*;
+
+// Traduzione della forma SSA in codice SVM. La SVM e' una macchina a stack: ogni valore SSA
+// e' tenuto in uno di questi modi
+// - sullo stack: usato una sola volta e ancora in cima allo stack quando serve (gli operandi
+//   sullo stack devono precedere gli altri, nell'ordine di push), anche attraverso i salti se
+//   tutti i cammini lasciano lo stack uguale; la scelta e' fatta simulando lo stack dei blocchi
+//   e declassando i valori che non rispettano l'ordine, fino a punto fisso
+// - ricalcolato a ogni uso: costanti, indirizzi e letture dal frame o dalla memoria
+//   (che non cambiano dopo la scrittura) che costano al piu' MAX_REMAT istruzioni
+// - in una cella del frame sotto alle dichiarazioni; un valore scritto in una cella del proprio
+//   frame nello stesso blocco in cui e' definito (variabile, slot) usa direttamente quella cella,
+//   se la cella non e' riscritta con altri valori finche' serve
+// Una phi usata una sola volta, i cui predecessori vi saltano direttamente, arriva sullo stack (come il risultato di un if nel generatore di codice); le altre sono celle
+// scritte dai predecessori prima del salto.
+// Il layout dei frame, le chiamate e l'allocazione nello heap sono quelli del generatore di
+// codice, senza display, funzioni foglia e chiamate in coda.
+public class SVMLowering {
+
+	static final int MAX_REMAT = 4;
+
+	public int stackValues, stackPhis, rematValues, cellValues, homeValues; // statistiche
+
+	private Function f;
+	private Map<Instr, List<Instr>> uses;
+	private final Set<Instr> demoted = new HashSet<>();
+	private final Map<Instr, Integer> matched = new HashMap<>(); // operandi gia' sullo stack
+	private final Map<Instr, Integer> cell = new HashMap<>(); // offset della cella di un valore
+	private final Set<Instr> homeStores = new HashSet<>(); // scritture gia' fatte alla definizione
+	private final Set<Instr> fused = new HashSet<>(); // confronti tradotti nel salto condizionato
+	private final Map<Block, String> labels = new HashMap<>();
+	private int temps;
+
+	public String lower(Program p) {
+		String code = lower(p.main);
+		for (Function fun : p.functions) code = nlJoin(code, "", lower(fun));
+		return code;
+	}
+
+	private String lower(Function fun) {
+		f = fun;
+		List<Block> layout = f.rpo();
+		uses = uses(layout);
+		demoted.clear();
+		matched.clear();
+		cell.clear();
+		homeStores.clear();
+		fused.clear();
+		temps = 0;
+		for (Block b : layout) labels.put(b, b.label != null ? b.label : freshLabel());
+		assignHomes(layout);
+		boolean stable;
+		do {
+			matched.clear();
+			stable = simulate(layout);
+		} while (!stable);
+		classify(layout);
+
+		int frame = f.cells + temps;
+		String code = f.main ? "push 0" : nlJoin(f.label + ":", "cfp", "lra");
+		for (int i = 0; i < frame; i++) code = nlJoin(code, "push 0");
+		for (int k = 0; k < layout.size(); k++)
+			code = nlJoin(code, emit(layout.get(k), k + 1 < layout.size() ? layout.get(k + 1) : null, frame));
+		return code;
+	}
+
+	// usi dei valori nei blocchi raggiungibili (gli unici tradotti): senza le passate cfg e dce
+	// possono restare blocchi irraggiungibili, istruzioni e phi il cui valore non e' usato
+	private static Map<Instr, List<Instr>> uses(List<Block> layout) {
+		Map<Instr, List<Instr>> uses = new HashMap<>();
+		for (Block b : layout)
+			for (Instr i : b.instrs) {
+				uses.computeIfAbsent(i, x -> new ArrayList<>());
+				for (Instr a : i.args) uses.computeIfAbsent(a, x -> new ArrayList<>()).add(i);
+			}
+		return uses;
+	}
+
+	// costo (in istruzioni) del ricalcolo di un valore, oltre MAX_REMAT se non ricalcolabile
+	private static int rematCost(Instr v) {
+		switch (v.op) {
+			case CONST: case ADDR: case GLOBAL: return 1;
+			case FRAME: return 1 + v.imm;
+			case ADDRESS: return v.args.get(0).op == Op.GLOBAL ? 1 : rematCost(v.args.get(0)) + 2;
+			case LOAD: return v.args.get(0).op == Op.GLOBAL ? 1 : rematCost(v.args.get(0)) + 3;
+			default: return MAX_REMAT + 1;
+		}
+	}
+
+	private static boolean isRemat(Instr v) {
+		return v.type != null && rematCost(v) <= MAX_REMAT;
+	}
+
+	private boolean ownFrame(Instr base) {
+		return base.op == Op.FRAME && base.imm == 0 || f.main && base.op == Op.GLOBAL;
+	}
+
+	// valori usati piu' volte e scritti in una cella del frame nel blocco in cui sono definiti,
+	// se la cella non e' riscritta con altri valori finche' servono (le celle condivise da
+	// SlotReuseEASTVisitor sono riscritte, anche al giro successivo di un ciclo)
+	private void assignHomes(List<Block> layout) {
+		Set<Integer> taken = new HashSet<>();
+		for (Block b : layout)
+			for (Instr s : b.instrs)
+				if (s.op == Op.STORE && ownFrame(s.args.get(1)) && s.imm < 0 && !taken.contains(s.imm)) {
+					Instr v = s.args.get(0);
+					if (v.block == b && uses.get(v).size() > 1 && !isRemat(v) && !cell.containsKey(v) && !overwritten(s)) {
+						cell.put(v, s.imm);
+						taken.add(s.imm);
+						homeStores.add(s);
+					}
+				}
+		homeValues += cell.size();
+	}
+
+	// la cella scritta da s e' riscritta con un altro valore dopo la definizione del valore (dove
+	// il valore e' scritto nella cella) mentre il valore puo' ancora essere usato
+	private boolean overwritten(Instr s) {
+		Instr v = s.args.get(0);
+		for (List<Instr> part : after(v.block, v.block.instrs.indexOf(v) + 1))
+			for (Instr i : part)
+				if (i.op == Op.STORE && ownFrame(i.args.get(1)) && i.imm == s.imm && i.args.get(0) != v
+						&& usedAfter(v, i.block, i.block.instrs.indexOf(i) + 1)) return true;
+		return false;
+	}
+
+	// v e' usato dopo la posizione k del blocco b (da un'istruzione o da una phi del successore)
+	private boolean usedAfter(Instr v, Block b, int k) {
+		for (List<Instr> part : after(b, k))
+			for (Instr i : part) {
+				if (i.op != Op.PHI && i.args.contains(v)) return true;
+				for (Block t : i.targets)
+					for (Instr phi : t.phis()) if (phi.args.get(t.preds.indexOf(i.block)) == v) return true;
+			}
+		return false;
+	}
+
+	// istruzioni eseguibili dopo la posizione k del blocco b: il resto del blocco, poi i blocchi
+	// raggiungibili (compreso b, se si trova in un ciclo)
+	private static List<List<Instr>> after(Block b, int k) {
+		List<List<Instr>> parts = new ArrayList<>();
+		parts.add(b.instrs.subList(k, b.instrs.size()));
+		List<Block> work = new ArrayList<>(b.succs());
+		Set<Block> seen = new HashSet<>(work);
+		for (int n = 0; n < work.size(); n++) {
+			parts.add(work.get(n).instrs);
+			for (Block next : work.get(n).succs()) if (seen.add(next)) work.add(next);
+		}
+		return parts;
+	}
+
+	// operandi messi sullo stack dall'istruzione, nell'ordine di push (per un salto, i valori
+	// entranti delle phi usate)
+	private List<Instr> operands(Instr i) {
+		if (homeStores.contains(i)) return Collections.emptyList();
+		if (i.op != Op.BR) return i.args;
+		List<Instr> incoming = new ArrayList<>();
+		Block target = i.targets.get(0);
+		int k = target.preds.indexOf(i.block);
+		for (Instr phi : livePhis(target)) incoming.add(phi.args.get(k));
+		return incoming;
+	}
+
+	// phi del blocco il cui valore e' usato: le altre non ricevono valori dai predecessori
+	private List<Instr> livePhis(Block b) {
+		List<Instr> phis = new ArrayList<>();
+		for (Instr phi : b.phis()) if (!uses.get(phi).isEmpty()) phis.add(phi);
+		return phis;
+	}
+
+	// uso di un valore consumato dallo stack: l'istruzione che lo usa o, per una phi, il salto
+	// del predecessore da cui arriva (che deve essere un salto incondizionato)
+	private boolean stackUse(Instr v) {
+		List<Instr> u = uses.get(v);
+		if (u.size() != 1) return false;
+		Instr user = u.get(0);
+		if (homeStores.contains(user)) return false; // scrittura non emessa: nessuno lo consuma
+		if (user.op == Op.PHI) return user.block.preds.get(user.args.indexOf(v)).terminator().op == Op.BR;
+		// un valore ricalcolato a ogni uso ricalcola anche i propri operandi
+		return !(isRemat(user) && !isStackCandidate(user));
+	}
+
+	private boolean isStackCandidate(Instr v) {
+		if (v.type == null || v.op == Op.PHI || demoted.contains(v) || cell.containsKey(v)) return false;
+		if (v.op == Op.GLOBAL) { // base di una lettura o scrittura: indirizzo assoluto
+			Instr user = uses.get(v).isEmpty() ? null : uses.get(v).get(0);
+			if (user != null && (user.op == Op.LOAD || user.op == Op.ADDRESS || user.op == Op.STORE)) return false;
+		}
+		return stackUse(v);
+	}
+
+	private boolean isStackPhi(Instr phi) {
+		Block b = phi.block;
+		if (demoted.contains(phi) || cell.containsKey(phi) || livePhis(b).size() != 1 || !stackUse(phi)) return false;
+		for (Block p : b.preds) if (p.terminator().op != Op.BR) return false;
+		return true;
+	}
+
+	// simula lo stack dei blocchi in ordine, propagando lo stack all'uscita di ogni blocco
+	// ai successori: false (dopo aver declassato qualche valore) se l'ordine non torna
+	private boolean simulate(List<Block> layout) {
+		Map<Block, List<Instr>> entryStacks = new HashMap<>();
+		for (Block b : layout) {
+			List<Instr> stack = new ArrayList<>(entryStacks.getOrDefault(b, Collections.emptyList()));
+			List<Instr> phis = livePhis(b);
+			if (phis.size() == 1 && isStackPhi(phis.get(0))) stack.add(phis.get(0));
+			for (Instr i : b.instrs) {
+				if (i.op == Op.PHI) continue;
+				List<Instr> ops = operands(i);
+				int j = Math.min(ops.size(), stack.size());
+				while (j > 0 && !stack.subList(stack.size() - j, stack.size()).equals(ops.subList(0, j))) j--;
+				for (int k = j; k < ops.size(); k++)
+					if (isStackCandidate(ops.get(k)) || stack.contains(ops.get(k))) {
+						demoted.add(ops.get(k));
+						return false;
+					}
+				for (int k = 0; k < j; k++) stack.remove(stack.size() - 1);
+				matched.put(i, j);
+				if (isStackCandidate(i)) stack.add(i);
+			}
+			if (b.succs().isEmpty() && !stack.isEmpty()) { // RET e HALT lasciano lo stack vuoto
+				demoted.addAll(stack);
+				return false;
+			}
+			for (Block s : b.succs()) {
+				List<Instr> other = entryStacks.putIfAbsent(s, stack);
+				if (other != null && !other.equals(stack)) {
+					int common = 0;
+					while (common < other.size() && common < stack.size() && other.get(common) == stack.get(common)) common++;
+					demoted.addAll(other.subList(common, other.size()));
+					demoted.addAll(stack.subList(common, stack.size()));
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	// celle per i valori che non stanno sullo stack e non si ricalcolano
+	private void classify(List<Block> layout) {
+		for (Block b : layout)
+			for (Instr v : b.instrs) {
+				if (v.type == null || uses.get(v).isEmpty()) continue;
+				if (v.op == Op.PHI ? isStackPhi(v) : isStackCandidate(v)) {
+					if (v.op == Op.PHI) stackPhis++;
+					else stackValues++;
+					continue;
+				}
+				if (isRemat(v)) { rematValues++; continue; }
+				if (!cell.containsKey(v)) {
+					cell.put(v, -2 - f.cells - temps++);
+					cellValues++;
+				}
+			}
+		for (Block b : layout) {
+			Instr t = b.terminator(), cond = t.op == Op.CBR ? t.args.get(0) : null;
+			if (cond != null && (cond.op == Op.EQ || cond.op == Op.LE) && matched.getOrDefault(t, 0) == 1) fused.add(cond);
+		}
+	}
+
+	private String cellAddress(int offset) {
+		return f.main ? "push " + (ExecuteVM.MEMSIZE + offset) : nlJoin("lfp", "push " + offset, "add");
+	}
+
+	private String loadCell(int offset) {
+		return f.main ? "lwa " + (ExecuteVM.MEMSIZE + offset) : nlJoin(cellAddress(offset), "lw");
+	}
+
+	// mette sullo stack un valore che non c'e' gia': ricalcolato o letto dalla sua cella
+	private String push(Instr v) {
+		if (cell.containsKey(v)) return loadCell(cell.get(v));
+		if (!isRemat(v)) throw new IllegalStateException("value " + v.name() + " is not available in " + f.label);
+		if (v.op == Op.GLOBAL) return "push " + ExecuteVM.MEMSIZE;
+		return compute(v, v.op == Op.CONST || v.op == Op.ADDR || v.op == Op.FRAME ? null : push(v.args.get(0)));
+	}
+
+	// indirizzo base+off, con la base gia' sullo stack salvo che sia il frame globale
+	private static String address(Instr base, int off) {
+		if (base.op == Op.GLOBAL) return "push " + (ExecuteVM.MEMSIZE + off);
+		return off == 0 ? null : nlJoin("push " + off, "add");
+	}
+
+	// codice di un'istruzione, dati gli operandi gia' sullo stack
+	private String compute(Instr i, String operands) {
+		switch (i.op) {
+			case CONST: return "push " + i.imm;
+			case ADDR: return "push " + i.sym;
+			case GLOBAL: return "push " + ExecuteVM.MEMSIZE;
+			case FRAME: {
+				String code = "lfp";
+				for (int k = 0; k < i.imm; k++) code = nlJoin(code, "lw");
+				return code;
+			}
+			case ALLOC: return nlJoin("lhp", "lhp", "push " + i.imm, "add", "shp");
+			case ADD: return nlJoin(operands, "add");
+			case SUB: return nlJoin(operands, "sub");
+			case MUL: return nlJoin(operands, "mult");
+			case DIV: return nlJoin(operands, "div");
+			case SHL: return nlJoin(operands, "shl");
+			case SHR: return nlJoin(operands, "shr");
+			case EQ: case LE: {
+				if (fused.contains(i)) return operands;
+				String l1 = freshLabel(), l2 = freshLabel();
+				return nlJoin(operands, (i.op == Op.EQ ? "beq " : "bleq ") + l1, "push 0", "b " + l2, l1 + ":", "push 1", l2 + ":");
+			}
+			case NOT: return nlJoin(operands, "stm", "push 1", "ltm", "sub");
+			case ADDRESS: return nlJoin(i.args.get(0).op == Op.GLOBAL ? null : operands, address(i.args.get(0), i.imm));
+			case LOAD:
+				if (i.args.get(0).op == Op.GLOBAL) return "lwa " + (ExecuteVM.MEMSIZE + i.imm);
+				return nlJoin(operands, address(i.args.get(0), i.imm), "lw");
+			case STORE: return nlJoin(operands, address(i.args.get(1), i.imm), "sw");
+			case CHECK: return nlJoin(operands, "lw", "pop");
+			case CALL: return nlJoin(operands, "js");
+			case PRINT: return nlJoin(operands, "print");
+			default: throw new IllegalStateException("cannot compute " + i);
+		}
+	}
+
+	// oggetto nello heap come nel generatore di codice: i campi (l'ultimo in cima allo stack)
+	// sono scritti a partire da $hp, poi il Dispatch Table Pointer, il cui indirizzo e' il risultato
+	private String newObject(Instr i, String operands) {
+		int fields = i.args.size() - 1;
+		boolean dtOnStack = matched.getOrDefault(i, 0) == i.args.size();
+		String code = nlJoin(operands, dtOnStack && fields > 0 ? "stm" : null);
+		for (int k = 0; k < fields; k++) code = nlJoin(code, "lhp", "sw", "lhp", "push 1", "add", "shp");
+		code = nlJoin(code, dtOnStack ? (fields > 0 ? "ltm" : null) : push(i.args.get(fields)));
+		return nlJoin(code, "lhp", "sw", "lhp", "lhp", "push 1", "add", "shp");
+	}
+
+	private String emit(Block b, Block next, int frame) {
+		String code = labels.get(b) + ":";
+		for (Instr i : b.instrs) {
+			if (i.op == Op.PHI || isRemat(i) && !isStackCandidate(i) || homeStores.contains(i)) continue;
+			List<Instr> ops = operands(i);
+			String operands = null;
+			for (int k = matched.getOrDefault(i, 0); k < ops.size(); k++) {
+				Instr a = ops.get(k);
+				boolean base = a.op == Op.GLOBAL && (i.op == Op.LOAD || i.op == Op.ADDRESS || i.op == Op.STORE && k == 1);
+				boolean dt = i.op == Op.NEW && k == ops.size() - 1; // caricato dopo aver scritto i campi
+				if (!base && !dt) operands = nlJoin(operands, push(a));
+			}
+			if (!i.op.isTerminator()) {
+				code = nlJoin(code, i.op == Op.NEW ? newObject(i, operands) : compute(i, operands));
+				if (i.type != null && uses.get(i).isEmpty()) code = nlJoin(code, "pop");
+				else if (cell.containsKey(i)) code = nlJoin(code, cellAddress(cell.get(i)), "sw");
+				continue;
+			}
+			code = nlJoin(code, operands);
+			switch (i.op) {
+				case BR: {
+					Block target = i.targets.get(0);
+					List<Instr> phis = livePhis(target);
+					if (!(phis.size() == 1 && isStackPhi(phis.get(0))))
+						for (int k = phis.size() - 1; k >= 0; k--) code = nlJoin(code, cellAddress(cell.get(phis.get(k))), "sw");
+					if (target != next) code = nlJoin(code, "b " + labels.get(target));
+					break;
+				}
+				case CBR: {
+					Instr cond = i.args.get(0);
+					String t = labels.get(i.targets.get(0)), e = labels.get(i.targets.get(1));
+					if (fused.contains(cond)) code = nlJoin(code, (cond.op == Op.EQ ? "beq " : "bleq ") + t);
+					else if (i.targets.get(0) == next) {
+						code = nlJoin(code, "push 0", "beq " + e);
+						break;
+					} else code = nlJoin(code, "push 1", "beq " + t);
+					if (i.targets.get(1) != next) code = nlJoin(code, "b " + e);
+					break;
+				}
+				case RET: {
+					code = nlJoin(code, "stm");
+					for (int k = 0; k < frame; k++) code = nlJoin(code, "pop");
+					String popParl = null;
+					for (int k = 0; k < f.params; k++) popParl = nlJoin(popParl, "pop");
+					code = nlJoin(code, "sra", "pop", popParl, "sfp", "ltm", "lra", "js");
+					break;
+				}
+				case HALT:
+					code = nlJoin(code, "halt");
+					break;
+			}
+		}
+		return code;
+	}
+}
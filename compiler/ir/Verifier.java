@@ -0,0 +1,133 @@
+package compiler.ir;
+
+import java.util.*;
+
+// Controlli di consistenza della rappresentazione intermedia, eseguiti dopo la generazione e
+// dopo ogni passo di ottimizzazione: struttura dei blocchi (phi in testa, un terminatore in
+// coda, archi coerenti con i predecessori), proprieta' SSA (ogni operando e' definito nella
+// funzione e la sua definizione domina l'uso) e tipi degli operandi di ogni operazione.
+public class Verifier {
+
+	public static void verify(Program p) {
+		for (Function f : p.all()) verify(f);
+	}
+
+	public static void verify(Function f) {
+		new Verifier(f).run();
+	}
+
+	private final Function f;
+	private final Map<Block, Block> idom;
+	private final Map<Instr, Integer> position = new HashMap<>();
+
+	private Verifier(Function f) {
+		this.f = f;
+		this.idom = f.idom();
+	}
+
+	private void check(boolean cond, Object where, String msg) {
+		if (!cond) throw new IllegalStateException("invalid IR in " + f.label + " at " + where + ": " + msg);
+	}
+
+	private void run() {
+		Set<Block> blocks = new HashSet<>(f.blocks);
+		for (Block b : f.blocks) {
+			check(b.fun == f, b, "block of another function");
+			for (int k = 0; k < b.instrs.size(); k++) {
+				Instr i = b.instrs.get(k);
+				check(i.block == b, i, "instruction of another block");
+				check(position.put(i, k) == null, i, "instruction in more than one place");
+			}
+		}
+		for (Block b : f.blocks) {
+			Instr t = b.terminator();
+			check(t != null, b, "missing terminator");
+			boolean body = false;
+			for (Instr i : b.instrs) {
+				if (i.op == Op.PHI) check(!body, i, "phi after other instructions");
+				else body = true;
+				check(!i.op.isTerminator() || i == t, i, "terminator in the middle of a block");
+			}
+			Map<Block, Integer> edges = new HashMap<>();
+			for (Block s : b.succs()) {
+				check(blocks.contains(s), t, "target outside the function");
+				edges.merge(s, 1, Integer::sum);
+			}
+			for (Map.Entry<Block, Integer> e : edges.entrySet())
+				check(Collections.frequency(e.getKey().preds, b) == e.getValue(), b, "edge to b" + e.getKey().id + " not among its predecessors");
+			for (Block p : b.preds)
+				check(p.succs().contains(b), b, "predecessor b" + p.id + " does not jump here");
+			if (!b.phis().isEmpty())
+				for (Block p : b.preds) check(p.succs().size() == 1, b, "critical edge from b" + p.id + " into a block with phis");
+		}
+		for (Block b : f.blocks) {
+			if (!idom.containsKey(b)) continue; // irraggiungibile
+			for (Instr i : b.instrs) {
+				for (int k = 0; k < i.args.size(); k++) {
+					Instr a = i.args.get(k);
+					check(a != null && position.containsKey(a), i, "operand not defined in the function");
+					check(a.type != null, i, "operand " + a.name() + " has no value");
+					Block useBlock = i.op == Op.PHI ? b.preds.get(k) : b;
+					if (i.op == Op.PHI) check(i.args.size() == b.preds.size(), i, "phi arity");
+					if (!idom.containsKey(useBlock)) continue; // arco da un blocco irraggiungibile, mai percorso
+					boolean dominated = a.block == useBlock
+						? i.op == Op.PHI || position.get(a) < position.get(i)
+						: Function.dominates(idom, a.block, useBlock);
+					check(dominated, i, "definition of " + a.name() + " does not dominate its use");
+				}
+				checkTypes(i);
+			}
+		}
+	}
+
+	private void operands(Instr i, IRType... types) {
+		check(i.args.size() == types.length, i, "expected " + types.length + " operands");
+		for (int k = 0; k < types.length; k++)
+			check(types[k] == null || i.args.get(k).type.isSubtypeOf(types[k]), i, "operand " + k + " should be " + types[k]);
+	}
+
+	private void checkTypes(Instr i) {
+		switch (i.op) {
+			case CONST: check(i.type == IRType.INT || i.type == IRType.BOOL || i.type == IRType.PTR && i.imm == -1, i, "bad constant"); break;
+			case ADDR: check(i.type == IRType.CODE && i.sym != null, i, "bad code address"); break;
+			case GLOBAL: operands(i); check(i.type == IRType.PTR, i, "bad type"); break;
+			case ALLOC: operands(i); check(i.type == IRType.PTR && i.imm >= 0, i, "bad allocation"); break;
+			case FRAME: operands(i); check(i.type == IRType.PTR && i.imm >= 0, i, "bad frame"); break;
+			case ADD: case SUB: case MUL: case DIV: case SHL: case SHR:
+				operands(i, IRType.INT, IRType.INT);
+				check(i.type == IRType.INT, i, "bad type");
+				break;
+			case EQ:
+				operands(i, null, null);
+				IRType l = i.args.get(0).type, r = i.args.get(1).type;
+				check(l == r || l.isNumeric() && r.isNumeric(), i, "comparing different types");
+				check(i.type == IRType.BOOL, i, "bad type");
+				break;
+			case LE:
+				operands(i, null, null);
+				check(i.args.get(0).type.isNumeric() && i.args.get(1).type.isNumeric(), i, "bad comparison");
+				check(i.type == IRType.BOOL, i, "bad type");
+				break;
+			case NOT: operands(i, IRType.BOOL); check(i.type == IRType.BOOL, i, "bad type"); break;
+			case ADDRESS: operands(i, IRType.PTR); check(i.type == IRType.PTR, i, "bad type"); break;
+			case LOAD: operands(i, IRType.PTR); check(i.type != null, i, "load without type"); break;
+			case STORE: operands(i, null, IRType.PTR); check(i.type == null, i, "store with a value"); break;
+			case CHECK: operands(i, IRType.PTR); check(i.type == null, i, "check with a value"); break;
+			case NEW: check(!i.args.isEmpty() && i.type == IRType.PTR, i, "bad allocation"); break;
+			case CALL:
+				check(i.args.size() >= 3, i, "missing call operands");
+				check(i.args.get(0).type == IRType.PTR, i, "control link should be ptr");
+				check(i.args.get(i.args.size() - 2).type == IRType.PTR, i, "access link should be ptr");
+				check(i.args.get(i.args.size() - 1).type == IRType.CODE, i, "target should be code");
+				check(i.type != null, i, "call without type");
+				break;
+			case PRINT: operands(i, (IRType) null); check(i.type == i.args.get(0).type, i, "bad type"); break;
+			case PHI: for (Instr a : i.args) check(a.type.isSubtypeOf(i.type), i, "incoming " + a.name() + " should be " + i.type); break;
+			case BR: operands(i); check(i.targets.size() == 1, i, "one target"); break;
+			case CBR: operands(i, IRType.BOOL); check(i.targets.size() == 2, i, "two targets"); break;
+			case RET: operands(i, (IRType) null); check(!f.main, i, "return from main"); break;
+			case HALT: operands(i); check(f.main, i, "halt in a function"); break;
+		}
+		check(i.op.isTerminator() || i.op == Op.STORE || i.op == Op.CHECK || i.type != null, i, "missing type");
+	}
+}
@@ -55,6 +55,7 @@ public class BaseASTVisitor<S,E extends Exception> {
 	public S visitNode(VarNode n) throws E {throw new UnimplException();}
 	public S visitNode(PrintNode n) throws E {throw new UnimplException();}
 	public S visitNode(IfNode n) throws E {throw new UnimplException();}
+	public S visitNode(WhileNode n) throws E {throw new UnimplException();}
 	public S visitNode(EqualNode n) throws E {throw new UnimplException();}
 	public S visitNode(TimesNode n) throws E {throw new UnimplException();}
 	public S visitNode(PlusNode n) throws E {throw new UnimplException();}
@@ -86,4 +87,11 @@ public class BaseASTVisitor<S,E extends Exception> {
 	public S visitNode(ClassTypeNode n) throws E {throw new UnimplException();}
 	public S visitNode(RefTypeNode n) throws E {throw new UnimplException();}
 	public S visitNode(EmptyTypeNode n) throws E {throw new UnimplException();}
+
+	// Optimizations
+	public S visitNode(LetNode n) throws E {throw new UnimplException();}
+	public S visitNode(FieldAccessNode n) throws E {throw new UnimplException();}
+	public S visitNode(SwitchNode n) throws E {throw new UnimplException();}
+	public S visitNode(ShiftNode n) throws E {throw new UnimplException();}
+	public S visitNode(NullCheckNode n) throws E {throw new UnimplException();}
 }
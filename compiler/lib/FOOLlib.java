@@ -1,5 +1,7 @@
 package compiler.lib;
 
+import java.util.*;
+
 public class FOOLlib {
 
 	public static String extractNodeName(String s) { // s is in the form compiler.AST$NameNode
@@ -16,6 +18,27 @@ public class FOOLlib {
     
 	public static int typeErrors = 0;
 
+	// frame con registri display: ogni funzione/metodo salva in -2 il display del proprio
+	// nesting level e lo punta al proprio frame (accesso non locale in tempo costante)
+	public static boolean display = false;
+
+	// dichiarazioni di nesting level 0 (variabili, funzioni, classi) accedute con indirizzi assoluti:
+	// il frame globale e' sempre all'indirizzo fisso MEMSIZE (valore iniziale di $fp)
+	public static boolean absolute = true;
+
+	// funzioni e metodi foglia (senza chiamate ne' dichiarazioni locali) compilati senza
+	// impostare $fp ne' salvare $ra
+	public static boolean leafFunctions = true;
+
+	// chiamate in posizione di coda compilate riusando il frame del chiamante
+	public static boolean tailCallOpt = true;
+
+	// offset della prima dichiarazione locale nel frame di una funzione o di un metodo
+	// (-1 contiene $ra, con i display -2 contiene il display salvato)
+	public static int firstLocalOffset() {
+		return display ? -3 : -2;
+	}
+
 	// crea un'unica stringa a partire da un insieme di stringhe concatenadole e 
 	// introducendo, all'interno, dei newline "\n" come separatore tra le stringhe
 	public static String nlJoin(String... lines) { //argomenti null ignorati 
@@ -37,13 +60,31 @@ public class FOOLlib {
 		return "function"+(funlabCount++);
 	}
 
-	private static String funCode = null;
+	public static boolean isFunLabel(String label) {
+		return label.matches("function[0-9]+");
+	}
+
+	// codice delle funzioni con il numero di chiamate nel profilo di esecuzione (0 senza profilo)
+	private static List<String> funCode = new ArrayList<>();
+	private static List<Long> funCalls = new ArrayList<>();
 
 	public static void putCode(String c) {
-		funCode = nlJoin(funCode, "", c); //linea vuota di separazione prima di codice funzione
+		putCode(c, 0);
+	}
+
+	public static void putCode(String c, long calls) {
+		funCode.add(c);
+		funCalls.add(calls);
 	}
 
+	// funzioni piu' chiamate per prime, quelle mai chiamate in fondo; a parita' di chiamate
+	// (sempre, senza profilo) nell'ordine di putCode
 	public static String getCode() {
-		return funCode;
+		List<Integer> order = new ArrayList<>();
+		for (int i = 0; i < funCode.size(); i++) order.add(i);
+		order.sort((a, b) -> Long.compare(funCalls.get(b), funCalls.get(a)));
+		String code = null;
+		for (int i : order) code = nlJoin(code, "", funCode.get(i)); //linea vuota di separazione prima di codice funzione
+		return code;
 	}
 }
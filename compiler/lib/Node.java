@@ -3,11 +3,16 @@ package compiler.lib;
 public abstract class Node implements Visitable {
 	
 	int line=-1;  // line -1 means unset
+	int site=-1;  // punto del programma nel profilo di esecuzione, -1 means unset
 	
 	public void setLine(int l) { line=l; }
 
 	public int getLine() { return line; }
 
+	public void setSite(int s) { site=s; }
+
+	public int getSite() { return site; }
+
 }
 
 	  
\ No newline at end of file
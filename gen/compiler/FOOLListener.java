@@ -1,4 +1,4 @@
-// Generated from C:/Users/user/Desktop/LCMC/ProgettoLCMC/lcmc-fool/compiler/FOOL.g4 by ANTLR 4.13.2
+// Generated from /home/morbix/Uni/lcmc/project/lcmc-fool/compiler/FOOL.g4 by ANTLR 4.13.2
 package compiler;
 import org.antlr.v4.runtime.tree.ParseTreeListener;
 
@@ -157,6 +157,18 @@ public interface FOOLListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitInteger(FOOLParser.IntegerContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code while}
+	 * labeled alternative in {@link FOOLParser#exp}.
+	 * @param ctx the parse tree
+	 */
+	void enterWhile(FOOLParser.WhileContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code while}
+	 * labeled alternative in {@link FOOLParser#exp}.
+	 * @param ctx the parse tree
+	 */
+	void exitWhile(FOOLParser.WhileContext ctx);
 	/**
 	 * Enter a parse tree produced by the {@code call}
 	 * labeled alternative in {@link FOOLParser#exp}.
@@ -277,6 +289,26 @@ public interface FOOLListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitIf(FOOLParser.IfContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link FOOLParser#loopvar}.
+	 * @param ctx the parse tree
+	 */
+	void enterLoopvar(FOOLParser.LoopvarContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link FOOLParser#loopvar}.
+	 * @param ctx the parse tree
+	 */
+	void exitLoopvar(FOOLParser.LoopvarContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link FOOLParser#assign}.
+	 * @param ctx the parse tree
+	 */
+	void enterAssign(FOOLParser.AssignContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link FOOLParser#assign}.
+	 * @param ctx the parse tree
+	 */
+	void exitAssign(FOOLParser.AssignContext ctx);
 	/**
 	 * Enter a parse tree produced by the {@code intType}
 	 * labeled alternative in {@link FOOLParser#type}.
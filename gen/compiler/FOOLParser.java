@@ -1,4 +1,4 @@
-// Generated from C:/Users/user/Desktop/LCMC/ProgettoLCMC/lcmc-fool/compiler/FOOL.g4 by ANTLR 4.13.2
+// Generated from /home/morbix/Uni/lcmc/project/lcmc-fool/compiler/FOOL.g4 by ANTLR 4.13.2
 package compiler;
 import org.antlr.v4.runtime.atn.*;
 import org.antlr.v4.runtime.dfa.DFA;
@@ -19,15 +19,16 @@ public class FOOLParser extends Parser {
 	public static final int
 		PLUS=1, MINUS=2, TIMES=3, DIV=4, LPAR=5, RPAR=6, CLPAR=7, CRPAR=8, SEMIC=9, 
 		COLON=10, COMMA=11, DOT=12, EQ=13, LE=14, GE=15, OR=16, AND=17, NOT=18, 
-		ASS=19, TRUE=20, FALSE=21, IF=22, THEN=23, ELSE=24, PRINT=25, LET=26, 
-		IN=27, VAR=28, FUN=29, CLASS=30, EXTENDS=31, NEW=32, NULL=33, INT=34, 
-		BOOL=35, NUM=36, ID=37, WHITESP=38, COMMENT=39, ERR=40;
+		ASS=19, TRUE=20, FALSE=21, IF=22, THEN=23, ELSE=24, WHILE=25, PRINT=26, 
+		LET=27, IN=28, VAR=29, FUN=30, CLASS=31, EXTENDS=32, NEW=33, NULL=34, 
+		INT=35, BOOL=36, NUM=37, ID=38, WHITESP=39, COMMENT=40, ERR=41;
 	public static final int
 		RULE_prog = 0, RULE_progbody = 1, RULE_cldec = 2, RULE_methdec = 3, RULE_dec = 4, 
-		RULE_exp = 5, RULE_type = 6;
+		RULE_exp = 5, RULE_loopvar = 6, RULE_assign = 7, RULE_type = 8;
 	private static String[] makeRuleNames() {
 		return new String[] {
-			"prog", "progbody", "cldec", "methdec", "dec", "exp", "type"
+			"prog", "progbody", "cldec", "methdec", "dec", "exp", "loopvar", "assign", 
+			"type"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
@@ -36,8 +37,8 @@ public class FOOLParser extends Parser {
 		return new String[] {
 			null, "'+'", "'-'", "'*'", "'/'", "'('", "')'", "'{'", "'}'", "';'", 
 			"':'", "','", "'.'", "'=='", "'<='", "'>='", "'||'", "'&&'", "'!'", "'='", 
-			"'true'", "'false'", "'if'", "'then'", "'else'", "'print'", "'let'", 
-			"'in'", "'var'", "'fun'", "'class'", "'extends'", "'new'", "'null'", 
+			"'true'", "'false'", "'if'", "'then'", "'else'", "'while'", "'print'", 
+			"'let'", "'in'", "'var'", "'fun'", "'class'", "'extends'", "'new'", "'null'", 
 			"'int'", "'bool'"
 		};
 	}
@@ -46,9 +47,9 @@ public class FOOLParser extends Parser {
 		return new String[] {
 			null, "PLUS", "MINUS", "TIMES", "DIV", "LPAR", "RPAR", "CLPAR", "CRPAR", 
 			"SEMIC", "COLON", "COMMA", "DOT", "EQ", "LE", "GE", "OR", "AND", "NOT", 
-			"ASS", "TRUE", "FALSE", "IF", "THEN", "ELSE", "PRINT", "LET", "IN", "VAR", 
-			"FUN", "CLASS", "EXTENDS", "NEW", "NULL", "INT", "BOOL", "NUM", "ID", 
-			"WHITESP", "COMMENT", "ERR"
+			"ASS", "TRUE", "FALSE", "IF", "THEN", "ELSE", "WHILE", "PRINT", "LET", 
+			"IN", "VAR", "FUN", "CLASS", "EXTENDS", "NEW", "NULL", "INT", "BOOL", 
+			"NUM", "ID", "WHITESP", "COMMENT", "ERR"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -133,9 +134,9 @@ public class FOOLParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(14);
+			setState(18);
 			progbody();
-			setState(15);
+			setState(19);
 			match(EOF);
 			}
 		}
@@ -224,45 +225,45 @@ public class FOOLParser extends Parser {
 		enterRule(_localctx, 2, RULE_progbody);
 		int _la;
 		try {
-			setState(43);
+			setState(47);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case LET:
 				_localctx = new LetInProgContext(_localctx);
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(17);
+				setState(21);
 				match(LET);
-				setState(34);
+				setState(38);
 				_errHandler.sync(this);
 				switch (_input.LA(1)) {
 				case CLASS:
 					{
-					setState(19); 
+					setState(23); 
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					do {
 						{
 						{
-						setState(18);
+						setState(22);
 						cldec();
 						}
 						}
-						setState(21); 
+						setState(25); 
 						_errHandler.sync(this);
 						_la = _input.LA(1);
 					} while ( _la==CLASS );
-					setState(26);
+					setState(30);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					while (_la==VAR || _la==FUN) {
 						{
 						{
-						setState(23);
+						setState(27);
 						dec();
 						}
 						}
-						setState(28);
+						setState(32);
 						_errHandler.sync(this);
 						_la = _input.LA(1);
 					}
@@ -271,17 +272,17 @@ public class FOOLParser extends Parser {
 				case VAR:
 				case FUN:
 					{
-					setState(30); 
+					setState(34); 
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					do {
 						{
 						{
-						setState(29);
+						setState(33);
 						dec();
 						}
 						}
-						setState(32); 
+						setState(36); 
 						_errHandler.sync(this);
 						_la = _input.LA(1);
 					} while ( _la==VAR || _la==FUN );
@@ -290,11 +291,11 @@ public class FOOLParser extends Parser {
 				default:
 					throw new NoViableAltException(this);
 				}
-				setState(36);
+				setState(40);
 				match(IN);
-				setState(37);
+				setState(41);
 				exp(0);
-				setState(38);
+				setState(42);
 				match(SEMIC);
 				}
 				break;
@@ -304,6 +305,7 @@ public class FOOLParser extends Parser {
 			case TRUE:
 			case FALSE:
 			case IF:
+			case WHILE:
 			case PRINT:
 			case NEW:
 			case NULL:
@@ -312,9 +314,9 @@ public class FOOLParser extends Parser {
 				_localctx = new NoDecProgContext(_localctx);
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(40);
+				setState(44);
 				exp(0);
-				setState(41);
+				setState(45);
 				match(SEMIC);
 				}
 				break;
@@ -391,77 +393,77 @@ public class FOOLParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(45);
+			setState(49);
 			match(CLASS);
-			setState(46);
+			setState(50);
 			match(ID);
-			setState(49);
+			setState(53);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==EXTENDS) {
 				{
-				setState(47);
+				setState(51);
 				match(EXTENDS);
-				setState(48);
+				setState(52);
 				match(ID);
 				}
 			}
 
-			setState(51);
+			setState(55);
 			match(LPAR);
-			setState(64);
+			setState(68);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==ID) {
 				{
-				setState(52);
+				setState(56);
 				match(ID);
-				setState(53);
+				setState(57);
 				match(COLON);
-				setState(54);
+				setState(58);
 				type();
-				setState(61);
+				setState(65);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				while (_la==COMMA) {
 					{
 					{
-					setState(55);
+					setState(59);
 					match(COMMA);
-					setState(56);
+					setState(60);
 					match(ID);
-					setState(57);
+					setState(61);
 					match(COLON);
-					setState(58);
+					setState(62);
 					type();
 					}
 					}
-					setState(63);
+					setState(67);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 				}
 				}
 			}
 
-			setState(66);
+			setState(70);
 			match(RPAR);
-			setState(67);
-			match(CLPAR);
 			setState(71);
+			match(CLPAR);
+			setState(75);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while (_la==FUN) {
 				{
 				{
-				setState(68);
+				setState(72);
 				methdec();
 				}
 				}
-				setState(73);
+				setState(77);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(74);
+			setState(78);
 			match(CRPAR);
 			}
 		}
@@ -537,81 +539,81 @@ public class FOOLParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(76);
+			setState(80);
 			match(FUN);
-			setState(77);
+			setState(81);
 			match(ID);
-			setState(78);
+			setState(82);
 			match(COLON);
-			setState(79);
+			setState(83);
 			type();
-			setState(80);
+			setState(84);
 			match(LPAR);
-			setState(93);
+			setState(97);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==ID) {
 				{
-				setState(81);
+				setState(85);
 				match(ID);
-				setState(82);
+				setState(86);
 				match(COLON);
-				setState(83);
+				setState(87);
 				type();
-				setState(90);
+				setState(94);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				while (_la==COMMA) {
 					{
 					{
-					setState(84);
+					setState(88);
 					match(COMMA);
-					setState(85);
+					setState(89);
 					match(ID);
-					setState(86);
+					setState(90);
 					match(COLON);
-					setState(87);
+					setState(91);
 					type();
 					}
 					}
-					setState(92);
+					setState(96);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 				}
 				}
 			}
 
-			setState(95);
+			setState(99);
 			match(RPAR);
-			setState(104);
+			setState(108);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==LET) {
 				{
-				setState(96);
+				setState(100);
 				match(LET);
-				setState(98); 
+				setState(102); 
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				do {
 					{
 					{
-					setState(97);
+					setState(101);
 					dec();
 					}
 					}
-					setState(100); 
+					setState(104); 
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 				} while ( _la==VAR || _la==FUN );
-				setState(102);
+				setState(106);
 				match(IN);
 				}
 			}
 
-			setState(106);
+			setState(110);
 			exp(0);
-			setState(107);
+			setState(111);
 			match(SEMIC);
 			}
 		}
@@ -722,26 +724,26 @@ public class FOOLParser extends Parser {
 		enterRule(_localctx, 8, RULE_dec);
 		int _la;
 		try {
-			setState(150);
+			setState(154);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case VAR:
 				_localctx = new VardecContext(_localctx);
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(109);
+				setState(113);
 				match(VAR);
-				setState(110);
+				setState(114);
 				match(ID);
-				setState(111);
+				setState(115);
 				match(COLON);
-				setState(112);
+				setState(116);
 				type();
-				setState(113);
+				setState(117);
 				match(ASS);
-				setState(114);
+				setState(118);
 				exp(0);
-				setState(115);
+				setState(119);
 				match(SEMIC);
 				}
 				break;
@@ -749,81 +751,81 @@ public class FOOLParser extends Parser {
 				_localctx = new FundecContext(_localctx);
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(117);
+				setState(121);
 				match(FUN);
-				setState(118);
+				setState(122);
 				match(ID);
-				setState(119);
+				setState(123);
 				match(COLON);
-				setState(120);
+				setState(124);
 				type();
-				setState(121);
+				setState(125);
 				match(LPAR);
-				setState(134);
+				setState(138);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				if (_la==ID) {
 					{
-					setState(122);
+					setState(126);
 					match(ID);
-					setState(123);
+					setState(127);
 					match(COLON);
-					setState(124);
+					setState(128);
 					type();
-					setState(131);
+					setState(135);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					while (_la==COMMA) {
 						{
 						{
-						setState(125);
+						setState(129);
 						match(COMMA);
-						setState(126);
+						setState(130);
 						match(ID);
-						setState(127);
+						setState(131);
 						match(COLON);
-						setState(128);
+						setState(132);
 						type();
 						}
 						}
-						setState(133);
+						setState(137);
 						_errHandler.sync(this);
 						_la = _input.LA(1);
 					}
 					}
 				}
 
-				setState(136);
+				setState(140);
 				match(RPAR);
-				setState(145);
+				setState(149);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				if (_la==LET) {
 					{
-					setState(137);
+					setState(141);
 					match(LET);
-					setState(139); 
+					setState(143); 
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					do {
 						{
 						{
-						setState(138);
+						setState(142);
 						dec();
 						}
 						}
-						setState(141); 
+						setState(145); 
 						_errHandler.sync(this);
 						_la = _input.LA(1);
 					} while ( _la==VAR || _la==FUN );
-					setState(143);
+					setState(147);
 					match(IN);
 					}
 				}
 
-				setState(147);
+				setState(151);
 				exp(0);
-				setState(148);
+				setState(152);
 				match(SEMIC);
 				}
 				break;
@@ -996,6 +998,58 @@ public class FOOLParser extends Parser {
 		}
 	}
 	@SuppressWarnings("CheckReturnValue")
+	public static class WhileContext extends ExpContext {
+		public TerminalNode WHILE() { return getToken(FOOLParser.WHILE, 0); }
+		public TerminalNode LPAR() { return getToken(FOOLParser.LPAR, 0); }
+		public List<LoopvarContext> loopvar() {
+			return getRuleContexts(LoopvarContext.class);
+		}
+		public LoopvarContext loopvar(int i) {
+			return getRuleContext(LoopvarContext.class,i);
+		}
+		public TerminalNode SEMIC() { return getToken(FOOLParser.SEMIC, 0); }
+		public List<ExpContext> exp() {
+			return getRuleContexts(ExpContext.class);
+		}
+		public ExpContext exp(int i) {
+			return getRuleContext(ExpContext.class,i);
+		}
+		public TerminalNode RPAR() { return getToken(FOOLParser.RPAR, 0); }
+		public List<TerminalNode> CLPAR() { return getTokens(FOOLParser.CLPAR); }
+		public TerminalNode CLPAR(int i) {
+			return getToken(FOOLParser.CLPAR, i);
+		}
+		public List<TerminalNode> CRPAR() { return getTokens(FOOLParser.CRPAR); }
+		public TerminalNode CRPAR(int i) {
+			return getToken(FOOLParser.CRPAR, i);
+		}
+		public TerminalNode IN() { return getToken(FOOLParser.IN, 0); }
+		public List<TerminalNode> COMMA() { return getTokens(FOOLParser.COMMA); }
+		public TerminalNode COMMA(int i) {
+			return getToken(FOOLParser.COMMA, i);
+		}
+		public List<AssignContext> assign() {
+			return getRuleContexts(AssignContext.class);
+		}
+		public AssignContext assign(int i) {
+			return getRuleContext(AssignContext.class,i);
+		}
+		public WhileContext(ExpContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof FOOLListener ) ((FOOLListener)listener).enterWhile(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof FOOLListener ) ((FOOLListener)listener).exitWhile(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof FOOLVisitor ) return ((FOOLVisitor<? extends T>)visitor).visitWhile(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+	@SuppressWarnings("CheckReturnValue")
 	public static class CallContext extends ExpContext {
 		public TerminalNode ID() { return getToken(FOOLParser.ID, 0); }
 		public TerminalNode LPAR() { return getToken(FOOLParser.LPAR, 0); }
@@ -1258,19 +1312,19 @@ public class FOOLParser extends Parser {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(225);
+			setState(255);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,25,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,27,_ctx) ) {
 			case 1:
 				{
 				_localctx = new NotContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
 
-				setState(153);
+				setState(157);
 				match(NOT);
-				setState(154);
-				exp(12);
+				setState(158);
+				exp(13);
 				}
 				break;
 			case 2:
@@ -1278,11 +1332,11 @@ public class FOOLParser extends Parser {
 				_localctx = new ParsContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(155);
+				setState(159);
 				match(LPAR);
-				setState(156);
+				setState(160);
 				exp(0);
-				setState(157);
+				setState(161);
 				match(RPAR);
 				}
 				break;
@@ -1291,17 +1345,17 @@ public class FOOLParser extends Parser {
 				_localctx = new IntegerContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(160);
+				setState(164);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				if (_la==MINUS) {
 					{
-					setState(159);
+					setState(163);
 					match(MINUS);
 					}
 				}
 
-				setState(162);
+				setState(166);
 				match(NUM);
 				}
 				break;
@@ -1310,7 +1364,7 @@ public class FOOLParser extends Parser {
 				_localctx = new TrueContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(163);
+				setState(167);
 				match(TRUE);
 				}
 				break;
@@ -1319,7 +1373,7 @@ public class FOOLParser extends Parser {
 				_localctx = new FalseContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(164);
+				setState(168);
 				match(FALSE);
 				}
 				break;
@@ -1328,7 +1382,7 @@ public class FOOLParser extends Parser {
 				_localctx = new NullContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(165);
+				setState(169);
 				match(NULL);
 				}
 				break;
@@ -1337,39 +1391,39 @@ public class FOOLParser extends Parser {
 				_localctx = new NewContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(166);
+				setState(170);
 				match(NEW);
-				setState(167);
+				setState(171);
 				match(ID);
-				setState(168);
+				setState(172);
 				match(LPAR);
-				setState(177);
+				setState(181);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & 219084488740L) != 0)) {
+				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & 438194929700L) != 0)) {
 					{
-					setState(169);
+					setState(173);
 					exp(0);
-					setState(174);
+					setState(178);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					while (_la==COMMA) {
 						{
 						{
-						setState(170);
+						setState(174);
 						match(COMMA);
-						setState(171);
+						setState(175);
 						exp(0);
 						}
 						}
-						setState(176);
+						setState(180);
 						_errHandler.sync(this);
 						_la = _input.LA(1);
 					}
 					}
 				}
 
-				setState(179);
+				setState(183);
 				match(RPAR);
 				}
 				break;
@@ -1378,154 +1432,215 @@ public class FOOLParser extends Parser {
 				_localctx = new IfContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(180);
+				setState(184);
 				match(IF);
-				setState(181);
+				setState(185);
 				exp(0);
-				setState(182);
+				setState(186);
 				match(THEN);
-				setState(183);
+				setState(187);
 				match(CLPAR);
-				setState(184);
+				setState(188);
 				exp(0);
-				setState(185);
+				setState(189);
 				match(CRPAR);
-				setState(186);
+				setState(190);
 				match(ELSE);
-				setState(187);
+				setState(191);
 				match(CLPAR);
-				setState(188);
+				setState(192);
 				exp(0);
-				setState(189);
+				setState(193);
 				match(CRPAR);
 				}
 				break;
 			case 9:
+				{
+				_localctx = new WhileContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(195);
+				match(WHILE);
+				setState(196);
+				match(LPAR);
+				setState(197);
+				loopvar();
+				setState(202);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				while (_la==COMMA) {
+					{
+					{
+					setState(198);
+					match(COMMA);
+					setState(199);
+					loopvar();
+					}
+					}
+					setState(204);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+				}
+				setState(205);
+				match(SEMIC);
+				setState(206);
+				exp(0);
+				setState(207);
+				match(RPAR);
+				setState(208);
+				match(CLPAR);
+				setState(212);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				while (_la==ID) {
+					{
+					{
+					setState(209);
+					assign();
+					}
+					}
+					setState(214);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+				}
+				setState(215);
+				match(CRPAR);
+				setState(216);
+				match(IN);
+				setState(217);
+				match(CLPAR);
+				setState(218);
+				exp(0);
+				setState(219);
+				match(CRPAR);
+				}
+				break;
+			case 10:
 				{
 				_localctx = new PrintContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(191);
+				setState(221);
 				match(PRINT);
-				setState(192);
+				setState(222);
 				match(LPAR);
-				setState(193);
+				setState(223);
 				exp(0);
-				setState(194);
+				setState(224);
 				match(RPAR);
 				}
 				break;
-			case 10:
+			case 11:
 				{
 				_localctx = new IdContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(196);
+				setState(226);
 				match(ID);
 				}
 				break;
-			case 11:
+			case 12:
 				{
 				_localctx = new CallContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(197);
+				setState(227);
 				match(ID);
-				setState(198);
+				setState(228);
 				match(LPAR);
-				setState(207);
+				setState(237);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & 219084488740L) != 0)) {
+				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & 438194929700L) != 0)) {
 					{
-					setState(199);
+					setState(229);
 					exp(0);
-					setState(204);
+					setState(234);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					while (_la==COMMA) {
 						{
 						{
-						setState(200);
+						setState(230);
 						match(COMMA);
-						setState(201);
+						setState(231);
 						exp(0);
 						}
 						}
-						setState(206);
+						setState(236);
 						_errHandler.sync(this);
 						_la = _input.LA(1);
 					}
 					}
 				}
 
-				setState(209);
+				setState(239);
 				match(RPAR);
 				}
 				break;
-			case 12:
+			case 13:
 				{
 				_localctx = new DotCallContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(210);
+				setState(240);
 				match(ID);
-				setState(211);
+				setState(241);
 				match(DOT);
-				setState(212);
+				setState(242);
 				match(ID);
-				setState(213);
+				setState(243);
 				match(LPAR);
-				setState(222);
+				setState(252);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & 219084488740L) != 0)) {
+				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & 438194929700L) != 0)) {
 					{
-					setState(214);
+					setState(244);
 					exp(0);
-					setState(219);
+					setState(249);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					while (_la==COMMA) {
 						{
 						{
-						setState(215);
+						setState(245);
 						match(COMMA);
-						setState(216);
+						setState(246);
 						exp(0);
 						}
 						}
-						setState(221);
+						setState(251);
 						_errHandler.sync(this);
 						_la = _input.LA(1);
 					}
 					}
 				}
 
-				setState(224);
+				setState(254);
 				match(RPAR);
 				}
 				break;
 			}
 			_ctx.stop = _input.LT(-1);
-			setState(241);
+			setState(271);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,27,_ctx);
+			_alt = getInterpreter().adaptivePredict(_input,29,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					if ( _parseListeners!=null ) triggerExitRuleEvent();
 					_prevctx = _localctx;
 					{
-					setState(239);
+					setState(269);
 					_errHandler.sync(this);
-					switch ( getInterpreter().adaptivePredict(_input,26,_ctx) ) {
+					switch ( getInterpreter().adaptivePredict(_input,28,_ctx) ) {
 					case 1:
 						{
 						_localctx = new TimesDivContext(new ExpContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_exp);
-						setState(227);
-						if (!(precpred(_ctx, 16))) throw new FailedPredicateException(this, "precpred(_ctx, 16)");
-						setState(228);
+						setState(257);
+						if (!(precpred(_ctx, 17))) throw new FailedPredicateException(this, "precpred(_ctx, 17)");
+						setState(258);
 						_la = _input.LA(1);
 						if ( !(_la==TIMES || _la==DIV) ) {
 						_errHandler.recoverInline(this);
@@ -1535,17 +1650,17 @@ public class FOOLParser extends Parser {
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(229);
-						exp(17);
+						setState(259);
+						exp(18);
 						}
 						break;
 					case 2:
 						{
 						_localctx = new PlusMinusContext(new ExpContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_exp);
-						setState(230);
-						if (!(precpred(_ctx, 15))) throw new FailedPredicateException(this, "precpred(_ctx, 15)");
-						setState(231);
+						setState(260);
+						if (!(precpred(_ctx, 16))) throw new FailedPredicateException(this, "precpred(_ctx, 16)");
+						setState(261);
 						_la = _input.LA(1);
 						if ( !(_la==PLUS || _la==MINUS) ) {
 						_errHandler.recoverInline(this);
@@ -1555,17 +1670,17 @@ public class FOOLParser extends Parser {
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(232);
-						exp(16);
+						setState(262);
+						exp(17);
 						}
 						break;
 					case 3:
 						{
 						_localctx = new CompContext(new ExpContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_exp);
-						setState(233);
-						if (!(precpred(_ctx, 14))) throw new FailedPredicateException(this, "precpred(_ctx, 14)");
-						setState(234);
+						setState(263);
+						if (!(precpred(_ctx, 15))) throw new FailedPredicateException(this, "precpred(_ctx, 15)");
+						setState(264);
 						_la = _input.LA(1);
 						if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 57344L) != 0)) ) {
 						_errHandler.recoverInline(this);
@@ -1575,17 +1690,17 @@ public class FOOLParser extends Parser {
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(235);
-						exp(15);
+						setState(265);
+						exp(16);
 						}
 						break;
 					case 4:
 						{
 						_localctx = new AndOrContext(new ExpContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_exp);
-						setState(236);
-						if (!(precpred(_ctx, 13))) throw new FailedPredicateException(this, "precpred(_ctx, 13)");
-						setState(237);
+						setState(266);
+						if (!(precpred(_ctx, 14))) throw new FailedPredicateException(this, "precpred(_ctx, 14)");
+						setState(267);
 						_la = _input.LA(1);
 						if ( !(_la==OR || _la==AND) ) {
 						_errHandler.recoverInline(this);
@@ -1595,16 +1710,16 @@ public class FOOLParser extends Parser {
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(238);
-						exp(14);
+						setState(268);
+						exp(15);
 						}
 						break;
 					}
 					} 
 				}
-				setState(243);
+				setState(273);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,27,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,29,_ctx);
 			}
 			}
 		}
@@ -1619,6 +1734,122 @@ public class FOOLParser extends Parser {
 		return _localctx;
 	}
 
+	@SuppressWarnings("CheckReturnValue")
+	public static class LoopvarContext extends ParserRuleContext {
+		public TerminalNode VAR() { return getToken(FOOLParser.VAR, 0); }
+		public TerminalNode ID() { return getToken(FOOLParser.ID, 0); }
+		public TerminalNode COLON() { return getToken(FOOLParser.COLON, 0); }
+		public TypeContext type() {
+			return getRuleContext(TypeContext.class,0);
+		}
+		public TerminalNode ASS() { return getToken(FOOLParser.ASS, 0); }
+		public ExpContext exp() {
+			return getRuleContext(ExpContext.class,0);
+		}
+		public LoopvarContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_loopvar; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof FOOLListener ) ((FOOLListener)listener).enterLoopvar(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof FOOLListener ) ((FOOLListener)listener).exitLoopvar(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof FOOLVisitor ) return ((FOOLVisitor<? extends T>)visitor).visitLoopvar(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final LoopvarContext loopvar() throws RecognitionException {
+		LoopvarContext _localctx = new LoopvarContext(_ctx, getState());
+		enterRule(_localctx, 12, RULE_loopvar);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(274);
+			match(VAR);
+			setState(275);
+			match(ID);
+			setState(276);
+			match(COLON);
+			setState(277);
+			type();
+			setState(278);
+			match(ASS);
+			setState(279);
+			exp(0);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	@SuppressWarnings("CheckReturnValue")
+	public static class AssignContext extends ParserRuleContext {
+		public TerminalNode ID() { return getToken(FOOLParser.ID, 0); }
+		public TerminalNode ASS() { return getToken(FOOLParser.ASS, 0); }
+		public ExpContext exp() {
+			return getRuleContext(ExpContext.class,0);
+		}
+		public TerminalNode SEMIC() { return getToken(FOOLParser.SEMIC, 0); }
+		public AssignContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_assign; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof FOOLListener ) ((FOOLListener)listener).enterAssign(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof FOOLListener ) ((FOOLListener)listener).exitAssign(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof FOOLVisitor ) return ((FOOLVisitor<? extends T>)visitor).visitAssign(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final AssignContext assign() throws RecognitionException {
+		AssignContext _localctx = new AssignContext(_ctx, getState());
+		enterRule(_localctx, 14, RULE_assign);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(281);
+			match(ID);
+			setState(282);
+			match(ASS);
+			setState(283);
+			exp(0);
+			setState(284);
+			match(SEMIC);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
 	@SuppressWarnings("CheckReturnValue")
 	public static class TypeContext extends ParserRuleContext {
 		public TypeContext(ParserRuleContext parent, int invokingState) {
@@ -1688,16 +1919,16 @@ public class FOOLParser extends Parser {
 
 	public final TypeContext type() throws RecognitionException {
 		TypeContext _localctx = new TypeContext(_ctx, getState());
-		enterRule(_localctx, 12, RULE_type);
+		enterRule(_localctx, 16, RULE_type);
 		try {
-			setState(247);
+			setState(289);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case INT:
 				_localctx = new IntTypeContext(_localctx);
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(244);
+				setState(286);
 				match(INT);
 				}
 				break;
@@ -1705,7 +1936,7 @@ public class FOOLParser extends Parser {
 				_localctx = new BoolTypeContext(_localctx);
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(245);
+				setState(287);
 				match(BOOL);
 				}
 				break;
@@ -1713,7 +1944,7 @@ public class FOOLParser extends Parser {
 				_localctx = new IdTypeContext(_localctx);
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(246);
+				setState(288);
 				match(ID);
 				}
 				break;
@@ -1742,186 +1973,214 @@ public class FOOLParser extends Parser {
 	private boolean exp_sempred(ExpContext _localctx, int predIndex) {
 		switch (predIndex) {
 		case 0:
-			return precpred(_ctx, 16);
+			return precpred(_ctx, 17);
 		case 1:
-			return precpred(_ctx, 15);
+			return precpred(_ctx, 16);
 		case 2:
-			return precpred(_ctx, 14);
+			return precpred(_ctx, 15);
 		case 3:
-			return precpred(_ctx, 13);
+			return precpred(_ctx, 14);
 		}
 		return true;
 	}
 
 	public static final String _serializedATN =
-		"\u0004\u0001(\u00fa\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
+		"\u0004\u0001)\u0124\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
 		"\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004\u0007\u0004\u0002"+
-		"\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0001\u0000\u0001\u0000\u0001"+
-		"\u0000\u0001\u0001\u0001\u0001\u0004\u0001\u0014\b\u0001\u000b\u0001\f"+
-		"\u0001\u0015\u0001\u0001\u0005\u0001\u0019\b\u0001\n\u0001\f\u0001\u001c"+
-		"\t\u0001\u0001\u0001\u0004\u0001\u001f\b\u0001\u000b\u0001\f\u0001 \u0003"+
-		"\u0001#\b\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
-		"\u0001\u0001\u0001\u0001\u0001\u0003\u0001,\b\u0001\u0001\u0002\u0001"+
-		"\u0002\u0001\u0002\u0001\u0002\u0003\u00022\b\u0002\u0001\u0002\u0001"+
-		"\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001"+
-		"\u0002\u0005\u0002<\b\u0002\n\u0002\f\u0002?\t\u0002\u0003\u0002A\b\u0002"+
-		"\u0001\u0002\u0001\u0002\u0001\u0002\u0005\u0002F\b\u0002\n\u0002\f\u0002"+
-		"I\t\u0002\u0001\u0002\u0001\u0002\u0001\u0003\u0001\u0003\u0001\u0003"+
+		"\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007\u0007\u0007\u0002"+
+		"\b\u0007\b\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0001\u0001\u0001"+
+		"\u0004\u0001\u0018\b\u0001\u000b\u0001\f\u0001\u0019\u0001\u0001\u0005"+
+		"\u0001\u001d\b\u0001\n\u0001\f\u0001 \t\u0001\u0001\u0001\u0004\u0001"+
+		"#\b\u0001\u000b\u0001\f\u0001$\u0003\u0001\'\b\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0003"+
+		"\u00010\b\u0001\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0003"+
+		"\u00026\b\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001"+
+		"\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0005\u0002@\b\u0002\n\u0002"+
+		"\f\u0002C\t\u0002\u0003\u0002E\b\u0002\u0001\u0002\u0001\u0002\u0001\u0002"+
+		"\u0005\u0002J\b\u0002\n\u0002\f\u0002M\t\u0002\u0001\u0002\u0001\u0002"+
 		"\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003"+
-		"\u0001\u0003\u0001\u0003\u0001\u0003\u0005\u0003Y\b\u0003\n\u0003\f\u0003"+
-		"\\\t\u0003\u0003\u0003^\b\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0004"+
-		"\u0003c\b\u0003\u000b\u0003\f\u0003d\u0001\u0003\u0001\u0003\u0003\u0003"+
-		"i\b\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0004\u0001\u0004"+
-		"\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004"+
+		"\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003"+
+		"\u0005\u0003]\b\u0003\n\u0003\f\u0003`\t\u0003\u0003\u0003b\b\u0003\u0001"+
+		"\u0003\u0001\u0003\u0001\u0003\u0004\u0003g\b\u0003\u000b\u0003\f\u0003"+
+		"h\u0001\u0003\u0001\u0003\u0003\u0003m\b\u0003\u0001\u0003\u0001\u0003"+
+		"\u0001\u0003\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004"+
 		"\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004"+
 		"\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004"+
-		"\u0005\u0004\u0082\b\u0004\n\u0004\f\u0004\u0085\t\u0004\u0003\u0004\u0087"+
-		"\b\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0004\u0004\u008c\b\u0004"+
-		"\u000b\u0004\f\u0004\u008d\u0001\u0004\u0001\u0004\u0003\u0004\u0092\b"+
-		"\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0003\u0004\u0097\b\u0004\u0001"+
+		"\u0001\u0004\u0001\u0004\u0001\u0004\u0005\u0004\u0086\b\u0004\n\u0004"+
+		"\f\u0004\u0089\t\u0004\u0003\u0004\u008b\b\u0004\u0001\u0004\u0001\u0004"+
+		"\u0001\u0004\u0004\u0004\u0090\b\u0004\u000b\u0004\f\u0004\u0091\u0001"+
+		"\u0004\u0001\u0004\u0003\u0004\u0096\b\u0004\u0001\u0004\u0001\u0004\u0001"+
+		"\u0004\u0003\u0004\u009b\b\u0004\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
+		"\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0003\u0005\u00a5"+
+		"\b\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
+		"\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0005\u0005\u00b1"+
+		"\b\u0005\n\u0005\f\u0005\u00b4\t\u0005\u0003\u0005\u00b6\b\u0005\u0001"+
+		"\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
+		"\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
+		"\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0005\u0005\u00c9"+
+		"\b\u0005\n\u0005\f\u0005\u00cc\t\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
+		"\u0001\u0005\u0001\u0005\u0005\u0005\u00d3\b\u0005\n\u0005\f\u0005\u00d6"+
+		"\t\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
 		"\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
-		"\u0005\u0001\u0005\u0003\u0005\u00a1\b\u0005\u0001\u0005\u0001\u0005\u0001"+
+		"\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0005"+
+		"\u0005\u00e9\b\u0005\n\u0005\f\u0005\u00ec\t\u0005\u0003\u0005\u00ee\b"+
 		"\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
-		"\u0005\u0001\u0005\u0005\u0005\u00ad\b\u0005\n\u0005\f\u0005\u00b0\t\u0005"+
-		"\u0003\u0005\u00b2\b\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
-		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
-		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
-		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
-		"\u0001\u0005\u0005\u0005\u00cb\b\u0005\n\u0005\f\u0005\u00ce\t\u0005\u0003"+
-		"\u0005\u00d0\b\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
-		"\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0005\u0005\u00da\b\u0005\n"+
-		"\u0005\f\u0005\u00dd\t\u0005\u0003\u0005\u00df\b\u0005\u0001\u0005\u0003"+
-		"\u0005\u00e2\b\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
+		"\u0005\u0001\u0005\u0001\u0005\u0005\u0005\u00f8\b\u0005\n\u0005\f\u0005"+
+		"\u00fb\t\u0005\u0003\u0005\u00fd\b\u0005\u0001\u0005\u0003\u0005\u0100"+
+		"\b\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
 		"\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
-		"\u0005\u0001\u0005\u0005\u0005\u00f0\b\u0005\n\u0005\f\u0005\u00f3\t\u0005"+
-		"\u0001\u0006\u0001\u0006\u0001\u0006\u0003\u0006\u00f8\b\u0006\u0001\u0006"+
-		"\u0000\u0001\n\u0007\u0000\u0002\u0004\u0006\b\n\f\u0000\u0004\u0001\u0000"+
-		"\u0003\u0004\u0001\u0000\u0001\u0002\u0001\u0000\r\u000f\u0001\u0000\u0010"+
-		"\u0011\u011c\u0000\u000e\u0001\u0000\u0000\u0000\u0002+\u0001\u0000\u0000"+
-		"\u0000\u0004-\u0001\u0000\u0000\u0000\u0006L\u0001\u0000\u0000\u0000\b"+
-		"\u0096\u0001\u0000\u0000\u0000\n\u00e1\u0001\u0000\u0000\u0000\f\u00f7"+
-		"\u0001\u0000\u0000\u0000\u000e\u000f\u0003\u0002\u0001\u0000\u000f\u0010"+
-		"\u0005\u0000\u0000\u0001\u0010\u0001\u0001\u0000\u0000\u0000\u0011\"\u0005"+
-		"\u001a\u0000\u0000\u0012\u0014\u0003\u0004\u0002\u0000\u0013\u0012\u0001"+
-		"\u0000\u0000\u0000\u0014\u0015\u0001\u0000\u0000\u0000\u0015\u0013\u0001"+
-		"\u0000\u0000\u0000\u0015\u0016\u0001\u0000\u0000\u0000\u0016\u001a\u0001"+
-		"\u0000\u0000\u0000\u0017\u0019\u0003\b\u0004\u0000\u0018\u0017\u0001\u0000"+
-		"\u0000\u0000\u0019\u001c\u0001\u0000\u0000\u0000\u001a\u0018\u0001\u0000"+
-		"\u0000\u0000\u001a\u001b\u0001\u0000\u0000\u0000\u001b#\u0001\u0000\u0000"+
-		"\u0000\u001c\u001a\u0001\u0000\u0000\u0000\u001d\u001f\u0003\b\u0004\u0000"+
-		"\u001e\u001d\u0001\u0000\u0000\u0000\u001f \u0001\u0000\u0000\u0000 \u001e"+
-		"\u0001\u0000\u0000\u0000 !\u0001\u0000\u0000\u0000!#\u0001\u0000\u0000"+
-		"\u0000\"\u0013\u0001\u0000\u0000\u0000\"\u001e\u0001\u0000\u0000\u0000"+
-		"#$\u0001\u0000\u0000\u0000$%\u0005\u001b\u0000\u0000%&\u0003\n\u0005\u0000"+
-		"&\'\u0005\t\u0000\u0000\',\u0001\u0000\u0000\u0000()\u0003\n\u0005\u0000"+
-		")*\u0005\t\u0000\u0000*,\u0001\u0000\u0000\u0000+\u0011\u0001\u0000\u0000"+
-		"\u0000+(\u0001\u0000\u0000\u0000,\u0003\u0001\u0000\u0000\u0000-.\u0005"+
-		"\u001e\u0000\u0000.1\u0005%\u0000\u0000/0\u0005\u001f\u0000\u000002\u0005"+
-		"%\u0000\u00001/\u0001\u0000\u0000\u000012\u0001\u0000\u0000\u000023\u0001"+
-		"\u0000\u0000\u00003@\u0005\u0005\u0000\u000045\u0005%\u0000\u000056\u0005"+
-		"\n\u0000\u00006=\u0003\f\u0006\u000078\u0005\u000b\u0000\u000089\u0005"+
-		"%\u0000\u00009:\u0005\n\u0000\u0000:<\u0003\f\u0006\u0000;7\u0001\u0000"+
-		"\u0000\u0000<?\u0001\u0000\u0000\u0000=;\u0001\u0000\u0000\u0000=>\u0001"+
-		"\u0000\u0000\u0000>A\u0001\u0000\u0000\u0000?=\u0001\u0000\u0000\u0000"+
-		"@4\u0001\u0000\u0000\u0000@A\u0001\u0000\u0000\u0000AB\u0001\u0000\u0000"+
-		"\u0000BC\u0005\u0006\u0000\u0000CG\u0005\u0007\u0000\u0000DF\u0003\u0006"+
-		"\u0003\u0000ED\u0001\u0000\u0000\u0000FI\u0001\u0000\u0000\u0000GE\u0001"+
-		"\u0000\u0000\u0000GH\u0001\u0000\u0000\u0000HJ\u0001\u0000\u0000\u0000"+
-		"IG\u0001\u0000\u0000\u0000JK\u0005\b\u0000\u0000K\u0005\u0001\u0000\u0000"+
-		"\u0000LM\u0005\u001d\u0000\u0000MN\u0005%\u0000\u0000NO\u0005\n\u0000"+
-		"\u0000OP\u0003\f\u0006\u0000P]\u0005\u0005\u0000\u0000QR\u0005%\u0000"+
-		"\u0000RS\u0005\n\u0000\u0000SZ\u0003\f\u0006\u0000TU\u0005\u000b\u0000"+
-		"\u0000UV\u0005%\u0000\u0000VW\u0005\n\u0000\u0000WY\u0003\f\u0006\u0000"+
-		"XT\u0001\u0000\u0000\u0000Y\\\u0001\u0000\u0000\u0000ZX\u0001\u0000\u0000"+
-		"\u0000Z[\u0001\u0000\u0000\u0000[^\u0001\u0000\u0000\u0000\\Z\u0001\u0000"+
-		"\u0000\u0000]Q\u0001\u0000\u0000\u0000]^\u0001\u0000\u0000\u0000^_\u0001"+
-		"\u0000\u0000\u0000_h\u0005\u0006\u0000\u0000`b\u0005\u001a\u0000\u0000"+
-		"ac\u0003\b\u0004\u0000ba\u0001\u0000\u0000\u0000cd\u0001\u0000\u0000\u0000"+
-		"db\u0001\u0000\u0000\u0000de\u0001\u0000\u0000\u0000ef\u0001\u0000\u0000"+
-		"\u0000fg\u0005\u001b\u0000\u0000gi\u0001\u0000\u0000\u0000h`\u0001\u0000"+
-		"\u0000\u0000hi\u0001\u0000\u0000\u0000ij\u0001\u0000\u0000\u0000jk\u0003"+
-		"\n\u0005\u0000kl\u0005\t\u0000\u0000l\u0007\u0001\u0000\u0000\u0000mn"+
-		"\u0005\u001c\u0000\u0000no\u0005%\u0000\u0000op\u0005\n\u0000\u0000pq"+
-		"\u0003\f\u0006\u0000qr\u0005\u0013\u0000\u0000rs\u0003\n\u0005\u0000s"+
-		"t\u0005\t\u0000\u0000t\u0097\u0001\u0000\u0000\u0000uv\u0005\u001d\u0000"+
-		"\u0000vw\u0005%\u0000\u0000wx\u0005\n\u0000\u0000xy\u0003\f\u0006\u0000"+
-		"y\u0086\u0005\u0005\u0000\u0000z{\u0005%\u0000\u0000{|\u0005\n\u0000\u0000"+
-		"|\u0083\u0003\f\u0006\u0000}~\u0005\u000b\u0000\u0000~\u007f\u0005%\u0000"+
-		"\u0000\u007f\u0080\u0005\n\u0000\u0000\u0080\u0082\u0003\f\u0006\u0000"+
-		"\u0081}\u0001\u0000\u0000\u0000\u0082\u0085\u0001\u0000\u0000\u0000\u0083"+
-		"\u0081\u0001\u0000\u0000\u0000\u0083\u0084\u0001\u0000\u0000\u0000\u0084"+
-		"\u0087\u0001\u0000\u0000\u0000\u0085\u0083\u0001\u0000\u0000\u0000\u0086"+
-		"z\u0001\u0000\u0000\u0000\u0086\u0087\u0001\u0000\u0000\u0000\u0087\u0088"+
-		"\u0001\u0000\u0000\u0000\u0088\u0091\u0005\u0006\u0000\u0000\u0089\u008b"+
-		"\u0005\u001a\u0000\u0000\u008a\u008c\u0003\b\u0004\u0000\u008b\u008a\u0001"+
-		"\u0000\u0000\u0000\u008c\u008d\u0001\u0000\u0000\u0000\u008d\u008b\u0001"+
-		"\u0000\u0000\u0000\u008d\u008e\u0001\u0000\u0000\u0000\u008e\u008f\u0001"+
-		"\u0000\u0000\u0000\u008f\u0090\u0005\u001b\u0000\u0000\u0090\u0092\u0001"+
-		"\u0000\u0000\u0000\u0091\u0089\u0001\u0000\u0000\u0000\u0091\u0092\u0001"+
-		"\u0000\u0000\u0000\u0092\u0093\u0001\u0000\u0000\u0000\u0093\u0094\u0003"+
-		"\n\u0005\u0000\u0094\u0095\u0005\t\u0000\u0000\u0095\u0097\u0001\u0000"+
-		"\u0000\u0000\u0096m\u0001\u0000\u0000\u0000\u0096u\u0001\u0000\u0000\u0000"+
-		"\u0097\t\u0001\u0000\u0000\u0000\u0098\u0099\u0006\u0005\uffff\uffff\u0000"+
-		"\u0099\u009a\u0005\u0012\u0000\u0000\u009a\u00e2\u0003\n\u0005\f\u009b"+
-		"\u009c\u0005\u0005\u0000\u0000\u009c\u009d\u0003\n\u0005\u0000\u009d\u009e"+
-		"\u0005\u0006\u0000\u0000\u009e\u00e2\u0001\u0000\u0000\u0000\u009f\u00a1"+
-		"\u0005\u0002\u0000\u0000\u00a0\u009f\u0001\u0000\u0000\u0000\u00a0\u00a1"+
-		"\u0001\u0000\u0000\u0000\u00a1\u00a2\u0001\u0000\u0000\u0000\u00a2\u00e2"+
-		"\u0005$\u0000\u0000\u00a3\u00e2\u0005\u0014\u0000\u0000\u00a4\u00e2\u0005"+
-		"\u0015\u0000\u0000\u00a5\u00e2\u0005!\u0000\u0000\u00a6\u00a7\u0005 \u0000"+
-		"\u0000\u00a7\u00a8\u0005%\u0000\u0000\u00a8\u00b1\u0005\u0005\u0000\u0000"+
-		"\u00a9\u00ae\u0003\n\u0005\u0000\u00aa\u00ab\u0005\u000b\u0000\u0000\u00ab"+
-		"\u00ad\u0003\n\u0005\u0000\u00ac\u00aa\u0001\u0000\u0000\u0000\u00ad\u00b0"+
-		"\u0001\u0000\u0000\u0000\u00ae\u00ac\u0001\u0000\u0000\u0000\u00ae\u00af"+
-		"\u0001\u0000\u0000\u0000\u00af\u00b2\u0001\u0000\u0000\u0000\u00b0\u00ae"+
-		"\u0001\u0000\u0000\u0000\u00b1\u00a9\u0001\u0000\u0000\u0000\u00b1\u00b2"+
-		"\u0001\u0000\u0000\u0000\u00b2\u00b3\u0001\u0000\u0000\u0000\u00b3\u00e2"+
-		"\u0005\u0006\u0000\u0000\u00b4\u00b5\u0005\u0016\u0000\u0000\u00b5\u00b6"+
-		"\u0003\n\u0005\u0000\u00b6\u00b7\u0005\u0017\u0000\u0000\u00b7\u00b8\u0005"+
-		"\u0007\u0000\u0000\u00b8\u00b9\u0003\n\u0005\u0000\u00b9\u00ba\u0005\b"+
-		"\u0000\u0000\u00ba\u00bb\u0005\u0018\u0000\u0000\u00bb\u00bc\u0005\u0007"+
-		"\u0000\u0000\u00bc\u00bd\u0003\n\u0005\u0000\u00bd\u00be\u0005\b\u0000"+
-		"\u0000\u00be\u00e2\u0001\u0000\u0000\u0000\u00bf\u00c0\u0005\u0019\u0000"+
-		"\u0000\u00c0\u00c1\u0005\u0005\u0000\u0000\u00c1\u00c2\u0003\n\u0005\u0000"+
-		"\u00c2\u00c3\u0005\u0006\u0000\u0000\u00c3\u00e2\u0001\u0000\u0000\u0000"+
-		"\u00c4\u00e2\u0005%\u0000\u0000\u00c5\u00c6\u0005%\u0000\u0000\u00c6\u00cf"+
-		"\u0005\u0005\u0000\u0000\u00c7\u00cc\u0003\n\u0005\u0000\u00c8\u00c9\u0005"+
-		"\u000b\u0000\u0000\u00c9\u00cb\u0003\n\u0005\u0000\u00ca\u00c8\u0001\u0000"+
-		"\u0000\u0000\u00cb\u00ce\u0001\u0000\u0000\u0000\u00cc\u00ca\u0001\u0000"+
-		"\u0000\u0000\u00cc\u00cd\u0001\u0000\u0000\u0000\u00cd\u00d0\u0001\u0000"+
-		"\u0000\u0000\u00ce\u00cc\u0001\u0000\u0000\u0000\u00cf\u00c7\u0001\u0000"+
-		"\u0000\u0000\u00cf\u00d0\u0001\u0000\u0000\u0000\u00d0\u00d1\u0001\u0000"+
-		"\u0000\u0000\u00d1\u00e2\u0005\u0006\u0000\u0000\u00d2\u00d3\u0005%\u0000"+
-		"\u0000\u00d3\u00d4\u0005\f\u0000\u0000\u00d4\u00d5\u0005%\u0000\u0000"+
-		"\u00d5\u00de\u0005\u0005\u0000\u0000\u00d6\u00db\u0003\n\u0005\u0000\u00d7"+
-		"\u00d8\u0005\u000b\u0000\u0000\u00d8\u00da\u0003\n\u0005\u0000\u00d9\u00d7"+
-		"\u0001\u0000\u0000\u0000\u00da\u00dd\u0001\u0000\u0000\u0000\u00db\u00d9"+
-		"\u0001\u0000\u0000\u0000\u00db\u00dc\u0001\u0000\u0000\u0000\u00dc\u00df"+
-		"\u0001\u0000\u0000\u0000\u00dd\u00db\u0001\u0000\u0000\u0000\u00de\u00d6"+
-		"\u0001\u0000\u0000\u0000\u00de\u00df\u0001\u0000\u0000\u0000\u00df\u00e0"+
-		"\u0001\u0000\u0000\u0000\u00e0\u00e2\u0005\u0006\u0000\u0000\u00e1\u0098"+
-		"\u0001\u0000\u0000\u0000\u00e1\u009b\u0001\u0000\u0000\u0000\u00e1\u00a0"+
-		"\u0001\u0000\u0000\u0000\u00e1\u00a3\u0001\u0000\u0000\u0000\u00e1\u00a4"+
-		"\u0001\u0000\u0000\u0000\u00e1\u00a5\u0001\u0000\u0000\u0000\u00e1\u00a6"+
-		"\u0001\u0000\u0000\u0000\u00e1\u00b4\u0001\u0000\u0000\u0000\u00e1\u00bf"+
-		"\u0001\u0000\u0000\u0000\u00e1\u00c4\u0001\u0000\u0000\u0000\u00e1\u00c5"+
-		"\u0001\u0000\u0000\u0000\u00e1\u00d2\u0001\u0000\u0000\u0000\u00e2\u00f1"+
-		"\u0001\u0000\u0000\u0000\u00e3\u00e4\n\u0010\u0000\u0000\u00e4\u00e5\u0007"+
-		"\u0000\u0000\u0000\u00e5\u00f0\u0003\n\u0005\u0011\u00e6\u00e7\n\u000f"+
-		"\u0000\u0000\u00e7\u00e8\u0007\u0001\u0000\u0000\u00e8\u00f0\u0003\n\u0005"+
-		"\u0010\u00e9\u00ea\n\u000e\u0000\u0000\u00ea\u00eb\u0007\u0002\u0000\u0000"+
-		"\u00eb\u00f0\u0003\n\u0005\u000f\u00ec\u00ed\n\r\u0000\u0000\u00ed\u00ee"+
-		"\u0007\u0003\u0000\u0000\u00ee\u00f0\u0003\n\u0005\u000e\u00ef\u00e3\u0001"+
-		"\u0000\u0000\u0000\u00ef\u00e6\u0001\u0000\u0000\u0000\u00ef\u00e9\u0001"+
-		"\u0000\u0000\u0000\u00ef\u00ec\u0001\u0000\u0000\u0000\u00f0\u00f3\u0001"+
-		"\u0000\u0000\u0000\u00f1\u00ef\u0001\u0000\u0000\u0000\u00f1\u00f2\u0001"+
-		"\u0000\u0000\u0000\u00f2\u000b\u0001\u0000\u0000\u0000\u00f3\u00f1\u0001"+
-		"\u0000\u0000\u0000\u00f4\u00f8\u0005\"\u0000\u0000\u00f5\u00f8\u0005#"+
-		"\u0000\u0000\u00f6\u00f8\u0005%\u0000\u0000\u00f7\u00f4\u0001\u0000\u0000"+
-		"\u0000\u00f7\u00f5\u0001\u0000\u0000\u0000\u00f7\u00f6\u0001\u0000\u0000"+
-		"\u0000\u00f8\r\u0001\u0000\u0000\u0000\u001d\u0015\u001a \"+1=@GZ]dh\u0083"+
-		"\u0086\u008d\u0091\u0096\u00a0\u00ae\u00b1\u00cc\u00cf\u00db\u00de\u00e1"+
-		"\u00ef\u00f1\u00f7";
+		"\u0005\u0005\u0005\u010e\b\u0005\n\u0005\f\u0005\u0111\t\u0005\u0001\u0006"+
+		"\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006"+
+		"\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\b\u0001"+
+		"\b\u0001\b\u0003\b\u0122\b\b\u0001\b\u0000\u0001\n\t\u0000\u0002\u0004"+
+		"\u0006\b\n\f\u000e\u0010\u0000\u0004\u0001\u0000\u0003\u0004\u0001\u0000"+
+		"\u0001\u0002\u0001\u0000\r\u000f\u0001\u0000\u0010\u0011\u0147\u0000\u0012"+
+		"\u0001\u0000\u0000\u0000\u0002/\u0001\u0000\u0000\u0000\u00041\u0001\u0000"+
+		"\u0000\u0000\u0006P\u0001\u0000\u0000\u0000\b\u009a\u0001\u0000\u0000"+
+		"\u0000\n\u00ff\u0001\u0000\u0000\u0000\f\u0112\u0001\u0000\u0000\u0000"+
+		"\u000e\u0119\u0001\u0000\u0000\u0000\u0010\u0121\u0001\u0000\u0000\u0000"+
+		"\u0012\u0013\u0003\u0002\u0001\u0000\u0013\u0014\u0005\u0000\u0000\u0001"+
+		"\u0014\u0001\u0001\u0000\u0000\u0000\u0015&\u0005\u001b\u0000\u0000\u0016"+
+		"\u0018\u0003\u0004\u0002\u0000\u0017\u0016\u0001\u0000\u0000\u0000\u0018"+
+		"\u0019\u0001\u0000\u0000\u0000\u0019\u0017\u0001\u0000\u0000\u0000\u0019"+
+		"\u001a\u0001\u0000\u0000\u0000\u001a\u001e\u0001\u0000\u0000\u0000\u001b"+
+		"\u001d\u0003\b\u0004\u0000\u001c\u001b\u0001\u0000\u0000\u0000\u001d "+
+		"\u0001\u0000\u0000\u0000\u001e\u001c\u0001\u0000\u0000\u0000\u001e\u001f"+
+		"\u0001\u0000\u0000\u0000\u001f\'\u0001\u0000\u0000\u0000 \u001e\u0001"+
+		"\u0000\u0000\u0000!#\u0003\b\u0004\u0000\"!\u0001\u0000\u0000\u0000#$"+
+		"\u0001\u0000\u0000\u0000$\"\u0001\u0000\u0000\u0000$%\u0001\u0000\u0000"+
+		"\u0000%\'\u0001\u0000\u0000\u0000&\u0017\u0001\u0000\u0000\u0000&\"\u0001"+
+		"\u0000\u0000\u0000\'(\u0001\u0000\u0000\u0000()\u0005\u001c\u0000\u0000"+
+		")*\u0003\n\u0005\u0000*+\u0005\t\u0000\u0000+0\u0001\u0000\u0000\u0000"+
+		",-\u0003\n\u0005\u0000-.\u0005\t\u0000\u0000.0\u0001\u0000\u0000\u0000"+
+		"/\u0015\u0001\u0000\u0000\u0000/,\u0001\u0000\u0000\u00000\u0003\u0001"+
+		"\u0000\u0000\u000012\u0005\u001f\u0000\u000025\u0005&\u0000\u000034\u0005"+
+		" \u0000\u000046\u0005&\u0000\u000053\u0001\u0000\u0000\u000056\u0001\u0000"+
+		"\u0000\u000067\u0001\u0000\u0000\u00007D\u0005\u0005\u0000\u000089\u0005"+
+		"&\u0000\u00009:\u0005\n\u0000\u0000:A\u0003\u0010\b\u0000;<\u0005\u000b"+
+		"\u0000\u0000<=\u0005&\u0000\u0000=>\u0005\n\u0000\u0000>@\u0003\u0010"+
+		"\b\u0000?;\u0001\u0000\u0000\u0000@C\u0001\u0000\u0000\u0000A?\u0001\u0000"+
+		"\u0000\u0000AB\u0001\u0000\u0000\u0000BE\u0001\u0000\u0000\u0000CA\u0001"+
+		"\u0000\u0000\u0000D8\u0001\u0000\u0000\u0000DE\u0001\u0000\u0000\u0000"+
+		"EF\u0001\u0000\u0000\u0000FG\u0005\u0006\u0000\u0000GK\u0005\u0007\u0000"+
+		"\u0000HJ\u0003\u0006\u0003\u0000IH\u0001\u0000\u0000\u0000JM\u0001\u0000"+
+		"\u0000\u0000KI\u0001\u0000\u0000\u0000KL\u0001\u0000\u0000\u0000LN\u0001"+
+		"\u0000\u0000\u0000MK\u0001\u0000\u0000\u0000NO\u0005\b\u0000\u0000O\u0005"+
+		"\u0001\u0000\u0000\u0000PQ\u0005\u001e\u0000\u0000QR\u0005&\u0000\u0000"+
+		"RS\u0005\n\u0000\u0000ST\u0003\u0010\b\u0000Ta\u0005\u0005\u0000\u0000"+
+		"UV\u0005&\u0000\u0000VW\u0005\n\u0000\u0000W^\u0003\u0010\b\u0000XY\u0005"+
+		"\u000b\u0000\u0000YZ\u0005&\u0000\u0000Z[\u0005\n\u0000\u0000[]\u0003"+
+		"\u0010\b\u0000\\X\u0001\u0000\u0000\u0000]`\u0001\u0000\u0000\u0000^\\"+
+		"\u0001\u0000\u0000\u0000^_\u0001\u0000\u0000\u0000_b\u0001\u0000\u0000"+
+		"\u0000`^\u0001\u0000\u0000\u0000aU\u0001\u0000\u0000\u0000ab\u0001\u0000"+
+		"\u0000\u0000bc\u0001\u0000\u0000\u0000cl\u0005\u0006\u0000\u0000df\u0005"+
+		"\u001b\u0000\u0000eg\u0003\b\u0004\u0000fe\u0001\u0000\u0000\u0000gh\u0001"+
+		"\u0000\u0000\u0000hf\u0001\u0000\u0000\u0000hi\u0001\u0000\u0000\u0000"+
+		"ij\u0001\u0000\u0000\u0000jk\u0005\u001c\u0000\u0000km\u0001\u0000\u0000"+
+		"\u0000ld\u0001\u0000\u0000\u0000lm\u0001\u0000\u0000\u0000mn\u0001\u0000"+
+		"\u0000\u0000no\u0003\n\u0005\u0000op\u0005\t\u0000\u0000p\u0007\u0001"+
+		"\u0000\u0000\u0000qr\u0005\u001d\u0000\u0000rs\u0005&\u0000\u0000st\u0005"+
+		"\n\u0000\u0000tu\u0003\u0010\b\u0000uv\u0005\u0013\u0000\u0000vw\u0003"+
+		"\n\u0005\u0000wx\u0005\t\u0000\u0000x\u009b\u0001\u0000\u0000\u0000yz"+
+		"\u0005\u001e\u0000\u0000z{\u0005&\u0000\u0000{|\u0005\n\u0000\u0000|}"+
+		"\u0003\u0010\b\u0000}\u008a\u0005\u0005\u0000\u0000~\u007f\u0005&\u0000"+
+		"\u0000\u007f\u0080\u0005\n\u0000\u0000\u0080\u0087\u0003\u0010\b\u0000"+
+		"\u0081\u0082\u0005\u000b\u0000\u0000\u0082\u0083\u0005&\u0000\u0000\u0083"+
+		"\u0084\u0005\n\u0000\u0000\u0084\u0086\u0003\u0010\b\u0000\u0085\u0081"+
+		"\u0001\u0000\u0000\u0000\u0086\u0089\u0001\u0000\u0000\u0000\u0087\u0085"+
+		"\u0001\u0000\u0000\u0000\u0087\u0088\u0001\u0000\u0000\u0000\u0088\u008b"+
+		"\u0001\u0000\u0000\u0000\u0089\u0087\u0001\u0000\u0000\u0000\u008a~\u0001"+
+		"\u0000\u0000\u0000\u008a\u008b\u0001\u0000\u0000\u0000\u008b\u008c\u0001"+
+		"\u0000\u0000\u0000\u008c\u0095\u0005\u0006\u0000\u0000\u008d\u008f\u0005"+
+		"\u001b\u0000\u0000\u008e\u0090\u0003\b\u0004\u0000\u008f\u008e\u0001\u0000"+
+		"\u0000\u0000\u0090\u0091\u0001\u0000\u0000\u0000\u0091\u008f\u0001\u0000"+
+		"\u0000\u0000\u0091\u0092\u0001\u0000\u0000\u0000\u0092\u0093\u0001\u0000"+
+		"\u0000\u0000\u0093\u0094\u0005\u001c\u0000\u0000\u0094\u0096\u0001\u0000"+
+		"\u0000\u0000\u0095\u008d\u0001\u0000\u0000\u0000\u0095\u0096\u0001\u0000"+
+		"\u0000\u0000\u0096\u0097\u0001\u0000\u0000\u0000\u0097\u0098\u0003\n\u0005"+
+		"\u0000\u0098\u0099\u0005\t\u0000\u0000\u0099\u009b\u0001\u0000\u0000\u0000"+
+		"\u009aq\u0001\u0000\u0000\u0000\u009ay\u0001\u0000\u0000\u0000\u009b\t"+
+		"\u0001\u0000\u0000\u0000\u009c\u009d\u0006\u0005\uffff\uffff\u0000\u009d"+
+		"\u009e\u0005\u0012\u0000\u0000\u009e\u0100\u0003\n\u0005\r\u009f\u00a0"+
+		"\u0005\u0005\u0000\u0000\u00a0\u00a1\u0003\n\u0005\u0000\u00a1\u00a2\u0005"+
+		"\u0006\u0000\u0000\u00a2\u0100\u0001\u0000\u0000\u0000\u00a3\u00a5\u0005"+
+		"\u0002\u0000\u0000\u00a4\u00a3\u0001\u0000\u0000\u0000\u00a4\u00a5\u0001"+
+		"\u0000\u0000\u0000\u00a5\u00a6\u0001\u0000\u0000\u0000\u00a6\u0100\u0005"+
+		"%\u0000\u0000\u00a7\u0100\u0005\u0014\u0000\u0000\u00a8\u0100\u0005\u0015"+
+		"\u0000\u0000\u00a9\u0100\u0005\"\u0000\u0000\u00aa\u00ab\u0005!\u0000"+
+		"\u0000\u00ab\u00ac\u0005&\u0000\u0000\u00ac\u00b5\u0005\u0005\u0000\u0000"+
+		"\u00ad\u00b2\u0003\n\u0005\u0000\u00ae\u00af\u0005\u000b\u0000\u0000\u00af"+
+		"\u00b1\u0003\n\u0005\u0000\u00b0\u00ae\u0001\u0000\u0000\u0000\u00b1\u00b4"+
+		"\u0001\u0000\u0000\u0000\u00b2\u00b0\u0001\u0000\u0000\u0000\u00b2\u00b3"+
+		"\u0001\u0000\u0000\u0000\u00b3\u00b6\u0001\u0000\u0000\u0000\u00b4\u00b2"+
+		"\u0001\u0000\u0000\u0000\u00b5\u00ad\u0001\u0000\u0000\u0000\u00b5\u00b6"+
+		"\u0001\u0000\u0000\u0000\u00b6\u00b7\u0001\u0000\u0000\u0000\u00b7\u0100"+
+		"\u0005\u0006\u0000\u0000\u00b8\u00b9\u0005\u0016\u0000\u0000\u00b9\u00ba"+
+		"\u0003\n\u0005\u0000\u00ba\u00bb\u0005\u0017\u0000\u0000\u00bb\u00bc\u0005"+
+		"\u0007\u0000\u0000\u00bc\u00bd\u0003\n\u0005\u0000\u00bd\u00be\u0005\b"+
+		"\u0000\u0000\u00be\u00bf\u0005\u0018\u0000\u0000\u00bf\u00c0\u0005\u0007"+
+		"\u0000\u0000\u00c0\u00c1\u0003\n\u0005\u0000\u00c1\u00c2\u0005\b\u0000"+
+		"\u0000\u00c2\u0100\u0001\u0000\u0000\u0000\u00c3\u00c4\u0005\u0019\u0000"+
+		"\u0000\u00c4\u00c5\u0005\u0005\u0000\u0000\u00c5\u00ca\u0003\f\u0006\u0000"+
+		"\u00c6\u00c7\u0005\u000b\u0000\u0000\u00c7\u00c9\u0003\f\u0006\u0000\u00c8"+
+		"\u00c6\u0001\u0000\u0000\u0000\u00c9\u00cc\u0001\u0000\u0000\u0000\u00ca"+
+		"\u00c8\u0001\u0000\u0000\u0000\u00ca\u00cb\u0001\u0000\u0000\u0000\u00cb"+
+		"\u00cd\u0001\u0000\u0000\u0000\u00cc\u00ca\u0001\u0000\u0000\u0000\u00cd"+
+		"\u00ce\u0005\t\u0000\u0000\u00ce\u00cf\u0003\n\u0005\u0000\u00cf\u00d0"+
+		"\u0005\u0006\u0000\u0000\u00d0\u00d4\u0005\u0007\u0000\u0000\u00d1\u00d3"+
+		"\u0003\u000e\u0007\u0000\u00d2\u00d1\u0001\u0000\u0000\u0000\u00d3\u00d6"+
+		"\u0001\u0000\u0000\u0000\u00d4\u00d2\u0001\u0000\u0000\u0000\u00d4\u00d5"+
+		"\u0001\u0000\u0000\u0000\u00d5\u00d7\u0001\u0000\u0000\u0000\u00d6\u00d4"+
+		"\u0001\u0000\u0000\u0000\u00d7\u00d8\u0005\b\u0000\u0000\u00d8\u00d9\u0005"+
+		"\u001c\u0000\u0000\u00d9\u00da\u0005\u0007\u0000\u0000\u00da\u00db\u0003"+
+		"\n\u0005\u0000\u00db\u00dc\u0005\b\u0000\u0000\u00dc\u0100\u0001\u0000"+
+		"\u0000\u0000\u00dd\u00de\u0005\u001a\u0000\u0000\u00de\u00df\u0005\u0005"+
+		"\u0000\u0000\u00df\u00e0\u0003\n\u0005\u0000\u00e0\u00e1\u0005\u0006\u0000"+
+		"\u0000\u00e1\u0100\u0001\u0000\u0000\u0000\u00e2\u0100\u0005&\u0000\u0000"+
+		"\u00e3\u00e4\u0005&\u0000\u0000\u00e4\u00ed\u0005\u0005\u0000\u0000\u00e5"+
+		"\u00ea\u0003\n\u0005\u0000\u00e6\u00e7\u0005\u000b\u0000\u0000\u00e7\u00e9"+
+		"\u0003\n\u0005\u0000\u00e8\u00e6\u0001\u0000\u0000\u0000\u00e9\u00ec\u0001"+
+		"\u0000\u0000\u0000\u00ea\u00e8\u0001\u0000\u0000\u0000\u00ea\u00eb\u0001"+
+		"\u0000\u0000\u0000\u00eb\u00ee\u0001\u0000\u0000\u0000\u00ec\u00ea\u0001"+
+		"\u0000\u0000\u0000\u00ed\u00e5\u0001\u0000\u0000\u0000\u00ed\u00ee\u0001"+
+		"\u0000\u0000\u0000\u00ee\u00ef\u0001\u0000\u0000\u0000\u00ef\u0100\u0005"+
+		"\u0006\u0000\u0000\u00f0\u00f1\u0005&\u0000\u0000\u00f1\u00f2\u0005\f"+
+		"\u0000\u0000\u00f2\u00f3\u0005&\u0000\u0000\u00f3\u00fc\u0005\u0005\u0000"+
+		"\u0000\u00f4\u00f9\u0003\n\u0005\u0000\u00f5\u00f6\u0005\u000b\u0000\u0000"+
+		"\u00f6\u00f8\u0003\n\u0005\u0000\u00f7\u00f5\u0001\u0000\u0000\u0000\u00f8"+
+		"\u00fb\u0001\u0000\u0000\u0000\u00f9\u00f7\u0001\u0000\u0000\u0000\u00f9"+
+		"\u00fa\u0001\u0000\u0000\u0000\u00fa\u00fd\u0001\u0000\u0000\u0000\u00fb"+
+		"\u00f9\u0001\u0000\u0000\u0000\u00fc\u00f4\u0001\u0000\u0000\u0000\u00fc"+
+		"\u00fd\u0001\u0000\u0000\u0000\u00fd\u00fe\u0001\u0000\u0000\u0000\u00fe"+
+		"\u0100\u0005\u0006\u0000\u0000\u00ff\u009c\u0001\u0000\u0000\u0000\u00ff"+
+		"\u009f\u0001\u0000\u0000\u0000\u00ff\u00a4\u0001\u0000\u0000\u0000\u00ff"+
+		"\u00a7\u0001\u0000\u0000\u0000\u00ff\u00a8\u0001\u0000\u0000\u0000\u00ff"+
+		"\u00a9\u0001\u0000\u0000\u0000\u00ff\u00aa\u0001\u0000\u0000\u0000\u00ff"+
+		"\u00b8\u0001\u0000\u0000\u0000\u00ff\u00c3\u0001\u0000\u0000\u0000\u00ff"+
+		"\u00dd\u0001\u0000\u0000\u0000\u00ff\u00e2\u0001\u0000\u0000\u0000\u00ff"+
+		"\u00e3\u0001\u0000\u0000\u0000\u00ff\u00f0\u0001\u0000\u0000\u0000\u0100"+
+		"\u010f\u0001\u0000\u0000\u0000\u0101\u0102\n\u0011\u0000\u0000\u0102\u0103"+
+		"\u0007\u0000\u0000\u0000\u0103\u010e\u0003\n\u0005\u0012\u0104\u0105\n"+
+		"\u0010\u0000\u0000\u0105\u0106\u0007\u0001\u0000\u0000\u0106\u010e\u0003"+
+		"\n\u0005\u0011\u0107\u0108\n\u000f\u0000\u0000\u0108\u0109\u0007\u0002"+
+		"\u0000\u0000\u0109\u010e\u0003\n\u0005\u0010\u010a\u010b\n\u000e\u0000"+
+		"\u0000\u010b\u010c\u0007\u0003\u0000\u0000\u010c\u010e\u0003\n\u0005\u000f"+
+		"\u010d\u0101\u0001\u0000\u0000\u0000\u010d\u0104\u0001\u0000\u0000\u0000"+
+		"\u010d\u0107\u0001\u0000\u0000\u0000\u010d\u010a\u0001\u0000\u0000\u0000"+
+		"\u010e\u0111\u0001\u0000\u0000\u0000\u010f\u010d\u0001\u0000\u0000\u0000"+
+		"\u010f\u0110\u0001\u0000\u0000\u0000\u0110\u000b\u0001\u0000\u0000\u0000"+
+		"\u0111\u010f\u0001\u0000\u0000\u0000\u0112\u0113\u0005\u001d\u0000\u0000"+
+		"\u0113\u0114\u0005&\u0000\u0000\u0114\u0115\u0005\n\u0000\u0000\u0115"+
+		"\u0116\u0003\u0010\b\u0000\u0116\u0117\u0005\u0013\u0000\u0000\u0117\u0118"+
+		"\u0003\n\u0005\u0000\u0118\r\u0001\u0000\u0000\u0000\u0119\u011a\u0005"+
+		"&\u0000\u0000\u011a\u011b\u0005\u0013\u0000\u0000\u011b\u011c\u0003\n"+
+		"\u0005\u0000\u011c\u011d\u0005\t\u0000\u0000\u011d\u000f\u0001\u0000\u0000"+
+		"\u0000\u011e\u0122\u0005#\u0000\u0000\u011f\u0122\u0005$\u0000\u0000\u0120"+
+		"\u0122\u0005&\u0000\u0000\u0121\u011e\u0001\u0000\u0000\u0000\u0121\u011f"+
+		"\u0001\u0000\u0000\u0000\u0121\u0120\u0001\u0000\u0000\u0000\u0122\u0011"+
+		"\u0001\u0000\u0000\u0000\u001f\u0019\u001e$&/5ADK^ahl\u0087\u008a\u0091"+
+		"\u0095\u009a\u00a4\u00b2\u00b5\u00ca\u00d4\u00ea\u00ed\u00f9\u00fc\u00ff"+
+		"\u010d\u010f\u0121";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
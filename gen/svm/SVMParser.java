@@ -20,10 +20,12 @@ public class SVMParser extends Parser {
 	protected static final PredictionContextCache _sharedContextCache =
 		new PredictionContextCache();
 	public static final int
-		PUSH=1, POP=2, ADD=3, SUB=4, MULT=5, DIV=6, STOREW=7, LOADW=8, BRANCH=9, 
-		BRANCHEQ=10, BRANCHLESSEQ=11, JS=12, LOADRA=13, STORERA=14, LOADTM=15, 
-		STORETM=16, LOADFP=17, STOREFP=18, COPYFP=19, LOADHP=20, STOREHP=21, PRINT=22, 
-		HALT=23, COL=24, LABEL=25, INTEGER=26, COMMENT=27, WHITESP=28, ERR=29;
+		PUSH=1, POP=2, ADD=3, SUB=4, MULT=5, DIV=6, SHIFTLEFT=7, SHIFTRIGHT=8, 
+		STOREW=9, LOADW=10, BRANCH=11, BRANCHEQ=12, BRANCHLESSEQ=13, JS=14, LOADRA=15, 
+		STORERA=16, LOADTM=17, STORETM=18, LOADFP=19, STOREFP=20, COPYFP=21, LOADHP=22, 
+		STOREHP=23, PRINT=24, HALT=25, LOADDISP=26, STOREDISP=27, LOADWABS=28, 
+		LOADSP=29, JUMP=30, MEMOGET=31, MEMOPUT=32, TABLESWITCH=33, DATA=34, REGS=35, 
+		START=36, COL=37, LABEL=38, INTEGER=39, COMMENT=40, WHITESP=41, ERR=42;
 	public static final int
 		RULE_assembly = 0, RULE_instruction = 1;
 	private static String[] makeRuleNames() {
@@ -35,19 +37,22 @@ public class SVMParser extends Parser {
 
 	private static String[] makeLiteralNames() {
 		return new String[] {
-			null, "'push'", "'pop'", "'add'", "'sub'", "'mult'", "'div'", "'sw'", 
-			"'lw'", "'b'", "'beq'", "'bleq'", "'js'", "'lra'", "'sra'", "'ltm'", 
-			"'stm'", "'lfp'", "'sfp'", "'cfp'", "'lhp'", "'shp'", "'print'", "'halt'", 
-			"':'"
+			null, "'push'", "'pop'", "'add'", "'sub'", "'mult'", "'div'", "'shl'", 
+			"'shr'", "'sw'", "'lw'", "'b'", "'beq'", "'bleq'", "'js'", "'lra'", "'sra'", 
+			"'ltm'", "'stm'", "'lfp'", "'sfp'", "'cfp'", "'lhp'", "'shp'", "'print'", 
+			"'halt'", "'ldisp'", "'sdisp'", "'lwa'", "'lsp'", "'jp'", "'mget'", "'mput'", 
+			"'tsw'", "'data'", "'regs'", "'start'", "':'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
 	private static String[] makeSymbolicNames() {
 		return new String[] {
-			null, "PUSH", "POP", "ADD", "SUB", "MULT", "DIV", "STOREW", "LOADW", 
-			"BRANCH", "BRANCHEQ", "BRANCHLESSEQ", "JS", "LOADRA", "STORERA", "LOADTM", 
-			"STORETM", "LOADFP", "STOREFP", "COPYFP", "LOADHP", "STOREHP", "PRINT", 
-			"HALT", "COL", "LABEL", "INTEGER", "COMMENT", "WHITESP", "ERR"
+			null, "PUSH", "POP", "ADD", "SUB", "MULT", "DIV", "SHIFTLEFT", "SHIFTRIGHT", 
+			"STOREW", "LOADW", "BRANCH", "BRANCHEQ", "BRANCHLESSEQ", "JS", "LOADRA", 
+			"STORERA", "LOADTM", "STORETM", "LOADFP", "STOREFP", "COPYFP", "LOADHP", 
+			"STOREHP", "PRINT", "HALT", "LOADDISP", "STOREDISP", "LOADWABS", "LOADSP", 
+			"JUMP", "MEMOGET", "MEMOPUT", "TABLESWITCH", "DATA", "REGS", "START", 
+			"COL", "LABEL", "INTEGER", "COMMENT", "WHITESP", "ERR"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -99,8 +104,14 @@ public class SVMParser extends Parser {
 	 
 	public int[] code = new int[ExecuteVM.CODESIZE];    
 	private int i = 0;
-	private Map<String,Integer> labelDef = new HashMap<>();
-	private Map<Integer,String> labelRef = new HashMap<>();
+	public Map<String,Integer> labelDef = new HashMap<>(); // etichetta -> indirizzo
+	public Map<Integer,String> labelRef = new HashMap<>(); // rilocazioni: cella di codice -> etichetta il cui indirizzo contiene
+	public Map<Integer,Integer> data = new LinkedHashMap<>(); // immagine precalcolata: contenuto iniziale della memoria
+	public int[] regs = null; // immagine precalcolata: valori iniziali di hp, sp e fp
+	public int start = 0; // indirizzo della prima istruzione eseguita
+	private String startLabel = null;
+	private int table; // cella con il numero di casi della tabella in costruzione
+	public int size() { return i; } // celle di codice occupate
 
 	public SVMParser(TokenStream input) {
 		super(input);
@@ -145,7 +156,7 @@ public class SVMParser extends Parser {
 			setState(7);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & 50331646L) != 0)) {
+			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & 412316860414L) != 0)) {
 				{
 				{
 				setState(4);
@@ -160,6 +171,7 @@ public class SVMParser extends Parser {
 			match(EOF);
 			 for (Integer j: labelRef.keySet()) 
 											code[j]=labelDef.get(labelRef.get(j)); 
+										  if (startLabel != null) start = labelDef.get(startLabel);
 										
 			}
 		}
@@ -178,14 +190,30 @@ public class SVMParser extends Parser {
 	public static class InstructionContext extends ParserRuleContext {
 		public Token n;
 		public Token l;
+		public Token t;
+		public Token lo;
+		public Token d;
+		public Token a;
+		public Token v;
+		public Token h;
+		public Token s;
+		public Token f;
 		public TerminalNode PUSH() { return getToken(SVMParser.PUSH, 0); }
-		public TerminalNode INTEGER() { return getToken(SVMParser.INTEGER, 0); }
-		public TerminalNode LABEL() { return getToken(SVMParser.LABEL, 0); }
+		public List<TerminalNode> INTEGER() { return getTokens(SVMParser.INTEGER); }
+		public TerminalNode INTEGER(int i) {
+			return getToken(SVMParser.INTEGER, i);
+		}
+		public List<TerminalNode> LABEL() { return getTokens(SVMParser.LABEL); }
+		public TerminalNode LABEL(int i) {
+			return getToken(SVMParser.LABEL, i);
+		}
 		public TerminalNode POP() { return getToken(SVMParser.POP, 0); }
 		public TerminalNode ADD() { return getToken(SVMParser.ADD, 0); }
 		public TerminalNode SUB() { return getToken(SVMParser.SUB, 0); }
 		public TerminalNode MULT() { return getToken(SVMParser.MULT, 0); }
 		public TerminalNode DIV() { return getToken(SVMParser.DIV, 0); }
+		public TerminalNode SHIFTLEFT() { return getToken(SVMParser.SHIFTLEFT, 0); }
+		public TerminalNode SHIFTRIGHT() { return getToken(SVMParser.SHIFTRIGHT, 0); }
 		public TerminalNode STOREW() { return getToken(SVMParser.STOREW, 0); }
 		public TerminalNode LOADW() { return getToken(SVMParser.LOADW, 0); }
 		public TerminalNode COL() { return getToken(SVMParser.COL, 0); }
@@ -204,6 +232,17 @@ public class SVMParser extends Parser {
 		public TerminalNode STOREHP() { return getToken(SVMParser.STOREHP, 0); }
 		public TerminalNode PRINT() { return getToken(SVMParser.PRINT, 0); }
 		public TerminalNode HALT() { return getToken(SVMParser.HALT, 0); }
+		public TerminalNode LOADDISP() { return getToken(SVMParser.LOADDISP, 0); }
+		public TerminalNode STOREDISP() { return getToken(SVMParser.STOREDISP, 0); }
+		public TerminalNode LOADWABS() { return getToken(SVMParser.LOADWABS, 0); }
+		public TerminalNode LOADSP() { return getToken(SVMParser.LOADSP, 0); }
+		public TerminalNode JUMP() { return getToken(SVMParser.JUMP, 0); }
+		public TerminalNode MEMOGET() { return getToken(SVMParser.MEMOGET, 0); }
+		public TerminalNode MEMOPUT() { return getToken(SVMParser.MEMOPUT, 0); }
+		public TerminalNode TABLESWITCH() { return getToken(SVMParser.TABLESWITCH, 0); }
+		public TerminalNode DATA() { return getToken(SVMParser.DATA, 0); }
+		public TerminalNode REGS() { return getToken(SVMParser.REGS, 0); }
+		public TerminalNode START() { return getToken(SVMParser.START, 0); }
 		public InstructionContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
@@ -227,9 +266,10 @@ public class SVMParser extends Parser {
 		InstructionContext _localctx = new InstructionContext(_ctx, getState());
 		enterRule(_localctx, 2, RULE_instruction);
 		try {
-			setState(69);
+			int _alt;
+			setState(118);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,1,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,2,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
@@ -296,157 +336,322 @@ public class SVMParser extends Parser {
 				enterOuterAlt(_localctx, 8);
 				{
 				setState(29);
-				match(STOREW);
-				code[i++] = STOREW;
+				match(SHIFTLEFT);
+				code[i++] = SHIFTLEFT;
 				}
 				break;
 			case 9:
 				enterOuterAlt(_localctx, 9);
 				{
 				setState(31);
-				match(LOADW);
-				code[i++] = LOADW;
+				match(SHIFTRIGHT);
+				code[i++] = SHIFTRIGHT;
 				}
 				break;
 			case 10:
 				enterOuterAlt(_localctx, 10);
 				{
 				setState(33);
-				((InstructionContext)_localctx).l = match(LABEL);
-				setState(34);
-				match(COL);
-				labelDef.put((((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null),i);
+				match(STOREW);
+				code[i++] = STOREW;
 				}
 				break;
 			case 11:
 				enterOuterAlt(_localctx, 11);
 				{
-				setState(36);
-				match(BRANCH);
-				setState(37);
-				((InstructionContext)_localctx).l = match(LABEL);
-				code[i++] = BRANCH;
-				                       labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
+				setState(35);
+				match(LOADW);
+				code[i++] = LOADW;
 				}
 				break;
 			case 12:
 				enterOuterAlt(_localctx, 12);
 				{
-				setState(39);
-				match(BRANCHEQ);
-				setState(40);
+				setState(37);
 				((InstructionContext)_localctx).l = match(LABEL);
-				code[i++] = BRANCHEQ;
-				                        labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
+				setState(38);
+				match(COL);
+				labelDef.put((((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null),i);
 				}
 				break;
 			case 13:
 				enterOuterAlt(_localctx, 13);
 				{
-				setState(42);
-				match(BRANCHLESSEQ);
-				setState(43);
+				setState(40);
+				match(BRANCH);
+				setState(41);
 				((InstructionContext)_localctx).l = match(LABEL);
-				code[i++] = BRANCHLESSEQ;
-				                          labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
+				code[i++] = BRANCH;
+				                       labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
 				}
 				break;
 			case 14:
 				enterOuterAlt(_localctx, 14);
 				{
-				setState(45);
-				match(JS);
-				code[i++] = JS;
+				setState(43);
+				match(BRANCHEQ);
+				setState(44);
+				((InstructionContext)_localctx).l = match(LABEL);
+				code[i++] = BRANCHEQ;
+				                        labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
 				}
 				break;
 			case 15:
 				enterOuterAlt(_localctx, 15);
 				{
+				setState(46);
+				match(BRANCHLESSEQ);
 				setState(47);
-				match(LOADRA);
-				code[i++] = LOADRA;
+				((InstructionContext)_localctx).l = match(LABEL);
+				code[i++] = BRANCHLESSEQ;
+				                          labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
 				}
 				break;
 			case 16:
 				enterOuterAlt(_localctx, 16);
 				{
 				setState(49);
-				match(STORERA);
-				code[i++] = STORERA;
+				match(JS);
+				code[i++] = JS;
 				}
 				break;
 			case 17:
 				enterOuterAlt(_localctx, 17);
 				{
 				setState(51);
-				match(LOADTM);
-				code[i++] = LOADTM;
+				match(LOADRA);
+				code[i++] = LOADRA;
 				}
 				break;
 			case 18:
 				enterOuterAlt(_localctx, 18);
 				{
 				setState(53);
-				match(STORETM);
-				code[i++] = STORETM;
+				match(STORERA);
+				code[i++] = STORERA;
 				}
 				break;
 			case 19:
 				enterOuterAlt(_localctx, 19);
 				{
 				setState(55);
-				match(LOADFP);
-				code[i++] = LOADFP;
+				match(LOADTM);
+				code[i++] = LOADTM;
 				}
 				break;
 			case 20:
 				enterOuterAlt(_localctx, 20);
 				{
 				setState(57);
-				match(STOREFP);
-				code[i++] = STOREFP;
+				match(STORETM);
+				code[i++] = STORETM;
 				}
 				break;
 			case 21:
 				enterOuterAlt(_localctx, 21);
 				{
 				setState(59);
-				match(COPYFP);
-				code[i++] = COPYFP;
+				match(LOADFP);
+				code[i++] = LOADFP;
 				}
 				break;
 			case 22:
 				enterOuterAlt(_localctx, 22);
 				{
 				setState(61);
-				match(LOADHP);
-				code[i++] = LOADHP;
+				match(STOREFP);
+				code[i++] = STOREFP;
 				}
 				break;
 			case 23:
 				enterOuterAlt(_localctx, 23);
 				{
 				setState(63);
-				match(STOREHP);
-				code[i++] = STOREHP;
+				match(COPYFP);
+				code[i++] = COPYFP;
 				}
 				break;
 			case 24:
 				enterOuterAlt(_localctx, 24);
 				{
 				setState(65);
-				match(PRINT);
-				code[i++] = PRINT;
+				match(LOADHP);
+				code[i++] = LOADHP;
 				}
 				break;
 			case 25:
 				enterOuterAlt(_localctx, 25);
 				{
 				setState(67);
+				match(STOREHP);
+				code[i++] = STOREHP;
+				}
+				break;
+			case 26:
+				enterOuterAlt(_localctx, 26);
+				{
+				setState(69);
+				match(PRINT);
+				code[i++] = PRINT;
+				}
+				break;
+			case 27:
+				enterOuterAlt(_localctx, 27);
+				{
+				setState(71);
 				match(HALT);
 				code[i++] = HALT;
 				}
 				break;
+			case 28:
+				enterOuterAlt(_localctx, 28);
+				{
+				setState(73);
+				match(LOADDISP);
+				setState(74);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				code[i++] = LOADDISP;
+					                         code[i++] = Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null));
+				}
+				break;
+			case 29:
+				enterOuterAlt(_localctx, 29);
+				{
+				setState(76);
+				match(STOREDISP);
+				setState(77);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				code[i++] = STOREDISP;
+					                         code[i++] = Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null));
+				}
+				break;
+			case 30:
+				enterOuterAlt(_localctx, 30);
+				{
+				setState(79);
+				match(LOADWABS);
+				setState(80);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				code[i++] = LOADWABS;
+					                         code[i++] = Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null));
+				}
+				break;
+			case 31:
+				enterOuterAlt(_localctx, 31);
+				{
+				setState(82);
+				match(LOADSP);
+				code[i++] = LOADSP;
+				}
+				break;
+			case 32:
+				enterOuterAlt(_localctx, 32);
+				{
+				setState(84);
+				match(JUMP);
+				code[i++] = JUMP;
+				}
+				break;
+			case 33:
+				enterOuterAlt(_localctx, 33);
+				{
+				setState(86);
+				match(MEMOGET);
+				setState(87);
+				((InstructionContext)_localctx).t = match(INTEGER);
+				setState(88);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				setState(89);
+				((InstructionContext)_localctx).l = match(LABEL);
+				code[i++] = MEMOGET; // etichetta, tabella, numero di argomenti
+					                         labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
+					                         code[i++] = Integer.parseInt((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getText():null));
+					                         code[i++] = Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null));
+				}
+				break;
+			case 34:
+				enterOuterAlt(_localctx, 34);
+				{
+				setState(91);
+				match(MEMOPUT);
+				setState(92);
+				((InstructionContext)_localctx).t = match(INTEGER);
+				setState(93);
+				((InstructionContext)_localctx).n = match(INTEGER);
+				code[i++] = MEMOPUT;
+					                         code[i++] = Integer.parseInt((((InstructionContext)_localctx).t!=null?((InstructionContext)_localctx).t.getText():null));
+					                         code[i++] = Integer.parseInt((((InstructionContext)_localctx).n!=null?((InstructionContext)_localctx).n.getText():null));
+				}
+				break;
+			case 35:
+				enterOuterAlt(_localctx, 35);
+				{
+				setState(95);
+				match(TABLESWITCH);
+				setState(96);
+				((InstructionContext)_localctx).lo = match(INTEGER);
+				setState(97);
+				((InstructionContext)_localctx).d = match(LABEL);
+				code[i++] = TABLESWITCH; // low, numero di casi, default, casi
+					                         code[i++] = Integer.parseInt((((InstructionContext)_localctx).lo!=null?((InstructionContext)_localctx).lo.getText():null));
+					                         table = i++;
+					                         labelRef.put(i++,(((InstructionContext)_localctx).d!=null?((InstructionContext)_localctx).d.getText():null));
+				setState(103);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,1,_ctx);
+				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+					if ( _alt==1 ) {
+						{
+						{
+						setState(99);
+						((InstructionContext)_localctx).l = match(LABEL);
+						labelRef.put(i++,(((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null));
+							                         code[table]++;
+						}
+						} 
+					}
+					setState(105);
+					_errHandler.sync(this);
+					_alt = getInterpreter().adaptivePredict(_input,1,_ctx);
+				}
+				}
+				break;
+			case 36:
+				enterOuterAlt(_localctx, 36);
+				{
+				setState(106);
+				match(DATA);
+				setState(107);
+				((InstructionContext)_localctx).a = match(INTEGER);
+				setState(108);
+				((InstructionContext)_localctx).v = match(INTEGER);
+				data.put(Integer.parseInt((((InstructionContext)_localctx).a!=null?((InstructionContext)_localctx).a.getText():null)), Integer.parseInt((((InstructionContext)_localctx).v!=null?((InstructionContext)_localctx).v.getText():null)));
+				}
+				break;
+			case 37:
+				enterOuterAlt(_localctx, 37);
+				{
+				setState(110);
+				match(REGS);
+				setState(111);
+				((InstructionContext)_localctx).h = match(INTEGER);
+				setState(112);
+				((InstructionContext)_localctx).s = match(INTEGER);
+				setState(113);
+				((InstructionContext)_localctx).f = match(INTEGER);
+				regs = new int[] {Integer.parseInt((((InstructionContext)_localctx).h!=null?((InstructionContext)_localctx).h.getText():null)), Integer.parseInt((((InstructionContext)_localctx).s!=null?((InstructionContext)_localctx).s.getText():null)), Integer.parseInt((((InstructionContext)_localctx).f!=null?((InstructionContext)_localctx).f.getText():null))};
+				}
+				break;
+			case 38:
+				enterOuterAlt(_localctx, 38);
+				{
+				setState(115);
+				match(START);
+				setState(116);
+				((InstructionContext)_localctx).l = match(LABEL);
+				startLabel = (((InstructionContext)_localctx).l!=null?((InstructionContext)_localctx).l.getText():null);
+				}
+				break;
 			}
 		}
 		catch (RecognitionException re) {
@@ -461,9 +666,15 @@ public class SVMParser extends Parser {
 	}
 
 	public static final String _serializedATN =
-		"\u0004\u0001\u001dH\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0001"+
-		"\u0000\u0005\u0000\u0006\b\u0000\n\u0000\f\u0000\t\t\u0000\u0001\u0000"+
-		"\u0001\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0004\u0001*y\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0001\u0000"+
+		"\u0005\u0000\u0006\b\u0000\n\u0000\f\u0000\t\t\u0000\u0001\u0000\u0001"+
+		"\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
@@ -471,49 +682,73 @@ public class SVMParser extends Parser {
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0005"+
+		"\u0001f\b\u0001\n\u0001\f\u0001i\t\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
-		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0003\u0001F\b\u0001"+
-		"\u0001\u0001\u0000\u0000\u0002\u0000\u0002\u0000\u0000^\u0000\u0007\u0001"+
-		"\u0000\u0000\u0000\u0002E\u0001\u0000\u0000\u0000\u0004\u0006\u0003\u0002"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0003\u0001w\b\u0001\u0001"+
+		"\u0001\u0000\u0000\u0002\u0000\u0002\u0000\u0000\u009d\u0000\u0007\u0001"+
+		"\u0000\u0000\u0000\u0002v\u0001\u0000\u0000\u0000\u0004\u0006\u0003\u0002"+
 		"\u0001\u0000\u0005\u0004\u0001\u0000\u0000\u0000\u0006\t\u0001\u0000\u0000"+
 		"\u0000\u0007\u0005\u0001\u0000\u0000\u0000\u0007\b\u0001\u0000\u0000\u0000"+
 		"\b\n\u0001\u0000\u0000\u0000\t\u0007\u0001\u0000\u0000\u0000\n\u000b\u0005"+
 		"\u0000\u0000\u0001\u000b\f\u0006\u0000\uffff\uffff\u0000\f\u0001\u0001"+
-		"\u0000\u0000\u0000\r\u000e\u0005\u0001\u0000\u0000\u000e\u000f\u0005\u001a"+
-		"\u0000\u0000\u000fF\u0006\u0001\uffff\uffff\u0000\u0010\u0011\u0005\u0001"+
-		"\u0000\u0000\u0011\u0012\u0005\u0019\u0000\u0000\u0012F\u0006\u0001\uffff"+
-		"\uffff\u0000\u0013\u0014\u0005\u0002\u0000\u0000\u0014F\u0006\u0001\uffff"+
-		"\uffff\u0000\u0015\u0016\u0005\u0003\u0000\u0000\u0016F\u0006\u0001\uffff"+
-		"\uffff\u0000\u0017\u0018\u0005\u0004\u0000\u0000\u0018F\u0006\u0001\uffff"+
-		"\uffff\u0000\u0019\u001a\u0005\u0005\u0000\u0000\u001aF\u0006\u0001\uffff"+
-		"\uffff\u0000\u001b\u001c\u0005\u0006\u0000\u0000\u001cF\u0006\u0001\uffff"+
-		"\uffff\u0000\u001d\u001e\u0005\u0007\u0000\u0000\u001eF\u0006\u0001\uffff"+
-		"\uffff\u0000\u001f \u0005\b\u0000\u0000 F\u0006\u0001\uffff\uffff\u0000"+
-		"!\"\u0005\u0019\u0000\u0000\"#\u0005\u0018\u0000\u0000#F\u0006\u0001\uffff"+
-		"\uffff\u0000$%\u0005\t\u0000\u0000%&\u0005\u0019\u0000\u0000&F\u0006\u0001"+
-		"\uffff\uffff\u0000\'(\u0005\n\u0000\u0000()\u0005\u0019\u0000\u0000)F"+
-		"\u0006\u0001\uffff\uffff\u0000*+\u0005\u000b\u0000\u0000+,\u0005\u0019"+
-		"\u0000\u0000,F\u0006\u0001\uffff\uffff\u0000-.\u0005\f\u0000\u0000.F\u0006"+
-		"\u0001\uffff\uffff\u0000/0\u0005\r\u0000\u00000F\u0006\u0001\uffff\uffff"+
-		"\u000012\u0005\u000e\u0000\u00002F\u0006\u0001\uffff\uffff\u000034\u0005"+
-		"\u000f\u0000\u00004F\u0006\u0001\uffff\uffff\u000056\u0005\u0010\u0000"+
-		"\u00006F\u0006\u0001\uffff\uffff\u000078\u0005\u0011\u0000\u00008F\u0006"+
-		"\u0001\uffff\uffff\u00009:\u0005\u0012\u0000\u0000:F\u0006\u0001\uffff"+
-		"\uffff\u0000;<\u0005\u0013\u0000\u0000<F\u0006\u0001\uffff\uffff\u0000"+
-		"=>\u0005\u0014\u0000\u0000>F\u0006\u0001\uffff\uffff\u0000?@\u0005\u0015"+
-		"\u0000\u0000@F\u0006\u0001\uffff\uffff\u0000AB\u0005\u0016\u0000\u0000"+
-		"BF\u0006\u0001\uffff\uffff\u0000CD\u0005\u0017\u0000\u0000DF\u0006\u0001"+
-		"\uffff\uffff\u0000E\r\u0001\u0000\u0000\u0000E\u0010\u0001\u0000\u0000"+
-		"\u0000E\u0013\u0001\u0000\u0000\u0000E\u0015\u0001\u0000\u0000\u0000E"+
-		"\u0017\u0001\u0000\u0000\u0000E\u0019\u0001\u0000\u0000\u0000E\u001b\u0001"+
-		"\u0000\u0000\u0000E\u001d\u0001\u0000\u0000\u0000E\u001f\u0001\u0000\u0000"+
-		"\u0000E!\u0001\u0000\u0000\u0000E$\u0001\u0000\u0000\u0000E\'\u0001\u0000"+
-		"\u0000\u0000E*\u0001\u0000\u0000\u0000E-\u0001\u0000\u0000\u0000E/\u0001"+
-		"\u0000\u0000\u0000E1\u0001\u0000\u0000\u0000E3\u0001\u0000\u0000\u0000"+
-		"E5\u0001\u0000\u0000\u0000E7\u0001\u0000\u0000\u0000E9\u0001\u0000\u0000"+
-		"\u0000E;\u0001\u0000\u0000\u0000E=\u0001\u0000\u0000\u0000E?\u0001\u0000"+
-		"\u0000\u0000EA\u0001\u0000\u0000\u0000EC\u0001\u0000\u0000\u0000F\u0003"+
-		"\u0001\u0000\u0000\u0000\u0002\u0007E";
+		"\u0000\u0000\u0000\r\u000e\u0005\u0001\u0000\u0000\u000e\u000f\u0005\'"+
+		"\u0000\u0000\u000fw\u0006\u0001\uffff\uffff\u0000\u0010\u0011\u0005\u0001"+
+		"\u0000\u0000\u0011\u0012\u0005&\u0000\u0000\u0012w\u0006\u0001\uffff\uffff"+
+		"\u0000\u0013\u0014\u0005\u0002\u0000\u0000\u0014w\u0006\u0001\uffff\uffff"+
+		"\u0000\u0015\u0016\u0005\u0003\u0000\u0000\u0016w\u0006\u0001\uffff\uffff"+
+		"\u0000\u0017\u0018\u0005\u0004\u0000\u0000\u0018w\u0006\u0001\uffff\uffff"+
+		"\u0000\u0019\u001a\u0005\u0005\u0000\u0000\u001aw\u0006\u0001\uffff\uffff"+
+		"\u0000\u001b\u001c\u0005\u0006\u0000\u0000\u001cw\u0006\u0001\uffff\uffff"+
+		"\u0000\u001d\u001e\u0005\u0007\u0000\u0000\u001ew\u0006\u0001\uffff\uffff"+
+		"\u0000\u001f \u0005\b\u0000\u0000 w\u0006\u0001\uffff\uffff\u0000!\"\u0005"+
+		"\t\u0000\u0000\"w\u0006\u0001\uffff\uffff\u0000#$\u0005\n\u0000\u0000"+
+		"$w\u0006\u0001\uffff\uffff\u0000%&\u0005&\u0000\u0000&\'\u0005%\u0000"+
+		"\u0000\'w\u0006\u0001\uffff\uffff\u0000()\u0005\u000b\u0000\u0000)*\u0005"+
+		"&\u0000\u0000*w\u0006\u0001\uffff\uffff\u0000+,\u0005\f\u0000\u0000,-"+
+		"\u0005&\u0000\u0000-w\u0006\u0001\uffff\uffff\u0000./\u0005\r\u0000\u0000"+
+		"/0\u0005&\u0000\u00000w\u0006\u0001\uffff\uffff\u000012\u0005\u000e\u0000"+
+		"\u00002w\u0006\u0001\uffff\uffff\u000034\u0005\u000f\u0000\u00004w\u0006"+
+		"\u0001\uffff\uffff\u000056\u0005\u0010\u0000\u00006w\u0006\u0001\uffff"+
+		"\uffff\u000078\u0005\u0011\u0000\u00008w\u0006\u0001\uffff\uffff\u0000"+
+		"9:\u0005\u0012\u0000\u0000:w\u0006\u0001\uffff\uffff\u0000;<\u0005\u0013"+
+		"\u0000\u0000<w\u0006\u0001\uffff\uffff\u0000=>\u0005\u0014\u0000\u0000"+
+		">w\u0006\u0001\uffff\uffff\u0000?@\u0005\u0015\u0000\u0000@w\u0006\u0001"+
+		"\uffff\uffff\u0000AB\u0005\u0016\u0000\u0000Bw\u0006\u0001\uffff\uffff"+
+		"\u0000CD\u0005\u0017\u0000\u0000Dw\u0006\u0001\uffff\uffff\u0000EF\u0005"+
+		"\u0018\u0000\u0000Fw\u0006\u0001\uffff\uffff\u0000GH\u0005\u0019\u0000"+
+		"\u0000Hw\u0006\u0001\uffff\uffff\u0000IJ\u0005\u001a\u0000\u0000JK\u0005"+
+		"\'\u0000\u0000Kw\u0006\u0001\uffff\uffff\u0000LM\u0005\u001b\u0000\u0000"+
+		"MN\u0005\'\u0000\u0000Nw\u0006\u0001\uffff\uffff\u0000OP\u0005\u001c\u0000"+
+		"\u0000PQ\u0005\'\u0000\u0000Qw\u0006\u0001\uffff\uffff\u0000RS\u0005\u001d"+
+		"\u0000\u0000Sw\u0006\u0001\uffff\uffff\u0000TU\u0005\u001e\u0000\u0000"+
+		"Uw\u0006\u0001\uffff\uffff\u0000VW\u0005\u001f\u0000\u0000WX\u0005\'\u0000"+
+		"\u0000XY\u0005\'\u0000\u0000YZ\u0005&\u0000\u0000Zw\u0006\u0001\uffff"+
+		"\uffff\u0000[\\\u0005 \u0000\u0000\\]\u0005\'\u0000\u0000]^\u0005\'\u0000"+
+		"\u0000^w\u0006\u0001\uffff\uffff\u0000_`\u0005!\u0000\u0000`a\u0005\'"+
+		"\u0000\u0000ab\u0005&\u0000\u0000bg\u0006\u0001\uffff\uffff\u0000cd\u0005"+
+		"&\u0000\u0000df\u0006\u0001\uffff\uffff\u0000ec\u0001\u0000\u0000\u0000"+
+		"fi\u0001\u0000\u0000\u0000ge\u0001\u0000\u0000\u0000gh\u0001\u0000\u0000"+
+		"\u0000hw\u0001\u0000\u0000\u0000ig\u0001\u0000\u0000\u0000jk\u0005\"\u0000"+
+		"\u0000kl\u0005\'\u0000\u0000lm\u0005\'\u0000\u0000mw\u0006\u0001\uffff"+
+		"\uffff\u0000no\u0005#\u0000\u0000op\u0005\'\u0000\u0000pq\u0005\'\u0000"+
+		"\u0000qr\u0005\'\u0000\u0000rw\u0006\u0001\uffff\uffff\u0000st\u0005$"+
+		"\u0000\u0000tu\u0005&\u0000\u0000uw\u0006\u0001\uffff\uffff\u0000v\r\u0001"+
+		"\u0000\u0000\u0000v\u0010\u0001\u0000\u0000\u0000v\u0013\u0001\u0000\u0000"+
+		"\u0000v\u0015\u0001\u0000\u0000\u0000v\u0017\u0001\u0000\u0000\u0000v"+
+		"\u0019\u0001\u0000\u0000\u0000v\u001b\u0001\u0000\u0000\u0000v\u001d\u0001"+
+		"\u0000\u0000\u0000v\u001f\u0001\u0000\u0000\u0000v!\u0001\u0000\u0000"+
+		"\u0000v#\u0001\u0000\u0000\u0000v%\u0001\u0000\u0000\u0000v(\u0001\u0000"+
+		"\u0000\u0000v+\u0001\u0000\u0000\u0000v.\u0001\u0000\u0000\u0000v1\u0001"+
+		"\u0000\u0000\u0000v3\u0001\u0000\u0000\u0000v5\u0001\u0000\u0000\u0000"+
+		"v7\u0001\u0000\u0000\u0000v9\u0001\u0000\u0000\u0000v;\u0001\u0000\u0000"+
+		"\u0000v=\u0001\u0000\u0000\u0000v?\u0001\u0000\u0000\u0000vA\u0001\u0000"+
+		"\u0000\u0000vC\u0001\u0000\u0000\u0000vE\u0001\u0000\u0000\u0000vG\u0001"+
+		"\u0000\u0000\u0000vI\u0001\u0000\u0000\u0000vL\u0001\u0000\u0000\u0000"+
+		"vO\u0001\u0000\u0000\u0000vR\u0001\u0000\u0000\u0000vT\u0001\u0000\u0000"+
+		"\u0000vV\u0001\u0000\u0000\u0000v[\u0001\u0000\u0000\u0000v_\u0001\u0000"+
+		"\u0000\u0000vj\u0001\u0000\u0000\u0000vn\u0001\u0000\u0000\u0000vs\u0001"+
+		"\u0000\u0000\u0000w\u0003\u0001\u0000\u0000\u0000\u0003\u0007gv";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
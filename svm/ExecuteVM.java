@@ -3,9 +3,11 @@ public class ExecuteVM {
     
     public static final int CODESIZE = 10000;
     public static final int MEMSIZE = 10000;
+    public static final int DISPLAYSIZE = 100; // massimo nesting level con i registri display
     
     private int[] code;
     private int[] memory = new int[MEMSIZE];
+    private int[] display = new int[DISPLAYSIZE]; // display[n] = frame attivo al nesting level n
     
     private int ip = 0;
     private int sp = MEMSIZE;
@@ -14,13 +16,54 @@ public class ExecuteVM {
     private int fp = MEMSIZE; 
     private int ra;           
     private int tm;
+
+    private long steps; // istruzioni eseguite
+    private Profiler profiler; // null: nessun profilo
+    private java.util.Map<Integer,MemoTable> memo = new java.util.TreeMap<>(); // tabelle di memoizzazione per numero
     
     public ExecuteVM(int[] code) {
       this.code = code;
     }
+
+    // Esecuzione da un'immagine precalcolata: memoria iniziale, registri e prima istruzione
+    public ExecuteVM(int[] code, java.util.Map<Integer,Integer> data, int[] regs, int start) {
+      this.code = code;
+      for (java.util.Map.Entry<Integer,Integer> d : data.entrySet()) memory[d.getKey()] = d.getValue();
+      if (regs != null) { hp = regs[0]; sp = regs[1]; fp = regs[2]; }
+      ip = start;
+    }
+
+    // Esegue fino all'indirizzo "stop" senza stampare, entro "maxSteps" istruzioni:
+    // false se il programma stampa, termina o supera il limite prima (valutazione a tempo di compilazione)
+    public boolean runTo(int stop, long maxSteps) {
+      while (ip != stop) {
+        if (steps >= maxSteps || code[ip] == SVMParser.PRINT || code[ip] == SVMParser.HALT) return false;
+        step();
+      }
+      return true;
+    }
+
+    public void setProfiler(Profiler p) { profiler = p; }
+
+    public java.util.Map<Integer,MemoTable> getMemoTables() { return memo; }
+
+    public int[] getMemory() { return memory; }
+    public int getHp() { return hp; }
+    public int getSp() { return sp; }
+    public int getFp() { return fp; }
+
+    public long getSteps() {
+      return steps;
+    }
     
     public void cpu() {
-      while ( true ) {
+      while ( code[ip] != SVMParser.HALT ) step();
+      steps++;
+    }
+
+    private void step() {
+        steps++;
+        if (profiler != null) profiler.executed(ip);
         int bytecode = code[ip++]; // fetch
         int v1,v2;
         int address;
@@ -46,6 +89,16 @@ public class ExecuteVM {
             v2=pop();
             push(v2 / v1);
             break;
+          case SVMParser.SHIFTLEFT : // moltiplicazione per 2^v1
+            v1=pop();
+            v2=pop();
+            push(v2 << v1);
+            break;
+          case SVMParser.SHIFTRIGHT : // divisione per 2^v1 arrotondata verso zero, come DIV
+            v1=pop();
+            v2=pop();
+            push(v1 == 0 ? v2 : (v2 + ((v2 >> 31) >>> (32 - v1))) >> v1);
+            break;
           case SVMParser.SUB :
             v1=pop();
             v2=pop();
@@ -58,6 +111,9 @@ public class ExecuteVM {
           case SVMParser.LOADW : //
             push(memory[pop()]);
             break;
+          case SVMParser.LOADWABS : // load da indirizzo assoluto
+            push(memory[code[ip++]]);
+            break;
           case SVMParser.BRANCH : 
             address = code[ip];
             ip = address;
@@ -66,19 +122,53 @@ public class ExecuteVM {
             address = code[ip++];
             v1=pop();
             v2=pop();
-            if (v2 == v1) ip = address;
+            if (v2 == v1) {
+              if (profiler != null) profiler.branched(ip-2);
+              ip = address;
+            }
             break;
           case SVMParser.BRANCHLESSEQ :
             address = code[ip++];
             v1=pop();
             v2=pop();
-            if (v2 <= v1) ip = address;
+            if (v2 <= v1) {
+              if (profiler != null) profiler.branched(ip-2);
+              ip = address;
+            }
             break;
           case SVMParser.JS : //
             address = pop();
+            if (profiler != null) profiler.jumped(ip-1, address);
             ra = ip;
             ip = address;
             break;
+         case SVMParser.JUMP : // come JS ma senza salvare l'indirizzo di ritorno in $ra
+            address = pop();
+            if (profiler != null) profiler.jumped(ip-1, address);
+            ip = address;
+            break;
+         case SVMParser.MEMOGET : // mget t n l: se la tabella t contiene gli argomenti fp+1..fp+n salta a l col risultato
+            address = code[ip];
+            v1 = code[ip+1];
+            v2 = code[ip+2];
+            ip += 3;
+            MemoTable table = memoTable(v1, v2);
+            int found = table.find(memory, fp+1);
+            if (found >= 0) {
+              push(table.value(found));
+              ip = address;
+            }
+            break;
+         case SVMParser.MEMOPUT : // mput t n: registra nella tabella t il risultato in cima allo stack (senza toglierlo)
+            v1 = code[ip++];
+            v2 = code[ip++];
+            memoTable(v1, v2).store(memory, fp+1, memory[sp]);
+            break;
+         case SVMParser.TABLESWITCH : // tsw low n default l0..ln-1: salta a l(v-low) o a default
+            v1 = pop();
+            v2 = code[ip];
+            ip = v1 >= v2 && v1 - v2 < code[ip+1] ? code[ip+3+v1-v2] : code[ip+2];
+            break;
          case SVMParser.STORERA : //
             ra=pop();
             break;
@@ -100,6 +190,9 @@ public class ExecuteVM {
          case SVMParser.COPYFP : //
             fp=sp;
             break;
+         case SVMParser.LOADSP :
+            push(sp);
+            break;
          case SVMParser.STOREHP : //
             hp=pop();
             break;
@@ -109,12 +202,21 @@ public class ExecuteVM {
          case SVMParser.PRINT :
             System.out.println((sp<MEMSIZE)?memory[sp]:"Empty stack!");
             break;
-         case SVMParser.HALT :
-            return;
+         case SVMParser.LOADDISP :
+            push(display[code[ip++]]);
+            break;
+         case SVMParser.STOREDISP :
+            display[code[ip++]] = pop();
+            break;
         }
-      }
     } 
     
+    private MemoTable memoTable(int t, int arity) {
+      MemoTable table = memo.get(t);
+      if (table == null) memo.put(t, table = new MemoTable(arity));
+      return table;
+    }
+
     private int pop() {
       return memory[sp++];
     }
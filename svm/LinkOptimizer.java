@@ -0,0 +1,554 @@
+package svm;
+
+import java.io.*;
+import java.util.*;
+import org.antlr.v4.runtime.*;
+
+// Ottimizzatore del codice SVM collegato, cioe' gia' assemblato in un unico array di interi con
+// le etichette risolte. Le istruzioni sono decodificate in blocchi base; le celle che
+// l'assemblatore ha riempito con l'indirizzo di un'etichetta (operandi di push, b, beq, bleq e
+// la tabella di tsw) sono le rilocazioni, riscritte alla fine con i nuovi indirizzi.
+//
+// Sul grafo di controllo un'analisi in avanti calcola, all'ingresso di ogni blocco, quante celle
+// in cima allo stack sono note (altezza relativa) e quali contengono costanti. Con queste
+// informazioni, fino a punto fisso:
+// - un'operazione aritmetica o un salto condizionato su costanti spinte nello stesso blocco
+//   e' piegato (le push che producono gli operandi spariscono);
+// - un salto verso un blocco di sola decisione ("push c; beq l" o "beq l") il cui esito e'
+//   deciso dai valori in cima allo stack va direttamente a destinazione;
+// - un salto verso un blocco che contiene solo "b l" va direttamente a "l".
+// Poi i blocchi irraggiungibili sono eliminati e il codice e' ridisposto: i blocchi legati da
+// un fall-through restano in sequenza, il bersaglio di una "b" la segue se possibile (la "b"
+// sparisce) e il percorso di uscita del programma (halt, eseguito una volta) va in fondo.
+//
+// Presupposti, rispettati dal codice del compilatore e da quello scritto a mano che li segue:
+// - gli indirizzi di codice nascono solo da etichette ("push l") o da "js" (l'indirizzo di
+//   ritorno: l'istruzione dopo "js" la segue sempre anche nel nuovo codice);
+// - le celle dello stack sono lette o scritte in memoria solo tramite lw, lwa, sw, mget, mput, o
+//   dopo lsp, cfp, js o jp: una push che li precede non e' mai eliminata.
+// Le direttive "data" possono contenere indirizzi di codice indistinguibili da interi: in loro
+// presenza il codice resta invariato.
+public class LinkOptimizer {
+
+	// istruzione decodificata: l'operando e' un intero o l'indirizzo di un blocco (rilocazione);
+	// per tsw l'operando e' il valore minimo e "table" contiene il default seguito dai casi;
+	// "more" sono gli operandi interi che seguono il primo (mget: tabella e numero di argomenti)
+	private static class Ins {
+		int op;
+		int arg;
+		Block target;
+		List<Block> table;
+		int[] more = new int[0];
+
+		Ins(int op, int arg, Block target) { this.op = op; this.arg = arg; this.target = target; }
+	}
+
+	private static class Block {
+		final int addr; // indirizzo nel codice originale
+		final List<Ins> code = new ArrayList<>();
+		final List<String> labels = new ArrayList<>();
+		Block fall; // prosecuzione senza salto (null dopo b, jp e halt)
+		List<Integer> in; // cima dello stack all'ingresso, null = costante sconosciuta (null = non raggiunto)
+		int newAddr;
+		String name; // etichetta nel codice ridisposto
+
+		Block(int addr) { this.addr = addr; }
+
+		Ins last() { return code.isEmpty() ? null : code.get(code.size() - 1); }
+
+		List<Block> succs() {
+			List<Block> s = new ArrayList<>();
+			Ins l = last();
+			if (l != null && isBranch(l.op)) s.add(l.target);
+			if (l != null && l.op == SVMParser.TABLESWITCH) s.addAll(l.table);
+			if (fall != null) s.add(fall);
+			return s;
+		}
+	}
+
+	// cella dello stack durante la simulazione di un blocco: valore (null se sconosciuto) e
+	// push del blocco che l'ha prodotta, se puo' essere eliminata insieme a chi la consuma
+	private static class Slot {
+		final Integer val;
+		final Ins push;
+
+		Slot(Integer val, Ins push) { this.val = val; this.push = push; }
+	}
+
+	private final SVMParser parser;
+	private final List<Block> blocks = new ArrayList<>();
+	private Block start;
+	private int[] code;
+
+	public String reason; // perche' il codice non e' stato ottimizzato
+	public int folded, threaded, removedBlocks, removedJumps, wordsBefore, wordsAfter; // statistiche
+
+	public LinkOptimizer(SVMParser parser) { this.parser = parser; }
+
+	private static boolean hasArg(int op) {
+		return op == SVMParser.PUSH || isBranch(op) || op == SVMParser.LOADDISP || op == SVMParser.STOREDISP || op == SVMParser.LOADWABS
+			|| op == SVMParser.MEMOGET || op == SVMParser.MEMOPUT;
+	}
+
+	// operandi interi dopo il primo
+	private static int extra(int op) {
+		return op == SVMParser.MEMOGET ? 2 : op == SVMParser.MEMOPUT ? 1 : 0;
+	}
+
+	// celle occupate dall'istruzione all'indirizzo a
+	private static int length(int[] c, int a) {
+		return c[a] == SVMParser.TABLESWITCH ? 4 + c[a + 2] : (hasArg(c[a]) ? 2 : 1) + extra(c[a]);
+	}
+
+	private static int length(Ins i) {
+		return i.op == SVMParser.TABLESWITCH ? 3 + i.table.size() : (hasArg(i.op) ? 2 : 1) + i.more.length;
+	}
+
+	// "mget" salta se trova il risultato della chiamata
+	private static boolean isBranch(int op) {
+		return op == SVMParser.BRANCH || op == SVMParser.BRANCHEQ || op == SVMParser.BRANCHLESSEQ || op == SVMParser.MEMOGET;
+	}
+
+	private static boolean endsBlock(int op) {
+		return isBranch(op) || op == SVMParser.TABLESWITCH || op == SVMParser.JS || op == SVMParser.JUMP || op == SVMParser.HALT;
+	}
+
+	private static boolean fallsThrough(Ins last) {
+		return last == null || last.op != SVMParser.BRANCH && last.op != SVMParser.TABLESWITCH && last.op != SVMParser.JUMP && last.op != SVMParser.HALT;
+	}
+
+	// ottimizza il codice assemblato da "parser": false (con "reason") se non e' possibile
+	public boolean optimize() {
+		if (!parser.data.isEmpty()) {
+			reason = "data directives may hold code addresses";
+			return false;
+		}
+		wordsBefore = parser.size();
+		decode();
+		boolean changed = true;
+		while (changed) {
+			analyze();
+			changed = false;
+			for (Block b : blocks)
+				if (b.in != null) changed |= fold(b) | thread(b);
+		}
+		removeUnreachable();
+		emit(layout());
+		return true;
+	}
+
+	public int[] getCode() { return code; }
+	public int getStart() { return start.newAddr; }
+
+	public void printStats() {
+		System.out.println("  folded constant operations and branches: " + folded);
+		System.out.println("  threaded jumps: " + threaded);
+		System.out.println("  removed blocks: " + removedBlocks);
+		System.out.println("  jumps removed by block layout: " + removedJumps);
+		System.out.println("  code size: " + wordsBefore + " -> " + wordsAfter + " words");
+	}
+
+	// blocchi base del codice originale: iniziano a ogni etichetta, all'indirizzo di partenza e
+	// dopo ogni salto, chiamata o halt
+	private void decode() {
+		int[] c = parser.code;
+		int size = parser.size();
+		Set<Integer> leaders = new TreeSet<>(parser.labelDef.values());
+		leaders.add(0);
+		leaders.add(parser.start);
+		for (int a = 0; a < size; a += length(c, a))
+			if (endsBlock(c[a])) leaders.add(a + length(c, a));
+		Map<Integer, Block> at = new HashMap<>();
+		for (int a : leaders) {
+			Block b = new Block(a);
+			at.put(a, b);
+			blocks.add(b);
+		}
+		for (Map.Entry<String, Integer> l : parser.labelDef.entrySet()) at.get(l.getValue()).labels.add(l.getKey());
+		for (Block b : blocks) Collections.sort(b.labels);
+		Block cur = null;
+		for (int a = 0; a < size; a += length(c, a)) {
+			if (at.containsKey(a)) cur = at.get(a);
+			boolean reloc = parser.labelRef.containsKey(a + 1) && hasArg(c[a]);
+			Ins i = new Ins(c[a], hasArg(c[a]) || c[a] == SVMParser.TABLESWITCH ? c[a + 1] : 0, reloc ? at.get(c[a + 1]) : null);
+			i.more = Arrays.copyOfRange(c, a + 2, a + 2 + extra(c[a]));
+			if (i.op == SVMParser.TABLESWITCH) {
+				i.table = new ArrayList<>();
+				for (int k = 0; k <= c[a + 2]; k++) i.table.add(at.get(c[a + 3 + k]));
+			}
+			cur.code.add(i);
+		}
+		for (int k = 0; k < blocks.size(); k++) {
+			Block b = blocks.get(k);
+			b.fall = fallsThrough(b.last()) && k + 1 < blocks.size() ? blocks.get(k + 1) : null;
+		}
+		start = at.get(parser.start);
+	}
+
+	// blocchi da cui l'esecuzione puo' iniziare: la prima istruzione e quelli di cui si prende l'indirizzo
+	private Set<Block> roots() {
+		Set<Block> roots = new LinkedHashSet<>();
+		roots.add(start);
+		for (Block b : blocks)
+			for (Ins i : b.code)
+				if (i.op == SVMParser.PUSH && i.target != null) roots.add(i.target);
+		return roots;
+	}
+
+	// analisi in avanti: all'ingresso di un blocco sono note le celle in cima allo stack che
+	// hanno lo stesso valore (o almeno esistono) su tutti i cammini che lo raggiungono
+	private void analyze() {
+		for (Block b : blocks) b.in = null;
+		Deque<Block> work = new ArrayDeque<>();
+		for (Block r : roots()) {
+			r.in = new ArrayList<>();
+			work.add(r);
+		}
+		while (!work.isEmpty()) {
+			Block b = work.poll();
+			List<Integer> out = new ArrayList<>();
+			for (Slot s : simulate(b, false)) out.add(s.val);
+			for (Block s : b.succs()) {
+				List<Integer> in = s.in == null ? out : meet(s.in, out);
+				if (!in.equals(s.in)) {
+					s.in = in;
+					work.add(s);
+				}
+			}
+		}
+	}
+
+	private static List<Integer> meet(List<Integer> a, List<Integer> b) {
+		int n = Math.min(a.size(), b.size());
+		List<Integer> m = new ArrayList<>();
+		for (int k = 0; k < n; k++) {
+			Integer x = a.get(a.size() - n + k), y = b.get(b.size() - n + k);
+			m.add(x != null && x.equals(y) ? x : null);
+		}
+		return m;
+	}
+
+	// piega le operazioni del blocco che consumano costanti spinte nel blocco stesso
+	private boolean fold(Block b) {
+		int before = folded;
+		simulate(b, true);
+		return folded > before;
+	}
+
+	private static Slot pop(List<Slot> stack) {
+		return stack.isEmpty() ? new Slot(null, null) : stack.remove(stack.size() - 1);
+	}
+
+	// le push precedenti non sono piu' eliminabili: lo stack puo' essere letto o scritto in memoria
+	private static void barrier(List<Slot> stack) {
+		for (int k = 0; k < stack.size(); k++) stack.set(k, new Slot(stack.get(k).val, null));
+	}
+
+	// esegue il blocco sui valori noti all'ingresso; con "fold" riscrive le operazioni decise
+	private List<Slot> simulate(Block b, boolean fold) {
+		List<Slot> stack = new ArrayList<>();
+		for (Integer v : b.in) stack.add(new Slot(v, null));
+		Set<Ins> removed = new HashSet<>();
+		for (int k = 0; k < b.code.size(); k++) {
+			Ins i = b.code.get(k);
+			Slot x, y;
+			switch (i.op) {
+				case SVMParser.PUSH:
+					stack.add(new Slot(i.target == null ? i.arg : null, i));
+					break;
+				case SVMParser.ADD: case SVMParser.SUB: case SVMParser.MULT: case SVMParser.DIV:
+				case SVMParser.SHIFTLEFT: case SVMParser.SHIFTRIGHT:
+					y = pop(stack);
+					x = pop(stack);
+					Integer v = x.val == null || y.val == null ? null : compute(i.op, x.val, y.val);
+					if (fold && v != null && x.push != null && y.push != null) {
+						removed.add(x.push);
+						removed.add(y.push);
+						i = new Ins(SVMParser.PUSH, v, null);
+						b.code.set(k, i);
+						folded++;
+					}
+					stack.add(new Slot(v, i.op == SVMParser.PUSH ? i : null));
+					break;
+				case SVMParser.BRANCHEQ: case SVMParser.BRANCHLESSEQ:
+					y = pop(stack);
+					x = pop(stack);
+					if (!fold || x.val == null || y.val == null) break;
+					boolean taken = i.op == SVMParser.BRANCHEQ ? x.val.equals(y.val) : x.val <= y.val;
+					int removable = (x.push != null ? 1 : 0) + (y.push != null ? 1 : 0);
+					if (1 + (taken ? 1 : 0) > 2 * removable) break; // piu' istruzioni di prima
+					b.code.remove(k);
+					for (Slot s : new Slot[] {x, y})
+						if (s.push != null) removed.add(s.push);
+						else b.code.add(new Ins(SVMParser.POP, 0, null));
+					if (taken) {
+						b.code.add(new Ins(SVMParser.BRANCH, 0, i.target));
+						b.fall = null;
+					}
+					folded++;
+					k = b.code.size();
+					break;
+				case SVMParser.TABLESWITCH:
+					x = pop(stack);
+					if (!fold || x.val == null || x.push == null) break;
+					int sel = x.val - i.arg; // caso scelto (il default e' il primo elemento della tabella)
+					removed.add(x.push);
+					b.code.set(k, new Ins(SVMParser.BRANCH, 0, i.table.get(sel >= 0 && sel < i.table.size() - 1 ? sel + 1 : 0)));
+					folded++;
+					break;
+				case SVMParser.POP:
+				case SVMParser.STORERA: case SVMParser.STORETM: case SVMParser.STOREFP:
+				case SVMParser.STOREHP: case SVMParser.STOREDISP:
+					pop(stack);
+					break;
+				case SVMParser.STOREW:
+					pop(stack);
+					pop(stack);
+					barrier(stack);
+					break;
+				case SVMParser.LOADW:
+					pop(stack);
+					barrier(stack);
+					stack.add(new Slot(null, null));
+					break;
+				case SVMParser.LOADWABS: case SVMParser.LOADSP:
+					barrier(stack);
+					stack.add(new Slot(null, null));
+					break;
+				case SVMParser.LOADRA: case SVMParser.LOADTM: case SVMParser.LOADFP:
+				case SVMParser.LOADHP: case SVMParser.LOADDISP:
+					stack.add(new Slot(null, null));
+					break;
+				case SVMParser.COPYFP:
+					barrier(stack);
+					break;
+				case SVMParser.PRINT: // legge la cima senza consumarla
+					if (!stack.isEmpty()) stack.add(new Slot(pop(stack).val, null));
+					break;
+				case SVMParser.JS: // la funzione chiamata puo' consumare qualsiasi cella
+				case SVMParser.MEMOGET: // legge il frame e, se salta, lascia il risultato sullo stack
+					stack.clear();
+					break;
+				case SVMParser.MEMOPUT: // legge il frame e la cima senza consumarla
+					barrier(stack);
+					break;
+				case SVMParser.JUMP:
+					pop(stack);
+					barrier(stack);
+					break;
+			}
+		}
+		if (!removed.isEmpty()) b.code.removeAll(removed);
+		return stack;
+	}
+
+	private static Integer compute(int op, int x, int y) {
+		switch (op) {
+			case SVMParser.ADD: return x + y;
+			case SVMParser.SUB: return x - y;
+			case SVMParser.MULT: return x * y;
+			case SVMParser.SHIFTLEFT: return x << y;
+			case SVMParser.SHIFTRIGHT: return y == 0 ? x : (x + ((x >> 31) >>> (32 - y))) >> y; // come ExecuteVM
+			default: return y == 0 ? null : x / y;
+		}
+	}
+
+	// salti verso blocchi che contengono solo un altro salto o una decisione gia' nota
+	private boolean thread(Block b) {
+		Ins last = b.last();
+		if (last != null && last.op == SVMParser.TABLESWITCH) {
+			boolean changed = false;
+			for (int k = 0; k < last.table.size(); k++) {
+				Block t = forward(last.table.get(k));
+				changed |= t != last.table.get(k);
+				last.table.set(k, t);
+			}
+			return changed;
+		}
+		if (last == null || !isBranch(last.op)) return false;
+		Block t = forward(last.target);
+		boolean changed = t != last.target;
+		last.target = t;
+		return changed | threadDecision(b);
+	}
+
+	// destinazione finale di un salto a t, attraverso i blocchi vuoti o con la sola "b l"
+	private Block forward(Block t) {
+		for (int hops = 0; hops < blocks.size(); hops++) {
+			Block next;
+			if (t.code.size() == 1 && t.last().op == SVMParser.BRANCH && t.last().target != t) next = t.last().target;
+			else if (t.code.isEmpty() && t.fall != null) next = t.fall;
+			else break;
+			t = next;
+			threaded++;
+		}
+		return t;
+	}
+
+	// "b l" con l: [push c;] beq|bleq m, e gli operandi del confronto noti alla fine del blocco:
+	// il blocco va direttamente a m o alla prosecuzione di l, togliendo dallo stack i propri operandi
+	private boolean threadDecision(Block b) {
+		Ins last = b.last();
+		Block t = last.target;
+		if (last.op != SVMParser.BRANCH || t.fall == null || t.code.isEmpty() || t.code.size() > 2) return false;
+		Ins cond = t.last();
+		if (cond.op != SVMParser.BRANCHEQ && cond.op != SVMParser.BRANCHLESSEQ) return false;
+		if (t.code.size() == 2 && (t.code.get(0).op != SVMParser.PUSH || t.code.get(0).target != null)) return false;
+		List<Slot> stack = simulate(b, false);
+		List<Slot> operands = new ArrayList<>();
+		for (int k = t.code.size(); k < 3; k++) operands.add(0, pop(stack));
+		if (t.code.size() == 2) operands.add(new Slot(t.code.get(0).arg, null));
+		Integer x = operands.get(0).val, y = operands.get(1).val;
+		if (x == null || y == null) return false;
+		boolean taken = cond.op == SVMParser.BRANCHEQ ? x.equals(y) : x <= y;
+		b.code.remove(last);
+		for (int k = 0; k < 3 - t.code.size(); k++) {
+			Slot s = operands.get(k);
+			if (s.push != null) b.code.remove(s.push);
+			else b.code.add(new Ins(SVMParser.POP, 0, null));
+		}
+		b.code.add(new Ins(SVMParser.BRANCH, 0, taken ? cond.target : t.fall));
+		threaded++;
+		return true;
+	}
+
+	private void removeUnreachable() {
+		Set<Block> live = new HashSet<>();
+		Deque<Block> work = new ArrayDeque<>(roots());
+		while (!work.isEmpty()) {
+			Block b = work.poll();
+			if (live.add(b)) work.addAll(b.succs());
+		}
+		removedBlocks = 0;
+		for (Block b : blocks)
+			if (!live.contains(b) && !b.code.isEmpty()) removedBlocks++;
+		blocks.retainAll(live);
+	}
+
+	// catene di blocchi legati dal fall-through, disposte a partire da quella iniziale: dopo una
+	// catena che finisce con "b l" viene quella che inizia con l, se ancora da disporre;
+	// le catene che terminano il programma vanno in fondo
+	private List<Block> layout() {
+		Set<Block> inner = new HashSet<>();
+		for (Block b : blocks) if (b.fall != null) inner.add(b.fall);
+		Block head = start;
+		while (inner.contains(head)) head = blocks.get(blocks.indexOf(head) - 1); // l'inizio della catena di start
+		List<Block> heads = new ArrayList<>(), cold = new ArrayList<>();
+		for (Block b : blocks)
+			if (!inner.contains(b) && b != head) (exits(b) ? cold : heads).add(b);
+		heads.addAll(cold);
+		List<Block> order = new ArrayList<>();
+		while (head != null) {
+			for (Block b = head; b != null; b = b.fall) order.add(b);
+			heads.remove(head);
+			Ins last = order.get(order.size() - 1).last();
+			head = last != null && last.op == SVMParser.BRANCH && heads.contains(last.target) ? last.target
+				: heads.isEmpty() ? null : heads.get(0);
+		}
+		return order;
+	}
+
+	private static boolean exits(Block head) {
+		for (Block b = head; b != null; b = b.fall)
+			if (b.last() != null && b.last().op == SVMParser.HALT) return true;
+		return false;
+	}
+
+	// nuovo codice: indirizzi dei blocchi, "b" verso il blocco seguente omesse, rilocazioni riscritte
+	private void emit(List<Block> order) {
+		removedJumps = 0;
+		List<Ins> dropped = new ArrayList<>();
+		for (int k = 0; k + 1 < order.size(); k++) {
+			Ins last = order.get(k).last();
+			if (last != null && last.op == SVMParser.BRANCH && last.target == order.get(k + 1)) {
+				order.get(k).code.remove(last);
+				order.get(k).fall = order.get(k + 1);
+				removedJumps++;
+			}
+		}
+		int pc = 0;
+		for (Block b : order) {
+			b.newAddr = pc;
+			for (Ins i : b.code) pc += length(i);
+		}
+		code = new int[ExecuteVM.CODESIZE];
+		pc = 0;
+		for (Block b : order)
+			for (Ins i : b.code) {
+				code[pc++] = i.op;
+				if (hasArg(i.op)) code[pc++] = i.target != null ? i.target.newAddr : i.arg;
+				for (int m : i.more) code[pc++] = m;
+				if (i.op == SVMParser.TABLESWITCH) {
+					code[pc++] = i.arg;
+					code[pc++] = i.table.size() - 1;
+					for (Block t : i.table) code[pc++] = t.newAddr;
+				}
+			}
+		wordsAfter = pc;
+		blocks.clear();
+		blocks.addAll(order);
+	}
+
+	// il codice ottimizzato come sorgente assembly, con le etichette originali dove esistono ancora
+	public String toAssembly() {
+		Set<String> used = new HashSet<>(parser.labelDef.keySet());
+		Set<Block> targets = new HashSet<>();
+		for (Block b : blocks)
+			for (Ins i : b.code) {
+				if (i.target != null) targets.add(i.target);
+				if (i.table != null) targets.addAll(i.table);
+			}
+		if (start.newAddr != 0) targets.add(start);
+		int fresh = 0;
+		for (Block b : blocks) {
+			if (!b.labels.isEmpty()) b.name = b.labels.get(0);
+			else if (targets.contains(b)) {
+				while (used.contains("lto" + fresh)) fresh++;
+				b.name = "lto" + fresh++;
+			}
+		}
+		StringBuilder s = new StringBuilder();
+		if (parser.regs != null) s.append("regs " + parser.regs[0] + " " + parser.regs[1] + " " + parser.regs[2] + "\n");
+		if (start.newAddr != 0) s.append("start " + start.name + "\n");
+		for (Block b : blocks) {
+			for (String l : b.labels) s.append(l + ":\n");
+			if (b.labels.isEmpty() && b.name != null) s.append(b.name + ":\n");
+			for (Ins i : b.code) {
+				String name = SVMParser.VOCABULARY.getLiteralName(i.op);
+				s.append(name.substring(1, name.length() - 1));
+				if (i.op == SVMParser.MEMOGET) s.append(" " + i.more[0] + " " + i.more[1] + " " + i.target.name); // nel sorgente l'etichetta e' in fondo
+				else {
+					if (hasArg(i.op)) s.append(" " + (i.target != null ? i.target.name : String.valueOf(i.arg)));
+					for (int m : i.more) s.append(" " + m);
+				}
+				if (i.op == SVMParser.TABLESWITCH) {
+					s.append(" " + i.arg);
+					for (Block t : i.table) s.append(" " + t.name);
+				}
+				s.append("\n");
+			}
+		}
+		return s.toString();
+	}
+
+	// uso da riga di comando su un qualsiasi file assembly: java svm.LinkOptimizer in.asm [out.asm]
+	public static void main(String[] args) throws IOException {
+		SVMLexer lexer = new SVMLexer(CharStreams.fromFileName(args[0]));
+		SVMParser parser = new SVMParser(new CommonTokenStream(lexer));
+		parser.assembly();
+		if (lexer.lexicalErrors + parser.getNumberOfSyntaxErrors() > 0) System.exit(1);
+		LinkOptimizer lto = new LinkOptimizer(parser);
+		if (!lto.optimize()) {
+			System.err.println("not possible: " + lto.reason);
+			System.exit(1);
+		}
+		if (args.length < 2) {
+			System.out.print(lto.toAssembly());
+			return;
+		}
+		Writer out = new FileWriter(args[1]);
+		out.write(lto.toAssembly());
+		out.close();
+		lto.printStats();
+	}
+}
@@ -0,0 +1,61 @@
+package svm;
+
+// Tabella di memoizzazione di una funzione, usata dalle istruzioni "mget" e "mput": associa alla
+// tupla degli argomenti (le celle fp+1..fp+n del frame) il risultato della chiamata. La tabella
+// e' limitata a SIZE voci ad indirizzamento diretto: una tupla ha un solo posto possibile,
+// calcolato dal suo hash, e se il posto e' occupato da un'altra tupla la vecchia voce e' scartata.
+public class MemoTable {
+
+	public static final int SIZE = 4096; // potenza di 2
+
+	private final int arity;
+	private final int[] keys;
+	private final int[] values = new int[SIZE];
+	private final boolean[] used = new boolean[SIZE];
+	private long lookups, hits, stores, evictions; // statistiche
+
+	MemoTable(int arity) {
+		this.arity = arity;
+		keys = new int[SIZE * arity];
+	}
+
+	private int slot(int[] memory, int from) {
+		int h = 0;
+		for (int k = 0; k < arity; k++) h = 31 * h + memory[from + k];
+		return (h ^ (h >>> 16)) & (SIZE - 1);
+	}
+
+	private boolean matches(int s, int[] memory, int from) {
+		for (int k = 0; k < arity; k++)
+			if (keys[s * arity + k] != memory[from + k]) return false;
+		return true;
+	}
+
+	// posto del risultato per gli argomenti in memory[from..from+arity-1], -1 se non c'e'
+	int find(int[] memory, int from) {
+		lookups++;
+		int s = slot(memory, from);
+		if (!used[s] || !matches(s, memory, from)) return -1;
+		hits++;
+		return s;
+	}
+
+	int value(int s) {
+		return values[s];
+	}
+
+	void store(int[] memory, int from, int value) {
+		int s = slot(memory, from);
+		if (used[s] && !matches(s, memory, from)) evictions++;
+		for (int k = 0; k < arity; k++) keys[s * arity + k] = memory[from + k];
+		values[s] = value;
+		used[s] = true;
+		stores++;
+	}
+
+	public int getArity() { return arity; }
+	public long getLookups() { return lookups; }
+	public long getHits() { return hits; }
+	public long getStores() { return stores; }
+	public long getEvictions() { return evictions; }
+}
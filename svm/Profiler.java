@@ -0,0 +1,45 @@
+package svm;
+
+import java.util.*;
+
+// Profilo raccolto da ExecuteVM durante l'esecuzione (se impostato con setProfiler):
+// quante volte e' eseguita l'istruzione a ogni indirizzo, quante volte ogni beq/bleq salta
+// e, per ogni js/jp, gli indirizzi a cui salta. Le chiamate di una funzione sono le esecuzioni
+// della prima istruzione dopo la sua etichetta.
+public class Profiler {
+
+	private final long[] count = new long[ExecuteVM.CODESIZE];
+	private final long[] taken = new long[ExecuteVM.CODESIZE];
+	private final Map<Integer, Map<Integer, Long>> targets = new HashMap<>(); // js/jp -> destinazione -> salti
+
+	void executed(int address) {
+		count[address]++;
+	}
+
+	void branched(int address) {
+		taken[address]++;
+	}
+
+	void jumped(int from, int to) {
+		targets.computeIfAbsent(from, a -> new HashMap<>()).merge(to, 1L, Long::sum);
+	}
+
+	// esecuzioni dell'istruzione all'indirizzo
+	public long count(int address) {
+		return count[address];
+	}
+
+	// salti presi e non presi del beq/bleq all'indirizzo
+	public long taken(int address) {
+		return taken[address];
+	}
+
+	public long notTaken(int address) {
+		return count[address] - taken[address];
+	}
+
+	// destinazioni del js/jp all'indirizzo, con il numero di salti
+	public Map<Integer, Long> targets(int address) {
+		return targets.getOrDefault(address, Collections.emptyMap());
+	}
+}
@@ -11,8 +11,14 @@ public int lexicalErrors=0;
 @parser::members { 
 public int[] code = new int[ExecuteVM.CODESIZE];    
 private int i = 0;
-private Map<String,Integer> labelDef = new HashMap<>();
-private Map<Integer,String> labelRef = new HashMap<>();
+public Map<String,Integer> labelDef = new HashMap<>(); // etichetta -> indirizzo
+public Map<Integer,String> labelRef = new HashMap<>(); // rilocazioni: cella di codice -> etichetta il cui indirizzo contiene
+public Map<Integer,Integer> data = new LinkedHashMap<>(); // immagine precalcolata: contenuto iniziale della memoria
+public int[] regs = null; // immagine precalcolata: valori iniziali di hp, sp e fp
+public int start = 0; // indirizzo della prima istruzione eseguita
+private String startLabel = null;
+private int table; // cella con il numero di casi della tabella in costruzione
+public int size() { return i; } // celle di codice occupate
 }
 
 /*------------------------------------------------------------------
@@ -21,6 +27,7 @@ private Map<Integer,String> labelRef = new HashMap<>();
    
 assembly: instruction* EOF 	{ for (Integer j: labelRef.keySet()) 
 								code[j]=labelDef.get(labelRef.get(j)); 
+							  if (startLabel != null) start = labelDef.get(startLabel);
 							} ;
 
 instruction : 
@@ -33,6 +40,8 @@ instruction :
 	  | SUB		    {code[i++] = SUB;}
 	  | MULT	    {code[i++] = MULT;}
 	  | DIV		    {code[i++] = DIV;}
+	  | SHIFTLEFT	    {code[i++] = SHIFTLEFT;}
+	  | SHIFTRIGHT	    {code[i++] = SHIFTRIGHT;}
 	  | STOREW	  {code[i++] = STOREW;} //
 	  | LOADW           {code[i++] = LOADW;} //
 	  | l=LABEL COL     {labelDef.put($l.text,i);}
@@ -54,6 +63,30 @@ instruction :
 	  | STOREHP         {code[i++] = STOREHP;}   //
 	  | PRINT           {code[i++] = PRINT;}
 	  | HALT            {code[i++] = HALT;}
+	  | LOADDISP n=INTEGER  {code[i++] = LOADDISP;
+	                         code[i++] = Integer.parseInt($n.text);}
+	  | STOREDISP n=INTEGER {code[i++] = STOREDISP;
+	                         code[i++] = Integer.parseInt($n.text);}
+	  | LOADWABS n=INTEGER  {code[i++] = LOADWABS;
+	                         code[i++] = Integer.parseInt($n.text);}
+	  | LOADSP          {code[i++] = LOADSP;}
+	  | JUMP            {code[i++] = JUMP;}
+	  | MEMOGET t=INTEGER n=INTEGER l=LABEL {code[i++] = MEMOGET; // etichetta, tabella, numero di argomenti
+	                         labelRef.put(i++,$l.text);
+	                         code[i++] = Integer.parseInt($t.text);
+	                         code[i++] = Integer.parseInt($n.text);}
+	  | MEMOPUT t=INTEGER n=INTEGER {code[i++] = MEMOPUT;
+	                         code[i++] = Integer.parseInt($t.text);
+	                         code[i++] = Integer.parseInt($n.text);}
+	  | TABLESWITCH lo=INTEGER d=LABEL {code[i++] = TABLESWITCH; // low, numero di casi, default, casi
+	                         code[i++] = Integer.parseInt($lo.text);
+	                         table = i++;
+	                         labelRef.put(i++,$d.text);}
+	    (l=LABEL            {labelRef.put(i++,$l.text);
+	                         code[table]++;})*
+	  | DATA a=INTEGER v=INTEGER {data.put(Integer.parseInt($a.text), Integer.parseInt($v.text));} // direttive: non generano codice
+	  | REGS h=INTEGER s=INTEGER f=INTEGER {regs = new int[] {Integer.parseInt($h.text), Integer.parseInt($s.text), Integer.parseInt($f.text)};}
+	  | START l=LABEL   {startLabel = $l.text;}
 	  ;
 	  
 /*------------------------------------------------------------------
@@ -66,6 +99,8 @@ ADD	 : 'add' ;
 SUB	 : 'sub' ;	
 MULT	 : 'mult' ;  	
 DIV	 : 'div' ;	
+SHIFTLEFT : 'shl' ;
+SHIFTRIGHT: 'shr' ;
 STOREW	 : 'sw' ; 	
 LOADW	 : 'lw' ;	
 BRANCH	 : 'b' ;	
@@ -83,6 +118,17 @@ LOADHP	 : 'lhp' ;
 STOREHP	 : 'shp' ;	
 PRINT	 : 'print' ;	
 HALT	 : 'halt' ;	
+LOADDISP : 'ldisp' ;
+STOREDISP: 'sdisp' ;
+LOADWABS : 'lwa' ;
+LOADSP	 : 'lsp' ;
+JUMP	 : 'jp' ;
+MEMOGET	 : 'mget' ;
+MEMOPUT	 : 'mput' ;
+TABLESWITCH : 'tsw' ;
+DATA	 : 'data' ;
+REGS	 : 'regs' ;
+START	 : 'start' ;
  
 COL	 : ':' ;
 LABEL	 : ('a'..'z'|'A'..'Z')('a'..'z' | 'A'..'Z' | '0'..'9')* ;